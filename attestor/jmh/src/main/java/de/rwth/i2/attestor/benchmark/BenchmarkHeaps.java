@@ -0,0 +1,160 @@
+package de.rwth.i2.attestor.benchmark;
+
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
+import de.rwth.i2.attestor.io.FileReader;
+import de.rwth.i2.attestor.io.jsonImport.JsonToGrammar;
+import de.rwth.i2.attestor.main.Attestor;
+import de.rwth.i2.attestor.main.scene.DefaultScene;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.communication.InputSettings;
+import de.rwth.i2.attestor.semantics.util.Constants;
+import de.rwth.i2.attestor.types.Type;
+import de.rwth.i2.attestor.types.TypeNames;
+import gnu.trove.list.array.TIntArrayList;
+import org.json.JSONArray;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Provides the inputs shared by all benchmarks: the predefined graph grammars and concrete heap configurations
+ * of arbitrary size that are derivable from these grammars.
+ * <p>
+ * Every BenchmarkHeaps object uses its own scene such that benchmarks do not influence each other.
+ */
+public class BenchmarkHeaps extends SceneObject {
+
+    /**
+     * The data structures for which benchmark inputs are available.
+     */
+    public enum Structure {
+
+        SLList("SLList", "ListNode"),
+        DLList("DLList", "DLListNode"),
+        BT("BT", "BTNode");
+
+        private final String grammarName;
+        private final String typeName;
+
+        Structure(String grammarName, String typeName) {
+
+            this.grammarName = grammarName;
+            this.typeName = typeName;
+        }
+    }
+
+    private final Structure structure;
+
+    public BenchmarkHeaps(Structure structure) {
+
+        super(new DefaultScene());
+        this.structure = structure;
+    }
+
+    /**
+     * @return The predefined grammar for the data structure of this object.
+     */
+    public Grammar loadGrammar() {
+
+        String resource = "predefinedGrammars/" + structure.grammarName + ".json";
+        try (InputStream is = Attestor.class.getClassLoader().getResourceAsStream(resource)) {
+            if (is == null) {
+                throw new IllegalStateException("Could not find predefined grammar " + resource);
+            }
+            JSONArray array = new JSONArray(FileReader.read(is));
+            JsonToGrammar importer = new JsonToGrammar(this, new InputSettings());
+            return Grammar.builder()
+                    .addRules(importer.parseForwardGrammar(array))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load predefined grammar " + resource, e);
+        }
+    }
+
+    /**
+     * Creates a concrete heap configuration consisting of the given number of data structure nodes
+     * and a null node. The variable x points to the first node of the data structure.
+     *
+     * @param size The number of data structure nodes.
+     * @return The created heap configuration.
+     */
+    public HeapConfiguration createHeap(int size) {
+
+        switch (structure) {
+            case SLList:
+                return createList(size, false);
+            case DLList:
+                return createList(size, true);
+            case BT:
+                return createTree(size);
+            default:
+                throw new IllegalArgumentException("Unsupported structure: " + structure);
+        }
+    }
+
+    private HeapConfiguration createList(int size, boolean doublyLinked) {
+
+        Type type = scene().getType(structure.typeName);
+        SelectorLabel next = scene().getSelectorLabel("next");
+        SelectorLabel prev = scene().getSelectorLabel("prev");
+
+        TIntArrayList nodes = new TIntArrayList(size);
+        TIntArrayList nullNode = new TIntArrayList(1);
+
+        HeapConfigurationBuilder builder = scene().createHeapConfiguration().builder()
+                .addNodes(scene().getType(TypeNames.NULL), 1, nullNode)
+                .addNodes(type, size, nodes)
+                .addVariableEdge(Constants.NULL, nullNode.get(0))
+                .addVariableEdge("x", nodes.get(0));
+
+        for (int i = 0; i < size; i++) {
+            int successor = i + 1 < size ? nodes.get(i + 1) : nullNode.get(0);
+            builder.addSelector(nodes.get(i), next, successor);
+            if (doublyLinked) {
+                int predecessor = i > 0 ? nodes.get(i - 1) : nullNode.get(0);
+                builder.addSelector(nodes.get(i), prev, predecessor);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private HeapConfiguration createTree(int size) {
+
+        Type type = scene().getType(structure.typeName);
+        SelectorLabel left = scene().getSelectorLabel("left");
+        SelectorLabel right = scene().getSelectorLabel("right");
+
+        TIntArrayList nodes = new TIntArrayList(size);
+        TIntArrayList nullNode = new TIntArrayList(1);
+
+        HeapConfigurationBuilder builder = scene().createHeapConfiguration().builder()
+                .addNodes(scene().getType(TypeNames.NULL), 1, nullNode)
+                .addNodes(type, size, nodes)
+                .addVariableEdge(Constants.NULL, nullNode.get(0))
+                .addVariableEdge("x", nodes.get(0));
+
+        // nodes are stored in breadth-first order, i.e. the children of node i are 2i+1 and 2i+2
+        for (int i = 0; i < size; i++) {
+            int leftChild = 2 * i + 1 < size ? nodes.get(2 * i + 1) : nullNode.get(0);
+            int rightChild = 2 * i + 2 < size ? nodes.get(2 * i + 2) : nullNode.get(0);
+            builder
+                    .addSelector(nodes.get(i), left, leftChild)
+                    .addSelector(nodes.get(i), right, rightChild);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return A selector that has to be materialized when the variable x is dereferenced
+     * in an abstracted heap configuration.
+     */
+    public String getMaterializedSelector() {
+
+        return structure == Structure.BT ? "left" : "next";
+    }
+}
@@ -0,0 +1,56 @@
+package de.rwth.i2.attestor.benchmark;
+
+import de.rwth.i2.attestor.grammar.AbstractionOptions;
+import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationStrategy;
+import de.rwth.i2.attestor.grammar.canonicalization.EmbeddingCheckerProvider;
+import de.rwth.i2.attestor.grammar.canonicalization.GeneralCanonicalizationStrategy;
+import de.rwth.i2.attestor.grammar.canonicalization.defaultGrammar.DefaultCanonicalizationHelper;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the abstraction of a concrete heap configuration with respect to a predefined grammar.
+ * Since canonicalization never modifies its input, the same heap configuration is abstracted in every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanonicalizationBenchmark {
+
+    @Param({"SLList", "DLList", "BT"})
+    public BenchmarkHeaps.Structure structure;
+
+    @Param({"8", "32", "128"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean orderedMatching;
+
+    private CanonicalizationStrategy canonicalizationStrategy;
+    private HeapConfiguration heap;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkHeaps heaps = new BenchmarkHeaps(structure);
+        heap = heaps.createHeap(size);
+
+        AbstractionOptions options = new AbstractionOptions()
+                .setOrderedMatching(orderedMatching);
+        canonicalizationStrategy = new GeneralCanonicalizationStrategy(
+                heaps.loadGrammar(),
+                new DefaultCanonicalizationHelper(new EmbeddingCheckerProvider(options))
+        );
+    }
+
+    @Benchmark
+    public HeapConfiguration canonicalize() {
+
+        return canonicalizationStrategy.canonicalize(heap);
+    }
+}
@@ -0,0 +1,70 @@
+package de.rwth.i2.attestor.benchmark;
+
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.morphism.Graph;
+import de.rwth.i2.attestor.graph.morphism.checkers.VF2EmbeddingChecker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search for an embedding of a grammar rule into a concrete heap configuration.
+ * The embedded rule is the largest rule of the predefined grammar that contains no nonterminal edges,
+ * i.e. a rule that is actually embedded in concrete heap configurations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmbeddingBenchmark {
+
+    @Param({"SLList", "DLList", "BT"})
+    public BenchmarkHeaps.Structure structure;
+
+    @Param({"16", "64", "256"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean orderedMatching;
+
+    private Graph pattern;
+    private Graph heap;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkHeaps heaps = new BenchmarkHeaps(structure);
+        heap = (Graph) heaps.createHeap(size);
+        pattern = (Graph) largestTerminalRule(heaps.loadGrammar());
+    }
+
+    private static HeapConfiguration largestTerminalRule(Grammar grammar) {
+
+        HeapConfiguration result = null;
+        for (Nonterminal lhs : grammar.getAllLeftHandSides()) {
+            for (HeapConfiguration rhs : grammar.getRightHandSidesFor(lhs)) {
+                if (rhs.countNonterminalEdges() == 0
+                        && (result == null || rhs.countNodes() > result.countNodes())) {
+                    result = rhs;
+                }
+            }
+        }
+
+        if (result == null) {
+            throw new IllegalStateException("Grammar contains no rule without nonterminal edges.");
+        }
+        return result;
+    }
+
+    @Benchmark
+    public boolean embedding() {
+
+        VF2EmbeddingChecker checker = new VF2EmbeddingChecker(orderedMatching);
+        checker.run(pattern, heap);
+        return checker.hasMorphism();
+    }
+}
@@ -0,0 +1,45 @@
+package de.rwth.i2.attestor.benchmark;
+
+import de.rwth.i2.attestor.graph.morphism.Graph;
+import de.rwth.i2.attestor.graph.morphism.checkers.VF2IsomorphismChecker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures isomorphism checks between two equal, but separately constructed, concrete heap configurations.
+ * This is the check performed whenever a new state is compared to the states already contained in a state space.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsomorphismBenchmark {
+
+    @Param({"SLList", "DLList", "BT"})
+    public BenchmarkHeaps.Structure structure;
+
+    @Param({"16", "64", "256"})
+    public int size;
+
+    private Graph heap;
+    private Graph isomorphicHeap;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkHeaps heaps = new BenchmarkHeaps(structure);
+        heap = (Graph) heaps.createHeap(size);
+        isomorphicHeap = (Graph) heaps.createHeap(size);
+    }
+
+    @Benchmark
+    public boolean isomorphism() {
+
+        VF2IsomorphismChecker checker = new VF2IsomorphismChecker();
+        checker.run(heap, isomorphicHeap);
+        return checker.hasMorphism();
+    }
+}
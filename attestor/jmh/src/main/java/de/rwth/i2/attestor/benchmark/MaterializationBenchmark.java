@@ -0,0 +1,67 @@
+package de.rwth.i2.attestor.benchmark;
+
+import de.rwth.i2.attestor.grammar.AbstractionOptions;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.grammar.canonicalization.EmbeddingCheckerProvider;
+import de.rwth.i2.attestor.grammar.canonicalization.GeneralCanonicalizationStrategy;
+import de.rwth.i2.attestor.grammar.canonicalization.defaultGrammar.DefaultCanonicalizationHelper;
+import de.rwth.i2.attestor.grammar.materialization.communication.DefaultGrammarResponseApplier;
+import de.rwth.i2.attestor.grammar.materialization.defaultGrammar.DefaultMaterializationRuleManager;
+import de.rwth.i2.attestor.grammar.materialization.strategies.GeneralMaterializationStrategy;
+import de.rwth.i2.attestor.grammar.materialization.strategies.MaterializationStrategy;
+import de.rwth.i2.attestor.grammar.materialization.util.GraphMaterializer;
+import de.rwth.i2.attestor.grammar.materialization.util.ViolationPointResolver;
+import de.rwth.i2.attestor.grammar.materialization.util.ViolationPoints;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the materialization of a selector of variable x in an abstract heap configuration.
+ * The abstract heap configuration is obtained by canonicalizing a concrete heap configuration of the given size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaterializationBenchmark {
+
+    @Param({"SLList", "DLList", "BT"})
+    public BenchmarkHeaps.Structure structure;
+
+    @Param({"8", "32", "128"})
+    public int size;
+
+    private MaterializationStrategy materializationStrategy;
+    private HeapConfiguration abstractHeap;
+    private ViolationPoints violationPoints;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkHeaps heaps = new BenchmarkHeaps(structure);
+        Grammar grammar = heaps.loadGrammar();
+
+        abstractHeap = new GeneralCanonicalizationStrategy(
+                grammar,
+                new DefaultCanonicalizationHelper(new EmbeddingCheckerProvider(new AbstractionOptions()))
+        ).canonicalize(heaps.createHeap(size));
+
+        materializationStrategy = new GeneralMaterializationStrategy(
+                new DefaultMaterializationRuleManager(new ViolationPointResolver(grammar)),
+                new DefaultGrammarResponseApplier(new GraphMaterializer())
+        );
+
+        violationPoints = new ViolationPoints("x", heaps.getMaterializedSelector());
+    }
+
+    @Benchmark
+    public Collection<HeapConfiguration> materialize() {
+
+        return materializationStrategy.materialize(abstractHeap, violationPoints);
+    }
+}
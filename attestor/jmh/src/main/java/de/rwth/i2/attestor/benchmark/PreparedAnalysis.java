@@ -0,0 +1,77 @@
+package de.rwth.i2.attestor.benchmark;
+
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.AbstractAttestor;
+import de.rwth.i2.attestor.main.scene.ElementNotPresentException;
+import de.rwth.i2.attestor.main.scene.Scene;
+import de.rwth.i2.attestor.phases.commandLineInterface.CommandLinePhase;
+import de.rwth.i2.attestor.phases.parser.ParseContractsPhase;
+import de.rwth.i2.attestor.phases.parser.ParseGrammarPhase;
+import de.rwth.i2.attestor.phases.parser.ParseInputPhase;
+import de.rwth.i2.attestor.phases.parser.ParseProgramPhase;
+import de.rwth.i2.attestor.phases.preprocessing.AbstractionPreprocessingPhase;
+import de.rwth.i2.attestor.phases.preprocessing.GrammarRefinementPhase;
+import de.rwth.i2.attestor.phases.preprocessing.MarkingGenerationPhase;
+import de.rwth.i2.attestor.phases.transformers.InputSettingsTransformer;
+import de.rwth.i2.attestor.phases.transformers.InputTransformer;
+import de.rwth.i2.attestor.procedures.Method;
+
+import java.util.List;
+
+/**
+ * Executes all phases of {@link de.rwth.i2.attestor.main.Attestor} that precede the state space generation,
+ * i.e. parsing the program, the grammar and the initial heap configurations as well as the preprocessing
+ * of the grammar.
+ */
+class PreparedAnalysis extends AbstractAttestor {
+
+    @Override
+    protected void registerPhases(String[] args) throws Exception {
+
+        registry
+                .addPhase(new CommandLinePhase(scene, args))
+                .addPhase(new ParseProgramPhase(scene))
+                .addPhase(new ParseGrammarPhase(scene))
+                .addPhase(new ParseInputPhase(scene))
+                .addPhase(new ParseContractsPhase(scene))
+                .addPhase(new MarkingGenerationPhase(scene))
+                .addPhase(new GrammarRefinementPhase(scene))
+                .addPhase(new AbstractionPreprocessingPhase(scene))
+                .execute();
+    }
+
+    Scene getScene() {
+
+        return scene;
+    }
+
+    List<HeapConfiguration> getInputs() {
+
+        return registry.getMostRecentPhase(InputTransformer.class).getInputs();
+    }
+
+    /**
+     * @return The analyzed method. Like the state space generation phase, a method whose name matches
+     * the requested one is chosen if no method with the requested signature exists.
+     */
+    Method getMainMethod() {
+
+        String methodName = registry.getMostRecentPhase(InputSettingsTransformer.class)
+                .getInputSettings()
+                .getMethodName();
+        try {
+            Method method = scene.getMethodIfPresent(methodName);
+            if (method.getBody() != null) {
+                return method;
+            }
+        } catch (ElementNotPresentException e) {
+            // fall through to the search by name
+        }
+        for (Method method : scene.getRegisteredMethods()) {
+            if (methodName.equals(method.getName())) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("Could not find top-level method '" + methodName + "'.");
+    }
+}
@@ -0,0 +1,140 @@
+package de.rwth.i2.attestor.benchmark;
+
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.Scene;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContractCollection;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalPreconditionMatchingStrategy;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.StateSpaceGeneratorFactory;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.scopes.DefaultScopeExtractor;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.InternalProcedureRegistry;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.InterproceduralAnalysis;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.NonRecursiveMethodExecutor;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.RecursiveMethodExecutor;
+import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.procedures.MethodExecutor;
+import de.rwth.i2.attestor.procedures.PreconditionMatchingStrategy;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceGenerationAbortedException;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the state space generation of a method of the test program src/test/resources/List.java
+ * using the grammar src/test/resources/SLList.txt.
+ * <p>
+ * The program, the grammar and the initial states are prepared once per trial. Only
+ * {@link StateSpaceGenerator#generate()} for the analyzed method is measured. Every iteration starts with
+ * fresh method executors, i.e. without contracts computed by previous iterations. Calls of recursive methods
+ * are only registered, because the fixpoint iteration of the interprocedural analysis is not measured.
+ * <p>
+ * The input files are resolved relative to the working directory, which thus has to be the root directory
+ * of attestor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50)
+@Measurement(iterations = 50)
+@Fork(1)
+public class StateSpaceBenchmark {
+
+    private static final String CLASSPATH = "src/test/resources";
+    private static final String CLASS = "List";
+    private static final String GRAMMAR = "src/test/resources/SLList.txt";
+
+    @Param({"main", "reverseList"})
+    public String method;
+
+    @Param({""})
+    public String options;
+
+    private Scene scene;
+    private StateSpaceGeneratorFactory stateSpaceGeneratorFactory;
+    private Method mainMethod;
+    private List<HeapConfiguration> inputs;
+
+    private StateSpaceGenerator stateSpaceGenerator;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+
+        PreparedAnalysis analysis = new PreparedAnalysis();
+        analysis.run(arguments());
+        if (analysis.hasFatalError()) {
+            throw new IllegalStateException("Preparing the analysis of " + CLASS + "." + method + " failed.");
+        }
+
+        scene = analysis.getScene();
+        stateSpaceGeneratorFactory = new StateSpaceGeneratorFactory(scene);
+        mainMethod = analysis.getMainMethod();
+        inputs = analysis.getInputs();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+
+        initializeMethodExecutors();
+
+        List<ProgramState> initialStates = new ArrayList<>(inputs.size());
+        for (HeapConfiguration input : inputs) {
+            initialStates.add(scene.createProgramState(input));
+        }
+        stateSpaceGenerator = stateSpaceGeneratorFactory.create(mainMethod.getBody(), initialStates);
+    }
+
+    @Benchmark
+    public int generate() throws StateSpaceGenerationAbortedException {
+
+        return stateSpaceGenerator.generate().getStates().size();
+    }
+
+    private void initializeMethodExecutors() {
+
+        InternalProcedureRegistry procedureRegistry = new InternalProcedureRegistry(
+                new InterproceduralAnalysis(),
+                stateSpaceGeneratorFactory
+        );
+        PreconditionMatchingStrategy preconditionMatchingStrategy = new InternalPreconditionMatchingStrategy();
+
+        for (Method registered : scene.getRegisteredMethods()) {
+            InternalContractCollection contractCollection =
+                    new InternalContractCollection(preconditionMatchingStrategy);
+            DefaultScopeExtractor scopeExtractor = new DefaultScopeExtractor(stateSpaceGeneratorFactory,
+                    registered.getName());
+            MethodExecutor executor;
+            if (registered.isRecursive()) {
+                executor = new RecursiveMethodExecutor(registered, scopeExtractor, contractCollection,
+                        procedureRegistry);
+            } else {
+                executor = new NonRecursiveMethodExecutor(registered, scopeExtractor, contractCollection,
+                        procedureRegistry);
+            }
+            registered.setMethodExecution(executor);
+        }
+    }
+
+    private String[] arguments() {
+
+        List<String> result = new ArrayList<>();
+        result.add("--classpath");
+        result.add(CLASSPATH);
+        result.add("--class");
+        result.add(CLASS);
+        result.add("--method");
+        result.add(method);
+        result.add("--grammar");
+        result.add(GRAMMAR);
+
+        String trimmed = options.trim();
+        if (!trimmed.isEmpty()) {
+            for (String option : trimmed.split("\\s+")) {
+                result.add(option);
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,81 @@
+package de.rwth.i2.attestor.main;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AnalysisServerIT {
+
+    private static final String SETTINGS = "examples/SLList/configuration/settings/SLList_reverseRecursive_shape.attestor";
+
+    @Test
+    public void testSessionIsReused() {
+
+        AnalysisServer server = new AnalysisServer(2);
+
+        JSONObject first = server.handle(request("-l", SETTINGS));
+        assertFalse(first.getBoolean("fatal"));
+        assertFalse(first.getBoolean("reused"));
+        assertEquals("reverseRecursive", first.getString("method"));
+        assertTrue(first.getBoolean("ltlSatisfied"));
+
+        JSONObject second = server.handle(request("-l", SETTINGS));
+        assertFalse(second.getBoolean("fatal"));
+        assertTrue(second.getBoolean("reused"));
+        assertEquals(first.getInt("statesWithoutProcedureCalls"), second.getInt("statesWithoutProcedureCalls"));
+        assertEquals(first.getInt("finalStates"), second.getInt("finalStates"));
+        assertTrue(second.getBoolean("ltlSatisfied"));
+        // the contracts computed by the first request are reused
+        assertTrue(second.getLong("states") < first.getLong("states"));
+    }
+
+    @Test
+    public void testOptionOrderDoesNotMatter() {
+
+        AnalysisServer server = new AnalysisServer(2);
+
+        JSONObject first = server.handle(request("-l", SETTINGS, "--compact-heaps", "--ordered-matching"));
+        assertFalse(first.getBoolean("fatal"));
+        assertFalse(first.getBoolean("reused"));
+
+        JSONObject second = server.handle(request("-l", SETTINGS, "--ordered-matching", "--compact-heaps"));
+        assertFalse(second.getBoolean("fatal"));
+        assertTrue(second.getBoolean("reused"));
+    }
+
+    @Test
+    public void testOtherMethodAgreesWithFreshSession() {
+
+        AnalysisServer server = new AnalysisServer(2);
+        assertFalse(server.handle(request("-l", SETTINGS)).getBoolean("fatal"));
+
+        JSONObject reused = server.handle(request("-l", SETTINGS, "--method", "reverse"));
+        assertFalse(reused.getBoolean("fatal"));
+        assertTrue(reused.getBoolean("reused"));
+        assertEquals("reverse", reused.getString("method"));
+
+        JSONObject fresh = new AnalysisServer(2).handle(request("-l", SETTINGS, "--method", "reverse"));
+        assertFalse(fresh.getBoolean("reused"));
+        assertEquals(fresh.getInt("statesWithoutProcedureCalls"), reused.getInt("statesWithoutProcedureCalls"));
+        assertEquals(fresh.getInt("finalStates"), reused.getInt("finalStates"));
+        assertEquals(fresh.getBoolean("ltlSatisfied"), reused.getBoolean("ltlSatisfied"));
+    }
+
+    @Test
+    public void testUnknownMethod() {
+
+        AnalysisServer server = new AnalysisServer(2);
+
+        assertFalse(server.handle(request("-l", SETTINGS)).getBoolean("fatal"));
+        JSONObject unknownMethod = server.handle(request("-l", SETTINGS, "--method", "noSuchMethod"));
+        assertTrue(unknownMethod.getBoolean("fatal"));
+        assertTrue(unknownMethod.getBoolean("reused"));
+    }
+
+    private static JSONObject request(String... args) {
+
+        return new JSONObject().put("args", new JSONArray(args));
+    }
+}
@@ -7,6 +7,7 @@ public class AbstractionOptions implements MorphismOptions {
     private boolean admissibleAbstraction = false;
     private boolean admissibleConstants = false;
     private boolean admissibleMarkings = false;
+    private boolean orderedMatching = false;
 
     @Override
     public boolean isAdmissibleAbstraction() {
@@ -23,6 +24,11 @@ public class AbstractionOptions implements MorphismOptions {
         return admissibleMarkings;
     }
 
+    @Override
+    public boolean isOrderedMatching() {
+        return orderedMatching;
+    }
+
     public AbstractionOptions setAdmissibleAbstraction(boolean admissibleAbstraction) {
         this.admissibleAbstraction = admissibleAbstraction;
         return this;
@@ -37,4 +43,9 @@ public class AbstractionOptions implements MorphismOptions {
         this.admissibleMarkings = admissibleMarkings;
         return this;
     }
+
+    public AbstractionOptions setOrderedMatching(boolean orderedMatching) {
+        this.orderedMatching = orderedMatching;
+        return this;
+    }
 }
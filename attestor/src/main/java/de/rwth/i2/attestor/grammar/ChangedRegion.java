@@ -0,0 +1,94 @@
+package de.rwth.i2.attestor.grammar;
+
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The region of a heap configuration surrounding the nodes that have changed since the heap configuration
+ * has been abstracted for the last time.
+ * <br>
+ * If a heap configuration was fully abstract before, every embedding of a right-hand side into the changed
+ * heap configuration contains at least one changed node. A connected right-hand side can thus only be
+ * embedded in the nodes whose distance to a changed node is at most the diameter of the right-hand side.
+ * Signatures of these neighbourhoods are computed on demand and cached for every requested distance.
+ */
+public class ChangedRegion {
+
+    private final HeapConfiguration heapConfiguration;
+
+    private final TIntSet visited;
+
+    /**
+     * The i-th layer contains all nodes whose distance to the closest changed node is exactly i.
+     */
+    private final List<TIntArrayList> layers = new ArrayList<>();
+
+    private final TIntObjectMap<EmbeddingSignature> signatures = new TIntObjectHashMap<>();
+
+    /**
+     * @param heapConfiguration The heap configuration.
+     * @param changedNodes      The nodes of heapConfiguration that have been changed.
+     */
+    public ChangedRegion(HeapConfiguration heapConfiguration, TIntArrayList changedNodes) {
+
+        this.heapConfiguration = heapConfiguration;
+        this.visited = new TIntHashSet(changedNodes);
+        layers.add(new TIntArrayList(visited));
+    }
+
+    /**
+     * Checks whether a pattern might be embedded into the heap configuration such that the embedding
+     * contains at least one changed node.
+     *
+     * @param pattern The signature of the pattern computed by {@link EmbeddingSignature#ofPattern(HeapConfiguration)}.
+     * @return False if no such embedding exists; true if an embedding might exist.
+     */
+    public boolean mightContainEmbeddingOf(EmbeddingSignature pattern) {
+
+        if (visited.isEmpty()) {
+            return false;
+        }
+
+        int radius = pattern.getDiameter();
+        if (radius == EmbeddingSignature.UNBOUNDED_DIAMETER) {
+            return true;
+        }
+
+        EmbeddingSignature signature = signatures.get(radius);
+        if (signature == null) {
+            signature = EmbeddingSignature.of(heapConfiguration, neighbourhood(radius));
+            signatures.put(radius, signature);
+        }
+        return pattern.mightBeEmbeddedIn(signature);
+    }
+
+    /**
+     * @param radius The maximal distance to a changed node.
+     * @return All nodes whose distance to some changed node is at most radius.
+     */
+    private TIntSet neighbourhood(int radius) {
+
+        TIntArrayList last = layers.get(layers.size() - 1);
+        while (layers.size() <= radius && !last.isEmpty()) {
+            last = EmbeddingSignature.nextLayer(heapConfiguration, last, visited);
+            layers.add(last);
+        }
+
+        if (layers.size() <= radius + 1) {
+            return visited;
+        }
+
+        TIntSet result = new TIntHashSet();
+        for (int i = 0; i <= radius; i++) {
+            result.addAll(layers.get(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,241 @@
+package de.rwth.i2.attestor.grammar;
+
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.types.Type;
+import de.rwth.i2.attestor.types.Types;
+import gnu.trove.iterator.TObjectIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+/**
+ * An EmbeddingSignature summarizes the number of nodes, selector edges, nonterminal edges and variable edges
+ * of a heap configuration per label.
+ * <br>
+ * Since an embedding of a pattern into a target heap configuration maps distinct nodes and edges of the
+ * pattern to distinct nodes and edges of the target with matching labels, a pattern can only be embedded
+ * if every label occurs at least as often in the target as in the pattern.
+ * Comparing signatures is thus a cheap necessary condition to rule out embeddings before
+ * searching for them.
+ * <br>
+ * The signature of a pattern additionally stores its diameter, i.e. the maximal distance between two of its nodes,
+ * where nodes are adjacent if they are connected by a selector or attached to a common nonterminal edge.
+ * Every embedding of a pattern that contains some node v thus only contains nodes whose distance
+ * to v is at most the diameter of the pattern.
+ */
+public final class EmbeddingSignature {
+
+    private final TObjectIntMap<Type> nodeTypes = new TObjectIntHashMap<>();
+    private final TObjectIntMap<SelectorLabel> selectors = new TObjectIntHashMap<>();
+    private final TObjectIntMap<String> nonterminals = new TObjectIntHashMap<>();
+    private final TObjectIntMap<String> variables = new TObjectIntHashMap<>();
+
+    /**
+     * Value of the diameter if it is unknown or the underlying heap configuration is not connected.
+     */
+    public static final int UNBOUNDED_DIAMETER = Integer.MAX_VALUE;
+
+    private int nodeCount = 0;
+
+    private int diameter = UNBOUNDED_DIAMETER;
+
+    /**
+     * @param heapConfiguration The heap configuration whose signature is computed.
+     * @param region            The nodes that should be considered or null if all nodes should be considered.
+     *                          Edges are only considered if all attached nodes belong to region.
+     */
+    private EmbeddingSignature(HeapConfiguration heapConfiguration, TIntSet region) {
+
+        TIntArrayList nodes = heapConfiguration.nodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            if (region != null && !region.contains(node)) {
+                continue;
+            }
+            ++nodeCount;
+            nodeTypes.adjustOrPutValue(heapConfiguration.nodeTypeOf(node), 1, 1);
+            for (SelectorLabel sel : heapConfiguration.selectorLabelsOf(node)) {
+                if (region == null || region.contains(heapConfiguration.selectorTargetOf(node, sel))) {
+                    selectors.adjustOrPutValue(sel, 1, 1);
+                }
+            }
+        }
+
+        TIntArrayList ntEdges = heapConfiguration.nonterminalEdges();
+        for (int i = 0; i < ntEdges.size(); i++) {
+            int ntEdge = ntEdges.get(i);
+            if (region == null || region.containsAll(heapConfiguration.attachedNodesOf(ntEdge))) {
+                // nonterminals are compared by their label only, because indexed nonterminals
+                // match independently of their index
+                nonterminals.adjustOrPutValue(heapConfiguration.labelOf(ntEdge).getLabel(), 1, 1);
+            }
+        }
+
+        TIntArrayList varEdges = heapConfiguration.variableEdges();
+        for (int i = 0; i < varEdges.size(); i++) {
+            int varEdge = varEdges.get(i);
+            if (region == null || region.contains(heapConfiguration.targetOf(varEdge))) {
+                variables.adjustOrPutValue(heapConfiguration.nameOf(varEdge), 1, 1);
+            }
+        }
+    }
+
+    /**
+     * Computes the signature of a heap configuration.
+     *
+     * @param heapConfiguration The heap configuration.
+     * @return The signature of heapConfiguration.
+     */
+    public static EmbeddingSignature of(HeapConfiguration heapConfiguration) {
+
+        return new EmbeddingSignature(heapConfiguration, null);
+    }
+
+    /**
+     * Computes the signature of the subgraph of a heap configuration that is induced by the given nodes.
+     *
+     * @param heapConfiguration The heap configuration.
+     * @param region            The nodes of heapConfiguration that should be considered.
+     * @return The signature of the restriction of heapConfiguration to region.
+     */
+    public static EmbeddingSignature of(HeapConfiguration heapConfiguration, TIntSet region) {
+
+        return new EmbeddingSignature(heapConfiguration, region);
+    }
+
+    /**
+     * Computes the signature of a heap configuration that serves as a pattern, e.g. a right-hand side
+     * of a grammar rule. In contrast to {@link #of(HeapConfiguration)}, the diameter is computed as well.
+     *
+     * @param pattern The heap configuration.
+     * @return The signature of pattern including its diameter.
+     */
+    public static EmbeddingSignature ofPattern(HeapConfiguration pattern) {
+
+        EmbeddingSignature result = new EmbeddingSignature(pattern, null);
+        result.diameter = computeDiameter(pattern);
+        return result;
+    }
+
+    private static int computeDiameter(HeapConfiguration heapConfiguration) {
+
+        TIntArrayList nodes = heapConfiguration.nodes();
+        int result = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            TIntArrayList layer = new TIntArrayList(1);
+            layer.add(nodes.get(i));
+            TIntSet visited = new TIntHashSet(layer);
+            int distance = 0;
+            while (!layer.isEmpty()) {
+                layer = nextLayer(heapConfiguration, layer, visited);
+                if (!layer.isEmpty()) {
+                    ++distance;
+                }
+            }
+            if (visited.size() < nodes.size()) {
+                return UNBOUNDED_DIAMETER;
+            }
+            result = Math.max(result, distance);
+        }
+        return result;
+    }
+
+    /**
+     * Computes all nodes that are adjacent to a node in the given layer, but have not been visited yet.
+     * Nodes are adjacent if they are connected by a selector edge or attached to the same nonterminal edge.
+     *
+     * @param heapConfiguration The underlying heap configuration.
+     * @param layer             The nodes whose neighbours should be computed.
+     * @param visited           All visited nodes. The computed nodes are added to this set.
+     * @return The list of all adjacent nodes that have not been visited before.
+     */
+    static TIntArrayList nextLayer(HeapConfiguration heapConfiguration, TIntArrayList layer, TIntSet visited) {
+
+        TIntArrayList result = new TIntArrayList();
+        for (int i = 0; i < layer.size(); i++) {
+            int node = layer.get(i);
+            addUnvisited(heapConfiguration.successorNodesOf(node), visited, result);
+            addUnvisited(heapConfiguration.predecessorNodesOf(node), visited, result);
+            TIntArrayList ntEdges = heapConfiguration.attachedNonterminalEdgesOf(node);
+            for (int j = 0; j < ntEdges.size(); j++) {
+                addUnvisited(heapConfiguration.attachedNodesOf(ntEdges.get(j)), visited, result);
+            }
+        }
+        return result;
+    }
+
+    private static void addUnvisited(TIntArrayList nodes, TIntSet visited, TIntArrayList result) {
+
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            if (visited.add(node)) {
+                result.add(node);
+            }
+        }
+    }
+
+    /**
+     * @return The diameter of the underlying pattern or UNBOUNDED_DIAMETER if the pattern is not connected
+     * or the signature has not been computed by {@link #ofPattern(HeapConfiguration)}.
+     */
+    public int getDiameter() {
+
+        return diameter;
+    }
+
+    /**
+     * Checks whether a heap configuration with this signature might be embedded in a heap
+     * configuration with the given signature.
+     *
+     * @param target The signature of the target heap configuration.
+     * @return False if no embedding exists; true if an embedding might exist.
+     */
+    public boolean mightBeEmbeddedIn(EmbeddingSignature target) {
+
+        if (nodeCount > target.nodeCount) {
+            return false;
+        }
+
+        if (!isCoveredBy(selectors, target.selectors)
+                || !isCoveredBy(nonterminals, target.nonterminals)
+                || !isCoveredBy(variables, target.variables)) {
+            return false;
+        }
+
+        int targetNullNodes = target.nodeTypes.get(Types.NULL);
+        TObjectIntIterator<Type> iterator = nodeTypes.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            Type type = iterator.key();
+            int available = target.nodeTypes.get(type);
+            // non-constant nodes of a pattern may also be matched with null
+            if (type != Types.NULL && !Types.isConstantType(type)) {
+                available += targetNullNodes;
+            }
+            if (iterator.value() > available) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static <T> boolean isCoveredBy(TObjectIntMap<T> pattern, TObjectIntMap<T> target) {
+
+        if (pattern.size() > target.size()) {
+            return false;
+        }
+
+        TObjectIntIterator<T> iterator = pattern.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            if (iterator.value() > target.get(iterator.key())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
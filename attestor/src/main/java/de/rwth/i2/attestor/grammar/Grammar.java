@@ -1,9 +1,11 @@
 package de.rwth.i2.attestor.grammar;
 
+import de.rwth.i2.attestor.grammar.materialization.util.MaterializationRuleTable;
 import de.rwth.i2.attestor.graph.Nonterminal;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -19,11 +21,33 @@ public class Grammar {
     final Map<Nonterminal, Set<HeapConfiguration>> rules;
     final Map<Nonterminal, Set<CollapsedHeapConfiguration>> collapsedRules;
 
+    /**
+     * Precomputed signatures of all right-hand sides (including collapsed ones) to quickly rule out
+     * right-hand sides that cannot be embedded in a heap configuration.
+     */
+    private final Map<Object, EmbeddingSignature> signatures = new IdentityHashMap<>();
+
+    /**
+     * The rules resolving each violation point. Computed at most once when it is requested for the first time.
+     */
+    private MaterializationRuleTable materializationRuleTable;
+
     Grammar(Map<Nonterminal, Set<HeapConfiguration>> rules,
             Map<Nonterminal, Set<CollapsedHeapConfiguration>> collapsedRules) {
 
         this.rules = rules;
         this.collapsedRules = collapsedRules;
+
+        for (Set<HeapConfiguration> rightHandSides : rules.values()) {
+            for (HeapConfiguration rhs : rightHandSides) {
+                signatures.put(rhs, EmbeddingSignature.ofPattern(rhs));
+            }
+        }
+        for (Set<CollapsedHeapConfiguration> rightHandSides : collapsedRules.values()) {
+            for (CollapsedHeapConfiguration rhs : rightHandSides) {
+                signatures.put(rhs, EmbeddingSignature.ofPattern(rhs.getCollapsed()));
+            }
+        }
     }
 
     public static GrammarBuilder builder() {
@@ -64,5 +88,36 @@ public class Grammar {
         }
     }
 
+    /**
+     * @return The table of rules resolving each violation point by materialization.
+     */
+    public synchronized MaterializationRuleTable getMaterializationRuleTable() {
+
+        if (materializationRuleTable == null) {
+            materializationRuleTable = new MaterializationRuleTable(this);
+        }
+        return materializationRuleTable;
+    }
+
+    /**
+     * @param rhs A right-hand side of this grammar.
+     * @return The signature of rhs.
+     */
+    public EmbeddingSignature getSignatureOf(HeapConfiguration rhs) {
+
+        EmbeddingSignature signature = signatures.get(rhs);
+        return signature != null ? signature : EmbeddingSignature.ofPattern(rhs);
+    }
+
+    /**
+     * @param rhs A collapsed right-hand side of this grammar.
+     * @return The signature of the collapsed heap configuration of rhs.
+     */
+    public EmbeddingSignature getSignatureOf(CollapsedHeapConfiguration rhs) {
+
+        EmbeddingSignature signature = signatures.get(rhs);
+        return signature != null ? signature : EmbeddingSignature.ofPattern(rhs.getCollapsed());
+    }
+
 
 }
@@ -0,0 +1,99 @@
+package de.rwth.i2.attestor.grammar.canonicalization;
+
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.util.LruCache;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A CanonicalizationStrategy that memoizes the results of another CanonicalizationStrategy.
+ * <br>
+ * Heap configurations are identified up to isomorphism. Hence, whenever a heap configuration that is
+ * isomorphic to a previously canonicalized one is encountered, the cached abstract heap configuration
+ * is returned instead of applying the grammar again.
+ * The number of cached heap configurations is bounded; if the bound is exceeded, the least recently used
+ * heap configuration is evicted.
+ */
+public class CachingCanonicalizationStrategy implements CanonicalizationStrategy {
+
+    private final CanonicalizationStrategy strategy;
+
+    private final Map<HeapConfiguration, HeapConfiguration> cache;
+
+    private final AtomicLong hits = new AtomicLong(0);
+
+    private final AtomicLong misses = new AtomicLong(0);
+
+    /**
+     * @param strategy The strategy whose results should be cached.
+     * @param capacity The maximal number of cached heap configurations.
+     */
+    public CachingCanonicalizationStrategy(CanonicalizationStrategy strategy, int capacity) {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of a canonicalization cache must be positive.");
+        }
+
+        this.strategy = strategy;
+        this.cache = new LruCache<>(capacity);
+    }
+
+    @Override
+    public HeapConfiguration canonicalize(HeapConfiguration heapConfiguration) {
+
+        HeapConfiguration cached;
+        synchronized (cache) {
+            cached = cache.get(heapConfiguration);
+        }
+
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached.clone();
+        }
+
+        misses.incrementAndGet();
+        HeapConfiguration result = strategy.canonicalize(heapConfiguration);
+
+        // cached heap configurations are copied such that later modifications of the
+        // input or the result do not affect the cache
+        synchronized (cache) {
+            cache.put(heapConfiguration.clone(), result.clone());
+        }
+        return result;
+    }
+
+    /**
+     * @return The strategy whose results are cached.
+     */
+    public CanonicalizationStrategy getStrategy() {
+
+        return strategy;
+    }
+
+    /**
+     * @return The number of heap configurations whose canonicalization has been taken from the cache.
+     */
+    public long getHits() {
+
+        return hits.get();
+    }
+
+    /**
+     * @return The number of heap configurations that had to be canonicalized by the underlying strategy.
+     */
+    public long getMisses() {
+
+        return misses.get();
+    }
+
+    /**
+     * @return The number of heap configurations that are currently cached.
+     */
+    public int size() {
+
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Set;
 public class CanonicalizationStrategyBuilder {
 
     private boolean indexedMode = false;
+    private boolean incremental = false;
     private Grammar grammar = null;
     private MorphismOptions options;
 
@@ -45,7 +46,10 @@ public class CanonicalizationStrategyBuilder {
         } else {
             canonicalizationHelper = new DefaultCanonicalizationHelper(checkerProvider);
         }
-        return new GeneralCanonicalizationStrategy(grammar, canonicalizationHelper);
+
+        // index canonicalization and admissible abstraction depend on the whole heap configuration
+        boolean incrementalCanonicalization = incremental && !indexedMode && !options.isAdmissibleAbstraction();
+        return new GeneralCanonicalizationStrategy(grammar, canonicalizationHelper, incrementalCanonicalization);
     }
 
     private CanonicalizationHelper getIndexedCanonicalizationHelper(EmbeddingCheckerProvider checkerProvider) {
@@ -101,6 +105,20 @@ public class CanonicalizationStrategyBuilder {
         return this;
     }
 
+    /**
+     * Enables incremental canonicalization, i.e. heap configurations are only abstracted in the region that
+     * changed since they have been abstracted by the built strategy for the last time.
+     * Incremental canonicalization is ignored in indexed mode and for admissible abstraction.
+     *
+     * @param enabled True if incremental canonicalization should be used.
+     * @return The builder.
+     */
+    public CanonicalizationStrategyBuilder setIncremental(boolean enabled) {
+
+        this.incremental = enabled;
+        return this;
+    }
+
     public CanonicalizationStrategyBuilder setGrammar(Grammar grammar) {
 
         this.grammar = grammar;
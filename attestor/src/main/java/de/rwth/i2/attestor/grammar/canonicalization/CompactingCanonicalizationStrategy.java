@@ -0,0 +1,39 @@
+package de.rwth.i2.attestor.grammar.canonicalization;
+
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.CompactHeapConfiguration;
+
+/**
+ * A CanonicalizationStrategy that converts the results of another CanonicalizationStrategy into
+ * {@link CompactHeapConfiguration}s.
+ * <br>
+ * Abstract heap configurations are typically stored in a state space for the remaining analysis.
+ * Their compact representation requires less memory and can be cloned without copying
+ * as long as the clone is not modified.
+ */
+public class CompactingCanonicalizationStrategy implements CanonicalizationStrategy {
+
+    private final CanonicalizationStrategy strategy;
+
+    /**
+     * @param strategy The strategy whose results should be converted.
+     */
+    public CompactingCanonicalizationStrategy(CanonicalizationStrategy strategy) {
+
+        this.strategy = strategy;
+    }
+
+    @Override
+    public HeapConfiguration canonicalize(HeapConfiguration heapConfiguration) {
+
+        return CompactHeapConfiguration.of(strategy.canonicalize(heapConfiguration));
+    }
+
+    /**
+     * @return The strategy whose results are converted.
+     */
+    public CanonicalizationStrategy getStrategy() {
+
+        return strategy;
+    }
+}
@@ -1,9 +1,12 @@
 package de.rwth.i2.attestor.grammar.canonicalization;
 
+import de.rwth.i2.attestor.grammar.ChangedRegion;
 import de.rwth.i2.attestor.grammar.CollapsedHeapConfiguration;
+import de.rwth.i2.attestor.grammar.EmbeddingSignature;
 import de.rwth.i2.attestor.grammar.Grammar;
 import de.rwth.i2.attestor.graph.Nonterminal;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import gnu.trove.list.array.TIntArrayList;
 
 
 public class GeneralCanonicalizationStrategy implements CanonicalizationStrategy {
@@ -11,24 +14,57 @@ public class GeneralCanonicalizationStrategy implements CanonicalizationStrategy
     private final Grammar grammar;
     private final CanonicalizationHelper canonicalizationHelper;
 
+    /**
+     * If enabled, all results of this strategy track subsequent changes. Such heap configurations
+     * are then canonicalized by only considering rules that can be embedded in the changed region.
+     * This requires that applying a rule only depends on the embedded part of a heap configuration.
+     */
+    private final boolean incremental;
+
     public GeneralCanonicalizationStrategy(Grammar grammar,
                                            CanonicalizationHelper canonicalizationHelper) {
 
+        this(grammar, canonicalizationHelper, false);
+    }
+
+    public GeneralCanonicalizationStrategy(Grammar grammar,
+                                           CanonicalizationHelper canonicalizationHelper,
+                                           boolean incremental) {
+
         this.grammar = grammar;
         this.canonicalizationHelper = canonicalizationHelper;
+        this.incremental = incremental;
     }
 
     @Override
     public HeapConfiguration canonicalize(HeapConfiguration heapConfiguration) {
 
-        return performCanonicalization(heapConfiguration);
+        if (!incremental) {
+            return performCanonicalization(heapConfiguration);
+        }
+
+        TIntArrayList changedNodes = heapConfiguration.changedNodes();
+        if (changedNodes != null && changedNodes.isEmpty()) {
+            // the heap configuration is still fully abstract
+            return heapConfiguration;
+        }
+
+        return performCanonicalization(heapConfiguration)
+                .builder()
+                .clearChangedNodes()
+                .build();
     }
 
     private HeapConfiguration performCanonicalization(HeapConfiguration heapConfiguration) {
 
         heapConfiguration = canonicalizationHelper.prepareHeapForCanonicalization(heapConfiguration);
+        EmbeddingSignature signature = EmbeddingSignature.of(heapConfiguration);
+        ChangedRegion changedRegion = determineChangedRegion(heapConfiguration);
         for (Nonterminal lhs : grammar.getAllLeftHandSides()) {
             for (HeapConfiguration rhs : grammar.getRightHandSidesFor(lhs)) {
+                if (!mightBeEmbedded(grammar.getSignatureOf(rhs), signature, changedRegion)) {
+                    continue;
+                }
                 HeapConfiguration abstractedHeap =
                         canonicalizationHelper.tryReplaceMatching(heapConfiguration, rhs, lhs);
                 if (abstractedHeap != null) {
@@ -37,7 +73,10 @@ public class GeneralCanonicalizationStrategy implements CanonicalizationStrategy
             }
 
             for(CollapsedHeapConfiguration rhs : grammar.getCollapsedRightHandSidesFor(lhs)) {
-                        HeapConfiguration abstractedHeap =
+                if (!mightBeEmbedded(grammar.getSignatureOf(rhs), signature, changedRegion)) {
+                    continue;
+                }
+                HeapConfiguration abstractedHeap =
                         canonicalizationHelper.tryReplaceMatching(heapConfiguration, rhs, lhs);
                 if (abstractedHeap != null) {
                     return performCanonicalization(abstractedHeap);
@@ -47,4 +86,29 @@ public class GeneralCanonicalizationStrategy implements CanonicalizationStrategy
         }
         return heapConfiguration;
     }
+
+    /**
+     * @param heapConfiguration The heap configuration that should be abstracted.
+     * @return The region that has been changed since heapConfiguration has been abstracted by this strategy
+     *         or null if the whole heap configuration has to be considered.
+     */
+    private ChangedRegion determineChangedRegion(HeapConfiguration heapConfiguration) {
+
+        if (!incremental) {
+            return null;
+        }
+
+        TIntArrayList changedNodes = heapConfiguration.changedNodes();
+        if (changedNodes == null) {
+            return null;
+        }
+        return new ChangedRegion(heapConfiguration, changedNodes);
+    }
+
+    private boolean mightBeEmbedded(EmbeddingSignature rhs, EmbeddingSignature heapSignature,
+                                    ChangedRegion changedRegion) {
+
+        return rhs.mightBeEmbeddedIn(heapSignature)
+                && (changedRegion == null || changedRegion.mightContainEmbeddingOf(rhs));
+    }
 }
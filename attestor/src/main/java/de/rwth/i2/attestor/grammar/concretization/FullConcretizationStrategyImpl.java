@@ -29,10 +29,10 @@ public class FullConcretizationStrategyImpl implements FullConcretizationStrateg
                 result.add(current);
                 continue;
             }
-            TIntIterator ntEdgeIterator = abstractHc.nonterminalEdges().iterator();
+            TIntIterator ntEdgeIterator = current.nonterminalEdges().iterator();
             while (ntEdgeIterator.hasNext()) {
                 int ntEdge = ntEdgeIterator.next();
-                Iterator<HeapConfiguration> nextHcIterator = singleStepConcretizationStrategy.concretize(abstractHc, ntEdge);
+                Iterator<HeapConfiguration> nextHcIterator = singleStepConcretizationStrategy.concretize(current, ntEdge);
                 while(nextHcIterator.hasNext()) {
                    HeapConfiguration nextHc = nextHcIterator.next();
                     queue.addLast(nextHc);
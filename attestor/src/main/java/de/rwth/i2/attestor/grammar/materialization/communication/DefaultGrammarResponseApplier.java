@@ -45,7 +45,8 @@ public class DefaultGrammarResponseApplier implements GrammarResponseApplier {
 
     /**
      * uses the graphMaterializer to apply each rule in the grammarResponse to
-     * the inputGraph
+     * the inputGraph. If there is more than one rule, all rules are applied in
+     * a single pass.
      *
      * @param inputGraph             the graph which will be materialized
      * @param edgeId                 the id of the nonterminal edge which will be materialized
@@ -57,9 +58,15 @@ public class DefaultGrammarResponseApplier implements GrammarResponseApplier {
             HeapConfiguration inputGraph, int edgeId,
             DefaultGrammarResponse defaultGrammarResponse) {
 
+        Collection<HeapConfiguration> rules = defaultGrammarResponse.getApplicableRules();
+
+        if (rules.size() > 1) {
+            return new ArrayList<>(graphMaterializer.getMaterializedClonesWith(inputGraph, edgeId, rules));
+        }
+
         Collection<HeapConfiguration> materializedGraphs = new ArrayList<>();
 
-        for (HeapConfiguration rhsToApply : defaultGrammarResponse.getApplicableRules()) {
+        for (HeapConfiguration rhsToApply : rules) {
 
             HeapConfiguration materializedGraph =
                     graphMaterializer.getMaterializedCloneWith(inputGraph, edgeId, rhsToApply);
@@ -4,6 +4,7 @@ import de.rwth.i2.attestor.grammar.materialization.communication.DefaultGrammarR
 import de.rwth.i2.attestor.grammar.materialization.communication.GrammarResponse;
 import de.rwth.i2.attestor.grammar.materialization.communication.UnexpectedNonterminalTypeException;
 import de.rwth.i2.attestor.grammar.materialization.util.MaterializationRuleManager;
+import de.rwth.i2.attestor.grammar.materialization.util.MaterializationRuleTable;
 import de.rwth.i2.attestor.grammar.materialization.util.ViolationPointResolver;
 import de.rwth.i2.attestor.graph.BasicNonterminal;
 import de.rwth.i2.attestor.graph.Nonterminal;
@@ -23,9 +24,24 @@ public class DefaultMaterializationRuleManager implements MaterializationRuleMan
 
     final ViolationPointResolver vioPointResolver;
 
+    private final MaterializationRuleTable ruleTable;
+
     public DefaultMaterializationRuleManager(ViolationPointResolver vioResolver) {
 
         this.vioPointResolver = vioResolver;
+        this.ruleTable = null;
+    }
+
+    /**
+     * Creates a rule manager that looks up the rules resolving a violation point in a precomputed table
+     * instead of computing them on demand.
+     *
+     * @param ruleTable the rules of a grammar resolving each violation point
+     */
+    public DefaultMaterializationRuleManager(MaterializationRuleTable ruleTable) {
+
+        this.vioPointResolver = null;
+        this.ruleTable = ruleTable;
     }
 
     /**
@@ -42,6 +58,10 @@ public class DefaultMaterializationRuleManager implements MaterializationRuleMan
                     "DefaultNonterminal and RefinedNonterminalImpl");
         }
 
+        if (ruleTable != null) {
+            return ruleTable.getResponseFor(toReplace, tentacle, requestedSelector);
+        }
+
         Map<Nonterminal, Collection<HeapConfiguration>> rulesResolvingVioPoint =
                 vioPointResolver.getRulesCreatingSelectorFor(toReplace, tentacle, requestedSelector);
 
@@ -34,7 +34,7 @@ public class IndexedMaterializationRuleManager extends DefaultMaterializationRul
 
 
     @Override
-    public GrammarResponse getRulesFor(Nonterminal toReplace, int tentacle, String requestedSelector)
+    public synchronized GrammarResponse getRulesFor(Nonterminal toReplace, int tentacle, String requestedSelector)
             throws UnexpectedNonterminalTypeException {
 
         GrammarRequest request = new GrammarRequest(toReplace, tentacle, requestedSelector);
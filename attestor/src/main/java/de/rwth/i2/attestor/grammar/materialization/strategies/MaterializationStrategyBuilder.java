@@ -45,9 +45,8 @@ public class MaterializationStrategyBuilder {
 
     private MaterializationStrategy createStrategy() {
 
-        ViolationPointResolver vioResolver = new ViolationPointResolver(grammar);
         MaterializationRuleManager grammarManager =
-                new DefaultMaterializationRuleManager(vioResolver);
+                new DefaultMaterializationRuleManager(grammar.getMaterializationRuleTable());
         GrammarResponseApplier ruleApplier =
                 new DefaultGrammarResponseApplier(new GraphMaterializer());
 
@@ -2,6 +2,9 @@ package de.rwth.i2.attestor.grammar.materialization.util;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Responsible for replacing a NonterminalEdge by a rule graph
  *
@@ -19,4 +22,16 @@ public class GraphMaterializer {
         return cloneOfInput.builder().replaceNonterminalEdge(toReplaceIndex, rule).build();
     }
 
+    /**
+     * Replaces a NonterminalEdge by each of the given rule graphs at once.
+     * The result coincides with calling {@link #getMaterializedCloneWith} for each rule,
+     * but the work that does not depend on the rule is performed only once.
+     */
+    public List<HeapConfiguration> getMaterializedClonesWith(HeapConfiguration inputGraph,
+                                                             int toReplaceIndex,
+                                                             Collection<HeapConfiguration> rules) {
+
+        return inputGraph.replaceNonterminalEdgeWithEach(toReplaceIndex, rules);
+    }
+
 }
@@ -0,0 +1,112 @@
+package de.rwth.i2.attestor.grammar.materialization.util;
+
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.grammar.materialization.communication.DefaultGrammarResponse;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+
+import java.util.*;
+
+/**
+ * Stores for every left-hand side of a grammar, every tentacle and every selector label the right-hand sides
+ * that create this selector at the external node attached to this tentacle.
+ * <p>
+ * The table is computed once for a grammar and never changes afterwards. In contrast to
+ * {@link ViolationPointResolver}, looking up the rules that resolve a violation point thus neither
+ * allocates requests nor responses and requires no synchronization.
+ */
+public class MaterializationRuleTable {
+
+    private static final DefaultGrammarResponse EMPTY_RESPONSE = new DefaultGrammarResponse(Collections.emptyList());
+
+    /**
+     * Maps every left-hand side to a list that maps each tentacle to the responses for each selector label.
+     */
+    private final Map<Nonterminal, List<Map<String, DefaultGrammarResponse>>> responses = new HashMap<>();
+
+    public MaterializationRuleTable(Grammar grammar) {
+
+        for (Nonterminal lhs : grammar.getAllLeftHandSides()) {
+            Set<HeapConfiguration> rightHandSides = grammar.getRightHandSidesFor(lhs);
+            int rank = lhs.getRank();
+            List<Map<String, DefaultGrammarResponse>> byTentacle = new ArrayList<>(rank);
+            for (int tentacle = 0; tentacle < rank; tentacle++) {
+                byTentacle.add(computeResponses(rightHandSides, tentacle));
+            }
+            responses.put(lhs, byTentacle);
+        }
+    }
+
+    private static Map<String, DefaultGrammarResponse> computeResponses(Set<HeapConfiguration> rightHandSides,
+                                                                        int tentacle) {
+
+        Map<String, List<HeapConfiguration>> rules = new LinkedHashMap<>();
+        for (HeapConfiguration rhs : rightHandSides) {
+            for (String selector : getCreatedSelectors(rhs, tentacle)) {
+                rules.computeIfAbsent(selector, s -> new ArrayList<>()).add(rhs);
+            }
+        }
+
+        Map<String, DefaultGrammarResponse> result = new HashMap<>(rules.size() * 2);
+        for (Map.Entry<String, List<HeapConfiguration>> entry : rules.entrySet()) {
+            HeapConfiguration[] rhsArray = entry.getValue().toArray(new HeapConfiguration[0]);
+            result.put(entry.getKey(),
+                    new DefaultGrammarResponse(Collections.unmodifiableList(Arrays.asList(rhsArray))));
+        }
+        return result;
+    }
+
+    /**
+     * @param rhs      A right-hand side.
+     * @param tentacle A tentacle, i.e. the position of an external node of rhs.
+     * @return The names of all selectors leaving the external node at the given position that point to a node.
+     */
+    private static Set<String> getCreatedSelectors(HeapConfiguration rhs, int tentacle) {
+
+        Set<String> result = new LinkedHashSet<>();
+        if (tentacle >= rhs.countExternalNodes()) {
+            return result;
+        }
+
+        // as in ViolationPointResolver, only the first selector with a given name is taken into account
+        Set<String> seenSelectors = new HashSet<>();
+        int node = rhs.externalNodeAt(tentacle);
+        for (SelectorLabel sel : rhs.selectorLabelsOf(node)) {
+            String name = sel.getLabel();
+            if (seenSelectors.add(name) && rhs.selectorTargetOf(node, sel) != HeapConfiguration.INVALID_ELEMENT) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param nonterminal  The nonterminal to replace.
+     * @param tentacle     The tentacle of the nonterminal at which the selector is requested.
+     * @param selectorName The name of the requested selector.
+     * @return A response containing all right-hand sides of rules with the given left-hand side that create
+     * the requested selector at the given tentacle. The same response object is returned for equal arguments.
+     */
+    public DefaultGrammarResponse getResponseFor(Nonterminal nonterminal, int tentacle, String selectorName) {
+
+        List<Map<String, DefaultGrammarResponse>> byTentacle = responses.get(nonterminal);
+        if (byTentacle == null || tentacle < 0 || tentacle >= byTentacle.size()) {
+            return EMPTY_RESPONSE;
+        }
+        DefaultGrammarResponse response = byTentacle.get(tentacle).get(selectorName);
+        return response != null ? response : EMPTY_RESPONSE;
+    }
+
+    /**
+     * @param nonterminal  The nonterminal to replace.
+     * @param tentacle     The tentacle of the nonterminal at which the selector is requested.
+     * @param selectorName The name of the requested selector.
+     * @return An unmodifiable collection of all right-hand sides of rules with the given left-hand side that create
+     * the requested selector at the given tentacle.
+     */
+    public Collection<HeapConfiguration> getRulesFor(Nonterminal nonterminal, int tentacle, String selectorName) {
+
+        return getResponseFor(nonterminal, tentacle, selectorName).getApplicableRules();
+    }
+}
@@ -35,7 +35,7 @@ public class ViolationPointResolver {
      * @param selectorName the name of the requested selector Label
      * @return the rules in form lhs &#8594; {rhs}
      */
-    public Map<Nonterminal, Collection<HeapConfiguration>> getRulesCreatingSelectorFor(
+    public synchronized Map<Nonterminal, Collection<HeapConfiguration>> getRulesCreatingSelectorFor(
             Nonterminal nonterminal,
             int tentacle,
             String selectorName) {
@@ -54,7 +54,7 @@ public class BasicSelectorLabel implements SelectorLabel {
 
         private final Map<String, SelectorLabel> knownSelectorLabels = new LinkedHashMap<>();
 
-        public SelectorLabel get(String name) {
+        public synchronized SelectorLabel get(String name) {
 
             SelectorLabel result = knownSelectorLabels.computeIfAbsent(name, BasicSelectorLabel::new);
             return result;
@@ -0,0 +1,350 @@
+package de.rwth.i2.attestor.graph.digraph;
+
+import gnu.trove.list.array.TIntArrayList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A CompactDigraph is an immutable counterpart of a packed {@link LabeledDigraph} that stores all nodes and edges
+ * in a few flat arrays instead of several lists per node.
+ * <p>
+ * Edges are stored in compressed sparse row format: The outgoing edges of node i are stored at positions
+ * {@code successorOffsets[i]} up to (excluding) {@code successorOffsets[i+1]} of the arrays successors and
+ * edgeLabels. Incoming edges are stored analogously in predecessors.
+ * Edge labels are interned, i.e. every edge stores an integer that uniquely identifies its label.
+ * <p>
+ * Node identifiers, the order of successors and predecessors of each node as well as the sequence of external nodes
+ * coincide with the LabeledDigraph a CompactDigraph has been created from.
+ * Hence, converting between both representations preserves all identifiers.
+ */
+public final class CompactDigraph {
+
+    /**
+     * The unique identifier of each edge label that has been interned so far.
+     */
+    private static final Map<Object, Integer> EDGE_LABEL_IDS = new ConcurrentHashMap<>();
+
+    /**
+     * All interned edge labels ordered by their identifiers.
+     */
+    private static final List<Object> EDGE_LABELS = new CopyOnWriteArrayList<>();
+
+    /**
+     * The label of each node.
+     */
+    private final NodeLabel[] nodeLabels;
+
+    /**
+     * The outgoing edges of node i are stored at positions successorOffsets[i], ..., successorOffsets[i+1]-1.
+     */
+    private final int[] successorOffsets;
+
+    /**
+     * The targets of all edges ordered by their source.
+     */
+    private final int[] successors;
+
+    /**
+     * The interned labels of all edges ordered like successors.
+     */
+    private final int[] edgeLabels;
+
+    /**
+     * The incoming edges of node i are stored at positions predecessorOffsets[i], ..., predecessorOffsets[i+1]-1.
+     */
+    private final int[] predecessorOffsets;
+
+    /**
+     * The sources of all edges ordered by their target.
+     */
+    private final int[] predecessors;
+
+    /**
+     * The sequence of external nodes.
+     */
+    private final int[] externalNodes;
+
+    private CompactDigraph(LabeledDigraph graph) {
+
+        int size = graph.size();
+        nodeLabels = new NodeLabel[size];
+        successorOffsets = new int[size + 1];
+        predecessorOffsets = new int[size + 1];
+
+        for (int i = 0; i < size; i++) {
+            nodeLabels[i] = graph.nodeLabelOf(i);
+            successorOffsets[i + 1] = successorOffsets[i] + graph.successorSizeOf(i);
+            predecessorOffsets[i + 1] = predecessorOffsets[i] + graph.predecessorSizeOf(i);
+        }
+
+        successors = new int[successorOffsets[size]];
+        edgeLabels = new int[successorOffsets[size]];
+        predecessors = new int[predecessorOffsets[size]];
+
+        for (int i = 0; i < size; i++) {
+            TIntArrayList succ = graph.successorsOf(i);
+            List<Object> labels = graph.outgoingEdgeLabelsOf(i);
+            int offset = successorOffsets[i];
+            for (int j = 0; j < succ.size(); j++) {
+                successors[offset + j] = succ.get(j);
+                edgeLabels[offset + j] = internEdgeLabel(labels.get(j));
+            }
+            TIntArrayList pred = graph.predecessorsOf(i);
+            pred.toArray(predecessors, 0, predecessorOffsets[i], pred.size());
+        }
+
+        externalNodes = new int[graph.rank()];
+        for (int i = 0; i < externalNodes.length; i++) {
+            externalNodes[i] = graph.externalNodeAt(i);
+        }
+    }
+
+    /**
+     * Creates a CompactDigraph with the same nodes, edges, and external nodes as the given graph.
+     *
+     * @param graph A packed LabeledDigraph, see {@link LabeledDigraph#isPacked()}.
+     * @return The compact representation of graph.
+     */
+    public static CompactDigraph of(LabeledDigraph graph) {
+
+        if (!graph.isPacked()) {
+            throw new IllegalArgumentException("Only packed graphs can be represented by a CompactDigraph.");
+        }
+
+        return new CompactDigraph(graph);
+    }
+
+    /**
+     * @param label An edge label.
+     * @return The unique identifier of the given edge label.
+     */
+    private static int internEdgeLabel(Object label) {
+
+        Integer id = EDGE_LABEL_IDS.get(label);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (EDGE_LABELS) {
+            id = EDGE_LABEL_IDS.get(label);
+            if (id == null) {
+                id = EDGE_LABELS.size();
+                EDGE_LABELS.add(label);
+                EDGE_LABEL_IDS.put(label, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * @return A mutable LabeledDigraph with the same nodes, edges, and external nodes as this graph.
+     */
+    public LabeledDigraph toLabeledDigraph() {
+
+        return new LabeledDigraph(this);
+    }
+
+    /**
+     * @return The number of nodes contained in this CompactDigraph.
+     */
+    public int size() {
+
+        return nodeLabels.length;
+    }
+
+    /**
+     * @param node The requested node.
+     * @return NodeLabel of the given node or null if the provided index does not correspond to a node.
+     */
+    public NodeLabel nodeLabelOf(int node) {
+
+        if (containsNode(node)) {
+            return nodeLabels[node];
+        }
+
+        return null;
+    }
+
+    /**
+     * @param value The value that should be checked whether it corresponds to a node.
+     * @return True if and only if the provided value corresponds to a node.
+     */
+    public boolean containsNode(int value) {
+
+        return value >= 0 && value < nodeLabels.length;
+    }
+
+    /**
+     * @param node A node in the graph.
+     * @return The number of successor nodes of the provided node.
+     */
+    public int successorSizeOf(int node) {
+
+        return successorOffsets[node + 1] - successorOffsets[node];
+    }
+
+    /**
+     * @param node A node in the graph.
+     * @param pos  The position of an outgoing edge of node.
+     * @return The target of the outgoing edge of node at position pos.
+     */
+    public int successorAt(int node, int pos) {
+
+        return successors[successorOffsets[node] + pos];
+    }
+
+    /**
+     * @param node A node in the graph.
+     * @param pos  The position of an outgoing edge of node.
+     * @return The label of the outgoing edge of node at position pos.
+     */
+    public Object edgeLabelAt(int node, int pos) {
+
+        return EDGE_LABELS.get(edgeLabels[successorOffsets[node] + pos]);
+    }
+
+    /**
+     * @param node A node in the graph.
+     * @return The number of predecessor nodes of the provided node.
+     */
+    public int predecessorSizeOf(int node) {
+
+        return predecessorOffsets[node + 1] - predecessorOffsets[node];
+    }
+
+    /**
+     * @param node A node in the graph.
+     * @param pos  The position of an incoming edge of node.
+     * @return The source of the incoming edge of node at position pos.
+     */
+    public int predecessorAt(int node, int pos) {
+
+        return predecessors[predecessorOffsets[node] + pos];
+    }
+
+    /**
+     * @param node The node whose successor nodes are considered.
+     * @return A fresh list of all successor nodes of the provided node.
+     */
+    public TIntArrayList successorsOf(int node) {
+
+        return range(successors, successorOffsets, node);
+    }
+
+    /**
+     * @param node The node whose predecessors are considered.
+     * @return A fresh list of all predecessor nodes of the provided node.
+     */
+    public TIntArrayList predecessorsOf(int node) {
+
+        return range(predecessors, predecessorOffsets, node);
+    }
+
+    private static TIntArrayList range(int[] values, int[] offsets, int node) {
+
+        int from = offsets[node];
+        TIntArrayList result = new TIntArrayList(offsets[node + 1] - from);
+        result.add(values, from, offsets[node + 1] - from);
+        return result;
+    }
+
+    /**
+     * @param node A node in the graph.
+     * @return A fresh list of all labels of edges whose source is the provided node.
+     */
+    public List<Object> outgoingEdgeLabelsOf(int node) {
+
+        List<Object> result = new ArrayList<>(successorSizeOf(node));
+        for (int i = successorOffsets[node]; i < successorOffsets[node + 1]; i++) {
+            result.add(EDGE_LABELS.get(edgeLabels[i]));
+        }
+        return result;
+    }
+
+    /**
+     * @param from The source node.
+     * @param to   The target node.
+     * @return True if and only if there is at least one edge from node 'from' to node 'to'.
+     */
+    public boolean hasEdge(int from, int to) {
+
+        for (int i = successorOffsets[from]; i < successorOffsets[from + 1]; i++) {
+            if (successors[i] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines a list of all edge labels with source node 'from' and target node 'to'.
+     *
+     * @param from The source node.
+     * @param to   The target node.
+     * @return A list of all edge labels of edges with source 'from' and target 'to'.
+     */
+    public List<Object> edgeLabelsFromTo(int from, int to) {
+
+        if (!containsNode(from) || !containsNode(to)) {
+            return null;
+        }
+
+        List<Object> result = new ArrayList<>(successorSizeOf(from));
+        for (int i = successorOffsets[from]; i < successorOffsets[from + 1]; i++) {
+            if (successors[i] == to) {
+                result.add(EDGE_LABELS.get(edgeLabels[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of external nodes of this CompactDigraph.
+     */
+    public int rank() {
+
+        return externalNodes.length;
+    }
+
+    /**
+     * @param pos A position in the sequence of external nodes.
+     * @return The external node at the given position or {@link LabeledDigraph#INVALID}.
+     */
+    public int externalNodeAt(int pos) {
+
+        if (0 <= pos && pos < externalNodes.length) {
+            return externalNodes[pos];
+        }
+
+        return LabeledDigraph.INVALID;
+    }
+
+    /**
+     * @param node The node whose position should be determined.
+     * @return The position of the node in the sequence of external nodes or {@link LabeledDigraph#INVALID}
+     * if the node is not external.
+     */
+    public int externalPosOf(int node) {
+
+        for (int i = 0; i < externalNodes.length; i++) {
+            if (externalNodes[i] == node) {
+                return i;
+            }
+        }
+
+        return LabeledDigraph.INVALID;
+    }
+
+    /**
+     * @param node The node to be checked.
+     * @return True if and only if the given node is marked as external.
+     */
+    public boolean isExternal(int node) {
+
+        return externalPosOf(node) != LabeledDigraph.INVALID;
+    }
+}
@@ -0,0 +1,271 @@
+package de.rwth.i2.attestor.graph.digraph;
+
+import de.rwth.i2.attestor.util.ListUtil;
+import gnu.trove.list.array.TIntArrayList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A GraphCertificate is an isomorphism invariant of a {@link LabeledDigraph}.
+ * <p>
+ * The certificate is obtained by iterated colour refinement (also known as the one-dimensional
+ * Weisfeiler-Lehman algorithm): Initially, every node is coloured by its label and whether
+ * it is external. In each round, the colour of every node is refined by
+ * the multisets of (edge label, colour) pairs of its outgoing and incoming edges.
+ * Since edge labels of a heap configuration are selector labels and tentacle positions, and variables
+ * are nodes labeled with their name, the resulting colours account for all of these.
+ * Refinement stops as soon as the number of distinct colours does not increase anymore.
+ * <p>
+ * Isomorphic graphs always have equal certificates. Hence, graphs with different
+ * {@link #getHash()} values are not isomorphic.
+ * If refinement yields pairwise distinct colours for all nodes, i.e. the final partition is discrete,
+ * the colours determine a canonical order of all nodes. The certificate then additionally stores the graph
+ * in this canonical order together with the position of each node in the sequence of external nodes.
+ * Two graphs with canonical certificates are isomorphic if and only if their canonical forms coincide, which allows to decide isomorphism without searching for a morphism.
+ */
+public final class GraphCertificate {
+
+    private static final long OUTGOING = 0x9E3779B97F4A7C15L;
+    private static final long INCOMING = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * The isomorphism invariant hash value.
+     */
+    private final int hash;
+
+    /**
+     * The node labels in canonical order. Null if the final partition is not discrete.
+     */
+    private final NodeLabel[] labels;
+
+    /**
+     * The position of each node (in canonical order) in the sequence of external nodes.
+     */
+    private final int[] externalPositions;
+
+    /**
+     * For each node (in canonical order), the canonical ids of its successors in ascending order.
+     */
+    private final int[][] successors;
+
+    /**
+     * For each node (in canonical order), the labels of its outgoing edges ordered like successors.
+     */
+    private final Object[][] edgeLabels;
+
+    private GraphCertificate(int hash, NodeLabel[] labels, int[] externalPositions,
+                             int[][] successors, Object[][] edgeLabels) {
+
+        this.hash = hash;
+        this.labels = labels;
+        this.externalPositions = externalPositions;
+        this.successors = successors;
+        this.edgeLabels = edgeLabels;
+    }
+
+    /**
+     * Computes the certificate of the given graph.
+     *
+     * @param graph The graph whose certificate should be computed.
+     * @return The certificate of graph.
+     */
+    public static GraphCertificate of(LabeledDigraph graph) {
+
+        TIntArrayList elements = new TIntArrayList(graph.size());
+        int[] denseIds = new int[graph.size()];
+        for (int i = 0; i < graph.size(); i++) {
+            if (graph.containsNode(i)) {
+                denseIds[i] = elements.size();
+                elements.add(i);
+            } else {
+                denseIds[i] = LabeledDigraph.INVALID;
+            }
+        }
+
+        int size = elements.size();
+        long[] colours = new long[size];
+        for (int v = 0; v < size; v++) {
+            int node = elements.get(v);
+            // only whether a node is external contributes to its colour such that the hash is also
+            // invariant under reordering external nodes, e.g. when matching preconditions of contracts
+            colours[v] = mix(graph.nodeLabelOf(node).hashCode(), graph.isExternal(node) ? 1 : 0);
+        }
+
+        int distinctColours = countDistinct(colours);
+        long[] refined = new long[size];
+        for (int round = 0; round < size && distinctColours < size; round++) {
+
+            for (int v = 0; v < size; v++) {
+                refined[v] = colours[v];
+            }
+
+            for (int v = 0; v < size; v++) {
+                int node = elements.get(v);
+                TIntArrayList succ = graph.successorsOf(node);
+                for (int pos = 0; pos < succ.size(); pos++) {
+                    int w = denseIds[succ.get(pos)];
+                    long edgeHash = graph.edgeLabelAt(node, pos).hashCode();
+                    // summation keeps the result independent of the order of edges
+                    refined[v] += mix(OUTGOING ^ edgeHash, colours[w]);
+                    refined[w] += mix(INCOMING ^ edgeHash, colours[v]);
+                }
+            }
+
+            int refinedDistinctColours = countDistinct(refined);
+            long[] tmp = colours;
+            colours = refined;
+            refined = tmp;
+            if (refinedDistinctColours == distinctColours) {
+                break;
+            }
+            distinctColours = refinedDistinctColours;
+        }
+
+        long[] sortedColours = Arrays.copyOf(colours, size);
+        Arrays.sort(sortedColours);
+        long combined = size;
+        for (long colour : sortedColours) {
+            combined = mix(combined, colour);
+        }
+        int hash = (int) (combined ^ (combined >>> 32));
+
+        if (distinctColours < size) {
+            return new GraphCertificate(hash, null, null, null, null);
+        }
+
+        return canonicalCertificate(graph, elements, denseIds, colours, sortedColours, hash);
+    }
+
+    private static GraphCertificate canonicalCertificate(LabeledDigraph graph, TIntArrayList elements,
+                                                         int[] denseIds, long[] colours,
+                                                         long[] sortedColours, int hash) {
+
+        int size = elements.size();
+        int[] canonicalIds = new int[size];
+        for (int v = 0; v < size; v++) {
+            canonicalIds[v] = Arrays.binarySearch(sortedColours, colours[v]);
+        }
+
+        NodeLabel[] labels = new NodeLabel[size];
+        int[] externalPositions = new int[size];
+        int[][] successors = new int[size][];
+        Object[][] edgeLabels = new Object[size][];
+
+        for (int v = 0; v < size; v++) {
+            int node = elements.get(v);
+            int canonicalId = canonicalIds[v];
+            labels[canonicalId] = graph.nodeLabelOf(node);
+            externalPositions[canonicalId] = graph.externalPosOf(node);
+
+            TIntArrayList succ = graph.successorsOf(node);
+            Integer[] order = new Integer[succ.size()];
+            int[] targets = new int[succ.size()];
+            for (int pos = 0; pos < succ.size(); pos++) {
+                order[pos] = pos;
+                targets[pos] = canonicalIds[denseIds[succ.get(pos)]];
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(targets[a], targets[b]));
+
+            successors[canonicalId] = new int[order.length];
+            edgeLabels[canonicalId] = new Object[order.length];
+            for (int i = 0; i < order.length; i++) {
+                successors[canonicalId][i] = targets[order[i]];
+                edgeLabels[canonicalId][i] = graph.edgeLabelAt(node, order[i]);
+            }
+        }
+
+        return new GraphCertificate(hash, labels, externalPositions, successors, edgeLabels);
+    }
+
+    private static long mix(long left, long right) {
+
+        long h = left * 0xFF51AFD7ED558CCDL + right;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 29;
+        return h;
+    }
+
+    private static int countDistinct(long[] colours) {
+
+        if (colours.length == 0) {
+            return 0;
+        }
+
+        long[] sorted = Arrays.copyOf(colours, colours.length);
+        Arrays.sort(sorted);
+        int result = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[i - 1]) {
+                ++result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return True if and only if this certificate contains a canonical form of the underlying graph.
+     */
+    public boolean isCanonical() {
+
+        return labels != null;
+    }
+
+    /**
+     * Determines whether the underlying graphs of two canonical certificates are isomorphic.
+     * Nodes are matched if their labels are equal and they are located at the same position in the
+     * sequence of external nodes. Edges between two nodes are compared as multisets of edge labels.
+     *
+     * @param other Another certificate.
+     * @return True if and only if both certificates are canonical and the underlying graphs are isomorphic.
+     */
+    public boolean hasEqualCanonicalForm(GraphCertificate other) {
+
+        if (!isCanonical() || !other.isCanonical() || hash != other.hash) {
+            return false;
+        }
+
+        if (labels.length != other.labels.length
+                || !Arrays.equals(externalPositions, other.externalPositions)) {
+            return false;
+        }
+
+        for (int v = 0; v < labels.length; v++) {
+            if (!labels[v].equals(other.labels[v])
+                    || !Arrays.equals(successors[v], other.successors[v])
+                    || !haveEqualEdgeLabels(successors[v], edgeLabels[v], other.edgeLabels[v])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean haveEqualEdgeLabels(int[] targets, Object[] labels, Object[] otherLabels) {
+
+        int begin = 0;
+        while (begin < targets.length) {
+            int end = begin;
+            while (end < targets.length && targets[end] == targets[begin]) {
+                ++end;
+            }
+            List<Object> left = new ArrayList<>(Arrays.asList(labels).subList(begin, end));
+            List<Object> right = new ArrayList<>(Arrays.asList(otherLabels).subList(begin, end));
+            if (!ListUtil.isEqualAsMultiset(left, right)) {
+                return false;
+            }
+            begin = end;
+        }
+        return true;
+    }
+
+    /**
+     * @return A hash value that coincides for isomorphic graphs.
+     */
+    public int getHash() {
+
+        return hash;
+    }
+}
@@ -14,6 +14,10 @@ import java.util.List;
  * Edges can be labeled with arbitrary objects and are identified by their source node and either
  * their label or their position on the sequence of outgoing edges of a node.
  * Note that multiple edges between two nodes as well as loops are allowed.
+ * <p>
+ * Copies of a LabeledDigraph share the lists of successors, predecessors, and edge labels of all nodes.
+ * A list of a node is only copied once the node is modified by the original or the copy.
+ * Hence, a copy requires memory proportional to the number of nodes that differ from the original.
  *
  * @author Christoph
  */
@@ -53,6 +57,19 @@ public class LabeledDigraph {
      */
     private final TIntArrayList externalNodes;
 
+    /**
+     * For each node, the owner of its lists of successors, predecessors, and edge labels.
+     * The lists of a node may only be modified in place if they are owned by this LabeledDigraph.
+     * Otherwise, they are possibly shared with other LabeledDigraphs and have to be copied first.
+     */
+    private final List<Object> ownedBy;
+
+    /**
+     * Identifies the lists owned by this LabeledDigraph. Whenever a copy is created, the original
+     * receives a fresh owner as well such that shared lists are owned by neither of them.
+     */
+    private volatile Object owner = new Object();
+
     /**
      * Creates a new LabeledDigraph.
      *
@@ -66,29 +83,57 @@ public class LabeledDigraph {
         predecessors = new ArrayList<>(capacity);
         edgeLabels = new ArrayList<>();
         externalNodes = new TIntArrayList(capacity);
+        ownedBy = new ArrayList<>(capacity);
     }
 
     /**
-     * Creates a deep copy of a given LabeledDigraph.
+     * Creates a copy of a given LabeledDigraph.
+     * The lists of successors, predecessors, and edge labels of each node are shared until they are modified.
      *
      * @param digraph The original graph.
      */
     public LabeledDigraph(LabeledDigraph digraph) {
 
-        int size = digraph.nodeLabels.size();
-
         nodeLabels = new ArrayList<>(digraph.nodeLabels);
         externalNodes = new TIntArrayList(digraph.externalNodes);
 
+        successors = new ArrayList<>(digraph.successors);
+        predecessors = new ArrayList<>(digraph.predecessors);
+        edgeLabels = new ArrayList<>(digraph.edgeLabels);
+        ownedBy = new ArrayList<>(digraph.ownedBy);
+
+        // neither the original nor the copy may modify shared lists in place
+        digraph.owner = new Object();
+    }
+
+    /**
+     * Creates a LabeledDigraph with the same nodes, edges, and external nodes as a given CompactDigraph.
+     * The order of successors and predecessors of each node is preserved.
+     *
+     * @param digraph The compact graph.
+     */
+    LabeledDigraph(CompactDigraph digraph) {
+
+        int size = digraph.size();
+
+        nodeLabels = new ArrayList<>(size);
         successors = new ArrayList<>(size);
         predecessors = new ArrayList<>(size);
         edgeLabels = new ArrayList<>(size);
+        externalNodes = new TIntArrayList(digraph.rank());
+        ownedBy = new ArrayList<>(size);
 
         for (int i = 0; i < size; i++) {
 
-            successors.add(new TIntArrayList(digraph.successors.get(i)));
-            predecessors.add(new TIntArrayList(digraph.predecessors.get(i)));
-            edgeLabels.add(new ArrayList<>(digraph.edgeLabels.get(i)));
+            nodeLabels.add(digraph.nodeLabelOf(i));
+            successors.add(digraph.successorsOf(i));
+            predecessors.add(digraph.predecessorsOf(i));
+            edgeLabels.add(digraph.outgoingEdgeLabelsOf(i));
+            ownedBy.add(owner);
+        }
+
+        for (int i = 0; i < digraph.rank(); i++) {
+            externalNodes.add(digraph.externalNodeAt(i));
         }
     }
 
@@ -115,6 +160,23 @@ public class LabeledDigraph {
         successors.add(new TIntArrayList(successorCapacity));
         predecessors.add(new TIntArrayList(predecessorCapacity));
         edgeLabels.add(new ArrayList<>());
+        ownedBy.add(owner);
+    }
+
+    /**
+     * Ensures that the lists of successors, predecessors, and edge labels of the given node are
+     * owned by this LabeledDigraph and may thus be modified in place.
+     *
+     * @param node An existing node.
+     */
+    private void own(int node) {
+
+        if (ownedBy.get(node) != owner) {
+            successors.set(node, new TIntArrayList(successors.get(node)));
+            predecessors.set(node, new TIntArrayList(predecessors.get(node)));
+            edgeLabels.set(node, new ArrayList<>(edgeLabels.get(node)));
+            ownedBy.set(node, owner);
+        }
     }
 
     /**
@@ -154,6 +216,7 @@ public class LabeledDigraph {
             nodeLabels.set(node, null);
             successors.set(node, null);
             predecessors.set(node, null);
+            ownedBy.set(node, null);
 
             //noinspection StatementWithEmptyBody
             while (externalNodes.remove(node)) ;
@@ -177,7 +240,9 @@ public class LabeledDigraph {
 
         for (int i = 0; i < listsToConsider.size(); i++) {
 
-            TIntArrayList l = listOfLists.get(listsToConsider.get(i));
+            int node = listsToConsider.get(i);
+            own(node);
+            TIntArrayList l = listOfLists.get(node);
             //noinspection StatementWithEmptyBody
             while (l.remove(value)) ;
         }
@@ -195,6 +260,8 @@ public class LabeledDigraph {
 
         if (containsNode(from) && containsNode(to) && label != null) {
 
+            own(from);
+            own(to);
             successors.get(from).add(to);
             predecessors.get(to).add(from);
             edgeLabels.get(from).add(label);
@@ -296,6 +363,8 @@ public class LabeledDigraph {
         if (containsNode(node) && pos < successors.get(node).size()) {
 
             int to = successors.get(node).get(pos);
+            own(node);
+            own(to);
             int toPos = predecessorPosOf(to, node);
             predecessors.get(to).removeAt(toPos);
 
@@ -432,6 +501,7 @@ public class LabeledDigraph {
      */
     public void replaceEdgeLabel(int node, Object oldLabel, Object newLabel) {
 
+        own(node);
         List<Object> l = edgeLabels.get(node);
         for (int i = 0; i < l.size(); i++) {
             if (l.get(i).equals(oldLabel)) {
@@ -551,6 +621,7 @@ public class LabeledDigraph {
             successors.remove(last);
             predecessors.remove(last);
             edgeLabels.remove(last);
+            ownedBy.remove(last);
             --last;
         }
     }
@@ -569,12 +640,14 @@ public class LabeledDigraph {
         for (int i = 0; i < successors.get(from).size(); i++) {
 
             int s = successors.get(from).get(i);
+            own(s);
             replaceAll(predecessors.get(s), from, to);
         }
 
         for (int i = 0; i < predecessorsCopy.size(); i++) {
 
             int p = predecessorsCopy.get(i);
+            own(p);
             replaceAll(successors.get(p), from, to);
         }
 
@@ -589,6 +662,9 @@ public class LabeledDigraph {
 
         edgeLabels.set(to, edgeLabels.get(from));
         edgeLabels.set(from, null);
+
+        ownedBy.set(to, ownedBy.get(from));
+        ownedBy.set(from, null);
     }
 
     /**
@@ -8,6 +8,8 @@ import de.rwth.i2.attestor.types.Type;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.TIntIntMap;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -235,4 +237,37 @@ public interface HeapConfiguration {
      * to node.
      */
     TIntIntMap attachedNonterminalEdgesWithNonReductionTentacle(int node);
+
+    /**
+     * Provides all nodes whose type, external status, or attached edges have changed since the last
+     * call of {@link HeapConfigurationBuilder#clearChangedNodes()}.
+     * Changes are only tracked after clearChangedNodes() has been called once.
+     *
+     * @return The changed nodes or null if changes are not tracked for this HeapConfiguration.
+     */
+    default TIntArrayList changedNodes() {
+
+        return null;
+    }
+
+    /**
+     * Performs hyperedge replacement of the given nonterminal edge for each of the given replacements.
+     * This HeapConfiguration itself is not modified.
+     * The result is the same as applying {@link HeapConfigurationBuilder#replaceNonterminalEdge(int, HeapConfiguration)}
+     * to a fresh clone of this HeapConfiguration for every replacement, but implementations may share work between
+     * the individual replacements.
+     *
+     * @param ntEdge       The nonterminal edge that should be replaced.
+     * @param replacements The HeapConfigurations that should replace the hyperedge.
+     * @return A list containing one HeapConfiguration per replacement in the iteration order of replacements.
+     */
+    default List<HeapConfiguration> replaceNonterminalEdgeWithEach(int ntEdge,
+                                                                   Collection<HeapConfiguration> replacements) {
+
+        List<HeapConfiguration> result = new ArrayList<>(replacements.size());
+        for (HeapConfiguration replacement : replacements) {
+            result.add(clone().builder().replaceNonterminalEdge(ntEdge, replacement).build());
+        }
+        return result;
+    }
 }
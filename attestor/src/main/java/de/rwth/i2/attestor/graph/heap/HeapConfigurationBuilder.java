@@ -223,4 +223,15 @@ public interface HeapConfigurationBuilder {
      * @return the builder
      */
     HeapConfigurationBuilder mergeExternals(TIntArrayList extIndicesMap);
+
+    /**
+     * Forgets all previously changed nodes and starts to track changes of the underlying HeapConfiguration.
+     * The nodes that are changed afterwards are available through {@link HeapConfiguration#changedNodes()}.
+     *
+     * @return the builder
+     */
+    default HeapConfigurationBuilder clearChangedNodes() {
+
+        return this;
+    }
 }
@@ -0,0 +1,877 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.digraph.CompactDigraph;
+import de.rwth.i2.attestor.graph.digraph.GraphCertificate;
+import de.rwth.i2.attestor.graph.digraph.NodeLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
+import de.rwth.i2.attestor.graph.heap.Variable;
+import de.rwth.i2.attestor.graph.heap.matching.AbstractMatchingChecker;
+import de.rwth.i2.attestor.graph.heap.matching.EmbeddingChecker;
+import de.rwth.i2.attestor.graph.heap.matching.MinDistanceEmbeddingChecker;
+import de.rwth.i2.attestor.graph.morphism.Graph;
+import de.rwth.i2.attestor.graph.morphism.MatchingOrder;
+import de.rwth.i2.attestor.graph.morphism.MorphismOptions;
+import de.rwth.i2.attestor.markingGeneration.Markings;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.iterator.TIntIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * <p>An immutable implementation of {@link HeapConfiguration} that is meant for heap configurations that are
+ * stored for a long time, for example the heaps of all states in a state space.</p>
+ * <p>A CompactHeapConfiguration has the same structure as an {@link InternalHeapConfiguration}, including its
+ * public and private identifiers. However, the underlying graph is a {@link CompactDigraph} that stores all
+ * nodes and edges in a few flat arrays and the map from public to private identifiers is a flat array as well.</p>
+ * <p>The underlying arrays are never modified. Hence, {@link #clone()} merely creates a new object that shares
+ * them. Modifications are copy-on-write: The first call to {@link #builder()} converts the heap configuration into
+ * an InternalHeapConfiguration with the same public and private identifiers to which all further method calls are
+ * delegated. In particular, matchings computed before the conversion remain valid afterwards.</p>
+ * <p>CompactHeapConfigurations are obtained from immutable InternalHeapConfigurations through
+ * {@link #of(HeapConfiguration)}.</p>
+ */
+public final class CompactHeapConfiguration implements HeapConfiguration, Graph {
+
+    /**
+     * The graph structure underlying this CompactHeapConfiguration.
+     */
+    private final CompactDigraph graph;
+
+    /**
+     * Maps every public ID to the corresponding private ID or {@link HeapConfiguration#INVALID_ELEMENT}
+     * if the public ID is not in use.
+     */
+    private final int[] publicToPrivateIDs;
+
+    /**
+     * Maps every private ID to the corresponding public ID.
+     */
+    private final int[] privateToPublicIDs;
+
+    private final int countNodes;
+
+    private final int countNonterminalEdges;
+
+    private final int countVariableEdges;
+
+    /**
+     * The isomorphism invariant certificate of this HeapConfiguration.
+     */
+    private final GraphCertificate certificate;
+
+    /**
+     * The order in which nodes are matched if this HeapConfiguration is used as a pattern graph.
+     * It is computed at most once.
+     */
+    private volatile int[] matchingOrder;
+
+    /**
+     * The public IDs of all changed nodes if changes are tracked and null otherwise.
+     * See {@link HeapConfiguration#changedNodes()}.
+     */
+    private final int[] changedNodes;
+
+    private volatile TIntSet markedNodes;
+
+    /**
+     * Maps the name of every variable to the public ID of its variable edge. It is computed at most once.
+     */
+    private volatile TObjectIntMap<String> variableIndex;
+
+    /**
+     * The InternalHeapConfiguration to which all method calls are delegated
+     * once this HeapConfiguration has been modified.
+     */
+    private InternalHeapConfiguration modified;
+
+    private CompactHeapConfiguration(InternalHeapConfiguration hc) {
+
+        graph = CompactDigraph.of(hc.graph);
+
+        privateToPublicIDs = new int[graph.size()];
+        int maxPublicId = -1;
+        TIntIntIterator iterator = hc.publicToPrivateIDs.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            privateToPublicIDs[iterator.value()] = iterator.key();
+            maxPublicId = Math.max(maxPublicId, iterator.key());
+        }
+
+        publicToPrivateIDs = new int[maxPublicId + 1];
+        Arrays.fill(publicToPrivateIDs, INVALID_ELEMENT);
+        for (int i = 0; i < privateToPublicIDs.length; i++) {
+            publicToPrivateIDs[privateToPublicIDs[i]] = i;
+        }
+
+        countNodes = hc.countNodes;
+        countNonterminalEdges = hc.countNonterminalEdges;
+        countVariableEdges = hc.countVariableEdges;
+        certificate = hc.getCertificate();
+        changedNodes = hc.changedNodes == null ? null : hc.changedNodes.toArray();
+    }
+
+    /**
+     * Creates a copy that shares all underlying arrays with the original.
+     *
+     * @param original The CompactHeapConfiguration that should be copied.
+     */
+    private CompactHeapConfiguration(CompactHeapConfiguration original) {
+
+        graph = original.graph;
+        publicToPrivateIDs = original.publicToPrivateIDs;
+        privateToPublicIDs = original.privateToPublicIDs;
+        countNodes = original.countNodes;
+        countNonterminalEdges = original.countNonterminalEdges;
+        countVariableEdges = original.countVariableEdges;
+        certificate = original.certificate;
+        changedNodes = original.changedNodes;
+        markedNodes = original.markedNodes;
+        variableIndex = original.variableIndex;
+    }
+
+    /**
+     * Converts an immutable HeapConfiguration into a CompactHeapConfiguration.
+     *
+     * @param heapConfiguration The HeapConfiguration that should be converted.
+     * @return A CompactHeapConfiguration with the same public IDs as heapConfiguration or heapConfiguration itself
+     * if it is already compact, currently modified by a builder, or not an InternalHeapConfiguration.
+     */
+    public static HeapConfiguration of(HeapConfiguration heapConfiguration) {
+
+        HeapConfiguration representation = heapConfiguration;
+        if (heapConfiguration instanceof CompactHeapConfiguration) {
+            CompactHeapConfiguration compact = (CompactHeapConfiguration) heapConfiguration;
+            if (compact.modified == null) {
+                return compact;
+            }
+            representation = compact.modified;
+        }
+
+        if (representation.getClass() != InternalHeapConfiguration.class) {
+            return heapConfiguration;
+        }
+
+        InternalHeapConfiguration hc = (InternalHeapConfiguration) representation;
+        if (hc.builder != null) {
+            return heapConfiguration;
+        }
+
+        return new CompactHeapConfiguration(hc);
+    }
+
+    /**
+     * @return A new InternalHeapConfiguration with the same public and private IDs as this HeapConfiguration.
+     */
+    private InternalHeapConfiguration toInternal() {
+
+        TIntIntMap publicToPrivate = new TIntIntHashMap(2 * graph.size() + 1, 0.5f,
+                INVALID_ELEMENT, INVALID_ELEMENT);
+        for (int i = 0; i < privateToPublicIDs.length; i++) {
+            publicToPrivate.put(privateToPublicIDs[i], i);
+        }
+
+        InternalHeapConfiguration result = new InternalHeapConfiguration(graph.toLabeledDigraph(), publicToPrivate,
+                countNodes, countNonterminalEdges, countVariableEdges);
+        result.certificate = certificate;
+        result.changedNodes = changedNodes == null ? null : new TIntHashSet(changedNodes);
+        return result;
+    }
+
+    /**
+     * @return An InternalHeapConfiguration with the same public and private IDs as this HeapConfiguration.
+     * Unless this HeapConfiguration has been modified before, the result is a fresh copy that is not
+     * affected by subsequent modifications.
+     */
+    InternalHeapConfiguration asInternal() {
+
+        if (modified != null) {
+            return modified;
+        }
+        return toInternal();
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public HeapConfiguration clone() {
+
+        if (modified != null) {
+            return modified.clone();
+        }
+
+        return new CompactHeapConfiguration(this);
+    }
+
+    @Override
+    public HeapConfiguration getEmpty() {
+
+        return new InternalHeapConfiguration();
+    }
+
+    @Override
+    public HeapConfigurationBuilder builder() {
+
+        if (modified == null) {
+            modified = toInternal();
+        }
+
+        return modified.builder();
+    }
+
+    /**
+     * Converts this HeapConfiguration into an InternalHeapConfiguration only once for all replacements.
+     */
+    @Override
+    public List<HeapConfiguration> replaceNonterminalEdgeWithEach(int ntEdge,
+                                                                  Collection<HeapConfiguration> replacements) {
+
+        if (modified != null) {
+            return modified.replaceNonterminalEdgeWithEach(ntEdge, replacements);
+        }
+
+        return toInternal().replaceNonterminalEdgeWithEach(ntEdge, replacements);
+    }
+
+    @Override
+    public TIntArrayList changedNodes() {
+
+        if (modified != null) {
+            return modified.changedNodes();
+        }
+
+        return changedNodes == null ? null : new TIntArrayList(changedNodes);
+    }
+
+    @Override
+    public int countNodes() {
+
+        if (modified != null) {
+            return modified.countNodes();
+        }
+
+        return countNodes;
+    }
+
+    @Override
+    public TIntArrayList nodes() {
+
+        if (modified != null) {
+            return modified.nodes();
+        }
+
+        return filterElements(countNodes, this::isNode);
+    }
+
+    private boolean isNode(int privateId) {
+
+        return graph.nodeLabelOf(privateId) instanceof Type;
+    }
+
+    private boolean isNonterminalEdge(int privateId) {
+
+        return graph.nodeLabelOf(privateId) instanceof Nonterminal;
+    }
+
+    private boolean isVariable(int privateId) {
+
+        Object v = graph.nodeLabelOf(privateId);
+        return v != null && v.getClass() == Variable.class;
+    }
+
+    private TIntArrayList filterElements(int capacity, IntPredicate filterPredicate) {
+
+        TIntArrayList result = new TIntArrayList(capacity);
+        for (int i = 0; i < graph.size(); i++) {
+            if (filterPredicate.test(i)) {
+                result.add(privateToPublicIDs[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param privateId       The private ID of a node.
+     * @param filterPredicate A predicate on private IDs.
+     * @return A repetition-free list of the public IDs of all predecessors of the given node that
+     * satisfy filterPredicate.
+     */
+    private TIntArrayList filterPredecessors(int privateId, IntPredicate filterPredicate) {
+
+        int size = graph.predecessorSizeOf(privateId);
+        TIntArrayList result = new TIntArrayList(size);
+        for (int i = 0; i < size; i++) {
+            int pred = graph.predecessorAt(privateId, i);
+            if (filterPredicate.test(pred)) {
+                int publicId = privateToPublicIDs[pred];
+                if (!result.contains(publicId)) {
+                    result.add(publicId);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Translates a public ID of an element into the corresponding private ID.
+     *
+     * @param publicId A public ID of an element of this HeapConfiguration.
+     * @return The private ID corresponding to the given public ID.
+     */
+    private int getPrivateId(int publicId) {
+
+        if (publicId >= 0 && publicId < publicToPrivateIDs.length) {
+            int res = publicToPrivateIDs[publicId];
+            if (res != INVALID_ELEMENT) {
+                return res;
+            }
+        }
+
+        throw new IllegalArgumentException("HeapConfiguration does not contain an element with ID: " + publicId);
+    }
+
+    /**
+     * Translates a private ID of an element into the corresponding public ID.
+     *
+     * @param privateId A private ID of an element of this HeapConfiguration.
+     * @return The public ID corresponding to the given private ID.
+     */
+    int getPublicId(int privateId) {
+
+        if (modified != null) {
+            return modified.getPublicId(privateId);
+        }
+
+        if (privateId < 0 || privateId >= privateToPublicIDs.length) {
+            throw new IllegalArgumentException("HeapConfiguration does not contain an element with private ID: "
+                    + privateId);
+        }
+
+        return privateToPublicIDs[privateId];
+    }
+
+    private int checkNodeAndGetPrivateId(int publicId) {
+
+        int privateId = getPrivateId(publicId);
+        if (!isNode(privateId)) {
+            throw new IllegalArgumentException("Provided ID does not correspond to a node");
+        }
+        return privateId;
+    }
+
+    private int checkNonterminalAndGetPrivateId(int publicId) {
+
+        int privateId = getPrivateId(publicId);
+        if (!isNonterminalEdge(privateId)) {
+            throw new IllegalArgumentException("The provided ID does not correspond to a nonterminal edge.");
+        }
+        return privateId;
+    }
+
+    private int checkVariableAndGetPrivateId(int publicId) {
+
+        int privateId = getPrivateId(publicId);
+        if (!isVariable(privateId)) {
+            throw new IllegalArgumentException("Provided ID does not correspond to a variable edge.");
+        }
+        return privateId;
+    }
+
+    @Override
+    public Type nodeTypeOf(int node) {
+
+        if (modified != null) {
+            return modified.nodeTypeOf(node);
+        }
+
+        return (Type) graph.nodeLabelOf(checkNodeAndGetPrivateId(node));
+    }
+
+    @Override
+    public TIntArrayList attachedVariablesOf(int node) {
+
+        if (modified != null) {
+            return modified.attachedVariablesOf(node);
+        }
+
+        return filterPredecessors(checkNodeAndGetPrivateId(node), this::isVariable);
+    }
+
+    @Override
+    public TIntArrayList attachedNonterminalEdgesOf(int node) {
+
+        if (modified != null) {
+            return modified.attachedNonterminalEdgesOf(node);
+        }
+
+        return filterPredecessors(checkNodeAndGetPrivateId(node), this::isNonterminalEdge);
+    }
+
+    @Override
+    public TIntArrayList successorNodesOf(int node) {
+
+        if (modified != null) {
+            return modified.successorNodesOf(node);
+        }
+
+        int privateId = checkNodeAndGetPrivateId(node);
+        int size = graph.successorSizeOf(privateId);
+        TIntArrayList result = new TIntArrayList(size);
+        for (int i = 0; i < size; i++) {
+            int publicId = privateToPublicIDs[graph.successorAt(privateId, i)];
+            if (!result.contains(publicId)) {
+                result.add(publicId);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public TIntArrayList predecessorNodesOf(int node) {
+
+        if (modified != null) {
+            return modified.predecessorNodesOf(node);
+        }
+
+        return filterPredecessors(checkNodeAndGetPrivateId(node), this::isNode);
+    }
+
+    @Override
+    public List<SelectorLabel> selectorLabelsOf(int node) {
+
+        if (modified != null) {
+            return modified.selectorLabelsOf(node);
+        }
+
+        int privateId = checkNodeAndGetPrivateId(node);
+        int size = graph.successorSizeOf(privateId);
+        List<SelectorLabel> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Object label = graph.edgeLabelAt(privateId, i);
+            if (label instanceof SelectorLabel && !result.contains(label)) {
+                result.add((SelectorLabel) label);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int selectorTargetOf(int node, SelectorLabel sel) {
+
+        if (modified != null) {
+            return modified.selectorTargetOf(node, sel);
+        }
+
+        int privateId = checkNodeAndGetPrivateId(node);
+        int size = graph.successorSizeOf(privateId);
+        for (int i = 0; i < size; i++) {
+            if (sel.equals(graph.edgeLabelAt(privateId, i))) {
+                return privateToPublicIDs[graph.successorAt(privateId, i)];
+            }
+        }
+        return INVALID_ELEMENT;
+    }
+
+    @Override
+    public int countExternalNodes() {
+
+        if (modified != null) {
+            return modified.countExternalNodes();
+        }
+
+        return graph.rank();
+    }
+
+    @Override
+    public TIntArrayList externalNodes() {
+
+        if (modified != null) {
+            return modified.externalNodes();
+        }
+
+        TIntArrayList result = new TIntArrayList(graph.rank());
+        for (int i = 0; i < graph.rank(); i++) {
+            result.add(privateToPublicIDs[graph.externalNodeAt(i)]);
+        }
+        return result;
+    }
+
+    @Override
+    public int externalNodeAt(int pos) {
+
+        if (modified != null) {
+            return modified.externalNodeAt(pos);
+        }
+
+        if (pos < 0 || pos >= graph.rank()) {
+            throw new IllegalArgumentException("The provided position does not specify an external node.");
+        }
+
+        return privateToPublicIDs[graph.externalNodeAt(pos)];
+    }
+
+    @Override
+    public boolean isExternalNode(int node) {
+
+        if (modified != null) {
+            return modified.isExternalNode(node);
+        }
+
+        return graph.isExternal(getPrivateId(node));
+    }
+
+    @Override
+    public int externalIndexOf(int node) {
+
+        if (modified != null) {
+            return modified.externalIndexOf(node);
+        }
+
+        return graph.externalPosOf(checkNodeAndGetPrivateId(node));
+    }
+
+    @Override
+    public int countNonterminalEdges() {
+
+        if (modified != null) {
+            return modified.countNonterminalEdges();
+        }
+
+        return countNonterminalEdges;
+    }
+
+    @Override
+    public TIntArrayList nonterminalEdges() {
+
+        if (modified != null) {
+            return modified.nonterminalEdges();
+        }
+
+        return filterElements(countNonterminalEdges, this::isNonterminalEdge);
+    }
+
+    @Override
+    public int rankOf(int ntEdge) {
+
+        if (modified != null) {
+            return modified.rankOf(ntEdge);
+        }
+
+        return graph.successorSizeOf(checkNonterminalAndGetPrivateId(ntEdge));
+    }
+
+    @Override
+    public Nonterminal labelOf(int ntEdge) {
+
+        if (modified != null) {
+            return modified.labelOf(ntEdge);
+        }
+
+        return (Nonterminal) graph.nodeLabelOf(checkNonterminalAndGetPrivateId(ntEdge));
+    }
+
+    @Override
+    public TIntArrayList attachedNodesOf(int ntEdge) {
+
+        if (modified != null) {
+            return modified.attachedNodesOf(ntEdge);
+        }
+
+        int privateId = checkNonterminalAndGetPrivateId(ntEdge);
+        int size = graph.successorSizeOf(privateId);
+        TIntArrayList result = new TIntArrayList(size);
+        for (int i = 0; i < size; i++) {
+            result.add(privateToPublicIDs[graph.successorAt(privateId, i)]);
+        }
+        return result;
+    }
+
+    @Override
+    public int countVariableEdges() {
+
+        if (modified != null) {
+            return modified.countVariableEdges();
+        }
+
+        return countVariableEdges;
+    }
+
+    @Override
+    public TIntArrayList variableEdges() {
+
+        if (modified != null) {
+            return modified.variableEdges();
+        }
+
+        return filterElements(countVariableEdges, this::isVariable);
+    }
+
+    @Override
+    public int variableWith(String name) {
+
+        if (modified != null) {
+            return modified.variableWith(name);
+        }
+
+        TObjectIntMap<String> index = variableIndex;
+        if (index == null) {
+            index = new TObjectIntHashMap<>(Math.max(countVariableEdges, 1) * 2, 0.5f, INVALID_ELEMENT);
+            for (int i = 0; i < graph.size(); i++) {
+                if (isVariable(i)) {
+                    index.putIfAbsent(graph.nodeLabelOf(i).toString(), privateToPublicIDs[i]);
+                }
+            }
+            variableIndex = index;
+        }
+        return index.get(name);
+    }
+
+    @Override
+    public String nameOf(int varEdge) {
+
+        if (modified != null) {
+            return modified.nameOf(varEdge);
+        }
+
+        return graph.nodeLabelOf(checkVariableAndGetPrivateId(varEdge)).toString();
+    }
+
+    @Override
+    public int targetOf(int varEdge) {
+
+        if (modified != null) {
+            return modified.targetOf(varEdge);
+        }
+
+        int privateId = checkVariableAndGetPrivateId(varEdge);
+        return privateToPublicIDs[graph.successorAt(privateId, 0)];
+    }
+
+    @Override
+    public AbstractMatchingChecker getEmbeddingsOf(HeapConfiguration pattern, MorphismOptions options) {
+
+        if (modified != null) {
+            return modified.getEmbeddingsOf(pattern, options);
+        }
+
+        if (options.isAdmissibleAbstraction()) {
+            return new MinDistanceEmbeddingChecker(pattern, this, options);
+        } else {
+            return new EmbeddingChecker(pattern, this, options.isOrderedMatching());
+        }
+    }
+
+    @Override
+    public int variableTargetOf(String variableName) {
+
+        int varEdge = variableWith(variableName);
+        if (varEdge != INVALID_ELEMENT) {
+            return targetOf(varEdge);
+        }
+        return INVALID_ELEMENT;
+    }
+
+    @Override
+    public TIntIntMap attachedNonterminalEdgesWithNonReductionTentacle(int node) {
+
+        if (modified != null) {
+            return modified.attachedNonterminalEdgesWithNonReductionTentacle(node);
+        }
+
+        int privateId = checkNodeAndGetPrivateId(node);
+        int size = graph.predecessorSizeOf(privateId);
+        TIntIntMap result = new TIntIntHashMap(size);
+        for (int i = 0; i < size; i++) {
+            int pred = graph.predecessorAt(privateId, i);
+            if (isNonterminalEdge(pred)) {
+                Nonterminal label = (Nonterminal) graph.nodeLabelOf(pred);
+                for (int tentacle = 0; tentacle < graph.successorSizeOf(pred); tentacle++) {
+                    if (graph.successorAt(pred, tentacle) == privateId && !label.isReductionTentacle(tentacle)) {
+                        result.put(privateToPublicIDs[pred], tentacle);
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(Object otherObject) {
+
+        if (otherObject == this) {
+            return true;
+        }
+
+        if (otherObject == null) {
+            return false;
+        }
+
+        if (modified != null) {
+            return modified.equals(otherObject);
+        }
+
+        return InternalHeapConfiguration.isIsomorphic(this, certificate, (HeapConfiguration) otherObject);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return getCertificate().getHash();
+    }
+
+    /**
+     * @return The isomorphism invariant certificate of this HeapConfiguration.
+     */
+    GraphCertificate getCertificate() {
+
+        if (modified != null) {
+            return modified.getCertificate();
+        }
+
+        return certificate;
+    }
+
+    @Override
+    public String toString() {
+
+        return asInternal().toString();
+    }
+
+    /*
+     * The methods below implement Graph and thus directly use private IDs.
+     */
+
+    @Override
+    public int size() {
+
+        if (modified != null) {
+            return modified.size();
+        }
+
+        return graph.size();
+    }
+
+    @Override
+    public boolean hasEdge(int privateIdFrom, int privateIdTo) {
+
+        if (modified != null) {
+            return modified.hasEdge(privateIdFrom, privateIdTo);
+        }
+
+        return graph.hasEdge(privateIdFrom, privateIdTo);
+    }
+
+    @Override
+    public TIntArrayList getSuccessorsOf(int privateNodeId) {
+
+        if (modified != null) {
+            return modified.getSuccessorsOf(privateNodeId);
+        }
+
+        return graph.successorsOf(privateNodeId);
+    }
+
+    @Override
+    public TIntArrayList getPredecessorsOf(int privateNodeId) {
+
+        if (modified != null) {
+            return modified.getPredecessorsOf(privateNodeId);
+        }
+
+        return graph.predecessorsOf(privateNodeId);
+    }
+
+    @Override
+    public NodeLabel getNodeLabel(int privateNodeId) {
+
+        if (modified != null) {
+            return modified.getNodeLabel(privateNodeId);
+        }
+
+        return graph.nodeLabelOf(privateNodeId);
+    }
+
+    @Override
+    public List<Object> getEdgeLabel(int privateIdFrom, int privateIdTo) {
+
+        if (modified != null) {
+            return modified.getEdgeLabel(privateIdFrom, privateIdTo);
+        }
+
+        return graph.edgeLabelsFromTo(privateIdFrom, privateIdTo);
+    }
+
+    @Override
+    public boolean isExternal(int privateNodeId) {
+
+        if (modified != null) {
+            return modified.isExternal(privateNodeId);
+        }
+
+        return graph.isExternal(privateNodeId);
+    }
+
+    @Override
+    public int getExternalIndex(int privateNodeId) {
+
+        if (modified != null) {
+            return modified.getExternalIndex(privateNodeId);
+        }
+
+        return graph.externalPosOf(privateNodeId);
+    }
+
+    @Override
+    public boolean isEdgeBetweenMarkedNodes(int from, int to) {
+
+        if (modified != null) {
+            return modified.isEdgeBetweenMarkedNodes(from, to);
+        }
+
+        if (!isNode(from) || !isNode(to)) {
+            return false;
+        }
+
+        TIntSet marked = markedNodes;
+        if (marked == null) {
+            marked = new TIntHashSet();
+            for (int i = 0; i < graph.size(); i++) {
+                if (isVariable(i) && Markings.isMarking(graph.nodeLabelOf(i).toString())) {
+                    marked.add(graph.successorAt(i, 0));
+                }
+            }
+            markedNodes = marked;
+        }
+
+        return marked.contains(from) && marked.contains(to);
+    }
+
+    @Override
+    public int[] getMatchingOrder() {
+
+        if (modified != null) {
+            return modified.getMatchingOrder();
+        }
+
+        int[] result = matchingOrder;
+        if (result == null) {
+            result = MatchingOrder.compute(this);
+            matchingOrder = result;
+        }
+        return result;
+    }
+}
@@ -2,6 +2,7 @@ package de.rwth.i2.attestor.graph.heap.internal;
 
 import de.rwth.i2.attestor.graph.Nonterminal;
 import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.digraph.GraphCertificate;
 import de.rwth.i2.attestor.graph.digraph.LabeledDigraph;
 import de.rwth.i2.attestor.graph.digraph.NodeLabel;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
@@ -12,15 +13,17 @@ import de.rwth.i2.attestor.graph.heap.matching.EmbeddingChecker;
 import de.rwth.i2.attestor.graph.heap.matching.IsomorphismChecker;
 import de.rwth.i2.attestor.graph.heap.matching.MinDistanceEmbeddingChecker;
 import de.rwth.i2.attestor.graph.morphism.Graph;
+import de.rwth.i2.attestor.graph.morphism.MatchingOrder;
 import de.rwth.i2.attestor.graph.morphism.MorphismOptions;
 import de.rwth.i2.attestor.markingGeneration.Markings;
-import de.rwth.i2.attestor.types.GeneralType;
 import de.rwth.i2.attestor.types.Type;
 import gnu.trove.iterator.TIntIntIterator;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TObjectIntMap;
 import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
@@ -107,7 +110,12 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
      * The map thus maps "public IDs" that remain stable and are accessible from outside
      * to "private IDs" that are mutable and only used within this package.
      */
-    final TIntIntMap publicToPrivateIDs;
+    TIntIntMap publicToPrivateIDs;
+    /**
+     * True if and only if publicToPrivateIDs is possibly shared with a copy of this InternalHeapConfiguration.
+     * A shared map is copied before a builder is created.
+     */
+    private volatile boolean sharesPublicToPrivateIDs;
     /**
      * Stores the unique builder if the object is currently mutable.
      * If the object is immutable, builder is set to null.
@@ -126,7 +134,31 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
      */
     int countNonterminalEdges;
 
-    TIntSet markedNodes;
+    volatile TIntSet markedNodes;
+
+    /**
+     * The isomorphism invariant certificate of this HeapConfiguration.
+     * It is computed at most once while the object is immutable and discarded whenever a builder is created.
+     */
+    volatile GraphCertificate certificate;
+
+    /**
+     * The order in which nodes are matched if this HeapConfiguration is used as a pattern graph.
+     * It is computed at most once while the object is immutable and discarded whenever a builder is created.
+     */
+    private volatile int[] matchingOrder;
+
+    /**
+     * Maps the name of every variable to the public ID of its variable edge.
+     * It is computed at most once while the object is immutable and discarded whenever a builder is created.
+     */
+    private volatile TObjectIntMap<String> variableIndex;
+
+    /**
+     * The public IDs of all nodes that have been changed since changes are tracked.
+     * If changes are not tracked, changedNodes is null.
+     */
+    TIntSet changedNodes;
 
     /**
      * Sets up an empty InternalHeapConfiguration.
@@ -143,7 +175,9 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     }
 
     /**
-     * Creates a deep copy of an InternalHeapConfiguration.
+     * Creates a copy of an InternalHeapConfiguration.
+     * Parts of the underlying graph and the map of IDs are shared with the original
+     * until either of them is modified.
      *
      * @param hc The InternalHeapConfiguration that should be copied.
      */
@@ -155,7 +189,57 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
         builder = null;
         graph = new LabeledDigraph(hc.graph);
 
-        publicToPrivateIDs = new TIntIntHashMap(hc.publicToPrivateIDs);
+        if (hc.builder == null) {
+            publicToPrivateIDs = hc.publicToPrivateIDs;
+            sharesPublicToPrivateIDs = true;
+            hc.sharesPublicToPrivateIDs = true;
+        } else {
+            publicToPrivateIDs = new TIntIntHashMap(hc.publicToPrivateIDs);
+        }
+        certificate = hc.builder == null ? hc.certificate : null;
+        matchingOrder = hc.builder == null ? hc.matchingOrder : null;
+        variableIndex = hc.builder == null ? hc.variableIndex : null;
+        // changes performed by an active builder are not known yet
+        changedNodes = hc.changedNodes == null || hc.builder != null ? null : new TIntHashSet(hc.changedNodes);
+    }
+
+    /**
+     * Creates an InternalHeapConfiguration from an already populated graph.
+     *
+     * @param graph                 The graph underlying the new InternalHeapConfiguration.
+     * @param publicToPrivateIDs    The map from public IDs to private IDs of all elements in graph.
+     * @param countNodes            The number of elements in graph that correspond to nodes.
+     * @param countNonterminalEdges The number of elements in graph that correspond to nonterminal edges.
+     * @param countVariableEdges    The number of elements in graph that correspond to variable edges.
+     */
+    InternalHeapConfiguration(LabeledDigraph graph, TIntIntMap publicToPrivateIDs,
+                              int countNodes, int countNonterminalEdges, int countVariableEdges) {
+
+        builder = null;
+        this.graph = graph;
+        this.publicToPrivateIDs = publicToPrivateIDs;
+        this.countNodes = countNodes;
+        this.countNonterminalEdges = countNonterminalEdges;
+        this.countVariableEdges = countVariableEdges;
+    }
+
+    /**
+     * Provides access to the internal representation of a HeapConfiguration.
+     *
+     * @param hc An InternalHeapConfiguration or a {@link CompactHeapConfiguration}.
+     * @return An InternalHeapConfiguration with the same public and private IDs as hc.
+     */
+    static InternalHeapConfiguration asInternal(HeapConfiguration hc) {
+
+        if (hc instanceof CompactHeapConfiguration) {
+            return ((CompactHeapConfiguration) hc).asInternal();
+        }
+
+        if (!(hc instanceof InternalHeapConfiguration)) {
+            throw new IllegalArgumentException("Provided HeapConfiguration is not an InternalHeapConfiguration.");
+        }
+
+        return (InternalHeapConfiguration) hc;
     }
 
     @SuppressWarnings("MethodDoesntCallSuperMethod")
@@ -174,12 +258,25 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     public HeapConfigurationBuilder builder() {
 
         if (builder == null) {
+            if (sharesPublicToPrivateIDs) {
+                publicToPrivateIDs = new TIntIntHashMap(publicToPrivateIDs);
+                sharesPublicToPrivateIDs = false;
+            }
             builder = new InternalHeapConfigurationBuilder(this);
+            certificate = null;
+            matchingOrder = null;
+            variableIndex = null;
         }
 
         return builder;
     }
 
+    @Override
+    public TIntArrayList changedNodes() {
+
+        return changedNodes == null ? null : new TIntArrayList(changedNodes);
+    }
+
     @Override
     public int countNodes() {
 
@@ -512,6 +609,15 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     @Override
     public int variableWith(String name) {
 
+        if (builder == null) {
+            TObjectIntMap<String> index = variableIndex;
+            if (index == null) {
+                index = computeVariableIndex();
+                variableIndex = index;
+            }
+            return index.get(name);
+        }
+
         for (int i = 0; i < graph.size(); i++) {
 
             if (isVariable(i) && graph.nodeLabelOf(i).toString().equals(name)) {
@@ -522,6 +628,33 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
         return INVALID_ELEMENT;
     }
 
+    /**
+     * @return A map from the name of every variable to the public ID of its variable edge.
+     * If several variable edges have the same name, the one with the smallest private ID is chosen.
+     */
+    private TObjectIntMap<String> computeVariableIndex() {
+
+        TObjectIntMap<String> index = new TObjectIntHashMap<>(Math.max(countVariableEdges, 1) * 2,
+                0.5f, INVALID_ELEMENT);
+        TObjectIntMap<String> privateIds = new TObjectIntHashMap<>(Math.max(countVariableEdges, 1) * 2,
+                0.5f, INVALID_ELEMENT);
+
+        TIntIntIterator iter = publicToPrivateIDs.iterator();
+        while (iter.hasNext()) {
+            iter.advance();
+            int privateId = iter.value();
+            if (isVariable(privateId)) {
+                String name = graph.nodeLabelOf(privateId).toString();
+                int otherPrivateId = privateIds.get(name);
+                if (otherPrivateId == INVALID_ELEMENT || privateId < otherPrivateId) {
+                    privateIds.put(name, privateId);
+                    index.put(name, iter.key());
+                }
+            }
+        }
+        return index;
+    }
+
     /**
      * Checks whether the provided private ID corresponds to a Variable.
      *
@@ -578,7 +711,7 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
             return new MinDistanceEmbeddingChecker(pattern, this, morphismOptions);
 
         } else {
-            return new EmbeddingChecker(pattern, this);
+            return new EmbeddingChecker(pattern, this, morphismOptions.isOrderedMatching());
         }
     }
 
@@ -629,39 +762,62 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
         // otherObject instanceof HeapConfiguration omitted to improve performance
         // Notice that it is *not* sufficient to check classes here.
 
-        HeapConfiguration hc = (HeapConfiguration) otherObject;
-        IsomorphismChecker isoChecker = new IsomorphismChecker(this, hc);
+        return isIsomorphic(this, getCertificate(), (HeapConfiguration) otherObject);
+    }
+
+    /**
+     * Checks whether two HeapConfigurations are isomorphic. If the other HeapConfiguration also provides
+     * a certificate, both certificates are compared first.
+     *
+     * @param hc          An InternalHeapConfiguration or a {@link CompactHeapConfiguration}.
+     * @param certificate The certificate of hc.
+     * @param other       Another HeapConfiguration.
+     * @return True if and only if hc and other are isomorphic.
+     */
+    static boolean isIsomorphic(HeapConfiguration hc, GraphCertificate certificate, HeapConfiguration other) {
+
+        GraphCertificate otherCertificate = null;
+        if (other.getClass() == InternalHeapConfiguration.class) {
+            otherCertificate = ((InternalHeapConfiguration) other).getCertificate();
+        } else if (other.getClass() == CompactHeapConfiguration.class) {
+            otherCertificate = ((CompactHeapConfiguration) other).getCertificate();
+        }
+
+        if (otherCertificate != null) {
+            if (certificate.getHash() != otherCertificate.getHash()) {
+                return false;
+            }
+            if (certificate.isCanonical() && otherCertificate.isCanonical()) {
+                return certificate.hasEqualCanonicalForm(otherCertificate);
+            }
+        }
+
+        IsomorphismChecker isoChecker = new IsomorphismChecker(hc, other);
         return isoChecker.hasMatching();
     }
 
     @Override
     public int hashCode() {
 
-        int hash = countNodes();
-        hash = (hash << 1) ^ countExternalNodes();
-        hash = (hash << 1) ^ countVariableEdges();
-        hash = (hash << 1) ^ countNonterminalEdges();
+        return getCertificate().getHash();
+    }
 
-        int variableHash = 0;
-        int ntHash = 0;
-        int nodeHash = 0;
-        for (int i = 0; i < graph.size(); i++) {
-            Object label = graph.nodeLabelOf(i);
-            int labelHash = label.hashCode();
-            if (label.getClass() == Variable.class) {
-                variableHash ^= labelHash;
-            } else if (label.getClass() == GeneralType.class) {
-                ntHash ^= labelHash;
-            } else {
-                nodeHash ^= labelHash;
-            }
-        }
+    /**
+     * @return The isomorphism invariant certificate of this HeapConfiguration.
+     * The certificate is cached as long as this HeapConfiguration is immutable.
+     */
+    GraphCertificate getCertificate() {
 
-        hash = (hash << 1) ^ nodeHash;
-        hash = (hash << 1) ^ variableHash;
-        hash = (hash << 1) ^ ntHash;
+        if (builder != null) {
+            return GraphCertificate.of(graph);
+        }
 
-        return hash;
+        GraphCertificate result = certificate;
+        if (result == null) {
+            result = GraphCertificate.of(graph);
+            certificate = result;
+        }
+        return result;
     }
 
     @Override
@@ -805,27 +961,49 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
             return false;
         }
 
-        if(markedNodes == null) {
-            updateMarkedNodes();
+        TIntSet marked = markedNodes;
+        if(marked == null) {
+            marked = computeMarkedNodes();
+            markedNodes = marked;
         }
 
         int fromNode = getPublicId(from);
         int toNode = getPublicId(to);
 
-        return markedNodes.contains(fromNode)
-                && markedNodes.contains(toNode);
+        return marked.contains(fromNode)
+                && marked.contains(toNode);
     }
 
-    private void updateMarkedNodes() {
+    @Override
+    public int[] getMatchingOrder() {
 
-        markedNodes = new TIntHashSet();
+        if (builder != null) {
+            return MatchingOrder.compute(this);
+        }
+
+        int[] result = matchingOrder;
+        if (result == null) {
+            result = MatchingOrder.compute(this);
+            matchingOrder = result;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the set of marked nodes into a fresh set such that concurrent readers
+     * never observe a partially filled set.
+     */
+    private TIntSet computeMarkedNodes() {
+
+        TIntSet result = new TIntHashSet();
         TIntIterator varIterator = variableEdges().iterator();
         while (varIterator.hasNext()) {
             int var = varIterator.next();
             if(Markings.isMarking(nameOf(var))) {
-                markedNodes.add(targetOf(var));
+                result.add(targetOf(var));
             }
         }
+        return result;
     }
 
 
@@ -5,8 +5,11 @@ import de.rwth.i2.attestor.graph.SelectorLabel;
 import de.rwth.i2.attestor.graph.digraph.LabeledDigraph;
 import de.rwth.i2.attestor.graph.heap.*;
 import de.rwth.i2.attestor.types.Type;
+import gnu.trove.iterator.TIntIntIterator;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
 
 /**
  * All the messy details of a {@link HeapConfigurationBuilder} for {@link InternalHeapConfiguration}s.
@@ -22,6 +25,18 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
      */
     private InternalHeapConfiguration heapConf;
 
+    /**
+     * The private IDs of all nodes changed by this builder if changes are tracked
+     * for the underlying InternalHeapConfiguration.
+     */
+    private final TIntSet changedPrivateIds = new TIntHashSet();
+
+    /**
+     * All public IDs smaller than this value are in use. Hence, the search for the next available public ID
+     * starts at this value instead of zero.
+     */
+    private int minFreePublicId = 0;
+
     /**
      * Creates a new InternalHeapConfigurationBuilder for the provided InternalHeapConfiguration.
      * Note that an InternalHeapConfigurationBuilder is assumed to be unique for each InternalHeapConfiguration
@@ -43,6 +58,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
     @Override
     public HeapConfiguration build() {
 
+        publishChangedNodes();
         cleanupGraphAndIDs();
 
         // invalidate this builder
@@ -53,6 +69,108 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         return result;
     }
 
+    /**
+     * Translates the private IDs of all changed nodes into public IDs and removes all nodes
+     * that do not exist anymore from the set of changed nodes.
+     */
+    private void publishChangedNodes() {
+
+        TIntSet changedNodes = heapConf.changedNodes;
+        if (changedNodes == null) {
+            return;
+        }
+
+        TIntIterator changedIterator = changedNodes.iterator();
+        while (changedIterator.hasNext()) {
+            int privateId = heapConf.publicToPrivateIDs.get(changedIterator.next());
+            if (privateId == HeapConfiguration.INVALID_ELEMENT || !heapConf.isNode(privateId)) {
+                changedIterator.remove();
+            }
+        }
+
+        if (!changedPrivateIds.isEmpty()) {
+            TIntIntIterator iterator = heapConf.publicToPrivateIDs.iterator();
+            while (iterator.hasNext()) {
+                iterator.advance();
+                int privateId = iterator.value();
+                if (changedPrivateIds.contains(privateId) && heapConf.isNode(privateId)) {
+                    changedNodes.add(iterator.key());
+                }
+            }
+            changedPrivateIds.clear();
+        }
+    }
+
+    /**
+     * Records that the element with the given private ID is changed.
+     * For nonterminal and variable edges, all attached nodes are recorded instead.
+     *
+     * @param privateId The private ID of the changed element.
+     */
+    private void markChanged(int privateId) {
+
+        if (heapConf.changedNodes == null) {
+            return;
+        }
+
+        if (heapConf.isNode(privateId)) {
+            changedPrivateIds.add(privateId);
+        } else {
+            changedPrivateIds.addAll(heapConf.graph.successorsOf(privateId));
+        }
+    }
+
+    /**
+     * Records that all elements adjacent to the element with the given private ID are changed.
+     * This method has to be called before an element is removed.
+     *
+     * @param privateId The private ID of the element whose neighbours are changed.
+     */
+    private void markNeighboursChanged(int privateId) {
+
+        if (heapConf.changedNodes == null) {
+            return;
+        }
+
+        markChanged(privateId);
+        TIntArrayList successors = heapConf.graph.successorsOf(privateId);
+        for (int i = 0; i < successors.size(); i++) {
+            markChanged(successors.get(i));
+        }
+        TIntArrayList predecessors = heapConf.graph.predecessorsOf(privateId);
+        for (int i = 0; i < predecessors.size(); i++) {
+            markChanged(predecessors.get(i));
+        }
+    }
+
+    /**
+     * Records that the selector edge with the given label leaving the node with the given
+     * private ID is changed, i.e. its source and its target are recorded.
+     *
+     * @param privateId The private ID of the source node.
+     * @param sel       The label of the selector edge.
+     */
+    private void markSelectorChanged(int privateId, Object sel) {
+
+        if (heapConf.changedNodes == null) {
+            return;
+        }
+
+        markChanged(privateId);
+        int pos = heapConf.graph.posOfEdgeLabel(privateId, sel);
+        if (pos != LabeledDigraph.INVALID) {
+            markChanged(heapConf.graph.successorsOf(privateId).get(pos));
+        }
+    }
+
+    @Override
+    public HeapConfigurationBuilder clearChangedNodes() {
+
+        heapConf.changedNodes = new TIntHashSet();
+        changedPrivateIds.clear();
+        return this;
+    }
+
     /**
      * Restores a compact graph representation while keeping all public IDs
      * of elements that have not been deleted unchanged.
@@ -90,6 +208,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
 
             int publicId = addPrivatePublicIdPair();
             heapConf.graph.addNode(type, 10, 10);
+            markChanged(heapConf.getPrivateId(publicId));
             buffer.add(publicId);
             ++heapConf.countNodes;
         }
@@ -123,11 +242,13 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
      */
     private int getNextPublicId() {
 
-        int result = 0;
+        int result = minFreePublicId;
         while (heapConf.publicToPrivateIDs.containsKey(result)) {
             ++result;
         }
 
+        // the returned ID is put into use right away
+        minFreePublicId = result + 1;
         return result;
     }
 
@@ -218,7 +339,9 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
      */
     private boolean removeElement(int publicId, int privateId) {
 
+        markNeighboursChanged(privateId);
         heapConf.publicToPrivateIDs.remove(publicId);
+        minFreePublicId = Math.min(minFreePublicId, publicId);
         return heapConf.graph.removeNodeAt(privateId);
     }
 
@@ -245,6 +368,8 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         }
 
         heapConf.graph.addEdge(pFrom, sel, pTo);
+        markChanged(pFrom);
+        markChanged(pTo);
 
         return this;
 
@@ -263,6 +388,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
             throw new NullPointerException();
         }
 
+        markSelectorChanged(privateId, sel);
         heapConf.graph.removeEdgeLabelAt(privateId, sel);
 
         return this;
@@ -281,6 +407,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
             throw new NullPointerException();
         }
 
+        markSelectorChanged(privateId, oldSel);
         heapConf.graph.replaceEdgeLabel(privateId, oldSel, newSel);
 
         return this;
@@ -300,6 +427,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         }
 
         heapConf.graph.setExternal(privateId);
+        markChanged(privateId);
 
         return this;
     }
@@ -318,6 +446,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         }
 
         heapConf.graph.unsetExternal(privateId);
+        markChanged(privateId);
 
         return this;
     }
@@ -346,6 +475,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         // incoming edges in the underlying graph
         heapConf.graph.addNode(new Variable(name), 1, 0);
         heapConf.graph.addEdge(privateId, 1, tId);
+        markChanged(tId);
         ++heapConf.countVariableEdges;
 
         return this;
@@ -408,6 +538,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
             }
             heapConf.graph.addEdge(privateId, i, to);
         }
+        markChanged(privateId);
         ++heapConf.countNonterminalEdges;
 
         return publicId;
@@ -455,6 +586,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         }
 
         heapConf.graph.replaceNodeLabel(privateId, newNt);
+        markChanged(privateId);
 
         return this;
     }
@@ -466,11 +598,11 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
             throw new NullPointerException();
         }
 
-        if (!(replacement instanceof InternalHeapConfiguration)) {
+        if (!(replacement instanceof InternalHeapConfiguration || replacement instanceof CompactHeapConfiguration)) {
             throw new IllegalArgumentException("Provided replacement is not an InternalHeapConfiguration.");
         }
 
-        InternalHeapConfiguration replacementHc = (InternalHeapConfiguration) replacement;
+        InternalHeapConfiguration replacementHc = InternalHeapConfiguration.asInternal(replacement);
         int ntPrivateId = heapConf.getPrivateId(ntEdge);
 
         if (!heapConf.isNonterminalEdge(ntPrivateId)) {
@@ -554,6 +686,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
                     int privateId = getNextPrivateId();
                     addPrivatePublicIdPair();
                     heapConf.graph.addNode(replacement.graph.nodeLabelOf(i), 10, 10);
+                    markChanged(privateId);
                     ++heapConf.countNodes;
                     newElements.add(privateId);
                 }
@@ -584,6 +717,8 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
             Object label = replacement.graph.edgeLabelAt(nodeIdToAdd, j);
             int to = newElements.get(successors.get(j));
             heapConf.graph.addEdge(privateId, label, to);
+            markChanged(privateId);
+            markChanged(to);
         }
     }
 
@@ -606,6 +741,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         for (int j = 0; j < successors.size(); j++) {
             int to = newElements.get(successors.get(j));
             heapConf.graph.addEdge(freshPrivateId, j, to);
+            markChanged(to);
         }
     }
 
@@ -626,6 +762,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         heapConf.graph.addNode(replacement.graph.nodeLabelOf(varIDtoAdd), 1, 0);
         ++heapConf.countVariableEdges;
         heapConf.graph.addEdge(freshPrivateId, 1, newElements.get(target));
+        markChanged(newElements.get(target));
     }
 
     @Override
@@ -635,7 +772,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
             throw new NullPointerException();
         }
 
-        InternalHeapConfiguration pattern = (InternalHeapConfiguration) matching.pattern();
+        InternalHeapConfiguration pattern = InternalHeapConfiguration.asInternal(matching.pattern());
 
         if (pattern.countExternalNodes() != nonterminal.getRank()) {
             throw new IllegalArgumentException("The number of external nodes in pattern must " +
@@ -667,6 +804,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         }
 
         heapConf.graph.replaceNodeLabel(privateId, newType);
+        markChanged(privateId);
         return this;
     }
 
@@ -679,7 +817,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
             throw new NullPointerException();
         }
 
-        InternalHeapConfiguration pattern = (InternalHeapConfiguration) matching.pattern();
+        InternalHeapConfiguration pattern = InternalHeapConfiguration.asInternal(matching.pattern());
 
         // Use the mapping of externals instead of the actual smaller number of external nodes
         if (externalIndicesMap.size() != nonterminal.getRank()) {
@@ -827,6 +965,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
                 Object l = pattern.graph.edgeLabelAt(i, j);
                 if (l instanceof SelectorLabel) {
 
+                    markSelectorChanged(match, l);
                     heapConf.graph.removeEdgeLabelAt(match, l);
                 }
             }
@@ -853,6 +992,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
                     --heapConf.countNonterminalEdges;
                 }
 
+                markNeighboursChanged(match);
                 heapConf.graph.removeNodeAt(match);
             }
         }
@@ -860,6 +1000,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         heapConf.publicToPrivateIDs.retainEntries(
                 (key, value) -> heapConf.graph.containsNode(value)
         );
+        minFreePublicId = 0;
     }
 
     /**
@@ -885,6 +1026,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
 
             int t = matching.internalMatch(extId);
             heapConf.graph.addEdge(privateId, i, t);
+            markChanged(t);
         }
         ++heapConf.countNonterminalEdges;
     }
@@ -907,6 +1049,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
 
             int t = matching.internalMatch(extId);
             heapConf.graph.addEdge(privateId, i, t);
+            markChanged(t);
         }
         ++heapConf.countNonterminalEdges;
     }
@@ -5,7 +5,7 @@ import de.rwth.i2.attestor.graph.heap.Matching;
 import de.rwth.i2.attestor.graph.morphism.Morphism;
 
 /**
- * Implementation of {@link Matching} for {@link InternalHeapConfiguration}.
+ * Implementation of {@link Matching} for {@link InternalHeapConfiguration} and {@link CompactHeapConfiguration}.
  * Essentially this class wraps a {@link Morphism}.
  *
  * @author Christoph
@@ -15,12 +15,12 @@ public class InternalMatching implements Matching {
     /**
      * The pattern HeapConfiguration whose underlying Graph is used by morphism.
      */
-    private InternalHeapConfiguration pattern;
+    private HeapConfiguration pattern;
 
     /**
      * The target HeapConfiguration whose underlying Graph is used by morphism.
      */
-    private InternalHeapConfiguration target;
+    private HeapConfiguration target;
 
     /**
      * The encapsulated Morphism that maps elements from pattern to target.
@@ -40,9 +40,9 @@ public class InternalMatching implements Matching {
             throw new NullPointerException();
         }
 
-        this.pattern = (InternalHeapConfiguration) pattern;
+        this.pattern = pattern;
         this.morphism = morphism;
-        this.target = (InternalHeapConfiguration) target;
+        this.target = target;
     }
 
     @Override
@@ -66,7 +66,10 @@ public class InternalMatching implements Matching {
     public int match(int element) {
 
         int match = morphism.match(element);
-        return target.getPublicId(match);
+        if (target instanceof CompactHeapConfiguration) {
+            return ((CompactHeapConfiguration) target).getPublicId(match);
+        }
+        return ((InternalHeapConfiguration) target).getPublicId(match);
     }
 
 }
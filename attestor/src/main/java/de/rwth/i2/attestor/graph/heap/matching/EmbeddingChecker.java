@@ -22,4 +22,17 @@ public class EmbeddingChecker extends AbstractMatchingChecker {
         super(pattern, target, new VF2EmbeddingChecker());
     }
 
+    /**
+     * Initializes an EmbeddingChecker.
+     *
+     * @param pattern         The HeapConfiguration that should be embedded in the HeapConfiguration target.
+     * @param target          The HeapConfiguration in which an embedding should be searched for.
+     * @param orderedMatching True if and only if nodes of the pattern should be matched in the order given by
+     *                        {@link de.rwth.i2.attestor.graph.morphism.Graph#getMatchingOrder()}.
+     */
+    public EmbeddingChecker(HeapConfiguration pattern, HeapConfiguration target, boolean orderedMatching) {
+
+        super(pattern, target, new VF2EmbeddingChecker(orderedMatching));
+    }
+
 }
@@ -6,6 +6,11 @@ import gnu.trove.list.array.TIntArrayList;
 /**
  * Collects all data required by {@link VF2Algorithm} during the search for a suitable matching for
  * a single graph.
+ * <p>
+ * All data is stored in primitive arrays that are indexed by nodes or by the depth of the search tree.
+ * Backtracking thus restores previous states without creating copies.
+ * The arrays are only grown but never shrunk such that an AbstractVF2GraphData object can be reused for
+ * subsequent searches through {@link #reset(Graph)}.
  *
  * @author Christoph
  */
@@ -20,28 +25,36 @@ public abstract class AbstractVF2GraphData {
     /**
      * The {@link Graph} underlying the data stored in this object.
      */
-    private final Graph graph;
+    private Graph graph;
     /**
      * For each node this stores the height of the search tree at which the node
      * was for the first time not in the matching, but reachable via an incoming edge from the matching.
      */
-    private final int[] in;
+    private int[] in = new int[0];
     /**
      * For each node this stores the height of the search tree at which the node
      * was for the first time not in the matching, but reachable via an outgoing edge from the matching.
      */
-    private final int[] out;
+    private int[] out = new int[0];
+    /**
+     * For each height of the search tree, the node that has been matched at this height.
+     * This array is used for backtracking.
+     */
+    private int[] matchedNodes = new int[0];
+    /**
+     * For each height of the search tree, the value of terminalInLength before a node has been matched at this height.
+     */
+    private int[] terminalInLengths = new int[0];
+    /**
+     * For each height of the search tree, the value of terminalOutLength before a node has been matched at this height.
+     */
+    private int[] terminalOutLengths = new int[0];
     /**
      * The length of the currently stored partial matching.
      * This value coincides with the current height of the
      * search tree constructed so far.
      */
     private int matchLength;
-    /**
-     * The identifier of the last node that has been matched.
-     * This value is used for backtracking.
-     */
-    private int lastMatchedNode;
     /**
      * The number of nodes that have not been matched yet, but are reachable
      * via an incoming edge from an already matched node.
@@ -54,47 +67,50 @@ public abstract class AbstractVF2GraphData {
     private int terminalOutLength;
 
     /**
-     * Initializes an empty AbstractVF2GraphData object.
+     * Initializes an AbstractVF2GraphData object without an underlying graph.
+     * The object has to be initialized by {@link #reset(Graph)} before it is used.
+     */
+    protected AbstractVF2GraphData() {
+
+    }
+
+    /**
+     * Initializes this object for a search on the given graph.
+     * Previously allocated arrays are reused if they are large enough.
      *
      * @param graph The graph represented by this object.
      */
-    public AbstractVF2GraphData(Graph graph) {
+    protected void reset(Graph graph) {
 
         this.graph = graph;
 
         int noNodes = graph.size();
 
         matchLength = 0;
-        lastMatchedNode = NULL_NODE;
         terminalInLength = 0;
         terminalOutLength = 0;
 
-
-        in = new int[noNodes];
-        out = new int[noNodes];
+        if (in.length < noNodes) {
+            in = new int[noNodes];
+            out = new int[noNodes];
+            matchedNodes = new int[noNodes];
+            terminalInLengths = new int[noNodes];
+            terminalOutLengths = new int[noNodes];
+        }
 
         for (int i = 0; i < noNodes; i++) {
             in[i] = NULL_NODE;
             out[i] = NULL_NODE;
         }
-
     }
 
     /**
-     * Creates a shallow copy of the given AbstractVF2GraphData object.
-     *
-     * @param data The AbstractVF2GraphData object that should be copied.
+     * Drops the reference to the underlying graph such that it is not retained
+     * by a reused AbstractVF2GraphData object.
      */
-    public AbstractVF2GraphData(AbstractVF2GraphData data) {
-
-        graph = data.graph;
-        matchLength = data.matchLength;
-        lastMatchedNode = data.lastMatchedNode;
-        terminalInLength = data.terminalInLength;
-        terminalOutLength = data.terminalOutLength;
+    protected void clear() {
 
-        in = data.in;
-        out = data.out;
+        graph = null;
     }
 
     protected abstract void matchNode(int matchFrom, int matchTo);
@@ -184,8 +200,10 @@ public abstract class AbstractVF2GraphData {
     void setMatch(int matchFrom, int matchTo) {
 
         matchNode(matchFrom, matchTo);
+        matchedNodes[matchLength] = matchFrom;
+        terminalInLengths[matchLength] = terminalInLength;
+        terminalOutLengths[matchLength] = terminalOutLength;
         ++matchLength;
-        lastMatchedNode = matchFrom;
 
         updateTerminalSets(matchFrom);
     }
@@ -240,25 +258,21 @@ public abstract class AbstractVF2GraphData {
      * For the last node that has been matched, an inverse update
      * is applied to its terminal sets.
      * The last matching pair is removed.
-     * Note that the last matched node has to be set afterwards again by determining
-     * the next candidate pair.
      */
     void backtrack() {
 
-        if (lastMatchedNode == NULL_NODE) {
+        if (matchLength == 0) {
             return;
         }
 
+        int lastMatchedNode = matchedNodes[matchLength - 1];
+
         TIntArrayList succsOf = graph.getSuccessorsOf(lastMatchedNode);
         for (int i = 0; i < succsOf.size(); i++) {
 
             int succ = succsOf.get(i);
             if (out[succ] == matchLength) {
                 out[succ] = NULL_NODE;
-
-                if (!containsMatch(succ)) {
-                    --terminalOutLength;
-                }
             }
         }
 
@@ -268,16 +282,13 @@ public abstract class AbstractVF2GraphData {
             int pred = predsOf.get(i);
             if (in[pred] == matchLength) {
                 in[pred] = NULL_NODE;
-
-                if (!containsMatch(pred)) {
-                    --terminalInLength;
-                }
             }
         }
 
         unmatchNode(lastMatchedNode);
         --matchLength;
-        lastMatchedNode = NULL_NODE; // has to be set by set match again
+        terminalInLength = terminalInLengths[matchLength];
+        terminalOutLength = terminalOutLengths[matchLength];
     }
 
     /**
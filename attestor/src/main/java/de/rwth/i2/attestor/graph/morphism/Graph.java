@@ -65,4 +65,16 @@ public interface Graph {
     int getExternalIndex(int node);
 
     boolean isEdgeBetweenMarkedNodes(int from, int to);
+
+    /**
+     * Provides the order in which nodes of this Graph are considered if it is used as a pattern graph
+     * by a {@link VF2Algorithm} with {@link VF2AlgorithmBuilder#setMatchingOrder(boolean)} enabled.
+     * Implementations are encouraged to cache the result as long as the Graph is not modified.
+     *
+     * @return An array containing every node of this Graph exactly once.
+     */
+    default int[] getMatchingOrder() {
+
+        return MatchingOrder.compute(this);
+    }
 }
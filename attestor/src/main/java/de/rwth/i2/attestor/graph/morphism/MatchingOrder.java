@@ -0,0 +1,144 @@
+package de.rwth.i2.attestor.graph.morphism;
+
+import de.rwth.i2.attestor.graph.digraph.NodeLabel;
+import de.rwth.i2.attestor.graph.heap.Variable;
+import gnu.trove.list.array.TIntArrayList;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes the order in which a {@link VF2Algorithm} considers the nodes of a pattern graph.
+ * <p>
+ * Following VF2++, the most constrained nodes are matched first: The order is a breadth-first traversal that
+ * starts at the node with the highest priority. Within each level of the traversal, nodes with many already
+ * ordered neighbours are preferred. Remaining ties are broken by the priority of nodes, i.e. variables come first,
+ * then external nodes, then nodes whose label is rare in the pattern graph, and finally nodes with a high degree.
+ * <p>
+ * Since the order only depends on the pattern graph, it is typically computed once and cached by the graph,
+ * see {@link Graph#getMatchingOrder()}.
+ */
+public final class MatchingOrder {
+
+    private MatchingOrder() {
+
+    }
+
+    /**
+     * @param graph The pattern graph.
+     * @return An array containing every node of graph exactly once. The position of a node in the array
+     * determines when it is considered by a {@link VF2Algorithm}.
+     */
+    public static int[] compute(Graph graph) {
+
+        int size = graph.size();
+
+        Map<NodeLabel, Integer> labelCounts = new HashMap<>();
+        for (int node = 0; node < size; node++) {
+            labelCounts.merge(graph.getNodeLabel(node), 1, Integer::sum);
+        }
+
+        int[] rarity = new int[size];
+        int[] degree = new int[size];
+        int[] kind = new int[size];
+        for (int node = 0; node < size; node++) {
+            NodeLabel label = graph.getNodeLabel(node);
+            rarity[node] = labelCounts.get(label);
+            degree[node] = graph.getSuccessorsOf(node).size() + graph.getPredecessorsOf(node).size();
+            if (label instanceof Variable) {
+                kind[node] = 0;
+            } else if (graph.isExternal(node)) {
+                kind[node] = 1;
+            } else {
+                kind[node] = 2;
+            }
+        }
+
+        int[] order = new int[size];
+        int ordered = 0;
+        boolean[] visited = new boolean[size];
+        int[] orderedNeighbours = new int[size];
+
+        TIntArrayList level = new TIntArrayList();
+        TIntArrayList nextLevel = new TIntArrayList();
+
+        while (ordered < size) {
+
+            int root = -1;
+            for (int node = 0; node < size; node++) {
+                if (!visited[node] && (root == -1 || hasPriority(node, root, kind, rarity, degree))) {
+                    root = node;
+                }
+            }
+
+            visited[root] = true;
+            level.resetQuick();
+            level.add(root);
+
+            while (!level.isEmpty()) {
+
+                // order the current level by connections to already ordered nodes and priority
+                while (!level.isEmpty()) {
+                    int best = 0;
+                    for (int i = 1; i < level.size(); i++) {
+                        int node = level.get(i);
+                        int bestNode = level.get(best);
+                        if (orderedNeighbours[node] > orderedNeighbours[bestNode]
+                                || (orderedNeighbours[node] == orderedNeighbours[bestNode]
+                                && hasPriority(node, bestNode, kind, rarity, degree))) {
+                            best = i;
+                        }
+                    }
+
+                    int next = level.removeAt(best);
+                    order[ordered++] = next;
+                    countOrderedNeighbour(graph.getSuccessorsOf(next), orderedNeighbours);
+                    countOrderedNeighbour(graph.getPredecessorsOf(next), orderedNeighbours);
+                    collectUnvisited(graph.getSuccessorsOf(next), visited, nextLevel);
+                    collectUnvisited(graph.getPredecessorsOf(next), visited, nextLevel);
+                }
+
+                TIntArrayList swap = level;
+                level = nextLevel;
+                nextLevel = swap;
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * @return True if and only if node should be matched before other if both are equally connected
+     * to already ordered nodes.
+     */
+    private static boolean hasPriority(int node, int other, int[] kind, int[] rarity, int[] degree) {
+
+        if (kind[node] != kind[other]) {
+            return kind[node] < kind[other];
+        }
+
+        if (rarity[node] != rarity[other]) {
+            return rarity[node] < rarity[other];
+        }
+
+        return degree[node] > degree[other];
+    }
+
+    private static void countOrderedNeighbour(TIntArrayList neighbours, int[] orderedNeighbours) {
+
+        for (int i = 0; i < neighbours.size(); i++) {
+            ++orderedNeighbours[neighbours.get(i)];
+        }
+    }
+
+    private static void collectUnvisited(TIntArrayList neighbours, boolean[] visited, TIntArrayList result) {
+
+        for (int i = 0; i < neighbours.size(); i++) {
+            int neighbour = neighbours.get(i);
+            if (!visited[neighbour]) {
+                visited[neighbour] = true;
+                result.add(neighbour);
+            }
+        }
+    }
+}
@@ -24,7 +24,18 @@ public class Morphism {
      */
     public Morphism(int[] mapping) {
 
-        this.mapping = Arrays.copyOf(mapping, mapping.length);
+        this(mapping, mapping.length);
+    }
+
+    /**
+     * Initializes the morphism from a prefix of the given mapping.
+     *
+     * @param mapping The mapping between node identifiers of a pattern graph and a target graph.
+     * @param size    The number of nodes of the pattern graph, i.e. the number of relevant entries of mapping.
+     */
+    public Morphism(int[] mapping, int size) {
+
+        this.mapping = Arrays.copyOf(mapping, size);
     }
 
     /**
@@ -12,4 +12,10 @@ public interface MorphismOptions {
 
     boolean isAdmissibleMarkings();
 
+    /**
+     * @return True if and only if pattern nodes should be matched in the order given by
+     * {@link Graph#getMatchingOrder()} and candidate pairs should be pruned based on their labels.
+     */
+    boolean isOrderedMatching();
+
 }
@@ -3,8 +3,6 @@ package de.rwth.i2.attestor.graph.morphism;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Stack;
-
 /**
  * This class implements the VF2 (sub)graph searching algorithm in order to find graph morphisms
  * between two Graphs.
@@ -15,6 +13,9 @@ import java.util.Stack;
  * Each element of the search space is represented by a {@link VF2State}, which represents a partial morphism together
  * with additional data that allow efficient backtracking.
  * The search tree is constructed in a way such that no copies of the partial morphism are required.
+ * Moreover, each thread reuses a single VF2State across all searches such that repeated searches do not
+ * allocate any memory apart from the morphisms that are found. Since the arrays of a reused state never shrink,
+ * graphs with more than {@link #MAX_REUSED_STATE_SIZE} nodes are matched with a state of their own.
  * VF2Algorithm depends on a list of {@link FeasibilityFunction}s that determine possible pairs
  * of pattern-target nodes that are matched onto each other.
  * The FeasibilityFunctions thus determine the type of Morphism that is actually computed.
@@ -36,6 +37,17 @@ public class VF2Algorithm {
     public static final boolean DEBUG = false;
     private static final Logger logger = LogManager.getLogger("VF2Algorithm");
 
+    /**
+     * The state reused by all searches executed by the current thread.
+     */
+    private static final ThreadLocal<VF2State> workspace = ThreadLocal.withInitial(VF2State::new);
+
+    /**
+     * The maximal number of nodes of graphs that are matched with the state reused by the current thread.
+     * This bounds the memory retained by each thread after a search in a large graph.
+     */
+    static final int MAX_REUSED_STATE_SIZE = 1024;
+
     /**
      * The FeasibilityFunctions that are evaluated to determine whether a candidate pair
      * represents a pair of pattern-target nodes that can be added to the current state without invalidating
@@ -49,9 +61,23 @@ public class VF2Algorithm {
     TerminationFunction morphismFoundCheck;
 
     /**
-     * The morphism that has been found by the algorithm. Null otherwise.
+     * True if and only if pattern nodes are considered in the order provided by {@link Graph#getMatchingOrder()}
+     * instead of the order of their identifiers.
+     */
+    boolean matchingOrder;
+
+    /**
+     * True if and only if candidate pairs whose nodes carry different kinds of labels are pruned
+     * before any FeasibilityFunction is evaluated.
+     */
+    boolean labelPruning;
+
+    /**
+     * The morphism that has been found by the most recent call of {@link #match(Graph, Graph)}
+     * in the current thread. Null otherwise.
+     * Since checkers share a single VF2Algorithm instance, the result is kept per thread.
      */
-    private Morphism foundMorphism = null;
+    private final ThreadLocal<Morphism> foundMorphism = new ThreadLocal<>();
 
     /**
      * Construct a useless VF2Algorithm that has to be customized by a {@link VF2AlgorithmBuilder}.
@@ -78,29 +104,69 @@ public class VF2Algorithm {
      */
     public boolean match(Graph pattern, Graph target) {
 
-        VF2State initialState = new VF2State(pattern, target);
-        return match(initialState);
+        Morphism morphism = findMorphism(pattern, target);
+        foundMorphism.set(morphism);
+        return morphism != null;
     }
 
     /**
-     * Executes the next step of the algorithm for a given state.
+     * Executes the algorithm to find a Morphism from pattern into target.
+     * In contrast to {@link #match(Graph, Graph)}, this method does not store any result and
+     * can thus safely be called by multiple threads at once.
      *
-     * @param state The VF2State that determines the current position of the algorithm in its search tree.
-     * @return true if and only if at least one Morphism exists.
+     * @param pattern The Graph that should be searched for.
+     * @param target  The Graph we search in.
+     * @return The morphism that has been found or null if no morphism exists.
+     */
+    public Morphism findMorphism(Graph pattern, Graph target) {
+
+        VF2State state = getState(pattern, target);
+        int[] order = matchingOrder ? pattern.getMatchingOrder() : null;
+        state.reset(pattern, target, order, labelPruning);
+        try {
+            if (!state.hasSufficientLabels()) {
+                return null;
+            }
+            return match(state);
+        } finally {
+            state.clear();
+        }
+    }
+
+    /**
+     * @param pattern The Graph that should be searched for.
+     * @param target  The Graph we search in.
+     * @return The state reused by the current thread if it is available and both graphs are small enough.
+     * Otherwise, a fresh state that is discarded after the search.
      */
-    private boolean match(VF2State state) {
+    static VF2State getState(Graph pattern, Graph target) {
 
-        Stack<VF2State> stateStack = new Stack<>();
-        stateStack.push(state);
+        if (pattern.size() > MAX_REUSED_STATE_SIZE || target.size() > MAX_REUSED_STATE_SIZE) {
+            return new VF2State();
+        }
 
-        mainLoop:
-        while (!stateStack.isEmpty()) {
+        VF2State state = workspace.get();
+        if (state.isInUse()) {
+            // a search has been started while another search of the same thread is still running
+            return new VF2State();
+        }
+        return state;
+    }
+
+    /**
+     * Executes the algorithm starting in a given initial state.
+     *
+     * @param state The VF2State that determines the current position of the algorithm in its search tree.
+     * @return The morphism that has been found or null if no morphism exists.
+     */
+    private Morphism match(VF2State state) {
 
-            state = stateStack.peek();
+        mainLoop:
+        while (true) {
 
             if (morphismFoundCheck.eval(state)) {
-                storeMorphism(state);
-                return true;
+                VF2GraphData pattern = state.getPattern();
+                return new Morphism(pattern.getMatching(), pattern.getGraph().size());
             }
 
 			/* Since it is possible that some Morphism exists, we continue
@@ -115,27 +181,25 @@ public class VF2Algorithm {
                     if (DEBUG) {
                         logger.error("found feasible candidate (" + p + "," + t + ")");
                     }
-					
-					/* A shallow copy only copies data required for backtracking
-				       such as the last candidate. After that we move further
-				       down in the search tree. */
-                    VF2State nextState = state.shallowCopy();
-                    nextState.addCandidate(p, t);
-                    stateStack.push(nextState);
-                    continue mainLoop; // simulate recursion by adjusting stack and jumping to the outer loop.
+
+					/* Adding a candidate moves further down in the search tree.
+					   The candidates considered so far at the current height remain stored in the state. */
+                    state.addCandidate(p, t);
+                    continue mainLoop; // simulate recursion by jumping to the outer loop.
                 }
             }
 
+            if (state.getDepth() == 0) {
+                return null;
+            }
+
             if (DEBUG) {
                 logger.error("Backtracking...");
             }
-			/* We stored all morphisms found so far and finished going through all search trees
-		   	   after adding all available candidate pairs to the current state.
-               Hence, we backtrack and remove the last pair added to the current state before. */
+			/* We finished going through all search trees after adding all available candidate pairs
+			   to the current state. Hence, we backtrack and remove the last pair added to the current state. */
             state.backtrack();
-            stateStack.pop();
         }
-        return false;
     }
 
     /**
@@ -162,20 +226,11 @@ public class VF2Algorithm {
     }
 
     /**
-     * Stores the morphism contained in the provided state in the list of all morphisms found so far.
-     *
-     * @param state A state representing a found morphism.
-     */
-    private void storeMorphism(VF2State state) {
-
-        foundMorphism = new Morphism(state.getPattern().getMatching());
-    }
-
-    /**
-     * @return The morphism that has been found. Null otherwise.
+     * @return The morphism that has been found by the last call of {@link #match(Graph, Graph)}
+     * in the current thread. Null otherwise.
      */
     public Morphism getMorphism() {
 
-        return foundMorphism;
+        return foundMorphism.get();
     }
 }
@@ -48,6 +48,33 @@ public final class VF2AlgorithmBuilder {
         return this;
     }
 
+    /**
+     * Determines whether pattern nodes are considered in the order provided by {@link Graph#getMatchingOrder()}.
+     * By default, pattern nodes are considered in the order of their identifiers.
+     *
+     * @param enabled True if and only if the matching order of the pattern graph should be used.
+     * @return The builder.
+     */
+    public VF2AlgorithmBuilder setMatchingOrder(boolean enabled) {
+
+        algorithm.matchingOrder = enabled;
+        return this;
+    }
+
+    /**
+     * Determines whether candidate pairs whose nodes carry different kinds of labels, for example a type and
+     * a nonterminal, are discarded before any FeasibilityFunction is evaluated.
+     * This is only sound if all FeasibilityFunctions reject such pairs anyway.
+     *
+     * @param enabled True if and only if candidate pairs should be pruned based on their labels.
+     * @return The builder.
+     */
+    public VF2AlgorithmBuilder setLabelPruning(boolean enabled) {
+
+        algorithm.labelPruning = enabled;
+        return this;
+    }
+
     /**
      * Adds a FeasibilityFunction used to prune the search space when searching for potential graph morphisms.
      *
@@ -5,22 +5,39 @@ public class VF2GraphData extends AbstractVF2GraphData {
     /**
      * The current (partial) mapping from graph to the other considered graph.
      */
-    private final int[] match;
+    private int[] match = new int[0];
 
     /**
      * A fixed order of nodes.
      * nodeOrder[i] is the position in the fixed order.
      */
-    private final int[] nodeOrder;
+    private int[] nodeOrder = new int[0];
+
+    /**
+     * Creates a VF2GraphData object without an underlying graph that has to be initialized
+     * by {@link #reset(Graph)} before it is used.
+     */
+    VF2GraphData() {
+
+        super();
+    }
 
     public VF2GraphData(Graph graph) {
 
-        super(graph);
+        super();
+        reset(graph);
+    }
 
-        int noNodes = graph.size();
-        match = new int[noNodes];
-        nodeOrder = new int[noNodes];
+    @Override
+    protected void reset(Graph graph) {
 
+        super.reset(graph);
+
+        int noNodes = graph.size();
+        if (match.length < noNodes) {
+            match = new int[noNodes];
+            nodeOrder = new int[noNodes];
+        }
 
         for (int i = 0; i < noNodes; i++) {
             match[i] = NULL_NODE;
@@ -28,11 +45,17 @@ public class VF2GraphData extends AbstractVF2GraphData {
         }
     }
 
-    public VF2GraphData(VF2GraphData data) {
+    /**
+     * Replaces the order of nodes, which by default coincides with the order of node identifiers.
+     *
+     * @param order An array containing every node of the underlying graph exactly once.
+     *              The position of a node in the array determines its position in the new order.
+     */
+    void setNodeOrder(int[] order) {
 
-        super(data);
-        match = data.match;
-        nodeOrder = data.nodeOrder;
+        for (int i = 0; i < order.length; i++) {
+            nodeOrder[order[i]] = i;
+        }
     }
 
     @Override
@@ -81,6 +104,7 @@ public class VF2GraphData extends AbstractVF2GraphData {
 
     /**
      * @return An array determining the currently stored matching from the underlying graph into the other graph.
+     * Since arrays are reused across searches, only the first {@code getGraph().size()} entries are meaningful.
      */
     public int[] getMatching() {
 
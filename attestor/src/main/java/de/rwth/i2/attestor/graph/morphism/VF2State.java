@@ -1,12 +1,27 @@
 package de.rwth.i2.attestor.graph.morphism;
 
+import de.rwth.i2.attestor.graph.digraph.NodeLabel;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Captures a current, possibly incomplete, candidate for a graph morphism that is constructed step by step
  * by a {@link VF2Algorithm}. In particular, VF2State supports method {@link #backtrack()} to reset it to
  * its previous state.
+ * <p>
+ * A single VF2State represents the whole path from the root of the search tree to the current position:
+ * The candidate pairs considered at each height of the search tree are stored in arrays indexed by the height.
+ * Hence, descending and backtracking in the search tree do not create any objects and a VF2State can be reused
+ * for subsequent searches through {@link #reset(Graph, Graph)}.
+ * <p>
+ * Pattern nodes are considered in a fixed order, which coincides with the order of node identifiers
+ * unless another order, such as a {@link MatchingOrder}, is provided.
+ * Optionally, candidate pairs whose nodes are labeled by different kinds of labels, e.g. a type and a nonterminal,
+ * are pruned before any {@link FeasibilityFunction} is evaluated.
  *
  * @author Christoph
  */
@@ -18,22 +33,82 @@ public class VF2State {
     @SuppressWarnings("unused")
     private static final Logger logger = LogManager.getLogger("VF2State");
 
+    /**
+     * A unique identifier for each class of node labels encountered so far.
+     */
+    private static final Map<Class<?>, Integer> labelKinds = new ConcurrentHashMap<>();
+
     /**
      * The currently found partial mapping from pattern to target together
      * with additional data to prune the search space.
      */
-    private final VF2GraphData pattern;
+    private final VF2GraphData pattern = new VF2GraphData();
 
     /**
      * The currently found partial mapping from target to pattern together
      * with additional data to prune the search space.
      */
-    private final VF2GraphData target;
-    private final int countPatternNodes;
-    private final int countTargetNodes;
-    private int patternCandidate;
-    private int targetCandidate;
-    private int patternMin;
+    private final VF2GraphData target = new VF2GraphData();
+    private int countPatternNodes;
+    private int countTargetNodes;
+
+    /**
+     * The current height of the search tree.
+     */
+    private int depth;
+
+    /**
+     * For each height of the search tree, the pattern node of the most recently considered candidate pair.
+     */
+    private int[] patternCandidates = new int[1];
+
+    /**
+     * For each height of the search tree, the target node of the most recently considered candidate pair.
+     */
+    private int[] targetCandidates = new int[1];
+
+    /**
+     * For each height of the search tree, the pattern node all further candidate pairs are restricted to.
+     */
+    private int[] patternMins = new int[1];
+
+    /**
+     * The order in which pattern nodes are considered.
+     */
+    private int[] order;
+
+    /**
+     * The order of node identifiers, which is used unless another order is provided.
+     */
+    private int[] identityOrder = new int[0];
+
+    /**
+     * True if and only if candidate pairs with different kinds of labels are pruned.
+     */
+    private boolean labelPruning;
+
+    /**
+     * The kind of label of each pattern node. Only used if labelPruning is set.
+     */
+    private int[] patternLabelKinds = new int[0];
+
+    /**
+     * The kind of label of each target node. Only used if labelPruning is set.
+     */
+    private int[] targetLabelKinds = new int[0];
+
+    /**
+     * Scratch space to count the occurrences of each kind of label.
+     */
+    private int[] labelCounts = new int[0];
+
+    /**
+     * Creates a state without underlying graphs that has to be initialized by {@link #reset(Graph, Graph)}
+     * before it is used.
+     */
+    VF2State() {
+
+    }
 
     /**
      * Computes a new initial state from two graphs
@@ -43,39 +118,180 @@ public class VF2State {
      */
     public VF2State(Graph patternGraph, Graph targetGraph) {
 
-        pattern = new VF2GraphData(patternGraph);
-        target = new VF2GraphData(targetGraph);
-        countPatternNodes = pattern.getGraph().size();
-        countTargetNodes = target.getGraph().size();
-        patternCandidate = 0;
-        targetCandidate = -1;
-        patternMin = AbstractVF2GraphData.NULL_NODE;
+        reset(patternGraph, targetGraph);
+    }
+
+    /**
+     * Turns this state into the initial state for the two given graphs.
+     * Previously allocated arrays are reused if they are large enough.
+     *
+     * @param patternGraph The pattern graph that should be mapped into the target graph.
+     * @param targetGraph  The target graph.
+     */
+    void reset(Graph patternGraph, Graph targetGraph) {
+
+        reset(patternGraph, targetGraph, null, false);
+    }
+
+    /**
+     * Turns this state into the initial state for the two given graphs.
+     * Previously allocated arrays are reused if they are large enough.
+     *
+     * @param patternGraph The pattern graph that should be mapped into the target graph.
+     * @param targetGraph  The target graph.
+     * @param order        The order in which pattern nodes are considered or null if nodes are considered
+     *                     in the order of their identifiers.
+     * @param labelPruning True if and only if candidate pairs with different kinds of labels should be pruned.
+     */
+    void reset(Graph patternGraph, Graph targetGraph, int[] order, boolean labelPruning) {
+
+        pattern.reset(patternGraph);
+        target.reset(targetGraph);
+        countPatternNodes = patternGraph.size();
+        countTargetNodes = targetGraph.size();
+
+        if (patternCandidates.length <= countPatternNodes) {
+            patternCandidates = new int[countPatternNodes + 1];
+            targetCandidates = new int[countPatternNodes + 1];
+            patternMins = new int[countPatternNodes + 1];
+        }
+
+        if (order == null) {
+            if (identityOrder.length < countPatternNodes) {
+                identityOrder = new int[countPatternNodes];
+                for (int i = 0; i < countPatternNodes; i++) {
+                    identityOrder[i] = i;
+                }
+            }
+            this.order = identityOrder;
+        } else {
+            this.order = order;
+            pattern.setNodeOrder(order);
+        }
+
+        this.labelPruning = labelPruning;
+        if (labelPruning) {
+            patternLabelKinds = computeLabelKinds(patternGraph, patternLabelKinds);
+            targetLabelKinds = computeLabelKinds(targetGraph, targetLabelKinds);
+        }
+
+        depth = 0;
+        resetCandidates();
+    }
+
+    private static int[] computeLabelKinds(Graph graph, int[] kinds) {
+
+        int size = graph.size();
+        if (kinds.length < size) {
+            kinds = new int[size];
+        }
+
+        for (int i = 0; i < size; i++) {
+            kinds[i] = labelKindOf(graph.getNodeLabel(i));
+        }
+
+        return kinds;
     }
 
     /**
-     * Creates a copy of a given state.
-     * Note that apart from a few constants, a shallow copy is created.
-     * In particular, the underlying partial matching is shared between the state and its copy.
+     * @param label A node label.
+     * @return A unique identifier of the class of the given label.
+     * Labels of different classes never match each other.
+     */
+    private static int labelKindOf(NodeLabel label) {
+
+        if (label == null) {
+            return -1;
+        }
+
+        Class<?> labelClass = label.getClass();
+        Integer kind = labelKinds.get(labelClass);
+        if (kind != null) {
+            return kind;
+        }
+
+        synchronized (labelKinds) {
+            kind = labelKinds.get(labelClass);
+            if (kind == null) {
+                kind = labelKinds.size();
+                labelKinds.put(labelClass, kind);
+            }
+            return kind;
+        }
+    }
+
+    /**
+     * Checks whether every kind of label occurs at least as often in the target graph as in the pattern graph.
+     * If this is not the case, no morphism can exist. If label pruning is disabled, this check is skipped.
      *
-     * @param state The state to be copied.
+     * @return False if and only if label pruning is enabled and there cannot be a morphism.
      */
-    private VF2State(VF2State state) {
+    boolean hasSufficientLabels() {
 
-        pattern = new VF2GraphData(state.pattern);
-        target = new VF2GraphData(state.target);
-        countPatternNodes = state.countPatternNodes;
-        countTargetNodes = state.countTargetNodes;
-        patternCandidate = 0;
-        targetCandidate = -1;
-        patternMin = AbstractVF2GraphData.NULL_NODE;
+        if (!labelPruning) {
+            return true;
+        }
+
+        int countKinds = labelKinds.size();
+        if (labelCounts.length < countKinds) {
+            labelCounts = new int[countKinds];
+        }
+
+        int[] counts = labelCounts;
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < countTargetNodes; i++) {
+            int kind = targetLabelKinds[i];
+            if (kind >= 0) {
+                ++counts[kind];
+            }
+        }
+        for (int i = 0; i < countPatternNodes; i++) {
+            int kind = patternLabelKinds[i];
+            if (kind >= 0 && --counts[kind] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return True if and only if label pruning is disabled or p and t are labeled with the same kind of label.
+     */
+    private boolean hasMatchingLabelKind(int p, int t) {
+
+        return !labelPruning || patternLabelKinds[p] == targetLabelKinds[t];
+    }
+
+    /**
+     * Drops all references to the underlying graphs such that they are not retained by a reused state.
+     */
+    void clear() {
+
+        pattern.clear();
+        target.clear();
     }
 
     /**
-     * @return A shallow copy of this state.
+     * @return True if and only if this state is currently used to search for a morphism.
      */
-    public VF2State shallowCopy() {
+    boolean isInUse() {
+
+        return pattern.getGraph() != null;
+    }
+
+    /**
+     * @return The current height of the search tree, i.e. the number of candidate pairs added to this state.
+     */
+    public int getDepth() {
+
+        return depth;
+    }
+
+    private void resetCandidates() {
 
-        return new VF2State(this);
+        patternCandidates[depth] = 0;
+        targetCandidates[depth] = -1;
+        patternMins[depth] = AbstractVF2GraphData.NULL_NODE;
     }
 
     /**
@@ -99,8 +315,13 @@ public class VF2State {
      */
     public void backtrack() {
 
+        if (depth == 0) {
+            return;
+        }
+
         pattern.backtrack();
         target.backtrack();
+        --depth;
     }
 
     /**
@@ -113,6 +334,8 @@ public class VF2State {
 
         pattern.setMatch(p, t);
         target.setMatch(t, p);
+        ++depth;
+        resetCandidates();
     }
 
     /**
@@ -138,18 +361,21 @@ public class VF2State {
      */
     private boolean computeOutgoingCandidates() {
 
-        int start = targetCandidate + 1;
+        int start = targetCandidates[depth] + 1;
+        int patternMin = patternMins[depth];
 
-        for (int p = patternCandidate; p < countPatternNodes; p++) {
+        for (int i = patternCandidates[depth]; i < countPatternNodes; i++) {
+
+            int p = order[i];
 
             if (pattern.containsOutgoingUnmatched(p) && !pattern.isLessThan(patternMin, p)) {
 
                 for (int t = start; t < countTargetNodes; t++) {
 
-                    if (target.containsOutgoing(t) && !target.containsMatch(t)) {
-                        patternCandidate = p;
-                        targetCandidate = t;
-                        patternMin = p;
+                    if (target.containsOutgoing(t) && !target.containsMatch(t) && hasMatchingLabelKind(p, t)) {
+                        patternCandidates[depth] = i;
+                        targetCandidates[depth] = t;
+                        patternMins[depth] = p;
                         return true;
                     }
                 }
@@ -166,18 +392,21 @@ public class VF2State {
      */
     private boolean computeIngoingCandidates() {
 
-        int start = targetCandidate + 1;
-        for (int p = patternCandidate; p < countPatternNodes; p++) {
+        int start = targetCandidates[depth] + 1;
+        int patternMin = patternMins[depth];
+        for (int i = patternCandidates[depth]; i < countPatternNodes; i++) {
+
+            int p = order[i];
 
 
             if (pattern.containsIngoingUnmatched(p) && !pattern.isLessThan(patternMin, p)) {
 
                 for (int t = start; t < countTargetNodes; t++) {
 
-                    if (target.containsIngoing(t) && !target.containsMatch(t)) {
-                        patternCandidate = p;
-                        targetCandidate = t;
-                        patternMin = p;
+                    if (target.containsIngoing(t) && !target.containsMatch(t) && hasMatchingLabelKind(p, t)) {
+                        patternCandidates[depth] = i;
+                        targetCandidates[depth] = t;
+                        patternMins[depth] = p;
                         return true;
                     }
                 }
@@ -191,18 +420,21 @@ public class VF2State {
      */
     private boolean computeAllCandidates() {
 
-        int start = targetCandidate + 1;
+        int start = targetCandidates[depth] + 1;
+        int patternMin = patternMins[depth];
+
+        for (int i = patternCandidates[depth]; i < countPatternNodes; i++) {
 
-        for (int p = patternCandidate; p < countPatternNodes; p++) {
+            int p = order[i];
 
             if (!pattern.containsMatch(p) && !pattern.isLessThan(patternMin, p)) {
 
                 for (int t = start; t < countTargetNodes; t++) {
 
-                    if (!target.containsMatch(t)) {
-                        patternCandidate = p;
-                        targetCandidate = t;
-                        patternMin = p;
+                    if (!target.containsMatch(t) && hasMatchingLabelKind(p, t)) {
+                        patternCandidates[depth] = i;
+                        targetCandidates[depth] = t;
+                        patternMins[depth] = p;
                         return true;
                     }
                 }
@@ -214,12 +446,12 @@ public class VF2State {
 
     public int getPatternCandidate() {
 
-        return patternCandidate;
+        return order[patternCandidates[depth]];
     }
 
     public int getTargetCandidate() {
 
-        return targetCandidate;
+        return targetCandidates[depth];
     }
 
 }
@@ -50,8 +50,8 @@ public abstract class AbstractVF2MorphismChecker implements MorphismChecker {
      */
     public void run(Graph pattern, Graph target) {
 
-        hasMorphism = matchingAlgorithm.match(pattern, target);
-        foundMorphism = matchingAlgorithm.getMorphism();
+        foundMorphism = matchingAlgorithm.findMorphism(pattern, target);
+        hasMorphism = foundMorphism != null;
     }
 
     @Override
@@ -28,11 +28,38 @@ public class VF2EmbeddingChecker extends AbstractVF2MorphismChecker {
             .addFeasibilityCondition(new EmbeddingEdgeLabels())
             .build();
 
+    /**
+     * Specification of the algorithm used to determine embeddings if pattern nodes are matched
+     * in the order given by {@link de.rwth.i2.attestor.graph.morphism.Graph#getMatchingOrder()}.
+     */
+    private static final VF2Algorithm orderedMatchingAlgorithm = VF2Algorithm.builder()
+            .setMatchingCondition(new MorphismFound())
+            .setMatchingOrder(true)
+            .setLabelPruning(true)
+            .addFeasibilityCondition(new CompatibleNodeTypes())
+            .addFeasibilityCondition(new CompatiblePredecessors(false))
+            .addFeasibilityCondition(new CompatibleSuccessors(false))
+            .addFeasibilityCondition(new OneStepLookaheadIn(false))
+            .addFeasibilityCondition(new OneStepLookaheadOut(false))
+            .addFeasibilityCondition(new TwoStepLookahead(false))
+            .addFeasibilityCondition(new EmbeddingExternalNodes())
+            .addFeasibilityCondition(new EmbeddingEdgeLabels())
+            .build();
+
 
     public VF2EmbeddingChecker() {
 
         super(matchingAlgorithm);
     }
 
+    /**
+     * @param orderedMatching True if and only if pattern nodes should be matched in the order given by
+     *                        {@link de.rwth.i2.attestor.graph.morphism.Graph#getMatchingOrder()}.
+     */
+    public VF2EmbeddingChecker(boolean orderedMatching) {
+
+        super(orderedMatching ? orderedMatchingAlgorithm : matchingAlgorithm);
+    }
+
 
 }
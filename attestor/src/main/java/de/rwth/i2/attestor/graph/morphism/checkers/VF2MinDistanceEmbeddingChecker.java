@@ -75,6 +75,8 @@ public class VF2MinDistanceEmbeddingChecker extends AbstractVF2MorphismChecker {
         super(
                 VF2Algorithm.builder()
                         .setMatchingCondition(matchingCondition)
+                        .setMatchingOrder(options.isOrderedMatching())
+                        .setLabelPruning(options.isOrderedMatching())
                         .addFeasibilityCondition(compatibleNodeTypes)
                         .addFeasibilityCondition(compatiblePredecessors)
                         .addFeasibilityCondition(compatibleSuccessors)
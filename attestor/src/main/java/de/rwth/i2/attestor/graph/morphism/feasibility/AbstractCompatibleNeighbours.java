@@ -36,7 +36,6 @@ public abstract class AbstractCompatibleNeighbours implements FeasibilityFunctio
         TIntArrayList adjacentNodesOfP = getAdjacent(patternGraph, p);
         TIntArrayList adjacentNodesOfT = getAdjacent(targetGraph, t);
 
-        TIntArrayList targetMatches = new TIntArrayList(adjacentNodesOfP.size());
         int countSelfLoops = 0;
 
 
@@ -50,7 +49,6 @@ public abstract class AbstractCompatibleNeighbours implements FeasibilityFunctio
                 if (checkEquality && !adjacentNodesOfT.contains(match)) {
                     return false;
                 }
-                targetMatches.add(match);
             } else if (p == adjP) {
                 ++countSelfLoops;
             }
@@ -73,7 +71,9 @@ public abstract class AbstractCompatibleNeighbours implements FeasibilityFunctio
 
         for (int i = 0; i < adjacentNodesOfT.size(); i++) {
             int adjT = adjacentNodesOfT.get(i);
-            if (checkEquality && target.containsMatch(adjT) && !targetMatches.contains(adjT)) {
+            // since matchings are injective, adjT is the match of an adjacent node of p
+            // if and only if the match of adjT is adjacent to p
+            if (checkEquality && target.containsMatch(adjT) && !adjacentNodesOfP.contains(target.getMatch(adjT))) {
                 return false;
             }
         }
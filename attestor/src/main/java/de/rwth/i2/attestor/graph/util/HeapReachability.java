@@ -0,0 +1,294 @@
+package de.rwth.i2.attestor.graph.util;
+
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import gnu.trove.TIntCollection;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Computes which nodes of a heap configuration are reachable from each other.
+ * <p>
+ * The nodes are numbered densely such that sets of nodes are represented by bitsets.
+ * The transitive closure is computed on demand by first determining the strongly connected components
+ * of the heap configuration and then propagating the bitsets of reachable nodes from the bottom
+ * components upwards. Hence, every successor relation is considered only once.
+ * <p>
+ * A node is reachable from another node if it can be reached using at least one step. In particular,
+ * a node is reachable from itself only if it lies on a cycle.
+ */
+public class HeapReachability {
+
+    private static final int NO_NODE = -1;
+
+    private final TIntArrayList nodes;
+    private final TIntIntMap denseIds;
+    private final int[][] successors;
+
+    /**
+     * The nodes reachable from each node. Nodes in the same strongly connected component share the same bitset.
+     * Computed lazily by {@link #computeClosure()}.
+     */
+    private long[][] closure = null;
+
+    private HeapReachability(HeapConfiguration heapConfiguration, Predicate<SelectorLabel> selectorFilter,
+                             boolean viaNonterminals) {
+
+        nodes = heapConfiguration.nodes();
+        int size = nodes.size();
+        denseIds = new TIntIntHashMap(size, 0.5f, NO_NODE, NO_NODE);
+        for (int i = 0; i < size; i++) {
+            denseIds.put(nodes.get(i), i);
+        }
+
+        TIntArrayList[] successorLists = new TIntArrayList[size];
+        for (int i = 0; i < size; i++) {
+            successorLists[i] = getSelectorSuccessors(heapConfiguration, nodes.get(i), selectorFilter);
+        }
+        if (viaNonterminals) {
+            addNonterminalSuccessors(heapConfiguration, successorLists);
+        }
+
+        successors = new int[size][];
+        for (int i = 0; i < size; i++) {
+            successors[i] = successorLists[i].toArray();
+        }
+    }
+
+    /**
+     * @param heapConfiguration The heap configuration.
+     * @return Reachability along all selector edges.
+     */
+    public static HeapReachability viaSelectors(HeapConfiguration heapConfiguration) {
+
+        return new HeapReachability(heapConfiguration, null, false);
+    }
+
+    /**
+     * @param heapConfiguration The heap configuration.
+     * @param selectorFilter    Determines the selector edges that may be used to reach other nodes.
+     * @return Reachability along all selector edges whose label satisfies the given filter.
+     */
+    public static HeapReachability viaSelectors(HeapConfiguration heapConfiguration,
+                                                Predicate<SelectorLabel> selectorFilter) {
+
+        return new HeapReachability(heapConfiguration, selectorFilter, false);
+    }
+
+    /**
+     * @param heapConfiguration The heap configuration.
+     * @return Reachability along all selector edges and all nonterminal edges. A nonterminal edge leads from
+     * a node attached to one of its tentacles to all attached nodes unless this tentacle is a reduction tentacle.
+     */
+    public static HeapReachability viaSelectorsAndNonterminals(HeapConfiguration heapConfiguration) {
+
+        return new HeapReachability(heapConfiguration, null, true);
+    }
+
+    private TIntArrayList getSelectorSuccessors(HeapConfiguration heapConfiguration, int node,
+                                                Predicate<SelectorLabel> selectorFilter) {
+
+        TIntArrayList result = new TIntArrayList();
+        if (selectorFilter == null) {
+            TIntIterator iterator = heapConfiguration.successorNodesOf(node).iterator();
+            while (iterator.hasNext()) {
+                result.add(denseIds.get(iterator.next()));
+            }
+            return result;
+        }
+
+        List<SelectorLabel> selectorLabels = heapConfiguration.selectorLabelsOf(node);
+        for (SelectorLabel label : selectorLabels) {
+            if (selectorFilter.test(label)) {
+                int target = heapConfiguration.selectorTargetOf(node, label);
+                if (target != HeapConfiguration.INVALID_ELEMENT) {
+                    result.add(denseIds.get(target));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addNonterminalSuccessors(HeapConfiguration heapConfiguration, TIntArrayList[] successorLists) {
+
+        TIntIterator edgeIterator = heapConfiguration.nonterminalEdges().iterator();
+        while (edgeIterator.hasNext()) {
+            int edge = edgeIterator.next();
+            Nonterminal label = heapConfiguration.labelOf(edge);
+            TIntArrayList attachedNodes = heapConfiguration.attachedNodesOf(edge);
+            for (int tentacle = 0; tentacle < attachedNodes.size(); tentacle++) {
+                int node = attachedNodes.get(tentacle);
+                // a node attached to several tentacles is only considered at its first tentacle
+                if (attachedNodes.indexOf(node) != tentacle || label.isReductionTentacle(tentacle)) {
+                    continue;
+                }
+                TIntArrayList successorList = successorLists[denseIds.get(node)];
+                for (int i = 0; i < attachedNodes.size(); i++) {
+                    successorList.add(denseIds.get(attachedNodes.get(i)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the node 'to' is reachable from the node 'from'.
+     *
+     * @param from The source node.
+     * @param to   The node that should be reached.
+     * @return True if and only if both arguments are nodes and node 'to' is reachable from node 'from'.
+     */
+    public boolean isReachable(int from, int to) {
+
+        int source = denseIds.get(from);
+        int target = denseIds.get(to);
+        if (source == NO_NODE || target == NO_NODE) {
+            return false;
+        }
+        if (closure == null) {
+            computeClosure();
+        }
+        return (closure[source][target >>> 6] & (1L << target)) != 0;
+    }
+
+    /**
+     * @param sourceNodes The nodes to start from.
+     * @return All given source nodes together with all nodes that are reachable from at least one of them.
+     */
+    public TIntSet getReachableNodes(TIntCollection sourceNodes) {
+
+        TIntSet result = new TIntHashSet(sourceNodes);
+        long[] visited = new long[words()];
+        int[] stack = new int[nodes.size()];
+        int top = 0;
+
+        TIntIterator iterator = sourceNodes.iterator();
+        while (iterator.hasNext()) {
+            int source = denseIds.get(iterator.next());
+            if (source != NO_NODE && set(visited, source)) {
+                stack[top++] = source;
+            }
+        }
+
+        while (top > 0) {
+            int node = stack[--top];
+            for (int successor : successors[node]) {
+                if (set(visited, successor)) {
+                    stack[top++] = successor;
+                    result.add(nodes.get(successor));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the strongly connected components using Tarjan's algorithm. Since a component is completed only
+     * after all components reachable from it, the reachable nodes of each component are determined
+     * from those of its successor components as soon as it is completed.
+     */
+    private void computeClosure() {
+
+        int size = nodes.size();
+        closure = new long[size][];
+
+        int[] index = new int[size];
+        Arrays.fill(index, NO_NODE);
+        int[] lowLink = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] componentStack = new int[size];
+        int componentTop = 0;
+        int[] callStack = new int[size];
+        int[] nextSuccessor = new int[size];
+        int nextIndex = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] != NO_NODE) {
+                continue;
+            }
+
+            int callTop = 0;
+            callStack[callTop++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            componentStack[componentTop++] = root;
+            onStack[root] = true;
+            nextSuccessor[root] = 0;
+
+            while (callTop > 0) {
+                int node = callStack[callTop - 1];
+                if (nextSuccessor[node] < successors[node].length) {
+                    int successor = successors[node][nextSuccessor[node]++];
+                    if (index[successor] == NO_NODE) {
+                        index[successor] = lowLink[successor] = nextIndex++;
+                        componentStack[componentTop++] = successor;
+                        onStack[successor] = true;
+                        nextSuccessor[successor] = 0;
+                        callStack[callTop++] = successor;
+                    } else if (onStack[successor]) {
+                        lowLink[node] = Math.min(lowLink[node], index[successor]);
+                    }
+                    continue;
+                }
+
+                --callTop;
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+                if (lowLink[node] == index[node]) {
+                    int first = componentTop;
+                    do {
+                        --first;
+                    } while (componentStack[first] != node);
+                    completeComponent(componentStack, first, componentTop, onStack);
+                    componentTop = first;
+                }
+            }
+        }
+    }
+
+    private void completeComponent(int[] componentStack, int from, int to, boolean[] onStack) {
+
+        long[] reachable = new long[words()];
+        for (int i = from; i < to; i++) {
+            closure[componentStack[i]] = reachable;
+        }
+        for (int i = from; i < to; i++) {
+            int node = componentStack[i];
+            onStack[node] = false;
+            for (int successor : successors[node]) {
+                set(reachable, successor);
+                long[] successorReachable = closure[successor];
+                if (successorReachable != reachable) {
+                    for (int w = 0; w < reachable.length; w++) {
+                        reachable[w] |= successorReachable[w];
+                    }
+                }
+            }
+        }
+    }
+
+    private int words() {
+
+        return (nodes.size() + 63) >>> 6;
+    }
+
+    private static boolean set(long[] bits, int position) {
+
+        long mask = 1L << position;
+        int word = position >>> 6;
+        if ((bits[word] & mask) != 0) {
+            return false;
+        }
+        bits[word] |= mask;
+        return true;
+    }
+}
@@ -0,0 +1,346 @@
+package de.rwth.i2.attestor.io.binary;
+
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.programState.indexedState.AnnotatedSelectorLabel;
+import de.rwth.i2.attestor.programState.indexedState.IndexedNonterminal;
+import de.rwth.i2.attestor.programState.indexedState.index.AbstractIndexSymbol;
+import de.rwth.i2.attestor.programState.indexedState.index.Index;
+import de.rwth.i2.attestor.programState.indexedState.index.IndexSymbol;
+import de.rwth.i2.attestor.programState.indexedState.index.IndexVariable;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.types.GeneralType;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes heap configurations, grammars, contracts and state spaces in the binary format described in
+ * {@link BinaryFormat}. Every call of an export method writes one complete document.
+ * The written documents can be read using {@link BinaryImporter}.
+ */
+public class BinaryExporter {
+
+    private final OutputStream out;
+
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<Type, Integer> types = new HashMap<>();
+    private final Map<SelectorLabel, Integer> selectorLabels = new HashMap<>();
+    private final Map<Nonterminal, Integer> nonterminals = new HashMap<>();
+    private int dictionarySize;
+
+    /**
+     * @param out The stream to write to. It is flushed, but not closed, after every document.
+     */
+    public BinaryExporter(OutputStream out) {
+
+        if (out instanceof BufferedOutputStream) {
+            this.out = out;
+        } else {
+            this.out = new BufferedOutputStream(out);
+        }
+    }
+
+    public void export(HeapConfiguration heapConfiguration) throws IOException {
+
+        writeHeader(BinaryFormat.HEAP_CONFIGURATION);
+        writeHeapConfiguration(heapConfiguration);
+        out.flush();
+    }
+
+    /**
+     * Writes all rules of the given grammar. Collapsed rules are not written, because they are computed
+     * from the other rules whenever a grammar is loaded.
+     *
+     * @param grammar The grammar to write.
+     * @throws IOException if writing fails.
+     */
+    public void export(Grammar grammar) throws IOException {
+
+        writeHeader(BinaryFormat.GRAMMAR);
+        Set<Nonterminal> leftHandSides = grammar.getAllLeftHandSides();
+        writeVarInt(leftHandSides.size());
+        for (Nonterminal nonterminal : leftHandSides) {
+            writeNonterminal(nonterminal);
+            Set<HeapConfiguration> rightHandSides = grammar.getRightHandSidesFor(nonterminal);
+            writeVarInt(rightHandSides.size());
+            for (HeapConfiguration rhs : rightHandSides) {
+                writeHeapConfiguration(rhs);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * @param signature The signature of the method the contracts belong to.
+     * @param contracts The contracts to write.
+     * @throws IOException if writing fails.
+     */
+    public void export(String signature, Collection<Contract> contracts) throws IOException {
+
+        writeHeader(BinaryFormat.CONTRACTS);
+        writeString(signature);
+        writeVarInt(contracts.size());
+        for (Contract contract : contracts) {
+            writeHeapConfiguration(contract.getPrecondition());
+            Collection<HeapConfiguration> postconditions = contract.getPostconditions();
+            writeVarInt(postconditions.size());
+            for (HeapConfiguration postcondition : postconditions) {
+                writeHeapConfiguration(postcondition);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes all states of the given state space including their heap configurations followed by
+     * all transitions between them.
+     *
+     * @param stateSpace The state space to write.
+     * @throws IOException if writing fails.
+     */
+    public void export(StateSpace stateSpace) throws IOException {
+
+        writeHeader(BinaryFormat.STATE_SPACE);
+        Set<ProgramState> states = stateSpace.getStates();
+        writeVarInt(states.size());
+        for (ProgramState state : states) {
+            int id = state.getStateSpaceId();
+            writeVarInt(id);
+
+            int flags = 0;
+            if (stateSpace.getInitialStateIds().contains(id)) {
+                flags |= BinaryFormat.INITIAL_STATE;
+            }
+            if (stateSpace.getFinalStateIds().contains(id)) {
+                flags |= BinaryFormat.FINAL_STATE;
+            }
+            TIntArrayList selfLoops = stateSpace.getArtificialInfPathsSuccessorsIdsOf(id);
+            if (selfLoops != null && !selfLoops.isEmpty()) {
+                flags |= BinaryFormat.ARTIFICIAL_SELF_LOOP;
+            }
+            writeVarInt(flags);
+
+            writeSignedVarInt(state.getProgramCounter());
+            Set<String> propositions = state.getAPs();
+            writeVarInt(propositions.size());
+            for (String ap : propositions) {
+                writeString(ap, strings, BinaryFormat.STRING_LABEL);
+            }
+            writeHeapConfiguration(state.getHeap());
+        }
+
+        for (ProgramState state : states) {
+            int id = state.getStateSpaceId();
+            writeIds(stateSpace.getControlFlowSuccessorsIdsOf(id));
+            writeIds(stateSpace.getMaterializationSuccessorsIdsOf(id));
+        }
+        out.flush();
+    }
+
+    private void writeHeader(int kind) throws IOException {
+
+        strings.clear();
+        types.clear();
+        selectorLabels.clear();
+        nonterminals.clear();
+        dictionarySize = 0;
+
+        out.write(BinaryFormat.MAGIC);
+        writeVarInt(BinaryFormat.VERSION);
+        writeVarInt(kind);
+    }
+
+    private void writeHeapConfiguration(HeapConfiguration hc) throws IOException {
+
+        TIntArrayList nodes = hc.nodes();
+        TIntIntMap localIds = new TIntIntHashMap(nodes.size());
+        writeVarInt(nodes.size());
+        int runStart = 0;
+        while (runStart < nodes.size()) {
+            Type type = hc.nodeTypeOf(nodes.get(runStart));
+            int runEnd = runStart;
+            while (runEnd < nodes.size() && hc.nodeTypeOf(nodes.get(runEnd)).equals(type)) {
+                localIds.put(nodes.get(runEnd), runEnd);
+                ++runEnd;
+            }
+            writeType(type);
+            writeVarInt(runEnd - runStart);
+            runStart = runEnd;
+        }
+
+        TIntArrayList externals = hc.externalNodes();
+        writeVarInt(externals.size());
+        for (int i = 0; i < externals.size(); i++) {
+            writeVarInt(localIds.get(externals.get(i)));
+        }
+
+        TIntArrayList variables = hc.variableEdges();
+        writeVarInt(variables.size());
+        for (int i = 0; i < variables.size(); i++) {
+            int variable = variables.get(i);
+            writeString(hc.nameOf(variable), strings, BinaryFormat.STRING_LABEL);
+            writeVarInt(localIds.get(hc.targetOf(variable)));
+        }
+
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            Collection<SelectorLabel> selectors = hc.selectorLabelsOf(node);
+            writeVarInt(selectors.size());
+            for (SelectorLabel selector : selectors) {
+                writeSelectorLabel(selector);
+                writeVarInt(localIds.get(hc.selectorTargetOf(node, selector)));
+            }
+        }
+
+        TIntArrayList hyperedges = hc.nonterminalEdges();
+        writeVarInt(hyperedges.size());
+        for (int i = 0; i < hyperedges.size(); i++) {
+            int hyperedge = hyperedges.get(i);
+            writeNonterminal(hc.labelOf(hyperedge));
+            TIntArrayList tentacles = hc.attachedNodesOf(hyperedge);
+            writeVarInt(tentacles.size());
+            for (int t = 0; t < tentacles.size(); t++) {
+                writeVarInt(localIds.get(tentacles.get(t)));
+            }
+        }
+    }
+
+    private void writeIds(TIntArrayList ids) throws IOException {
+
+        if (ids == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            writeVarInt(ids.get(i));
+        }
+    }
+
+    private void writeType(Type type) throws IOException {
+
+        if (writeReference(type, types)) {
+            writeVarInt(BinaryFormat.TYPE_LABEL);
+            if (type instanceof GeneralType) {
+                writeString(((GeneralType) type).getName());
+            } else {
+                writeString(type.toString());
+            }
+        }
+    }
+
+    private void writeSelectorLabel(SelectorLabel selectorLabel) throws IOException {
+
+        if (writeReference(selectorLabel, selectorLabels)) {
+            if (selectorLabel instanceof AnnotatedSelectorLabel) {
+                writeVarInt(BinaryFormat.ANNOTATED_SELECTOR_LABEL);
+                writeString(selectorLabel.getLabel());
+                writeString(((AnnotatedSelectorLabel) selectorLabel).getAnnotation());
+            } else {
+                writeVarInt(BinaryFormat.SELECTOR_LABEL);
+                writeString(selectorLabel.getLabel());
+            }
+        }
+    }
+
+    private void writeNonterminal(Nonterminal nonterminal) throws IOException {
+
+        if (!writeReference(nonterminal, nonterminals)) {
+            return;
+        }
+
+        boolean isIndexed = nonterminal instanceof IndexedNonterminal;
+        writeVarInt(isIndexed ? BinaryFormat.INDEXED_NONTERMINAL_LABEL : BinaryFormat.NONTERMINAL_LABEL);
+        writeString(nonterminal.getLabel());
+        int rank = nonterminal.getRank();
+        writeVarInt(rank);
+        for (int i = 0; i < rank; i++) {
+            out.write(nonterminal.isReductionTentacle(i) ? 1 : 0);
+        }
+
+        if (isIndexed) {
+            Index index = ((IndexedNonterminal) nonterminal).getIndex();
+            writeVarInt(index.size());
+            for (int i = 0; i < index.size(); i++) {
+                writeIndexSymbol(index.get(i));
+            }
+        }
+    }
+
+    private void writeIndexSymbol(IndexSymbol symbol) throws IOException {
+
+        if (symbol instanceof IndexVariable) {
+            writeVarInt(BinaryFormat.INDEX_VARIABLE);
+        } else if (symbol instanceof AbstractIndexSymbol) {
+            writeVarInt(BinaryFormat.ABSTRACT_INDEX_SYMBOL);
+            writeString(symbol.toString());
+        } else if (symbol.isBottom()) {
+            writeVarInt(BinaryFormat.BOTTOM_INDEX_SYMBOL);
+            writeString(symbol.toString());
+        } else {
+            writeVarInt(BinaryFormat.CONCRETE_INDEX_SYMBOL);
+            writeString(symbol.toString());
+        }
+    }
+
+    private void writeString(String value, Map<String, Integer> dictionary, int kind) throws IOException {
+
+        if (writeReference(value, dictionary)) {
+            writeVarInt(kind);
+            writeString(value);
+        }
+    }
+
+    /**
+     * Writes a reference to the given label.
+     *
+     * @return True if and only if the label is written for the first time and its definition has to follow.
+     */
+    private <T> boolean writeReference(T label, Map<T, Integer> dictionary) throws IOException {
+
+        Integer position = dictionary.get(label);
+        if (position != null) {
+            writeVarInt(position + 1);
+            return false;
+        }
+        dictionary.put(label, dictionarySize++);
+        writeVarInt(BinaryFormat.NEW_LABEL);
+        return true;
+    }
+
+    private void writeString(String value) throws IOException {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeSignedVarInt(int value) throws IOException {
+
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    private void writeVarInt(int value) throws IOException {
+
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
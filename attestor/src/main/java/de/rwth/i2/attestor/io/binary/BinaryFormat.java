@@ -0,0 +1,70 @@
+package de.rwth.i2.attestor.io.binary;
+
+/**
+ * Constants of the binary format written by {@link BinaryExporter} and read by {@link BinaryImporter}.
+ * <p>
+ * Every file starts with a header consisting of {@link #MAGIC}, the {@link #VERSION} of the format and
+ * the kind of the stored document. All non-negative integers are stored as unsigned LEB128 varints and
+ * all possibly negative integers, such as program counters, are additionally zigzag-encoded.
+ * Strings are stored as their number of bytes followed by their UTF-8 encoding.
+ * <p>
+ * Labels, i.e. types, selector labels, nonterminals and plain strings such as variable names, are stored
+ * in a dictionary that is built while a document is written: The first occurrence of a label is
+ * written as 0 followed by the kind and the definition of the label. Every further occurrence is written
+ * as its position in the dictionary plus one.
+ * <p>
+ * The nodes of a heap configuration are numbered in the order they are written. Nodes are grouped into
+ * runs of nodes with the same type.
+ */
+final class BinaryFormat {
+
+    static final byte[] MAGIC = {'A', 'T', 'S', 'B'};
+
+    /**
+     * Has to be increased whenever the format changes.
+     */
+    static final int VERSION = 1;
+
+    static final int HEAP_CONFIGURATION = 1;
+    static final int GRAMMAR = 2;
+    static final int CONTRACTS = 3;
+    static final int STATE_SPACE = 4;
+
+    static final int NEW_LABEL = 0;
+
+    static final int STRING_LABEL = 0;
+    static final int TYPE_LABEL = 1;
+    static final int SELECTOR_LABEL = 2;
+    static final int ANNOTATED_SELECTOR_LABEL = 3;
+    static final int NONTERMINAL_LABEL = 4;
+    static final int INDEXED_NONTERMINAL_LABEL = 5;
+
+    static final int CONCRETE_INDEX_SYMBOL = 0;
+    static final int BOTTOM_INDEX_SYMBOL = 1;
+    static final int ABSTRACT_INDEX_SYMBOL = 2;
+    static final int INDEX_VARIABLE = 3;
+
+    static final int INITIAL_STATE = 1;
+    static final int FINAL_STATE = 2;
+    static final int ARTIFICIAL_SELF_LOOP = 4;
+
+    private BinaryFormat() {
+
+    }
+
+    static String documentName(int kind) {
+
+        switch (kind) {
+            case HEAP_CONFIGURATION:
+                return "heap configuration";
+            case GRAMMAR:
+                return "grammar";
+            case CONTRACTS:
+                return "contracts";
+            case STATE_SPACE:
+                return "state space";
+            default:
+                return "unknown document " + kind;
+        }
+    }
+}
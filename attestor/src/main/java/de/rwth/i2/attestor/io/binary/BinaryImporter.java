@@ -0,0 +1,502 @@
+package de.rwth.i2.attestor.io.binary;
+
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.programState.AtomicPropositions;
+import de.rwth.i2.attestor.programState.indexedState.AnnotatedSelectorLabel;
+import de.rwth.i2.attestor.programState.indexedState.IndexedNonterminalImpl;
+import de.rwth.i2.attestor.programState.indexedState.index.AbstractIndexSymbol;
+import de.rwth.i2.attestor.programState.indexedState.index.ConcreteIndexSymbol;
+import de.rwth.i2.attestor.programState.indexedState.index.IndexSymbol;
+import de.rwth.i2.attestor.programState.indexedState.index.IndexVariable;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads a single document written by {@link BinaryExporter}.
+ * <p>
+ * In contrast to the JSON importers, no renaming is applied, because all labels are stored in the same
+ * way as they are used within Attestor.
+ */
+public class BinaryImporter extends SceneObject {
+
+    private final ByteBuffer buffer;
+    private final int kind;
+    private final int bodyStart;
+
+    private final List<Object> dictionary = new ArrayList<>();
+    private Consumer<String> addSelectorLabelFunction;
+
+    /**
+     * @param sceneObject The scene in which all read labels are created.
+     * @param buffer      A buffer containing a complete document starting at its current position.
+     * @throws IOException if the buffer does not start with a supported header.
+     */
+    public BinaryImporter(SceneObject sceneObject, ByteBuffer buffer) throws IOException {
+
+        super(sceneObject);
+        this.buffer = buffer;
+
+        try {
+            if (!hasMagicNumber(buffer)) {
+                throw new IOException("Not a binary Attestor file.");
+            }
+            int version = readVarInt();
+            if (version != BinaryFormat.VERSION) {
+                throw new IOException("Unsupported version " + version + " of binary Attestor file. "
+                        + "Supported is version " + BinaryFormat.VERSION + ".");
+            }
+            kind = readVarInt();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated binary Attestor file.", e);
+        }
+        bodyStart = buffer.position();
+    }
+
+    /**
+     * Maps a file into memory such that it can be read without copying it first.
+     *
+     * @param filename The file to map.
+     * @return A read-only buffer containing the whole file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ByteBuffer map(String filename) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * @param filename A file.
+     * @return True if and only if the file starts with the header of the binary format.
+     */
+    public static boolean isBinaryFile(String filename) {
+
+        Path path = Paths.get(filename);
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        byte[] header = new byte[BinaryFormat.MAGIC.length];
+        try (InputStream input = Files.newInputStream(path)) {
+            int read = 0;
+            while (read < header.length) {
+                int count = input.read(header, read, header.length - read);
+                if (count < 0) {
+                    return false;
+                }
+                read += count;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        return Arrays.equals(header, BinaryFormat.MAGIC);
+    }
+
+    private static boolean hasMagicNumber(ByteBuffer buffer) {
+
+        for (byte b : BinaryFormat.MAGIC) {
+            if (buffer.get() != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public HeapConfiguration parseHeapConfiguration() throws IOException {
+
+        startBody(BinaryFormat.HEAP_CONFIGURATION, scene().labels()::addUsedSelectorLabel);
+        try {
+            return readHeapConfiguration();
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * @return The rules of the stored grammar in the same form as computed by
+     * {@link de.rwth.i2.attestor.io.jsonImport.JsonToGrammar#parseForwardGrammar(org.json.JSONArray)}.
+     * @throws IOException if the buffer does not contain a valid grammar.
+     */
+    public Map<Nonterminal, Collection<HeapConfiguration>> parseGrammar() throws IOException {
+
+        startBody(BinaryFormat.GRAMMAR, scene().labels()::addGrammarSelectorLabel);
+        try {
+            int numberOfLeftHandSides = readCount();
+            Map<Nonterminal, Collection<HeapConfiguration>> result = new LinkedHashMap<>();
+            for (int i = 0; i < numberOfLeftHandSides; i++) {
+                Nonterminal nonterminal = readLabel(Nonterminal.class);
+                int numberOfRightHandSides = readCount();
+                Set<HeapConfiguration> rightHandSides = new LinkedHashSet<>();
+                for (int r = 0; r < numberOfRightHandSides; r++) {
+                    rightHandSides.add(readHeapConfiguration());
+                }
+                result.put(nonterminal, rightHandSides);
+            }
+            return result;
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * @return The signature of the method whose contracts are stored.
+     * @throws IOException if the buffer does not contain valid contracts.
+     */
+    public String parseContractSignature() throws IOException {
+
+        startBody(BinaryFormat.CONTRACTS, scene().labels()::addUsedSelectorLabel);
+        try {
+            return readString();
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    public List<Contract> parseContracts() throws IOException {
+
+        parseContractSignature();
+        try {
+            int numberOfContracts = readCount();
+            List<Contract> result = new ArrayList<>(numberOfContracts);
+            for (int i = 0; i < numberOfContracts; i++) {
+                HeapConfiguration precondition = readHeapConfiguration();
+                int numberOfPostconditions = readCount();
+                List<HeapConfiguration> postconditions = new ArrayList<>(numberOfPostconditions);
+                for (int p = 0; p < numberOfPostconditions; p++) {
+                    postconditions.add(readHeapConfiguration());
+                }
+                result.add(scene().createContract(precondition, postconditions));
+            }
+            return result;
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * Reads a state space. The ids of the read states are assigned anew, but their order is preserved.
+     *
+     * @return The stored state space.
+     * @throws IOException if the buffer does not contain a valid state space.
+     */
+    public StateSpace parseStateSpace() throws IOException {
+
+        startBody(BinaryFormat.STATE_SPACE, scene().labels()::addUsedSelectorLabel);
+        try {
+            int numberOfStates = readCount();
+            StateSpace stateSpace = new InternalStateSpace(numberOfStates);
+            TIntObjectMap<ProgramState> statesById = new TIntObjectHashMap<>(numberOfStates);
+            int[] storedIds = new int[numberOfStates];
+
+            for (int i = 0; i < numberOfStates; i++) {
+                storedIds[i] = readId();
+                int flags = readVarInt();
+                int programCounter = readSignedVarInt();
+                int numberOfPropositions = readCount();
+                List<String> propositions = new ArrayList<>(numberOfPropositions);
+                for (int p = 0; p < numberOfPropositions; p++) {
+                    propositions.add(readLabel(String.class));
+                }
+
+                ProgramState state = scene().createProgramState(readHeapConfiguration());
+                state.setProgramCounter(programCounter);
+                propositions.forEach(state::addAP);
+
+                if ((flags & BinaryFormat.INITIAL_STATE) != 0) {
+                    stateSpace.addInitialState(state);
+                } else {
+                    stateSpace.addState(state);
+                }
+                if ((flags & BinaryFormat.FINAL_STATE) != 0) {
+                    stateSpace.setFinal(state);
+                }
+                if (propositions.contains(AtomicPropositions.ABORTED)) {
+                    stateSpace.setAborted(state);
+                }
+                if ((flags & BinaryFormat.ARTIFICIAL_SELF_LOOP) != 0) {
+                    stateSpace.addArtificialInfPathsTransition(state);
+                }
+                statesById.put(storedIds[i], state);
+            }
+
+            for (int i = 0; i < numberOfStates; i++) {
+                ProgramState from = statesById.get(storedIds[i]);
+                int numberOfControlFlowSuccessors = readVarInt();
+                for (int s = 0; s < numberOfControlFlowSuccessors; s++) {
+                    stateSpace.addControlFlowTransition(from, readState(statesById));
+                }
+                int numberOfMaterializationSuccessors = readVarInt();
+                for (int s = 0; s < numberOfMaterializationSuccessors; s++) {
+                    stateSpace.addMaterializationTransition(from, readState(statesById));
+                }
+            }
+            return stateSpace;
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    private void startBody(int expectedKind, Consumer<String> addSelectorLabelFunction) throws IOException {
+
+        if (kind != expectedKind) {
+            throw new IOException("Expected a binary " + BinaryFormat.documentName(expectedKind)
+                    + ", but found a " + BinaryFormat.documentName(kind) + ".");
+        }
+        buffer.position(bodyStart);
+        dictionary.clear();
+        this.addSelectorLabelFunction = addSelectorLabelFunction;
+    }
+
+    private ProgramState readState(TIntObjectMap<ProgramState> statesById) throws IOException {
+
+        int id = readId();
+        ProgramState state = statesById.get(id);
+        if (state == null) {
+            throw new IOException("Transition to unknown state " + id + ".");
+        }
+        return state;
+    }
+
+    private HeapConfiguration readHeapConfiguration() throws IOException {
+
+        HeapConfiguration heapConfiguration = scene().createHeapConfiguration();
+        HeapConfigurationBuilder builder = heapConfiguration.builder();
+
+        int numberOfNodes = readCount();
+        TIntArrayList nodes = new TIntArrayList(numberOfNodes);
+        while (nodes.size() < numberOfNodes) {
+            Type type = readLabel(Type.class);
+            int count = readCount();
+            if (count == 0 || nodes.size() + count > numberOfNodes) {
+                throw new IOException("Malformed nodes of heap configuration.");
+            }
+            builder.addNodes(type, count, nodes);
+        }
+
+        int numberOfExternals = readCount();
+        for (int i = 0; i < numberOfExternals; i++) {
+            builder.setExternal(readNode(nodes));
+        }
+
+        int numberOfVariables = readCount();
+        for (int i = 0; i < numberOfVariables; i++) {
+            String name = readLabel(String.class);
+            builder.addVariableEdge(name, readNode(nodes));
+        }
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            int numberOfSelectors = readCount();
+            for (int s = 0; s < numberOfSelectors; s++) {
+                SelectorLabel selectorLabel = readLabel(SelectorLabel.class);
+                builder.addSelector(nodes.get(i), selectorLabel, readNode(nodes));
+            }
+        }
+
+        int numberOfHyperedges = readCount();
+        for (int i = 0; i < numberOfHyperedges; i++) {
+            Nonterminal nonterminal = readLabel(Nonterminal.class);
+            int numberOfTentacles = readCount();
+            TIntArrayList tentacles = new TIntArrayList(numberOfTentacles);
+            for (int t = 0; t < numberOfTentacles; t++) {
+                tentacles.add(readNode(nodes));
+            }
+            builder.addNonterminalEdge(nonterminal, tentacles);
+        }
+
+        return builder.build();
+    }
+
+    private int readNode(TIntArrayList nodes) throws IOException {
+
+        int localId = readId();
+        if (localId >= nodes.size()) {
+            throw new IOException("Reference to unknown node " + localId + ".");
+        }
+        return nodes.get(localId);
+    }
+
+    private <T> T readLabel(Class<T> expectedClass) throws IOException {
+
+        int reference = readId();
+        Object label;
+        if (reference == BinaryFormat.NEW_LABEL) {
+            label = readLabelDefinition();
+            dictionary.add(label);
+        } else if (reference <= dictionary.size()) {
+            label = dictionary.get(reference - 1);
+        } else {
+            throw new IOException("Reference to unknown label " + reference + ".");
+        }
+
+        if (!expectedClass.isInstance(label)) {
+            throw new IOException("Expected a label of " + expectedClass.getSimpleName() + ", but found " + label + ".");
+        }
+        return expectedClass.cast(label);
+    }
+
+    private Object readLabelDefinition() throws IOException {
+
+        int labelKind = readVarInt();
+        switch (labelKind) {
+            case BinaryFormat.STRING_LABEL:
+                return readString();
+            case BinaryFormat.TYPE_LABEL:
+                return scene().getType(readString());
+            case BinaryFormat.SELECTOR_LABEL:
+                return createSelectorLabel(readString(), "");
+            case BinaryFormat.ANNOTATED_SELECTOR_LABEL:
+                String name = readString();
+                return createSelectorLabel(name, readString());
+            case BinaryFormat.NONTERMINAL_LABEL:
+                return readNonterminal(false);
+            case BinaryFormat.INDEXED_NONTERMINAL_LABEL:
+                return readNonterminal(true);
+            default:
+                throw new IOException("Unknown kind of label " + labelKind + ".");
+        }
+    }
+
+    private SelectorLabel createSelectorLabel(String name, String annotation) {
+
+        addSelectorLabelFunction.accept(name);
+        SelectorLabel selectorLabel = scene().getSelectorLabel(name);
+        if (scene().options().isIndexedMode()) {
+            return new AnnotatedSelectorLabel(selectorLabel, annotation);
+        }
+        return selectorLabel;
+    }
+
+    private Nonterminal readNonterminal(boolean isIndexed) throws IOException {
+
+        String label = readString();
+        int rank = readCount();
+        boolean[] isReductionTentacle = new boolean[rank];
+        for (int i = 0; i < rank; i++) {
+            isReductionTentacle[i] = buffer.get() != 0;
+        }
+        Nonterminal nonterminal = scene().createNonterminal(label, rank, isReductionTentacle);
+
+        if (!isIndexed) {
+            return nonterminal;
+        }
+
+        int length = readCount();
+        List<IndexSymbol> index = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            index.add(readIndexSymbol());
+        }
+        if (scene().options().isIndexedMode()) {
+            return new IndexedNonterminalImpl(nonterminal, index);
+        }
+        return nonterminal;
+    }
+
+    private IndexSymbol readIndexSymbol() throws IOException {
+
+        int symbolKind = readVarInt();
+        switch (symbolKind) {
+            case BinaryFormat.CONCRETE_INDEX_SYMBOL:
+                return ConcreteIndexSymbol.getIndexSymbol(readString(), false);
+            case BinaryFormat.BOTTOM_INDEX_SYMBOL:
+                return ConcreteIndexSymbol.getIndexSymbol(readString(), true);
+            case BinaryFormat.ABSTRACT_INDEX_SYMBOL:
+                return AbstractIndexSymbol.get(readString());
+            case BinaryFormat.INDEX_VARIABLE:
+                return IndexVariable.getIndexVariable();
+            default:
+                throw new IOException("Unknown kind of index symbol " + symbolKind + ".");
+        }
+    }
+
+    private String readString() throws IOException {
+
+        int length = readCount();
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the number of elements that follow. Since every element occupies at least one byte,
+     * a count exceeding the remaining bytes is rejected before anything is allocated for it.
+     */
+    private int readCount() throws IOException {
+
+        int count = readVarInt();
+        if (count < 0) {
+            throw new IOException("Negative count " + count + ".");
+        }
+        if (count > buffer.remaining()) {
+            throw new IOException("Count " + count + " exceeds the remaining " + buffer.remaining() + " bytes.");
+        }
+        return count;
+    }
+
+    private int readId() throws IOException {
+
+        int id = readVarInt();
+        if (id < 0) {
+            throw new IOException("Negative id " + id + ".");
+        }
+        return id;
+    }
+
+    private int readSignedVarInt() throws IOException {
+
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readVarInt() throws IOException {
+
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+    private static IOException truncated(BufferUnderflowException e) {
+
+        return new IOException("Truncated binary Attestor file.", e);
+    }
+}
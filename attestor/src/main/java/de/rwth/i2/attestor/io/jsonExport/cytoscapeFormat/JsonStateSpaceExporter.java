@@ -8,7 +8,6 @@ import gnu.trove.iterator.TIntIterator;
 import gnu.trove.map.TIntIntMap;
 import gnu.trove.map.hash.TIntIntHashMap;
 import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
 import org.json.JSONStringer;
 import org.json.JSONWriter;
 
@@ -30,11 +29,10 @@ public class JsonStateSpaceExporter implements StateSpaceExporter {
     private Program program;
 
     private Set<ProgramState> states;
-    private Set<ProgramState> initialStates;
-    private Set<ProgramState> finalStates;
+    private TIntSet initialStateIds;
+    private TIntSet finalStateIds;
 
     private TIntIntMap incomingEdgesOfStates;
-    private TIntSet isEssentialStateId;
 
     public JsonStateSpaceExporter(Writer writer) {
 
@@ -52,12 +50,12 @@ public class JsonStateSpaceExporter implements StateSpaceExporter {
         this.stateSpace = stateSpace;
         this.program = program;
 
+        // the states are not copied such that only the numbers of incoming edges require additional memory
         states = stateSpace.getStates();
-        initialStates = stateSpace.getInitialStates();
-        finalStates = stateSpace.getFinalStates();
+        initialStateIds = stateSpace.getInitialStateIds();
+        finalStateIds = stateSpace.getFinalStateIds();
 
         incomingEdgesOfStates = new TIntIntHashMap(states.size());
-        isEssentialStateId = new TIntHashSet(states.size());
 
         computeNumberOfIncomingEdges();
 
@@ -80,12 +78,12 @@ public class JsonStateSpaceExporter implements StateSpaceExporter {
         this.stateSpace = stateSpace;
         this.program = program;
 
+        // the states are not copied such that only the numbers of incoming edges require additional memory
         states = stateSpace.getStates();
-        initialStates = stateSpace.getInitialStates();
-        finalStates = stateSpace.getFinalStates();
+        initialStateIds = stateSpace.getInitialStateIds();
+        finalStateIds = stateSpace.getFinalStateIds();
 
         incomingEdgesOfStates = new TIntIntHashMap(states.size());
-        isEssentialStateId = new TIntHashSet(states.size());
 
         computeNumberOfIncomingEdges();
 
@@ -108,20 +106,12 @@ public class JsonStateSpaceExporter implements StateSpaceExporter {
             TIntIterator iterator = stateSpace.getControlFlowSuccessorsIdsOf(id).iterator();
             while (iterator.hasNext()) {
                 int successorId = iterator.next();
-                if (incomingEdgesOfStates.containsKey(successorId)) {
-                    incomingEdgesOfStates.put(successorId, incomingEdgesOfStates.get(successorId) + 1);
-                } else {
-                    incomingEdgesOfStates.put(successorId, 1);
-                }
+                incomingEdgesOfStates.adjustOrPutValue(successorId, 1, 1);
             }
             iterator = stateSpace.getMaterializationSuccessorsIdsOf(id).iterator();
             while (iterator.hasNext()) {
                 int successorId = iterator.next();
-                if (incomingEdgesOfStates.containsKey(successorId)) {
-                    incomingEdgesOfStates.put(successorId, incomingEdgesOfStates.get(successorId) + 1);
-                } else {
-                    incomingEdgesOfStates.put(successorId, 1);
-                }
+                incomingEdgesOfStates.adjustOrPutValue(successorId, 1, 1);
             }
         }
     }
@@ -133,9 +123,9 @@ public class JsonStateSpaceExporter implements StateSpaceExporter {
             jsonWriter.object().key("data").object();
             jsonWriter.key("id").value(id);
             jsonWriter.key("type");
-            if (initialStates.contains(s)) {
+            if (initialStateIds.contains(id)) {
                 jsonWriter.value("initialState");
-            } else if (finalStates.contains(s)) {
+            } else if (finalStateIds.contains(id)) {
                 jsonWriter.value("finalState");
             } else if (incomingEdgesOfStates.containsKey(id) && incomingEdgesOfStates.get(id) > 1) {
                 jsonWriter.value("mergeState");
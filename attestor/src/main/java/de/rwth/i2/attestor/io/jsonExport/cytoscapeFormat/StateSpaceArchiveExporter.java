@@ -0,0 +1,124 @@
+package de.rwth.i2.attestor.io.jsonExport.cytoscapeFormat;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.Program;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports state spaces together with the heap configurations of all their states into a single zip archive.
+ * <p>
+ * The archive contains the same files as the data directory of a report, i.e. a file statespace.json and
+ * a file hc_i.json for the heap configuration of every state with id i. Since the central directory of
+ * a zip archive indexes all entries, single heap configurations can be read without extracting the whole archive.
+ * <p>
+ * Every entry is streamed to the archive right away. Hence, the required memory does not depend on
+ * the size of the exported state spaces apart from the number of incoming transitions of every state.
+ */
+public class StateSpaceArchiveExporter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ZipOutputStream zipStream;
+
+    /**
+     * @param archive  The archive to write. An existing file is overwritten.
+     * @param compress True if and only if entries should be compressed.
+     * @throws IOException if the archive cannot be created.
+     */
+    public StateSpaceArchiveExporter(Path archive, boolean compress) throws IOException {
+
+        Path parent = archive.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(archive, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        zipStream = new ZipOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        zipStream.setLevel(compress ? Deflater.BEST_SPEED : Deflater.NO_COMPRESSION);
+    }
+
+    /**
+     * Adds a state space and the heap configurations of all its states to the archive.
+     *
+     * @param directory  The directory within the archive that contains the exported files.
+     * @param stateSpace The state space to export.
+     * @param program    The program underlying the state space.
+     * @throws IOException if writing to the archive fails.
+     */
+    public void export(String directory, StateSpace stateSpace, Program program) throws IOException {
+
+        String prefix = directory.isEmpty() ? "" : directory + "/";
+
+        try (Writer writer = newEntry(prefix + "statespace.json")) {
+            new JsonStateSpaceExporter(writer).export(stateSpace, program);
+        }
+
+        for (ProgramState state : stateSpace.getStates()) {
+            try (Writer writer = newEntry(prefix + "hc_" + state.getStateSpaceId() + ".json")) {
+                new JsonHeapConfigurationExporter(writer).export(state.getHeap());
+            }
+        }
+    }
+
+    /**
+     * Starts a new entry of the archive.
+     *
+     * @return A writer for the new entry. Closing the writer does not close the archive.
+     */
+    private Writer newEntry(String name) throws IOException {
+
+        zipStream.putNextEntry(new ZipEntry(name));
+        return new OutputStreamWriter(new NonClosingOutputStream(zipStream), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the index of the archive and closes it.
+     *
+     * @throws IOException if writing to the archive fails.
+     */
+    @Override
+    public void close() throws IOException {
+
+        zipStream.close();
+    }
+
+    /**
+     * Prevents exporters that close their writer from closing the whole archive.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            flush();
+        }
+    }
+}
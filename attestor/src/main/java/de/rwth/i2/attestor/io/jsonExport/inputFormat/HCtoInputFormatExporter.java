@@ -11,7 +11,6 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 public class HCtoInputFormatExporter {
@@ -47,8 +46,8 @@ public class HCtoInputFormatExporter {
      * "type"=NodeType,<br>
      * "number"=1<br>
      * for each node of the heap and appends it to res.
-     * Furthermore appends the corresponding index to the list of external nodes
-     * if appropriate.
+     * Furthermore appends the indices of all external nodes to the list of external nodes
+     * in the order of their positions in the external sequence.
      *
      * @param hc
      * @param res
@@ -68,12 +67,13 @@ public class HCtoInputFormatExporter {
 
             res.append("nodes", nodeObject);
 
-            if (hc.isExternalNode(nodes.get(i))) {
-                res.append("externals", i);
-            }
-
             idMapping.put(nodes.get(i), i);
         }
+
+        TIntArrayList externals = hc.externalNodes();
+        for (int i = 0; i < externals.size(); i++) {
+            res.append("externals", idMapping.get(externals.get(i)));
+        }
         return idMapping;
     }
 
@@ -99,11 +99,9 @@ public class HCtoInputFormatExporter {
         TIntArrayList nodes = hc.nodes();
         for (int s = 0; s < nodes.size(); s++) {
             int sourceInHc = nodes.get(s);
-            TIntArrayList successors = hc.successorNodesOf(sourceInHc);
-            List<SelectorLabel> selectorLabels = hc.selectorLabelsOf(sourceInHc);
-            for (int t = 0; t < successors.size(); t++) {
-                int targetInHc = successors.get(t);
-                SelectorLabel sel = selectorLabels.get(t);
+            // successorNodesOf does not contain duplicates, so targets are looked up per selector
+            for (SelectorLabel sel : hc.selectorLabelsOf(sourceInHc)) {
+                int targetInHc = hc.selectorTargetOf(sourceInHc, sel);
 
                 JSONObject selectorObject = new JSONObject();
                 selectorObject.put("label", sel.getLabel());
@@ -0,0 +1,61 @@
+package de.rwth.i2.attestor.io.jsonImport;
+
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.procedures.Contract;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Parses contracts in the format written by
+ * {@link de.rwth.i2.attestor.io.jsonExport.inputFormat.ContractToInputFormatExporter}.
+ */
+public class JsonToContracts extends SceneObject {
+
+    private final JsonToHeapConfiguration importer;
+
+    public JsonToContracts(SceneObject sceneObject, HeapConfigurationRenaming renaming) {
+
+        super(sceneObject);
+        this.importer = new JsonToHeapConfiguration(sceneObject, renaming);
+    }
+
+    /**
+     * @param obj The JSON representation of the contracts of a single method.
+     * @return The signature of the method the contracts belong to.
+     */
+    public String parseSignature(JSONObject obj) {
+
+        return obj.getString("method");
+    }
+
+    /**
+     * @param obj The JSON representation of the contracts of a single method.
+     * @return The parsed contracts.
+     */
+    public List<Contract> parse(JSONObject obj) {
+
+        Consumer<String> addUsedSelectorLabel = scene().labels()::addUsedSelectorLabel;
+        JSONArray array = obj.getJSONArray("contracts");
+
+        List<Contract> result = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject contract = array.getJSONObject(i);
+            final JSONObject jsonPrecondition = contract.getJSONObject("precondition");
+            HeapConfiguration precondition = importer.parse(jsonPrecondition, addUsedSelectorLabel);
+
+            List<HeapConfiguration> postconditions = new ArrayList<>();
+            JSONArray jsonPostConditions = contract.getJSONArray("postconditions");
+            for (int p = 0; p < jsonPostConditions.length(); p++) {
+                final JSONObject jsonPostcondition = jsonPostConditions.getJSONObject(p);
+                postconditions.add(importer.parse(jsonPostcondition, addUsedSelectorLabel));
+            }
+            result.add(scene().createContract(precondition, postconditions));
+        }
+        return result;
+    }
+}
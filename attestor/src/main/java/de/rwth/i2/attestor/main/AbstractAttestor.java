@@ -41,6 +41,7 @@ public abstract class AbstractAttestor {
      */
     public void run(String[] args) {
 
+        hasFatalError = false;
         try {
             printVersion();
             registry = new PhaseRegistry();
@@ -153,7 +154,7 @@ public abstract class AbstractAttestor {
         double elapsedVerify = 0;
         double elapsedTotal = 0;
         for (AbstractPhase p : registry.getPhases()) {
-            double elapsed = p.getElapsedTime();
+            double elapsed = registry.isReused(p) ? 0 : p.getElapsedTime();
             elapsedTotal += elapsed;
             if (p.isVerificationPhase()) {
                 elapsedVerify += elapsed;
@@ -0,0 +1,205 @@
+package de.rwth.i2.attestor.main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import de.rwth.i2.attestor.phases.commandLineInterface.CommandLineReader;
+import de.rwth.i2.attestor.util.LruCache;
+
+/**
+ * Runs Attestor as a long-lived server that accepts analysis requests on a port of the loopback interface.
+ * <p>
+ * Every request is a single line containing a JSON object whose entry "args" lists the command line
+ * arguments of an analysis, for example {"args": ["-l", "settings.attestor", "--method", "reverse"]}.
+ * The request {"shutdown": true} stops the server.
+ * Every request is answered by a single line containing a JSON object with the results of the analysis.
+ * <p>
+ * Requests whose command line options coincide up to their order and except for the analyzed method,
+ * the description, the requested exports and the log level share an {@link AnalysisSession}. Thus, the program,
+ * the grammars and their refinement are only parsed and computed for the first of these requests.
+ * Requests are processed one after another, because the underlying Soot framework is not thread-safe.
+ */
+public class AnalysisServer {
+
+    private static final Logger logger = LogManager.getLogger("AnalysisServer");
+
+    /**
+     * Command line options that do not influence the phases reused by an {@link AnalysisSession}.
+     */
+    private static final Set<String> REQUEST_OPTIONS = new HashSet<>(Arrays.asList(
+            "method",
+            "description",
+            "export",
+            "export-archive",
+            "no-export-compression",
+            "export-binary",
+            "export-grammar",
+            "export-large-states",
+            "export-contracts",
+            "save-contracts",
+            "contract-cache",
+            "quiet",
+            "verbose",
+            "debug"
+    ));
+
+    private final Map<List<String>, AnalysisSession> sessions;
+
+    private boolean isRunning = true;
+
+    /**
+     * @param maxSessions The maximal number of sessions that are kept at the same time.
+     *                    If this number is exceeded, the least recently used session is discarded.
+     */
+    public AnalysisServer(final int maxSessions) {
+
+        sessions = new LruCache<>(maxSessions);
+    }
+
+    /**
+     * Accepts and processes requests until a shutdown request is received.
+     *
+     * @param port The port to listen on.
+     * @throws IOException if the port cannot be opened.
+     */
+    public void serve(int port) throws IOException {
+
+        try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            logger.info("Listening on " + serverSocket.getLocalSocketAddress());
+            while (isRunning) {
+                try (Socket socket = serverSocket.accept()) {
+                    serve(socket);
+                } catch (IOException e) {
+                    logger.error("Failed to process request: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) throws IOException {
+
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+
+        String line;
+        while (isRunning && (line = reader.readLine()) != null) {
+            JSONObject response;
+            try {
+                response = handle(new JSONObject(line));
+            } catch (JSONException e) {
+                response = error("Malformed request: " + e.getMessage());
+            }
+            writer.write(response.toString());
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    /**
+     * Processes a single request.
+     *
+     * @param request The request as described in {@link AnalysisServer}.
+     * @return The response to the request.
+     */
+    public JSONObject handle(JSONObject request) {
+
+        if (request.optBoolean("shutdown")) {
+            isRunning = false;
+            return new JSONObject().put("shutdown", true);
+        }
+
+        JSONArray jsonArgs = request.optJSONArray("args");
+        if (jsonArgs == null) {
+            return error("Missing command line arguments.");
+        }
+        String[] args = new String[jsonArgs.length()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = jsonArgs.getString(i);
+        }
+
+        List<String> key;
+        try {
+            key = getSessionKey(args);
+        } catch (RuntimeException e) {
+            return error(e.getMessage());
+        }
+
+        AnalysisSession session = sessions.get(key);
+        if (session == null) {
+            session = new AnalysisSession();
+            sessions.put(key, session);
+        }
+        session.run(args);
+
+        // the scene of a session whose first run failed may be incomplete
+        if (!session.isPrepared()) {
+            sessions.remove(key);
+        }
+
+        return getResponse(session);
+    }
+
+    static List<String> getSessionKey(String[] args) {
+
+        CommandLine commandLine = new CommandLineReader().read(args);
+        List<String> key = new ArrayList<>();
+        for (Option option : commandLine.getOptions()) {
+            if (!REQUEST_OPTIONS.contains(option.getLongOpt())) {
+                key.add(option.getLongOpt() + "=" + option.getValuesList());
+            }
+        }
+        // the order of the command line options does not matter
+        Collections.sort(key);
+        return key;
+    }
+
+    private static JSONObject getResponse(AnalysisSession session) {
+
+        JSONObject response = new JSONObject();
+        response.put("fatal", session.hasFatalError());
+        response.put("reused", session.hasReusedPreparation());
+        if (session.hasFatalError()) {
+            return response;
+        }
+
+        response.put("method", session.getMethodName());
+        response.put("states", session.getTotalNumberOfStates());
+        response.put("statesWithoutProcedureCalls", session.getNumberOfStatesWithoutProcedureCalls());
+        response.put("finalStates", session.getNumberOfFinalStates());
+        if (!session.getLTLFormulae().isEmpty()) {
+            response.put("ltlSatisfied", session.hasAllLTLSatisfied());
+        }
+        response.put("runtime", new JSONObject(session.getExecutionTimes()));
+        return response;
+    }
+
+    private static JSONObject error(String message) {
+
+        return new JSONObject()
+                .put("fatal", true)
+                .put("error", message);
+    }
+}
@@ -0,0 +1,105 @@
+package de.rwth.i2.attestor.main;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import de.rwth.i2.attestor.phases.commandLineInterface.CommandLinePhase;
+import de.rwth.i2.attestor.phases.counterexamples.CounterexampleGenerationPhase;
+import de.rwth.i2.attestor.phases.modelChecking.ModelCheckingPhase;
+import de.rwth.i2.attestor.phases.parser.ParseContractsPhase;
+import de.rwth.i2.attestor.phases.parser.ParseGrammarPhase;
+import de.rwth.i2.attestor.phases.parser.ParseInputPhase;
+import de.rwth.i2.attestor.phases.parser.ParseProgramPhase;
+import de.rwth.i2.attestor.phases.preprocessing.AbstractionPreprocessingPhase;
+import de.rwth.i2.attestor.phases.preprocessing.GrammarRefinementPhase;
+import de.rwth.i2.attestor.phases.preprocessing.MarkingGenerationPhase;
+import de.rwth.i2.attestor.phases.report.ReportGenerationPhase;
+import de.rwth.i2.attestor.phases.symbolicExecution.onthefly.OnTheFlyModelCheckingPhase;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.RecursiveStateSpaceGenerationPhase;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.procedures.Method;
+
+/**
+ * An analysis that may be run several times with settings that differ at most in the analyzed method and
+ * the requested exports.
+ * <p>
+ * The first successful run executes all phases of {@link Attestor}. Every further run keeps the scene of
+ * the first run, i.e. the translated program, and reuses the parsed grammar, its refinement, the input states
+ * and the abstraction preprocessing. Hence, only the state space generation, model checking and report
+ * phases are executed again. Furthermore, the contracts computed by the last completed analysis are reused.
+ */
+class AnalysisSession extends AbstractAttestor {
+
+    private List<AbstractPhase> preparationPhases = null;
+    private Map<Method, Collection<Contract>> retainedContracts = Collections.emptyMap();
+    private boolean reusedPreparation = false;
+
+    @Override
+    protected void registerPhases(String[] args) throws Exception {
+
+        scene.resetNumberOfGeneratedStates();
+        reusedPreparation = preparationPhases != null;
+
+        registry
+                .addPhase(new CommandLinePhase(scene, args))
+                .addPhase(new ParseProgramPhase(scene));
+
+        List<AbstractPhase> phases = preparationPhases;
+        if (reusedPreparation) {
+            for (AbstractPhase phase : phases) {
+                registry.addReusedPhase(phase);
+            }
+        } else {
+            phases = Arrays.asList(
+                    new ParseGrammarPhase(scene),
+                    new ParseInputPhase(scene),
+                    new ParseContractsPhase(scene),
+                    new MarkingGenerationPhase(scene),
+                    new GrammarRefinementPhase(scene),
+                    new AbstractionPreprocessingPhase(scene)
+            );
+            for (AbstractPhase phase : phases) {
+                registry.addPhase(phase);
+            }
+        }
+
+        RecursiveStateSpaceGenerationPhase stateSpaceGenerationPhase =
+                new RecursiveStateSpaceGenerationPhase(scene, retainedContracts);
+
+        registry
+                .addPhase(new OnTheFlyModelCheckingPhase(scene))
+                .addPhase(new CounterexampleGenerationPhase(scene))
+                .addPhase(stateSpaceGenerationPhase)
+                .addPhase(new ModelCheckingPhase(scene))
+                .addPhase(new CounterexampleGenerationPhase(scene))
+                .addPhase(new ReportGenerationPhase(registry, scene))
+                .execute();
+
+        preparationPhases = phases;
+
+        Map<Method, Collection<Contract>> computedContracts = stateSpaceGenerationPhase.getComputedContracts();
+        if (!computedContracts.isEmpty()) {
+            retainedContracts = computedContracts;
+        }
+    }
+
+    /**
+     * @return True if and only if a previous run has completed successfully such that further runs
+     *         reuse its results.
+     */
+    public boolean isPrepared() {
+
+        return preparationPhases != null;
+    }
+
+    /**
+     * @return True if and only if the most recent run reused the results of a previous run.
+     */
+    public boolean hasReusedPreparation() {
+
+        return reusedPreparation;
+    }
+}
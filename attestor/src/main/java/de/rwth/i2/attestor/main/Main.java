@@ -1,5 +1,7 @@
 package de.rwth.i2.attestor.main;
 
+import java.io.IOException;
+
 
 /**
  * Executes a program analysis with Attestor.
@@ -8,7 +10,17 @@ package de.rwth.i2.attestor.main;
  */
 class Main {
 
-    public static void main(String[] args) {
+    /**
+     * The maximal number of analysis sessions kept by a server.
+     */
+    private static final int MAX_SERVER_SESSIONS = 8;
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length == 2 && "--server".equals(args[0])) {
+            new AnalysisServer(MAX_SERVER_SESSIONS).serve(Integer.parseInt(args[1]));
+            return;
+        }
 
         AbstractAttestor main = new Attestor();
         main.run(args);
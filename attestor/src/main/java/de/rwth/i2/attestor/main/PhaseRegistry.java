@@ -5,17 +5,22 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 public class PhaseRegistry {
 
     private static final Logger logger = LogManager.getLogger("PhaseRegistry");
 
     private final List<AbstractPhase> phases;
+    private final Set<AbstractPhase> reusedPhases;
 
     public PhaseRegistry() {
 
         phases = new ArrayList<>();
+        reusedPhases = Collections.newSetFromMap(new IdentityHashMap<>());
     }
 
     public PhaseRegistry addPhase(AbstractPhase phase) {
@@ -26,6 +31,25 @@ public class PhaseRegistry {
         return this;
     }
 
+    /**
+     * Adds a phase that has already been executed as part of another registry.
+     * The phase is not executed again, but its results are available to all subsequent phases.
+     *
+     * @param phase The previously executed phase.
+     * @return This registry.
+     */
+    public PhaseRegistry addReusedPhase(AbstractPhase phase) {
+
+        addPhase(phase);
+        reusedPhases.add(phase);
+        return this;
+    }
+
+    public boolean isReused(AbstractPhase phase) {
+
+        return reusedPhases.contains(phase);
+    }
+
     protected <T> T getMostRecentPhase(int currentPhase, Class<T> phaseType) {
 
         for (int i = currentPhase - 1; i >= 0; i--) {
@@ -45,7 +69,9 @@ public class PhaseRegistry {
     public void execute() throws Exception {
 
         for (AbstractPhase p : phases) {
-            p.run();
+            if (!isReused(p)) {
+                p.run();
+            }
         }
     }
 
@@ -60,6 +86,10 @@ public class PhaseRegistry {
         logger.log(HIGHLIGHT, "| Phase                       | Runtime      |");
         logger.log(REPORT, "+-----------------------------+--------------+");
         for (AbstractPhase p : phases) {
+            if (isReused(p)) {
+                logger.log(REPORT, String.format("| %-27s | %12s |", p.getName(), "reused"));
+                continue;
+            }
             double elapsed = p.getElapsedTime();
             elapsedTotal += elapsed;
             logger.log(REPORT, String.format("| %-27s | %10.3f s |", p.getName(), elapsed));
@@ -10,6 +10,7 @@ import de.rwth.i2.attestor.graph.Nonterminal;
 import de.rwth.i2.attestor.graph.SelectorLabel;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.graph.heap.internal.InternalHeapConfiguration;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContract;
 import de.rwth.i2.attestor.procedures.Contract;
 import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.programState.defaultState.DefaultProgramState;
@@ -112,7 +113,8 @@ public class DefaultScene implements Scene {
 
     @Override
     public Contract createContract(HeapConfiguration precondition, Collection<HeapConfiguration> postconditions) {
-        return null;
+
+        return new InternalContract(precondition, postconditions);
     }
 
     @Override
@@ -143,29 +145,38 @@ public class DefaultScene implements Scene {
     }
 
     @Override
-    public void addNumberOfGeneratedStates(int states) {
+    public synchronized void addNumberOfGeneratedStates(int states) {
 
         totalNumberOfStates += states;
     }
 
     @Override
-    public long getNumberOfOnTheFlyGeneratedStates() {
+    public synchronized long getNumberOfOnTheFlyGeneratedStates() {
 
         return totalNumberOfStatesOnTheFly;
     }
     
     @Override
-    public void addNumberOfOnTheFlyGeneratedStates(int states) {
+    public synchronized void addNumberOfOnTheFlyGeneratedStates(int states) {
 
     	totalNumberOfStatesOnTheFly += states;
     }
 
     @Override
-    public long getNumberOfGeneratedStates() {
+    public synchronized long getNumberOfGeneratedStates() {
 
         return totalNumberOfStates;
     }
 
+    /**
+     * Resets the number of generated states before the scene is reused for another analysis.
+     */
+    public synchronized void resetNumberOfGeneratedStates() {
+
+        totalNumberOfStates = 0;
+        totalNumberOfStatesOnTheFly = 0;
+    }
+
     @Override
     public Options options() {
 
@@ -54,6 +54,49 @@ public class Options {
 
     private int maxHeap = 50;
 
+    private int stateSpaceGenerationThreads = 1;
+
+    /**
+     * The number of threads used to compute the fixpoint of the interprocedural analysis.
+     */
+    private int interproceduralAnalysisThreads = 1;
+
+    /**
+     * The number of threads used to compute the transitions of heap automata during grammar refinement.
+     */
+    private int grammarRefinementThreads = 1;
+    /**
+     * If enabled, the fixpoint of the interprocedural analysis continues partial state spaces of callees
+     * before those of their callers according to the strongly connected components of the call graph.
+     */
+    private boolean callGraphOrderEnabled = false;
+
+    /**
+     * The maximal number of heap configurations whose canonicalization is cached.
+     * If set to 0, no canonicalizations are cached.
+     */
+    private int canonicalizationCacheSize = 10000;
+
+    /**
+     * The maximal number of heap configurations whose transition of the state labeling automaton is cached.
+     * If set to 0, no transitions are cached.
+     */
+    private int labelingCacheSize = 10000;
+
+    /**
+     * If enabled, heap configurations are only abstracted in the region that changed since their last abstraction.
+     */
+    private boolean incrementalCanonicalizationEnabled = false;
+    /**
+     * If enabled, abstract heap configurations are stored in a compact immutable representation.
+     */
+    private boolean compactHeapsEnabled = false;
+    /**
+     * If enabled, embeddings are searched by matching the most constrained nodes of grammar rules first
+     * and by pruning candidate nodes based on their labels.
+     */
+    private boolean orderedMatchingEnabled = false;
+
     // -----------------------------------------------------------------------------------
 
     public void setPostProcessingEnabled(boolean enabled) {
@@ -129,6 +172,78 @@ public class Options {
         return maxHeap;
     }
 
+    public void setStateSpaceGenerationThreads(int stateSpaceGenerationThreads) {
+        this.stateSpaceGenerationThreads = stateSpaceGenerationThreads;
+    }
+
+    public int getStateSpaceGenerationThreads() {
+        return stateSpaceGenerationThreads;
+    }
+
+    public void setInterproceduralAnalysisThreads(int interproceduralAnalysisThreads) {
+        this.interproceduralAnalysisThreads = interproceduralAnalysisThreads;
+    }
+
+    public int getInterproceduralAnalysisThreads() {
+        return interproceduralAnalysisThreads;
+    }
+
+    public void setGrammarRefinementThreads(int grammarRefinementThreads) {
+        this.grammarRefinementThreads = grammarRefinementThreads;
+    }
+
+    public int getGrammarRefinementThreads() {
+        return grammarRefinementThreads;
+    }
+
+    public void setCallGraphOrderEnabled(boolean enabled) {
+        this.callGraphOrderEnabled = enabled;
+    }
+
+    public boolean isCallGraphOrderEnabled() {
+        return callGraphOrderEnabled;
+    }
+
+    public void setCanonicalizationCacheSize(int canonicalizationCacheSize) {
+        this.canonicalizationCacheSize = canonicalizationCacheSize;
+    }
+
+    public int getCanonicalizationCacheSize() {
+        return canonicalizationCacheSize;
+    }
+
+    public void setLabelingCacheSize(int labelingCacheSize) {
+        this.labelingCacheSize = labelingCacheSize;
+    }
+
+    public int getLabelingCacheSize() {
+        return labelingCacheSize;
+    }
+
+    public void setIncrementalCanonicalizationEnabled(boolean enabled) {
+        this.incrementalCanonicalizationEnabled = enabled;
+    }
+
+    public boolean isIncrementalCanonicalizationEnabled() {
+        return incrementalCanonicalizationEnabled;
+    }
+
+    public void setCompactHeapsEnabled(boolean enabled) {
+        this.compactHeapsEnabled = enabled;
+    }
+
+    public boolean isCompactHeapsEnabled() {
+        return compactHeapsEnabled;
+    }
+
+    public void setOrderedMatchingEnabled(boolean enabled) {
+        this.orderedMatchingEnabled = enabled;
+    }
+
+    public boolean isOrderedMatchingEnabled() {
+        return orderedMatchingEnabled;
+    }
+
     public boolean isRemoveDeadVariables() {
 
         return removeDeadVariables;
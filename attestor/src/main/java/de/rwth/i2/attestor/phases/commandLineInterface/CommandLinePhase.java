@@ -92,6 +92,8 @@ public class CommandLinePhase extends AbstractPhase
             case "root-path":
                 // was already set before
                 break;
+            case "server":
+                throw new IllegalArgumentException("Option --server cannot be combined with other options.");
             case "class":
                 setClass(option);
                 break;
@@ -101,6 +103,9 @@ public class CommandLinePhase extends AbstractPhase
             case "contract":
                 contract(option);
                 break;
+            case "contract-cache":
+                contractCache(option);
+                break;
             case "grammar":
                 grammar(option);
                 break;
@@ -152,6 +157,12 @@ public class CommandLinePhase extends AbstractPhase
             case "mc-skip":
             	modelCheckingSkip(option);
             	break;
+            case "buchi-model-checking":
+                buchiModelChecking();
+                break;
+            case "mc-threads":
+                modelCheckingThreads(option);
+                break;
             case "no-garbage-collector":
                 noGarbageCollector();
                 break;
@@ -161,9 +172,45 @@ public class CommandLinePhase extends AbstractPhase
             case "max-heap":
                 maxHeap(option);
                 break;
+            case "parallel-state-space":
+                parallelStateSpace(option);
+                break;
+            case "parallel-procedures":
+                parallelProcedures(option);
+                break;
+            case "parallel-refinement":
+                parallelRefinement(option);
+                break;
+            case "call-graph-order":
+                callGraphOrder();
+                break;
+            case "canonicalization-cache":
+                canonicalizationCache(option);
+                break;
+            case "labeling-cache":
+                labelingCache(option);
+                break;
+            case "incremental-abstraction":
+                incrementalAbstraction();
+                break;
+            case "compact-heaps":
+                compactHeaps();
+                break;
+            case "ordered-matching":
+                orderedMatching();
+                break;
             case "export":
                 export(option);
                 break;
+            case "export-archive":
+                exportArchive(option);
+                break;
+            case "no-export-compression":
+                noExportCompression();
+                break;
+            case "export-binary":
+                exportBinary(option);
+                break;
             case "export-grammar":
                 exportGrammar(option);
                 break;
@@ -223,6 +270,13 @@ public class CommandLinePhase extends AbstractPhase
         inputSettings.addContractFile(contract);
     }
 
+    private void contractCache(Option option) {
+
+        String path = option.getValue();
+        logger.info("contract cache: " + path);
+        inputSettings.setContractCachePath(path);
+    }
+
     private void grammar(Option option) {
 
         String grammar = option.getValue();
@@ -310,6 +364,24 @@ public class CommandLinePhase extends AbstractPhase
         scene().options().setChainAbstractionEnabled(false);
     }
 
+    private void incrementalAbstraction() {
+
+        logger.info("enabled incremental abstraction");
+        scene().options().setIncrementalCanonicalizationEnabled(true);
+    }
+
+    private void compactHeaps() {
+
+        logger.info("enabled compact heaps");
+        scene().options().setCompactHeapsEnabled(true);
+    }
+
+    private void orderedMatching() {
+
+        logger.info("enabled ordered matching");
+        scene().options().setOrderedMatchingEnabled(true);
+    }
+
     private void noRuleCollapsing() {
 
         logger.info("disabled rule collapsing");
@@ -356,6 +428,22 @@ public class CommandLinePhase extends AbstractPhase
         modelCheckingSettings.setHierarchicalModelCheckingEnabled(true);
     }
     
+    private void buchiModelChecking() {
+
+        logger.info("enabled Büchi automata based model-checking");
+        modelCheckingSettings.setBuchiModelCheckingEnabled(true);
+    }
+
+    private void modelCheckingThreads(Option option) {
+
+        int threads = Integer.valueOf(option.getValue());
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads for model checking must be positive.");
+        }
+        logger.info("threads for model checking: " + threads);
+        modelCheckingSettings.setModelCheckingThreads(threads);
+    }
+
     private void modelCheckingSkip(Option option) {
 
     	String[] values = option.getValues();
@@ -392,6 +480,62 @@ public class CommandLinePhase extends AbstractPhase
         scene().options().setMaxHeap(size);
     }
 
+    private void parallelStateSpace(Option option) {
+
+        int threads = Integer.valueOf(option.getValue());
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads for state space generation must be positive.");
+        }
+        logger.info("threads for state space generation: " + threads);
+        scene().options().setStateSpaceGenerationThreads(threads);
+    }
+
+    private void parallelProcedures(Option option) {
+
+        int threads = Integer.valueOf(option.getValue());
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads for the interprocedural analysis must be positive.");
+        }
+        logger.info("threads for interprocedural analysis: " + threads);
+        scene().options().setInterproceduralAnalysisThreads(threads);
+    }
+
+    private void parallelRefinement(Option option) {
+
+        int threads = Integer.valueOf(option.getValue());
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads for grammar refinement must be positive.");
+        }
+        logger.info("threads for grammar refinement: " + threads);
+        scene().options().setGrammarRefinementThreads(threads);
+    }
+
+    private void callGraphOrder() {
+
+        logger.info("enabled call graph order for interprocedural analysis");
+        scene().options().setCallGraphOrderEnabled(true);
+    }
+
+    private void canonicalizationCache(Option option) {
+
+        int size = Integer.valueOf(option.getValue());
+        if (size < 0) {
+            throw new IllegalArgumentException("The size of the canonicalization cache must not be negative.");
+        }
+        logger.info("size of canonicalization cache: " + size);
+        scene().options().setCanonicalizationCacheSize(size);
+    }
+
+    private void labelingCache(Option option) {
+
+        int size = Integer.valueOf(option.getValue());
+        if (size < 0) {
+            throw new IllegalArgumentException("The size of the labeling cache must not be negative.");
+        }
+        logger.info("size of labeling cache: " + size);
+        scene().options().setLabelingCacheSize(size);
+    }
+
     private void export(Option option) {
 
         String exportPath = option.getValue();
@@ -399,6 +543,26 @@ public class CommandLinePhase extends AbstractPhase
         outputSettings.setExportPath(exportPath);
     }
 
+    private void exportArchive(Option option) {
+
+        String exportPath = option.getValue();
+        logger.info("state space will be exported to archive " + exportPath);
+        outputSettings.setExportArchivePath(exportPath);
+    }
+
+    private void noExportCompression() {
+
+        logger.info("exported archive will not be compressed");
+        outputSettings.setExportArchiveCompressed(false);
+    }
+
+    private void exportBinary(Option option) {
+
+        String exportPath = option.getValue();
+        logger.info("state space and grammar will be exported in binary format to " + exportPath);
+        outputSettings.setExportBinaryPath(exportPath);
+    }
+
     private void exportGrammar(Option option) {
 
         String exportPath = option.getValue();
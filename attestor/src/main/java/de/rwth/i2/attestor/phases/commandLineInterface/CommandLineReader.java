@@ -144,6 +144,20 @@ public class CommandLineReader {
                         .build()
         );
 
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("server")
+                        .hasArg()
+                        .argName("port")
+                        .desc("Starts a server that accepts analysis requests on the given local port instead of " +
+                                "running a single analysis. Every request is a line containing a JSON object " +
+                                "whose entry 'args' lists the command line options of an analysis. " +
+                                "Parsed programs, grammars and their refinements are kept for subsequent requests " +
+                                "that only differ in the analyzed method and the requested exports. " +
+                                "This option cannot be combined with other options.")
+                        .build()
+        );
+
         commandLineOptions.addOption(
                 Option.builder("rp")
                         .longOpt("root-path")
@@ -157,6 +171,7 @@ public class CommandLineReader {
                                 "* --grammar\n" +
                                 "* --initial\n" +
                                 "* --contract\n" +
+                                "* --contract-cache\n" +
                                 "If option --root-path is not explicitly, the root path is set to the empty string.")
                         .build()
         );
@@ -202,6 +217,20 @@ public class CommandLineReader {
                         .build()
         );
 
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("contract-cache")
+                        .hasArg()
+                        .argName("path")
+                        .desc("Caches the contracts generated for all methods in the directory <path> and " +
+                                "reuses them in subsequent runs. A cached contract is only reused if the " +
+                                "method, the methods it calls, the grammar and all options affecting contracts " +
+                                "are unchanged. " +
+                                "If --root-path is set then the common root path is added " +
+                                "as a prefix to the directory.")
+                        .build()
+        );
+
         commandLineOptions.addOption(
                 Option.builder("g")
                         .longOpt("grammar")
@@ -419,6 +448,98 @@ public class CommandLineReader {
                                 "By default, the maximal number of nodes is set to 50.")
                         .build()
         );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("parallel-state-space")
+                        .hasArg()
+                        .argName("integer")
+                        .type(Integer.class)
+                        .desc("Determines the number of threads used to generate the state space of the main method. " +
+                                "By default, the state space is generated by a single thread.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("parallel-procedures")
+                        .hasArg()
+                        .argName("integer")
+                        .type(Integer.class)
+                        .desc("Determines the number of threads used to analyze independent procedure calls " +
+                                "during the interprocedural analysis. " +
+                                "By default, all procedure calls are analyzed by a single thread.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("parallel-refinement")
+                        .hasArg()
+                        .argName("integer")
+                        .type(Integer.class)
+                        .desc("Determines the number of threads used to compute the transitions of heap automata " +
+                                "while refining the graph grammar. " +
+                                "By default, the grammar is refined by a single thread.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("call-graph-order")
+                        .desc("Continues partial state spaces of called procedures before those of their callers " +
+                                "during the interprocedural analysis. By default, partial state spaces are " +
+                                "continued in the order in which new contracts have been found.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("canonicalization-cache")
+                        .hasArg()
+                        .argName("integer")
+                        .type(Integer.class)
+                        .desc("Determines the maximal number of heap configurations whose abstraction is cached. " +
+                                "A value of 0 disables the cache. The default value is 10000.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("labeling-cache")
+                        .hasArg()
+                        .argName("integer")
+                        .type(Integer.class)
+                        .desc("Determines the maximal number of heap configurations for which the heap automaton " +
+                                "labeling states with atomic propositions caches its result. " +
+                                "A value of 0 disables the cache. The default value is 10000.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("incremental-abstraction")
+                        .desc("Only abstracts the region of a heap that changed since it has been abstracted " +
+                                "for the last time. This option has no effect in indexed mode or if admissible " +
+                                "abstraction is enabled.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("compact-heaps")
+                        .desc("Stores abstract heaps in a compact immutable representation that is only copied " +
+                                "if a heap is modified. This reduces the memory required per state.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("ordered-matching")
+                        .desc("Searches for embeddings of grammar rules by matching their most constrained " +
+                                "nodes first and prunes candidate nodes based on their labels.")
+                        .build()
+        );
         
         commandLineOptions.addOption(
                 Option.builder()
@@ -439,6 +560,26 @@ public class CommandLineReader {
                         .build()
         );
 
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("buchi-model-checking")
+                        .desc("Checks LTL formulae by searching for accepting cycles in the product of the state space " +
+                                "and a Büchi automaton for the negated formula. " +
+                                "By default, formulae are checked by the tableau method.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("mc-threads")
+                        .hasArg()
+                        .argName("integer")
+                        .type(Integer.class)
+                        .desc("Determines the number of threads used to check the provided LTL formulae concurrently. " +
+                                "By default, all formulae are checked one after another.")
+                        .build()
+        );
+
     }
 
     private void setupExportOptions() {
@@ -454,6 +595,37 @@ public class CommandLineReader {
                         .build()
         );
 
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("export-archive")
+                        .hasArg()
+                        .argName("path")
+                        .desc("Exports the generated state space, all counterexamples and the heap configurations " +
+                                "of all their states into a single zip archive ROOT_PATH/<path>, where ROOT_PATH is " +
+                                "the path determined by --root-path. In contrast to --export, all files are streamed " +
+                                "into the archive and no viewer is included.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("no-export-compression")
+                        .desc("Stores the entries of the archive exported by --export-archive without compression.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("export-binary")
+                        .hasArg()
+                        .argName("path")
+                        .desc("Exports the generated state space and the grammar in a compact binary format " +
+                                "to the files statespace.bin and grammar.bin in the directory ROOT_PATH/<path>, " +
+                                "where ROOT_PATH is the path determined by --root-path. " +
+                                "The exported grammar can be supplied using --grammar.")
+                        .build()
+        );
+
         commandLineOptions.addOption(
                 Option.builder()
                         .longOpt("export-grammar")
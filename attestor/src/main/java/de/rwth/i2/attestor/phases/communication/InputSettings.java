@@ -48,6 +48,11 @@ public class InputSettings implements HeapConfigurationRenaming {
      * filenames containing user defined contracts to use
      */
     ArrayList<String> contractFiles = new ArrayList<>();
+
+    /**
+     * The directory in which contracts are cached across runs or null if no contract cache is used.
+     */
+    private String contractCachePath = null;
     private List<String> userDefinedGrammarFiles = new ArrayList<>();
     private List<String> initialHeapFiles = new ArrayList<>();
 
@@ -171,6 +176,27 @@ public class InputSettings implements HeapConfigurationRenaming {
         }
         return result;
     }
+
+    /**
+     * Sets the directory in which generated contracts are cached across runs.
+     *
+     * @param contractCachePath the directory of the contract cache
+     */
+    public void setContractCachePath(String contractCachePath) {
+
+        this.contractCachePath = contractCachePath;
+    }
+
+    /**
+     * @return the directory of the contract cache or null if no contract cache is used
+     */
+    public String getContractCachePath() {
+
+        if(contractCachePath == null) {
+            return null;
+        }
+        return getRootPath() + contractCachePath;
+    }
     
    
     /**
@@ -25,8 +25,16 @@ public class ModelCheckingSettings {
      * If true, unreachable parts of heap are regularly eliminated.
      */
     private boolean hierarchicalModelCheckingEnabled = false;
+    /**
+     * If true, formulae are checked by a Büchi automaton instead of a tableau proof structure.
+     */
+    private boolean buchiModelCheckingEnabled = false;
     
     private List<String> methodsToSkip = new LinkedList<>();
+    /**
+     * The maximal number of threads used to check the provided formulae concurrently.
+     */
+    private int modelCheckingThreads = 1;
 
     public ModelCheckingSettings() {
 
@@ -80,6 +88,16 @@ public class ModelCheckingSettings {
     	return this.hierarchicalModelCheckingEnabled;
     }
     
+    public void setBuchiModelCheckingEnabled(boolean enabled) {
+
+        this.buchiModelCheckingEnabled = enabled;
+    }
+
+    public boolean isBuchiModelCheckingEnabled() {
+
+        return this.buchiModelCheckingEnabled;
+    }
+
     public void addMethodToSkip(String method) {
     	
     	if (!methodsToSkip.contains(method)) {
@@ -91,4 +109,14 @@ public class ModelCheckingSettings {
     	
     	return methodsToSkip;
     }
+
+    public void setModelCheckingThreads(int threads) {
+
+        this.modelCheckingThreads = threads;
+    }
+
+    public int getModelCheckingThreads() {
+
+        return modelCheckingThreads;
+    }
 }
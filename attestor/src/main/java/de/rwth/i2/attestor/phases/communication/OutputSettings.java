@@ -22,6 +22,12 @@ public class OutputSettings {
 
     private String exportContractsPath = null;
 
+    private String exportArchivePath = null;
+
+    private boolean exportArchiveCompressed = true;
+
+    private String exportBinaryPath = null;
+
     public void setRootPath(String rootPath) {
 
         this.rootPath = rootPath;
@@ -101,4 +107,40 @@ public class OutputSettings {
         }
         return getRootPath() + exportContractsPath;
     }
+
+    public void setExportArchivePath(String exportArchivePath) {
+
+        this.exportArchivePath = exportArchivePath;
+    }
+
+    public String getExportArchivePath() {
+
+        if(exportArchivePath == null) {
+            return null;
+        }
+        return getRootPath() + exportArchivePath;
+    }
+
+    public void setExportArchiveCompressed(boolean exportArchiveCompressed) {
+
+        this.exportArchiveCompressed = exportArchiveCompressed;
+    }
+
+    public boolean isExportArchiveCompressed() {
+
+        return exportArchiveCompressed;
+    }
+
+    public void setExportBinaryPath(String exportBinaryPath) {
+
+        this.exportBinaryPath = exportBinaryPath;
+    }
+
+    public String getExportBinaryPath() {
+
+        if(exportBinaryPath == null) {
+            return null;
+        }
+        return getRootPath() + exportBinaryPath;
+    }
 }
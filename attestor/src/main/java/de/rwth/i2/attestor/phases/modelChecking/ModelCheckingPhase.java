@@ -4,6 +4,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.Level;
 
@@ -12,6 +17,7 @@ import de.rwth.i2.attestor.main.AbstractPhase;
 import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.phases.communication.ModelCheckingSettings;
 import de.rwth.i2.attestor.phases.modelChecking.hierarchical.RecursiveStateMachine;
+import de.rwth.i2.attestor.phases.modelChecking.modelChecker.BuchiModelChecker;
 import de.rwth.i2.attestor.phases.modelChecking.modelChecker.FailureTrace;
 import de.rwth.i2.attestor.phases.modelChecking.modelChecker.ModelCheckingResult;
 import de.rwth.i2.attestor.phases.modelChecking.modelChecker.ModelCheckingTrace;
@@ -111,37 +117,89 @@ public class ModelCheckingPhase extends AbstractPhase implements ModelCheckingRe
 		
     	StateSpace stateSpace = getPhase(StateSpaceTransformer.class).getStateSpace();  
         
-        // build proof structure for each formula
-        for (LTLFormula formula : formulae) {
-        	
-            String formulaString = formula.getFormulaString();
-            logger.info("Checking formula: " + formulaString + "...");
-            
-            SimpleProofStructure proofStructure = new SimpleProofStructure();
-            proofStructure.build(stateSpace, formula);
-            
-            if (proofStructure.isSuccessful()) {
+        int threads = Math.min(mcSettings.getModelCheckingThreads(), formulae.size());
+        if (threads <= 1) {
+            // build proof structure for each formula
+            for (LTLFormula formula : formulae) {
+                logger.info("Checking formula: " + formula.getFormulaString() + "...");
+                recordResult(stateSpace, formula, checkFormula(stateSpace, formula));
+            }
+            return;
+        }
 
-                if(stateSpace.containsAbortedStates()) {
-                    allSatisfied = false;
-                    formulaResults.put(formula, ModelCheckingResult.UNKNOWN);
-                    logger.info("done. It is unknown whether the formula is satisfied.");
-                } else {
-                    formulaResults.put(formula, ModelCheckingResult.SATISFIED);
-                    logger.info("done. Formula is satisfied.");
-                    numberSatFormulae++;
-                }
-            } else {
-                logger.info("Formula is violated: " + formulaString);
+        // formulae are checked concurrently since checks only read the state space;
+        // results are recorded in the order of the provided formulae
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Map<LTLFormula, Future<FormulaCheck>> checks = new LinkedHashMap<>();
+            for (LTLFormula formula : formulae) {
+                checks.put(formula, executor.submit(() -> checkFormula(stateSpace, formula)));
+            }
+
+            for (Map.Entry<LTLFormula, Future<FormulaCheck>> entry : checks.entrySet()) {
+                LTLFormula formula = entry.getKey();
+                logger.info("Checking formula: " + formula.getFormulaString() + "...");
+                recordResult(stateSpace, formula, getCheck(entry.getValue()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FormulaCheck checkFormula(StateSpace stateSpace, LTLFormula formula) {
+
+        if (mcSettings.isBuchiModelCheckingEnabled()) {
+            BuchiModelChecker checker = new BuchiModelChecker();
+            checker.check(stateSpace, formula);
+            return new FormulaCheck(checker.isSuccessful(), checker::getFailureTrace);
+        }
+
+        SimpleProofStructure proofStructure = new SimpleProofStructure();
+        proofStructure.build(stateSpace, formula);
+        return new FormulaCheck(proofStructure.isSuccessful(), proofStructure::getFailureTrace);
+    }
+
+    private FormulaCheck getCheck(Future<FormulaCheck> check) {
+
+        try {
+            return check.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Model checking has been interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Model checking failed.", cause);
+        }
+    }
+
+    private void recordResult(StateSpace stateSpace, LTLFormula formula, FormulaCheck check) {
+
+        if (check.successful) {
+
+            if(stateSpace.containsAbortedStates()) {
                 allSatisfied = false;
-                formulaResults.put(formula, ModelCheckingResult.UNSATISFIED);
+                formulaResults.put(formula, ModelCheckingResult.UNKNOWN);
+                logger.info("done. It is unknown whether the formula is satisfied.");
+            } else {
+                formulaResults.put(formula, ModelCheckingResult.SATISFIED);
+                logger.info("done. Formula is satisfied.");
+                numberSatFormulae++;
+            }
+        } else {
+            logger.info("Formula is violated: " + formula.getFormulaString());
+            allSatisfied = false;
+            formulaResults.put(formula, ModelCheckingResult.UNSATISFIED);
 
-                if (scene().options().isIndexedMode()) {
-                    logger.warn("Counterexample generation for indexed grammars is not supported yet.");
-                } else {
-                    FailureTrace failureTrace = proofStructure.getFailureTrace();
-                    traces.put(formula, failureTrace);
-                }
+            if (scene().options().isIndexedMode()) {
+                logger.warn("Counterexample generation for indexed grammars is not supported yet.");
+            } else {
+                FailureTrace failureTrace = check.failureTrace.get();
+                traces.put(formula, failureTrace);
             }
         }
     }
@@ -199,4 +257,19 @@ public class ModelCheckingPhase extends AbstractPhase implements ModelCheckingRe
     public int getNumberSatFormulae() {
         return numberSatFormulae;
     }
+
+    /**
+     * The outcome of checking a single formula by either a proof structure or a {@link BuchiModelChecker}.
+     */
+    private static final class FormulaCheck {
+
+        final boolean successful;
+        final Supplier<FailureTrace> failureTrace;
+
+        FormulaCheck(boolean successful, Supplier<FailureTrace> failureTrace) {
+
+            this.successful = successful;
+            this.failureTrace = failureTrace;
+        }
+    }
 }
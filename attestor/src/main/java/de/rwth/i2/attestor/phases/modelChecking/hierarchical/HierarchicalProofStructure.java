@@ -64,7 +64,7 @@ public class HierarchicalProofStructure extends AbstractProofStructure {
 
 		Set<ProgramState> initialStates = this.stateSpace.getInitialStates();		
 		for (ProgramState state : initialStates) {
-			Assertion2 assertion = new Assertion2(state, null);
+			Assertion2 assertion = new Assertion2(state, null, formulaSetIndex);
 			for (Node formula : formulae) {
 				assertion.addFormula(formula);
 			}
@@ -183,7 +183,7 @@ public class HierarchicalProofStructure extends AbstractProofStructure {
 			
 			// successor nodes of the current node have to satisfy the Next formulae of the current node
 			if (!nextFormulae.isEmpty()) {
-				Assertion2 successorAssertion = new Assertion2(successorState, assertion, true);
+				Assertion2 successorAssertion = new Assertion2(successorState, assertion, true, formulaSetIndex);
 				for (Node formula : nextFormulae) {
 					successorAssertion.addFormula(formula);
 				}
@@ -247,6 +247,7 @@ public class HierarchicalProofStructure extends AbstractProofStructure {
 	 */
 	private void addAssertion(Assertion2 assertion) {
 			
+		registerAssertion(assertion);
 		ProgramState state = assertion.getProgramState();
         Set<Assertion2> assertionsOfState = stateToAssertions.get(state);
         if (assertionsOfState == null) {
@@ -257,34 +258,6 @@ public class HierarchicalProofStructure extends AbstractProofStructure {
             assertionsOfState.add(assertion);
         }
 	}
-	
-	private Assertion2 getPresentAssertion(Assertion2 assertion) {
-
-		Set<Assertion2> presentAssertions = getAssertionsForState(assertion.getProgramState());
-        if (!presentAssertions.isEmpty()) {
-            for (Assertion2 presentAssertion : presentAssertions) {            	
-                if (assertion.equals(presentAssertion)) return presentAssertion;
-            }
-        }
-        
-        return null;
-	}
-	
-	/**
-     * This method collects all vertices, whose program state component is equal to
-     * the input program state.
-     *
-     * @param programState, the state that the vertices are checked for
-     * @return a set containing all assertions with program state component 'state',
-     * if none exist an empty set is returned.
-     */
-    private Set<Assertion2> getAssertionsForState(ProgramState programState) {
-
-        Set<Assertion2> result = stateToAssertions.get(programState);        
-        if (result == null) return Collections.emptySet();
-        
-        return result;
-    }
     
     /**
      * Gets the signature of the method called in the statement if the statement invokes a method call.
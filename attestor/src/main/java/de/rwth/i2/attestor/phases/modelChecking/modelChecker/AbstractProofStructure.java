@@ -9,6 +9,8 @@ import java.util.Set;
 
 import de.rwth.i2.attestor.generated.node.AReleaseLtlform;
 import de.rwth.i2.attestor.generated.node.Node;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 
 public abstract class AbstractProofStructure {	
 
@@ -19,11 +21,41 @@ public abstract class AbstractProofStructure {
 	protected boolean successful = true;
 	protected int checkedAssertions = 0;
 	
+	// interns the formula sets of all assertions of this proof structure
+	protected final FormulaSetIndex formulaSetIndex = new FormulaSetIndex();
+	// hash-consing table mapping (state id, formula set id) to the first assertion registered for this pair
+	private final TLongObjectMap<Assertion2> assertionTable = new TLongObjectHashMap<>();
+	
 	public void setOriginOfFailure(Assertion2 assertion) {
 
         if (this.originOfFailure == null) this.originOfFailure = assertion;
 	}
 
+	/**
+	 * Registers an assertion in the hash-consing table unless an equal assertion has been registered before.
+	 * 
+	 * @param assertion an assertion using the formula set index of this proof structure
+	 */
+	protected void registerAssertion(Assertion2 assertion) {
+		
+		assertionTable.putIfAbsent(assertionKey(assertion), assertion);
+	}
+	
+	/**
+	 * @param assertion an assertion using the formula set index of this proof structure
+	 * @return the registered assertion equal to the given one or null if no such assertion exists
+	 */
+	protected Assertion2 getPresentAssertion(Assertion2 assertion) {
+		
+		return assertionTable.get(assertionKey(assertion));
+	}
+	
+	private long assertionKey(Assertion2 assertion) {
+		
+		assert assertion.getFormulaSetIndex() == formulaSetIndex;
+		return ((long) assertion.getProgramState().getStateSpaceId() << 32) | (assertion.getFormulaSetId() & 0xFFFFFFFFL);
+	}
+
 	protected boolean containsReleaseOperator(Assertion2 assertion) {
 
         for (Node formula : assertion.getFormulae()) {
@@ -1,5 +1,6 @@
 package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
 
+import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -11,6 +12,11 @@ import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
  * This class implements the states of the tableau method proof structure. Each state consists
  * of a program state and a list of (sub)formulae, which together form an assertion, that has
  * to be discharged. In contrast to {@link Assertion} next-formulae are managed in an own list.
+ * <p>
+ * Besides the ordered lists, the formulae and next-formulae are stored as a bitset over the ids
+ * assigned by a {@link FormulaSetIndex}: formula i sets bit 2i and next-formula i sets bit 2i+1.
+ * Membership tests and equality thus do not traverse the lists. Assertions of the same proof structure
+ * should share an index; the formula set of an assertion may then be interned via {@link #getFormulaSetId()}.
  * 
  * @author sally 
  *
@@ -20,18 +26,37 @@ public class Assertion2 {
 	private ProgramState programState;
 	private LinkedList<Node> formulae = new LinkedList<>();
 	private LinkedList<Node> nextFormulae = new LinkedList<>(); 
+	private final FormulaSetIndex index;
+	private BitSet formulaSet = new BitSet();
+	// the id of formulaSet if it has been interned, i.e. formulaSet is shared, or -1 otherwise
+	private int formulaSetId = -1;
 	private Assertion2 parent;
 	private boolean isTrue;
 	private boolean isContainedInTrace;
 	
-	public Assertion2(ProgramState programState, Assertion2 parent) {
+	/**
+	 * Creates an assertion whose formulae are indexed by the given index.
+	 */
+	public Assertion2(ProgramState programState, Assertion2 parent, FormulaSetIndex index) {
 		this.programState = programState;
 		this.parent = parent;
+		this.index = index;
+	}
+	
+	/**
+	 * Creates an assertion that shares the index of its parent or uses a fresh index if there is no parent.
+	 */
+	public Assertion2(ProgramState programState, Assertion2 parent) {
+		this(programState, parent, parent != null ? parent.index : new FormulaSetIndex());
 	}
 	
 	public Assertion2(ProgramState programState, Assertion2 parent, LTLFormula formula) {
-		this.programState = programState;
-		this.parent = parent;
+		this(programState, parent);
+		addFormula(formula.getASTRoot().getPLtlform());
+	}
+	
+	public Assertion2(ProgramState programState, Assertion2 parent, LTLFormula formula, FormulaSetIndex index) {
+		this(programState, parent, index);
 		addFormula(formula.getASTRoot().getPLtlform());
 	}
 	
@@ -41,6 +66,12 @@ public class Assertion2 {
         this.isContainedInTrace = isContainedInTrace;
     }
 	
+	public Assertion2(ProgramState programState, Assertion2 parent, boolean isContainedInTrace, FormulaSetIndex index) {
+
+        this(programState, parent, index);
+        this.isContainedInTrace = isContainedInTrace;
+    }
+	
 	/**
      * This constructor returns a new assertion as a copy of the provided one.
      * Note that the new assertion receives a shallow copy of the formulae list.
@@ -52,6 +83,8 @@ public class Assertion2 {
 		this.programState = assertion.getProgramState();
         this.formulae = new LinkedList<>(assertion.getFormulae());
         this.nextFormulae = new LinkedList<>(assertion.getNextFormulae());
+        this.index = assertion.index;
+        this.formulaSet = (BitSet) assertion.formulaSet.clone();
         this.isTrue = assertion.isTrue();
         this.isContainedInTrace = assertion.isContainedInTrace;
         this.parent = assertion.parent;		
@@ -59,8 +92,10 @@ public class Assertion2 {
 	
 	public void addNextFormula(Node formula) {
 
-		if (!this.nextFormulae.contains(formula)) {
+		int bit = nextFormulaBit(formula);
+		if (!this.formulaSet.get(bit)) {
 			this.nextFormulae.addFirst(formula);
+			setBit(bit, true);
 		}
 	}
 	
@@ -75,8 +110,10 @@ public class Assertion2 {
 	
 	public void addFormula(Node formula) {
 		
-		if (!this.formulae.contains(formula)) {
+		int bit = formulaBit(formula);
+		if (!this.formulaSet.get(bit)) {
 			this.formulae.addFirst(formula);
+			setBit(bit, true);
 		}
 	}
 	
@@ -102,7 +139,7 @@ public class Assertion2 {
 	}
 	
 	public void removeFirstFormula() {
-		this.formulae.removeFirst();
+		setBit(formulaBit(this.formulae.removeFirst()), false);
 	}
 	
 	public ProgramState getProgramState() {
@@ -130,18 +167,18 @@ public class Assertion2 {
 	}
 	
 	public boolean containsFormula(Node formula) {
-		return this.formulae.contains(formula);
+		return this.formulaSet.get(formulaBit(formula));
 	}
 	
 	public boolean containsNextFormula(Node formula) {
-		return this.nextFormulae.contains(formula);
+		return this.formulaSet.get(nextFormulaBit(formula));
 	}
 	
 	public boolean containsAllFormulae(List<Node> formulae) {
 		
 		if (formulae.size() == this.formulae.size()) {
 			for (Node formula : formulae) {
-				if (!this.formulae.contains(formula)) return false;
+				if (!containsFormula(formula)) return false;
 			}
 			
 			return true;
@@ -154,7 +191,7 @@ public class Assertion2 {
 
 		if (formulae.size() == this.nextFormulae.size()) {
 			for (Node formula : formulae) {
-				if (!this.nextFormulae.contains(formula)) return false;
+				if (!containsNextFormula(formula)) return false;
 			}
 			
 			return true;
@@ -172,9 +209,52 @@ public class Assertion2 {
 		
 		// check content
 		Assertion2 nodeTest = (Assertion2) node;
+		if (this.programState.getStateSpaceId() != nodeTest.programState.getStateSpaceId()) return false;
+		if (this.index == nodeTest.index) {
+			if (this.formulaSetId >= 0 && nodeTest.formulaSetId >= 0) {
+				return this.formulaSetId == nodeTest.formulaSetId;
+			}
+			return this.formulaSet.equals(nodeTest.formulaSet);
+		}
 		return containsAllFormulae(nodeTest.getFormulae()) && 
-				containsAllNextFormulae(nodeTest.getNextFormulae()) && 
-				this.programState.getStateSpaceId() == nodeTest.programState.getStateSpaceId();
+				containsAllNextFormulae(nodeTest.getNextFormulae());
+	}
+	
+	/**
+	 * Interns the formulae and next-formulae of this assertion in its index. Afterwards, the assertion
+	 * shares the representation of its formula set with all other assertions having the same formula set.
+	 * 
+	 * @return the id of the formula set of this assertion
+	 */
+	public int getFormulaSetId() {
+		
+		if (this.formulaSetId < 0) {
+			this.formulaSetId = index.getFormulaSetId(this.formulaSet);
+			this.formulaSet = index.getFormulaSet(this.formulaSetId);
+		}
+		return this.formulaSetId;
+	}
+	
+	public FormulaSetIndex getFormulaSetIndex() {
+		return this.index;
+	}
+	
+	private int formulaBit(Node formula) {
+		return 2 * index.getFormulaId(formula);
+	}
+	
+	private int nextFormulaBit(Node formula) {
+		return 2 * index.getFormulaId(formula) + 1;
+	}
+	
+	private void setBit(int bit, boolean value) {
+		
+		if (this.formulaSetId >= 0) {
+			// the interned representation is shared and must not be modified
+			this.formulaSet = (BitSet) this.formulaSet.clone();
+			this.formulaSetId = -1;
+		}
+		this.formulaSet.set(bit, value);
 	}
 	
 	@Override
@@ -0,0 +1,450 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.generated.node.*;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.*;
+
+/**
+ * A generalized Büchi automaton over program states obtained from an LTL formula by the on-the-fly
+ * construction of Gerth, Peled, Vardi and Wolper (Simple On-the-fly Automatic Verification of Linear
+ * Temporal Logic, 1995).
+ * <p>
+ * Every state of the automaton is labelled by a set of atomic propositions that must hold and a set of
+ * atomic propositions that must not hold in a program state read by the automaton when entering this state.
+ * Acceptance conditions are state-based: For the i-th until subformula, a state belongs to the i-th acceptance
+ * set if its bit i is set in {@link #getAcceptanceMarks(int)}. An accepting run visits every acceptance set
+ * infinitely often.
+ * <p>
+ * Automata are immutable once constructed and can thus be shared by multiple threads.
+ */
+public final class BuchiAutomaton {
+
+    /**
+     * The maximal number of until subformulae, i.e. acceptance sets, of a translated formula.
+     */
+    public static final int MAX_ACCEPTANCE_SETS = 64;
+
+    private final int[] initialStates;
+    private final int[][] successors;
+    private final String[][] positiveLabels;
+    private final String[][] negativeLabels;
+    private final long[] acceptanceMarks;
+    private final long allAcceptanceMarks;
+
+    private BuchiAutomaton(int[] initialStates, int[][] successors,
+                           String[][] positiveLabels, String[][] negativeLabels,
+                           long[] acceptanceMarks, long allAcceptanceMarks) {
+
+        this.initialStates = initialStates;
+        this.successors = successors;
+        this.positiveLabels = positiveLabels;
+        this.negativeLabels = negativeLabels;
+        this.acceptanceMarks = acceptanceMarks;
+        this.allAcceptanceMarks = allAcceptanceMarks;
+    }
+
+    /**
+     * Translates the negation of the given formula into a Büchi automaton.
+     * The resulting automaton accepts exactly the paths that violate the formula.
+     *
+     * @param formula The formula whose violations should be accepted.
+     * @return The constructed automaton.
+     */
+    public static BuchiAutomaton forNegationOf(LTLFormula formula) {
+
+        Translation translation = new Translation();
+        Formula negated = translation.convert(formula.getASTRoot().getPLtlform(), true);
+        return translation.construct(negated);
+    }
+
+    /**
+     * @return The number of states of this automaton.
+     */
+    public int size() {
+
+        return successors.length;
+    }
+
+    /**
+     * @return The states in which a run of this automaton may start.
+     */
+    public int[] getInitialStates() {
+
+        return initialStates;
+    }
+
+    /**
+     * @param state A state of this automaton.
+     * @return The successor states of the given state.
+     */
+    public int[] getSuccessors(int state) {
+
+        return successors[state];
+    }
+
+    /**
+     * @param state A state of this automaton.
+     * @return The atomic propositions that must hold when entering the given state.
+     */
+    public String[] getPositiveLabels(int state) {
+
+        return positiveLabels[state];
+    }
+
+    /**
+     * @param state A state of this automaton.
+     * @return The atomic propositions that must not hold when entering the given state.
+     */
+    public String[] getNegativeLabels(int state) {
+
+        return negativeLabels[state];
+    }
+
+    /**
+     * @param state A state of this automaton.
+     * @return A bit mask determining the acceptance sets the given state belongs to.
+     */
+    public long getAcceptanceMarks(int state) {
+
+        return acceptanceMarks[state];
+    }
+
+    /**
+     * @return The bit mask containing all acceptance sets of this automaton.
+     */
+    public long getAllAcceptanceMarks() {
+
+        return allAcceptanceMarks;
+    }
+
+    /**
+     * Formulae in negation normal form. Formulae are interned by a {@link Translation} and can thus be compared by
+     * identity and identified by their id.
+     */
+    private static final class Formula {
+
+        static final int TRUE = 0;
+        static final int FALSE = 1;
+        static final int AP = 2;
+        static final int NEGATED_AP = 3;
+        static final int AND = 4;
+        static final int OR = 5;
+        static final int NEXT = 6;
+        static final int UNTIL = 7;
+        static final int RELEASE = 8;
+
+        final int kind;
+        final String ap;
+        final Formula left;
+        final Formula right;
+        int id;
+
+        Formula(int kind, String ap, Formula left, Formula right) {
+
+            this.kind = kind;
+            this.ap = ap;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Formula)) {
+                return false;
+            }
+            Formula formula = (Formula) other;
+            return kind == formula.kind
+                    && Objects.equals(ap, formula.ap)
+                    && left == formula.left
+                    && right == formula.right;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(kind, ap, System.identityHashCode(left), System.identityHashCode(right));
+        }
+    }
+
+    /**
+     * A node of the construction by Gerth et al. New formulae still have to be processed, old formulae have already
+     * been processed and next formulae have to hold in all successors.
+     */
+    private static final class TableauNode {
+
+        final TIntSet incoming = new TIntHashSet();
+        final BitSet newFormulae;
+        final BitSet oldFormulae;
+        final BitSet nextFormulae;
+
+        TableauNode(BitSet newFormulae, BitSet oldFormulae, BitSet nextFormulae) {
+
+            this.newFormulae = newFormulae;
+            this.oldFormulae = oldFormulae;
+            this.nextFormulae = nextFormulae;
+        }
+    }
+
+    private static final class Translation {
+
+        private static final int INIT = -1;
+
+        private final Map<Formula, Formula> interned = new HashMap<>();
+        private final List<Formula> formulae = new ArrayList<>();
+
+        private final List<TableauNode> nodes = new ArrayList<>();
+        private final Map<List<BitSet>, Integer> nodeIds = new HashMap<>();
+
+        private Formula intern(int kind, String ap, Formula left, Formula right) {
+
+            Formula formula = new Formula(kind, ap, left, right);
+            Formula present = interned.get(formula);
+            if (present != null) {
+                return present;
+            }
+            formula.id = formulae.size();
+            formulae.add(formula);
+            interned.put(formula, formula);
+            return formula;
+        }
+
+        /**
+         * Converts a formula of the parsed syntax tree into negation normal form.
+         *
+         * @param node    The syntax tree to convert.
+         * @param negated True if and only if the negation of the syntax tree should be converted.
+         * @return The converted formula.
+         */
+        Formula convert(Node node, boolean negated) {
+
+            if (node instanceof ATermLtlform) {
+                return convert(((ATermLtlform) node).getTerm(), negated);
+            } else if (node instanceof AStateformLtlform) {
+                return convert(((AStateformLtlform) node).getStateform(), negated);
+            } else if (node instanceof ATrueTerm) {
+                return intern(negated ? Formula.FALSE : Formula.TRUE, null, null, null);
+            } else if (node instanceof AFalseTerm) {
+                return intern(negated ? Formula.TRUE : Formula.FALSE, null, null, null);
+            } else if (node instanceof AAtomicpropTerm) {
+                String ap = node.toString().trim();
+                return intern(negated ? Formula.NEGATED_AP : Formula.AP, ap, null, null);
+            } else if (node instanceof ANegStateform) {
+                return convert(((ANegStateform) node).getLtlform(), !negated);
+            } else if (node instanceof AAndStateform) {
+                AAndStateform and = (AAndStateform) node;
+                return intern(negated ? Formula.OR : Formula.AND, null,
+                        convert(and.getLeftform(), negated), convert(and.getRightform(), negated));
+            } else if (node instanceof AOrStateform) {
+                AOrStateform or = (AOrStateform) node;
+                return intern(negated ? Formula.AND : Formula.OR, null,
+                        convert(or.getLeftform(), negated), convert(or.getRightform(), negated));
+            } else if (node instanceof AImpliesLtlform) {
+                AImpliesLtlform implies = (AImpliesLtlform) node;
+                return intern(negated ? Formula.AND : Formula.OR, null,
+                        convert(implies.getLeftform(), !negated), convert(implies.getRightform(), negated));
+            } else if (node instanceof ANextLtlform) {
+                return intern(Formula.NEXT, null, convert(((ANextLtlform) node).getLtlform(), negated), null);
+            } else if (node instanceof AUntilLtlform) {
+                AUntilLtlform until = (AUntilLtlform) node;
+                return intern(negated ? Formula.RELEASE : Formula.UNTIL, null,
+                        convert(until.getLeftform(), negated), convert(until.getRightform(), negated));
+            } else if (node instanceof AReleaseLtlform) {
+                AReleaseLtlform release = (AReleaseLtlform) node;
+                return intern(negated ? Formula.UNTIL : Formula.RELEASE, null,
+                        convert(release.getLeftform(), negated), convert(release.getRightform(), negated));
+            } else if (node instanceof AFinallyLtlform) {
+                // F f = true U f and !F f = false R !f
+                Formula operand = convert(((AFinallyLtlform) node).getLtlform(), negated);
+                return intern(negated ? Formula.RELEASE : Formula.UNTIL, null,
+                        intern(negated ? Formula.FALSE : Formula.TRUE, null, null, null), operand);
+            } else if (node instanceof AGloballyLtlform) {
+                // G f = false R f and !G f = true U !f
+                Formula operand = convert(((AGloballyLtlform) node).getLtlform(), negated);
+                return intern(negated ? Formula.UNTIL : Formula.RELEASE, null,
+                        intern(negated ? Formula.TRUE : Formula.FALSE, null, null, null), operand);
+            }
+
+            throw new IllegalArgumentException("Unsupported LTL formula: " + node);
+        }
+
+        BuchiAutomaton construct(Formula formula) {
+
+            BitSet initial = new BitSet();
+            initial.set(formula.id);
+            TableauNode start = new TableauNode(initial, new BitSet(), new BitSet());
+            start.incoming.add(INIT);
+            expand(start);
+
+            List<Formula> untilFormulae = new ArrayList<>();
+            for (Formula f : formulae) {
+                if (f.kind == Formula.UNTIL) {
+                    untilFormulae.add(f);
+                }
+            }
+            if (untilFormulae.size() > MAX_ACCEPTANCE_SETS) {
+                throw new IllegalArgumentException("LTL formulae may contain at most " + MAX_ACCEPTANCE_SETS
+                        + " until subformulae.");
+            }
+
+            int size = nodes.size();
+            TIntArrayList initialStates = new TIntArrayList();
+            List<TIntArrayList> successors = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                successors.add(new TIntArrayList());
+            }
+
+            String[][] positiveLabels = new String[size][];
+            String[][] negativeLabels = new String[size][];
+            long[] acceptanceMarks = new long[size];
+
+            for (int state = 0; state < size; state++) {
+                TableauNode node = nodes.get(state);
+                int[] predecessors = node.incoming.toArray();
+                Arrays.sort(predecessors);
+                for (int predecessor : predecessors) {
+                    if (predecessor == INIT) {
+                        initialStates.add(state);
+                    } else {
+                        successors.get(predecessor).add(state);
+                    }
+                }
+
+                List<String> positive = new ArrayList<>();
+                List<String> negative = new ArrayList<>();
+                for (int i = node.oldFormulae.nextSetBit(0); i >= 0; i = node.oldFormulae.nextSetBit(i + 1)) {
+                    Formula f = formulae.get(i);
+                    if (f.kind == Formula.AP) {
+                        positive.add(f.ap);
+                    } else if (f.kind == Formula.NEGATED_AP) {
+                        negative.add(f.ap);
+                    }
+                }
+                positiveLabels[state] = positive.toArray(new String[0]);
+                negativeLabels[state] = negative.toArray(new String[0]);
+
+                for (int k = 0; k < untilFormulae.size(); k++) {
+                    Formula until = untilFormulae.get(k);
+                    if (!node.oldFormulae.get(until.id) || node.oldFormulae.get(until.right.id)) {
+                        acceptanceMarks[state] |= 1L << k;
+                    }
+                }
+            }
+
+            int[][] successorArrays = new int[size][];
+            for (int state = 0; state < size; state++) {
+                successorArrays[state] = successors.get(state).toArray();
+            }
+
+            long allAcceptanceMarks = untilFormulae.size() == MAX_ACCEPTANCE_SETS
+                    ? -1L
+                    : (1L << untilFormulae.size()) - 1;
+
+            return new BuchiAutomaton(initialStates.toArray(), successorArrays,
+                    positiveLabels, negativeLabels, acceptanceMarks, allAcceptanceMarks);
+        }
+
+        private void expand(TableauNode node) {
+
+            if (node.newFormulae.isEmpty()) {
+                List<BitSet> key = Arrays.asList(node.oldFormulae, node.nextFormulae);
+                Integer present = nodeIds.get(key);
+                if (present != null) {
+                    nodes.get(present).incoming.addAll(node.incoming);
+                    return;
+                }
+
+                int id = nodes.size();
+                nodes.add(node);
+                nodeIds.put(key, id);
+
+                TableauNode successor = new TableauNode((BitSet) node.nextFormulae.clone(), new BitSet(), new BitSet());
+                successor.incoming.add(id);
+                expand(successor);
+                return;
+            }
+
+            int next = node.newFormulae.nextSetBit(0);
+            node.newFormulae.clear(next);
+            Formula formula = formulae.get(next);
+
+            switch (formula.kind) {
+                case Formula.FALSE:
+                    return;
+                case Formula.TRUE:
+                    expand(withOld(node, formula));
+                    return;
+                case Formula.AP:
+                case Formula.NEGATED_AP:
+                    if (node.oldFormulae.get(negationOf(formula).id)) {
+                        return;
+                    }
+                    expand(withOld(node, formula));
+                    return;
+                case Formula.AND:
+                    TableauNode conjunction = withOld(node, formula);
+                    addNew(conjunction, formula.left);
+                    addNew(conjunction, formula.right);
+                    expand(conjunction);
+                    return;
+                case Formula.NEXT:
+                    TableauNode successor = withOld(node, formula);
+                    successor.nextFormulae.set(formula.left.id);
+                    expand(successor);
+                    return;
+                case Formula.OR:
+                case Formula.UNTIL:
+                case Formula.RELEASE:
+                    TableauNode first = withOld(node, formula);
+                    TableauNode second = withOld(node, formula);
+                    if (formula.kind == Formula.OR) {
+                        addNew(first, formula.left);
+                        addNew(second, formula.right);
+                    } else if (formula.kind == Formula.UNTIL) {
+                        addNew(first, formula.left);
+                        first.nextFormulae.set(formula.id);
+                        addNew(second, formula.right);
+                    } else {
+                        addNew(first, formula.right);
+                        first.nextFormulae.set(formula.id);
+                        addNew(second, formula.left);
+                        addNew(second, formula.right);
+                    }
+                    expand(first);
+                    expand(second);
+                    return;
+                default:
+                    throw new IllegalStateException("Unknown kind of formula: " + formula.kind);
+            }
+        }
+
+        private Formula negationOf(Formula literal) {
+
+            int kind = literal.kind == Formula.AP ? Formula.NEGATED_AP : Formula.AP;
+            return intern(kind, literal.ap, null, null);
+        }
+
+        private TableauNode withOld(TableauNode node, Formula formula) {
+
+            BitSet oldFormulae = (BitSet) node.oldFormulae.clone();
+            oldFormulae.set(formula.id);
+            TableauNode result = new TableauNode((BitSet) node.newFormulae.clone(), oldFormulae, (BitSet) node.nextFormulae.clone());
+            result.incoming.addAll(node.incoming);
+            return result;
+        }
+
+        private void addNew(TableauNode node, Formula formula) {
+
+            if (!node.oldFormulae.get(formula.id)) {
+                node.newFormulae.set(formula.id);
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+import gnu.trove.set.hash.TLongHashSet;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.function.LongPredicate;
+
+/**
+ * An alternative to {@link SimpleProofStructure} that checks an LTL formula by automata-theoretic model checking.
+ * <p>
+ * The negation of the formula is translated once into a {@link BuchiAutomaton}. The product of the state space
+ * and this automaton is then explored on-the-fly and checked for emptiness by the SCC-based algorithm of Couvreur
+ * (On-the-fly Verification of Linear Temporal Logic, 1999). The formula is satisfied if and only if the product
+ * contains no accepting cycle. Otherwise, a lasso-shaped path witnessing the violation is reported as a
+ * {@link FailureTrace}: the trace first leads to the cycle and then follows the cycle once.
+ * <p>
+ * Product states are encoded as longs containing the id of a program state and a state of the automaton.
+ * The state space is only read. A BuchiModelChecker may thus run concurrently to other checks of the same
+ * state space.
+ */
+public class BuchiModelChecker {
+
+    private StateSpace stateSpace;
+    private BuchiAutomaton automaton;
+
+    /**
+     * Maps every visited product state to its depth-first search number or to zero if its SCC has been
+     * completely explored.
+     */
+    private final TLongIntHashMap dfsNumbers = new TLongIntHashMap();
+    private final TIntArrayList rootNumbers = new TIntArrayList();
+    private final TLongArrayList rootMarks = new TLongArrayList();
+    private final TLongArrayList activeStates = new TLongArrayList();
+    private final Deque<Frame> callStack = new ArrayDeque<>();
+    private int count = 0;
+
+    private boolean successful = true;
+    private FailureTrace failureTrace = null;
+    private int checkedStates = 0;
+
+    /**
+     * Checks whether all paths of the state space starting in an initial state satisfy the given formula.
+     *
+     * @param stateSpace The (labelled) state space.
+     * @param formula    The formula to check.
+     */
+    public void check(StateSpace stateSpace, LTLFormula formula) {
+
+        this.stateSpace = stateSpace;
+        this.automaton = BuchiAutomaton.forNegationOf(formula);
+
+        TIntIterator initialStates = stateSpace.getInitialStateIds().iterator();
+        while (initialStates.hasNext() && successful) {
+            int stateId = initialStates.next();
+            for (int automatonState : automaton.getInitialStates()) {
+                long initial = productState(stateId, automatonState);
+                if (matches(stateId, automatonState) && !dfsNumbers.containsKey(initial)) {
+                    search(initial);
+                    if (!successful) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    public boolean isSuccessful() {
+
+        return successful;
+    }
+
+    /**
+     * @return A path violating the checked formula or null if the formula is satisfied.
+     */
+    public FailureTrace getFailureTrace() {
+
+        return failureTrace;
+    }
+
+    /**
+     * @return The number of explored product states.
+     */
+    public int getNumberOfCheckedStates() {
+
+        return checkedStates;
+    }
+
+    private void search(long initial) {
+
+        push(initial);
+
+        while (!callStack.isEmpty()) {
+
+            Frame frame = callStack.peek();
+            if (frame.next < frame.successors.size()) {
+
+                long successor = frame.successors.get(frame.next++);
+                if (!dfsNumbers.containsKey(successor)) {
+                    push(successor);
+                    continue;
+                }
+
+                int number = dfsNumbers.get(successor);
+                if (number > 0) {
+                    // merge all partial SCCs on the cycle closed by this edge
+                    long marks = 0;
+                    while (number < rootNumbers.get(rootNumbers.size() - 1)) {
+                        marks |= rootMarks.removeAt(rootMarks.size() - 1);
+                        rootNumbers.removeAt(rootNumbers.size() - 1);
+                    }
+                    int top = rootMarks.size() - 1;
+                    rootMarks.set(top, rootMarks.get(top) | marks);
+
+                    long all = automaton.getAllAcceptanceMarks();
+                    if ((rootMarks.get(top) & all) == all) {
+                        successful = false;
+                        failureTrace = createFailureTrace(frame.state, rootNumbers.get(top));
+                        return;
+                    }
+                }
+            } else {
+                callStack.pop();
+                int number = dfsNumbers.get(frame.state);
+                if (rootNumbers.get(rootNumbers.size() - 1) == number) {
+                    // the SCC rooted in frame.state has been completely explored and contains no accepting cycle
+                    rootNumbers.removeAt(rootNumbers.size() - 1);
+                    rootMarks.removeAt(rootMarks.size() - 1);
+                    long removed;
+                    do {
+                        removed = activeStates.removeAt(activeStates.size() - 1);
+                        dfsNumbers.put(removed, 0);
+                    } while (removed != frame.state);
+                }
+            }
+        }
+    }
+
+    private void push(long state) {
+
+        ++count;
+        ++checkedStates;
+        dfsNumbers.put(state, count);
+        rootNumbers.add(count);
+        rootMarks.add(automaton.getAcceptanceMarks(automatonStateOf(state)));
+        activeStates.add(state);
+        callStack.push(new Frame(state, successorsOf(state)));
+    }
+
+    /**
+     * Creates a lasso-shaped failure trace. The trace consists of the current path of the depth-first search
+     * followed by a cycle through the given state that visits every acceptance set.
+     *
+     * @param state      The product state at which an accepting cycle has been detected.
+     * @param rootNumber The depth-first search number of the root of the SCC containing state.
+     * @return The failure trace.
+     */
+    private FailureTrace createFailureTrace(long state, int rootNumber) {
+
+        TIntArrayList trace = new TIntArrayList();
+        for (Iterator<Frame> iter = callStack.descendingIterator(); iter.hasNext(); ) {
+            trace.add(stateIdOf(iter.next().state));
+        }
+
+        LongPredicate inScc = s -> dfsNumbers.get(s) >= rootNumber;
+
+        long all = automaton.getAllAcceptanceMarks();
+        long missing = all & ~automaton.getAcceptanceMarks(automatonStateOf(state));
+        long current = state;
+        while (missing != 0) {
+            final long required = missing;
+            TLongArrayList path = findPath(current, inScc,
+                    s -> (automaton.getAcceptanceMarks(automatonStateOf(s)) & required) != 0);
+            for (int i = 0; i < path.size(); i++) {
+                trace.add(stateIdOf(path.get(i)));
+            }
+            current = path.get(path.size() - 1);
+            missing &= ~automaton.getAcceptanceMarks(automatonStateOf(current));
+        }
+
+        // close the cycle; the final step back to state is implicit
+        TLongArrayList path = findPath(current, inScc, s -> s == state);
+        for (int i = 0; i < path.size() - 1; i++) {
+            trace.add(stateIdOf(path.get(i)));
+        }
+
+        return new FailureTrace(trace, stateSpace);
+    }
+
+    /**
+     * Performs a breadth-first search for a product state satisfying target.
+     *
+     * @param from    The start of the search.
+     * @param allowed Determines the product states that may be visited.
+     * @param target  Determines the product states that should be reached.
+     * @return A shortest path of length at least one from 'from' to a target state (excluding 'from').
+     */
+    private TLongArrayList findPath(long from, LongPredicate allowed, LongPredicate target) {
+
+        TLongLongHashMap predecessors = new TLongLongHashMap();
+        TLongHashSet seen = new TLongHashSet();
+        ArrayDeque<Long> queue = new ArrayDeque<>();
+        queue.add(from);
+
+        while (!queue.isEmpty()) {
+            long current = queue.poll();
+            TLongArrayList successors = successorsOf(current);
+            for (int i = 0; i < successors.size(); i++) {
+                long successor = successors.get(i);
+                if (!allowed.test(successor) || !seen.add(successor)) {
+                    continue;
+                }
+                predecessors.put(successor, current);
+                if (target.test(successor)) {
+                    TLongArrayList path = new TLongArrayList();
+                    long s = successor;
+                    path.add(s);
+                    while (predecessors.get(s) != from) {
+                        s = predecessors.get(s);
+                        path.add(s);
+                    }
+                    path.reverse();
+                    return path;
+                }
+                queue.add(successor);
+            }
+        }
+
+        throw new IllegalStateException("Product states of an accepting SCC are not strongly connected.");
+    }
+
+    private TLongArrayList successorsOf(long productState) {
+
+        TIntArrayList stateSuccessors = successorStateIdsOf(stateIdOf(productState));
+        int[] automatonSuccessors = automaton.getSuccessors(automatonStateOf(productState));
+
+        TLongArrayList result = new TLongArrayList(stateSuccessors.size() * automatonSuccessors.length);
+        for (int i = 0; i < stateSuccessors.size(); i++) {
+            int stateId = stateSuccessors.get(i);
+            for (int automatonState : automatonSuccessors) {
+                if (matches(stateId, automatonState)) {
+                    result.add(productState(stateId, automatonState));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collects the successors of a state that are relevant for model checking, i.e. materialization steps
+     * are skipped and final states have themselves as successor.
+     */
+    private TIntArrayList successorStateIdsOf(int stateId) {
+
+        TIntArrayList result = new TIntArrayList();
+        TIntArrayList materializationSuccessorIds = stateSpace.getMaterializationSuccessorsIdsOf(stateId);
+        if (!materializationSuccessorIds.isEmpty()) {
+            for (int i = 0; i < materializationSuccessorIds.size(); i++) {
+                // Every materialisation state is followed by a control flow state
+                addAbsent(result, stateSpace.getControlFlowSuccessorsIdsOf(materializationSuccessorIds.get(i)));
+            }
+        } else {
+            addAbsent(result, stateSpace.getControlFlowSuccessorsIdsOf(stateId));
+            // In case the state is final
+            addAbsent(result, stateSpace.getArtificialInfPathsSuccessorsIdsOf(stateId));
+        }
+        return result;
+    }
+
+    private static void addAbsent(TIntArrayList result, TIntArrayList ids) {
+
+        for (int i = 0; i < ids.size(); i++) {
+            int id = ids.get(i);
+            if (!result.contains(id)) {
+                result.add(id);
+            }
+        }
+    }
+
+    private boolean matches(int stateId, int automatonState) {
+
+        for (String ap : automaton.getPositiveLabels(automatonState)) {
+            if (!stateSpace.satisfiesAP(stateId, ap)) {
+                return false;
+            }
+        }
+        for (String ap : automaton.getNegativeLabels(automatonState)) {
+            if (stateSpace.satisfiesAP(stateId, ap)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long productState(int stateId, int automatonState) {
+
+        return ((long) stateId << 32) | (automatonState & 0xFFFFFFFFL);
+    }
+
+    private static int stateIdOf(long productState) {
+
+        return (int) (productState >>> 32);
+    }
+
+    private static int automatonStateOf(long productState) {
+
+        return (int) productState;
+    }
+
+    private static final class Frame {
+
+        final long state;
+        final TLongArrayList successors;
+        int next = 0;
+
+        Frame(long state, TLongArrayList successors) {
+
+            this.state = state;
+            this.successors = successors;
+        }
+    }
+}
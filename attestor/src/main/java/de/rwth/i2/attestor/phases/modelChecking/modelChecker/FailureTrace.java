@@ -7,6 +7,7 @@ import java.util.List;
 import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import gnu.trove.list.array.TIntArrayList;
 
 public class FailureTrace implements ModelCheckingTrace {
 
@@ -44,6 +45,21 @@ public class FailureTrace implements ModelCheckingTrace {
         iterator = stateTrace.iterator();
     }
 
+    /**
+     * @param stateIdTrace The ids of the states on the trace, starting with an initial state.
+     * @param stateSpace   The state space containing the states of the trace.
+     */
+    public FailureTrace(TIntArrayList stateIdTrace, StateSpace stateSpace) {
+
+        for (int i = 0; i < stateIdTrace.size(); i++) {
+            int stateId = stateIdTrace.get(i);
+            this.stateIdTrace.add(stateId);
+            this.stateTrace.add(stateSpace.getState(stateId));
+        }
+
+        iterator = stateTrace.iterator();
+    }
+
     @Override
     public List<Integer> getStateIdTrace() {
 
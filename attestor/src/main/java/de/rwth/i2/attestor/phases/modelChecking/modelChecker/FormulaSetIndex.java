@@ -0,0 +1,82 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.rwth.i2.attestor.generated.node.Node;
+
+/**
+ * Interns the (sub)formulae and formula sets occurring in the assertions of a proof structure.
+ * <p>
+ * Every distinct node of the syntax tree of a formula is assigned a small integer id when it is seen for
+ * the first time. Sets of formulae are represented by bitsets over these ids and are themselves interned
+ * to integer ids. Hence, two assertions share a formula set if and only if their formula set ids coincide,
+ * which allows to detect duplicate assertions by a single hash lookup.
+ * <p>
+ * An index is owned by a single proof structure and is not thread-safe.
+ */
+public class FormulaSetIndex {
+
+    private final Map<Node, Integer> formulaIds = new IdentityHashMap<>();
+    private final Map<BitSet, Integer> formulaSetIds = new HashMap<>();
+    private final List<BitSet> formulaSets = new ArrayList<>();
+
+    /**
+     * @param formula A node of the syntax tree of a formula.
+     * @return The id of the given formula.
+     */
+    public int getFormulaId(Node formula) {
+
+        Integer id = formulaIds.get(formula);
+        if (id == null) {
+            id = formulaIds.size();
+            formulaIds.put(formula, id);
+        }
+        return id;
+    }
+
+    /**
+     * @param formulaSet A set of formula ids.
+     * @return The id of the given formula set.
+     */
+    public int getFormulaSetId(BitSet formulaSet) {
+
+        Integer id = formulaSetIds.get(formulaSet);
+        if (id == null) {
+            BitSet canonical = (BitSet) formulaSet.clone();
+            id = formulaSetIds.size();
+            formulaSetIds.put(canonical, id);
+            formulaSets.add(canonical);
+        }
+        return id;
+    }
+
+    /**
+     * @param formulaSetId The id of a previously interned formula set.
+     * @return The shared representative of the formula set. It must not be modified.
+     */
+    BitSet getFormulaSet(int formulaSetId) {
+
+        return formulaSets.get(formulaSetId);
+    }
+
+    /**
+     * @return The number of distinct formulae seen so far.
+     */
+    public int getNumberOfFormulae() {
+
+        return formulaIds.size();
+    }
+
+    /**
+     * @return The number of distinct formula sets interned so far.
+     */
+    public int getNumberOfFormulaSets() {
+
+        return formulaSetIds.size();
+    }
+}
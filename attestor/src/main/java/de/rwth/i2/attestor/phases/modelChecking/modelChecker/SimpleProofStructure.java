@@ -1,6 +1,5 @@
 package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
 
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -25,6 +24,10 @@ import gnu.trove.set.hash.TIntHashSet;
 /**
  * Implements the proof structure for the tableaux construction similar to {@link ProofStructure} 
  * but employs {@link Assertion2} for modeling assertions.
+ * <p>
+ * All assertions and edges are owned by a single proof structure, whereas the state space and the
+ * syntax tree of the checked formula are only read. Proof structures for different formulae may thus
+ * be built concurrently over the same state space.
  * 
  * @author sally
  *
@@ -47,7 +50,7 @@ public class SimpleProofStructure extends AbstractProofStructure {
 		this.stateSpace = stateSpace;
 		
 		for (ProgramState state : this.stateSpace.getInitialStates()) {
-			Assertion2 assertion = new Assertion2(state, null, formula);
+			Assertion2 assertion = new Assertion2(state, null, formula, formulaSetIndex);
 			addAssertion(assertion);
 			queue.add(assertion);
 		}		
@@ -124,7 +127,7 @@ public class SimpleProofStructure extends AbstractProofStructure {
 
 		for (ProgramState successorProgramState : getSuccessorStates(assertion.getProgramState())) {
 			// successor nodes of the current node have to satisfy the Next formulae of the current node
-			Assertion2 successorAssertion = new Assertion2(successorProgramState, assertion, true);
+			Assertion2 successorAssertion = new Assertion2(successorProgramState, assertion, true, formulaSetIndex);
 			successorAssertion.addFormulae(assertion.getNextFormulae());
 			successorAssertions.add(successorAssertion);
 		}
@@ -138,6 +141,7 @@ public class SimpleProofStructure extends AbstractProofStructure {
 	 */
 	private void addAssertion(Assertion2 assertion) {
 			
+		registerAssertion(assertion);
 		int stateId = assertion.getProgramState().getStateSpaceId();
         Set<Assertion2> assertionsOfId = stateIdToAssertions.get(stateId);
         if (assertionsOfId == null) {
@@ -149,34 +153,6 @@ public class SimpleProofStructure extends AbstractProofStructure {
         }
 	}
 	
-	/**
-     * This method collects all vertices, whose program state component is equal to
-     * the input program state.
-     *
-     * @param programState, the state that the vertices are checked for
-     * @return a set containing all assertions with program state component 'state',
-     * if none exist an empty set is returned.
-     */
-    private Set<Assertion2> getAssertionsForState(int programStateID) {
-
-        Set<Assertion2> result = stateIdToAssertions.get(programStateID);  // need to store complete state object      
-        if (result == null) return Collections.emptySet();
-        
-        return result;
-    }
-    
-    private Assertion2 getPresentAssertion(Assertion2 assertion) {
-
-		Set<Assertion2> presentAssertions = getAssertionsForState(assertion.getProgramState().getStateSpaceId());
-        if (!presentAssertions.isEmpty()) {
-            for (Assertion2 presentAssertion : presentAssertions) {            	
-                if (assertion.equals(presentAssertion)) return presentAssertion;
-            }
-        }
-        
-        return null;
-	}
-
     /**
 	 * Gets successor states from state space.
 	 * @param state
@@ -49,6 +49,8 @@ import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
  *	    			| "{" <variable> " == " <variable> "}"
  *	    			| "{" <variable> " != " <variable> "}"
  * The implementation is similar to {@link TableauRulesSwitch} but employs {@link Assertion2} for modeling assertions.
+ * A switch is created for a single tableau step. It only reads the program state and the syntax tree of the formula
+ * and stores its results in its own "out" map. Switches can thus be applied concurrently to the same formula.
  * 
  * @author sally
  *
@@ -5,6 +5,7 @@ import de.rwth.i2.attestor.grammar.GrammarBuilder;
 import de.rwth.i2.attestor.graph.Nonterminal;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.io.FileReader;
+import de.rwth.i2.attestor.io.binary.BinaryImporter;
 import de.rwth.i2.attestor.io.jsonImport.JsonToGrammar;
 import de.rwth.i2.attestor.main.AbstractPhase;
 import de.rwth.i2.attestor.main.Attestor;
@@ -14,7 +15,6 @@ import de.rwth.i2.attestor.phases.transformers.GrammarTransformer;
 import de.rwth.i2.attestor.phases.transformers.InputSettingsTransformer;
 import org.json.JSONArray;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -62,7 +62,7 @@ public class ParseGrammarPhase extends AbstractPhase implements GrammarTransform
      * Loads a graph grammar from a file and sets it as the graph grammar underlying the current analysis or extends
      * the previously loaded grammar (if present).
      *
-     * @param filename The file storing the graph grammar.
+     * @param filename The file storing the graph grammar either in JSON or in the binary format.
      */
     public void loadGrammarFromFile(String filename) {
 
@@ -76,10 +76,15 @@ public class ParseGrammarPhase extends AbstractPhase implements GrammarTransform
         }
 
         try {
-            String str = FileReader.read(filename);
-            JSONArray array = new JSONArray(str);
-            this.grammarBuilder.addRules(parseRules(array));
-        } catch (FileNotFoundException e) {
+            if (BinaryImporter.isBinaryFile(filename)) {
+                BinaryImporter importer = new BinaryImporter(this, BinaryImporter.map(filename));
+                this.grammarBuilder.addRules(importer.parseGrammar());
+            } else {
+                String str = FileReader.read(filename);
+                JSONArray array = new JSONArray(str);
+                this.grammarBuilder.addRules(parseRules(array));
+            }
+        } catch (IOException e) {
             logger.error("Could not parse grammar at location " + filename + ". Skipping it.");
         }
 
@@ -5,6 +5,7 @@ import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.phases.communication.InputSettings;
 import de.rwth.i2.attestor.phases.transformers.InputSettingsTransformer;
 import de.rwth.i2.attestor.phases.transformers.ProgramTransformer;
+import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.JimpleParser;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.translation.StandardAbstractSemantics;
 import de.rwth.i2.attestor.stateSpaceGeneration.Program;
@@ -28,6 +29,13 @@ public class ParseProgramPhase extends AbstractPhase implements ProgramTransform
     public void executePhase() {
 
         InputSettings inputSettings = getPhase(InputSettingsTransformer.class).getInputSettings();
+
+        // the scene already contains all translated methods if it is reused for another analysis
+        if(!scene().getRegisteredMethods().isEmpty()) {
+            program = findTranslatedMethod(inputSettings.getClassName(), inputSettings.getMethodName()).getBody();
+            return;
+        }
+
         JimpleParser programParser = new JimpleParser(this, new StandardAbstractSemantics(this));
         program = programParser.parse(
                 inputSettings.getClasspath(),
@@ -36,6 +44,30 @@ public class ParseProgramPhase extends AbstractPhase implements ProgramTransform
         );
     }
 
+    private Method findTranslatedMethod(String className, String methodName) {
+
+        String prefix = "<" + className + ": ";
+        Method result = null;
+        for(Method method : scene().getRegisteredMethods()) {
+            if(method.getBody() == null || !methodName.equals(method.getName())
+                    || !method.getSignature().startsWith(prefix)) {
+                continue;
+            }
+            if(result != null) {
+                throw new IllegalArgumentException("Ambiguous method name '" + methodName + "' in class "
+                        + className + ".");
+            }
+            result = method;
+        }
+
+        if(result == null) {
+            throw new IllegalArgumentException("Could not find method '" + methodName + "' in class "
+                    + className + ".");
+        }
+        logger.info("Reusing translated method with signature: " + result.getSignature());
+        return result;
+    }
+
     @Override
     public void logSummary() {
 
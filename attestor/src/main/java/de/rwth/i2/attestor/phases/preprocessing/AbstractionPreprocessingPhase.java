@@ -2,8 +2,10 @@ package de.rwth.i2.attestor.phases.preprocessing;
 
 import de.rwth.i2.attestor.grammar.AbstractionOptions;
 import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.grammar.canonicalization.CachingCanonicalizationStrategy;
 import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationStrategy;
 import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationStrategyBuilder;
+import de.rwth.i2.attestor.grammar.canonicalization.CompactingCanonicalizationStrategy;
 import de.rwth.i2.attestor.grammar.materialization.strategies.MaterializationStrategy;
 import de.rwth.i2.attestor.grammar.materialization.strategies.MaterializationStrategyBuilder;
 import de.rwth.i2.attestor.main.AbstractPhase;
@@ -110,20 +112,33 @@ public class AbstractionPreprocessingPhase extends AbstractPhase {
         AbstractionOptions abstractionOptions = new AbstractionOptions()
                 .setAdmissibleAbstraction(scene().options().isAdmissibleAbstractionEnabled())
                 .setAdmissibleConstants(scene().options().isAdmissibleConstantsEnabled())
-                .setAdmissibleMarkings(scene().options().isAdmissibleMarkingsEnabled());
+                .setAdmissibleMarkings(scene().options().isAdmissibleMarkingsEnabled())
+                .setOrderedMatching(scene().options().isOrderedMatchingEnabled());
 
         CanonicalizationStrategy canonicalizationStrategy =
                 new CanonicalizationStrategyBuilder()
                         .setOptions(abstractionOptions)
                         .setIndexedMode(indexedMode)
+                        .setIncremental(scene().options().isIncrementalCanonicalizationEnabled())
                         .setGrammar(grammar)
                         .build();
 
+        final boolean compactHeaps = scene().options().isCompactHeapsEnabled();
+        if (compactHeaps) {
+            canonicalizationStrategy = new CompactingCanonicalizationStrategy(canonicalizationStrategy);
+        }
+
+        int cacheSize = scene().options().getCanonicalizationCacheSize();
+        if (cacheSize > 0) {
+            canonicalizationStrategy = new CachingCanonicalizationStrategy(canonicalizationStrategy, cacheSize);
+        }
+
         scene().strategies()
                 .setCanonicalizationStrategy(canonicalizationStrategy);
 
         AbstractionOptions aggressiveOptions = new AbstractionOptions()
-                .setAdmissibleConstants(scene().options().isAdmissibleConstantsEnabled());
+                .setAdmissibleConstants(scene().options().isAdmissibleConstantsEnabled())
+                .setOrderedMatching(scene().options().isOrderedMatchingEnabled());
 
         CanonicalizationStrategy aggressiveCanonicalizationStrategy =
                 new CanonicalizationStrategyBuilder()
@@ -132,6 +147,11 @@ public class AbstractionPreprocessingPhase extends AbstractPhase {
                         .setGrammar(grammar)
                         .build();
 
+        if (compactHeaps) {
+            aggressiveCanonicalizationStrategy =
+                    new CompactingCanonicalizationStrategy(aggressiveCanonicalizationStrategy);
+        }
+
         scene().strategies()
                 .setAggressiveCanonicalizationStrategy(
                         aggressiveCanonicalizationStrategy
@@ -156,6 +176,7 @@ public class AbstractionPreprocessingPhase extends AbstractPhase {
 
         StateLabelingStrategy stateLabelingStrategy = getPhase(StateLabelingStrategyBuilderTransformer.class)
                 .getStrategy()
+                .setTransitionCacheSize(scene().options().getLabelingCacheSize())
                 .build();
         if (stateLabelingStrategy == null) {
             stateLabelingStrategy = new NoStateLabelingStrategy();
@@ -188,7 +188,8 @@ public class GrammarRefinementPhase extends AbstractPhase
         logger.info("Refining graph grammar...");
         GrammarRefinement grammarRefinement = new GrammarRefinement(
                 grammar,
-                automaton
+                automaton,
+                scene().options().getGrammarRefinementThreads()
         );
         Grammar refinedGrammar = grammarRefinement.getRefinedGrammar();
 
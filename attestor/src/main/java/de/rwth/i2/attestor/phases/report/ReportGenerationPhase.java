@@ -5,6 +5,7 @@ import de.rwth.i2.attestor.grammar.GrammarExporter;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.graph.heap.HeapConfigurationExporter;
 import de.rwth.i2.attestor.io.FileUtils;
+import de.rwth.i2.attestor.io.binary.BinaryExporter;
 import de.rwth.i2.attestor.io.jsonExport.cytoscapeFormat.*;
 import de.rwth.i2.attestor.io.jsonExport.inputFormat.ContractToInputFormatExporter;
 import de.rwth.i2.attestor.main.AbstractPhase;
@@ -23,6 +24,7 @@ import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceExporter;
 import de.rwth.i2.attestor.util.ZipUtils;
 
 import java.io.*;
+import java.nio.file.Paths;
 import java.util.*;
 
 public class ReportGenerationPhase extends AbstractPhase {
@@ -53,6 +55,8 @@ public class ReportGenerationPhase extends AbstractPhase {
 
         try {
             exportReport();
+            exportArchive();
+            exportBinary();
             exportGrammar();
             exportLargeStates();
             exportContracts();
@@ -87,6 +91,60 @@ public class ReportGenerationPhase extends AbstractPhase {
         summaryMessages.add(summary);
     }
 
+    private void exportArchive() throws IOException {
+
+        String location = outputSettings.getExportArchivePath();
+        if(location == null) {
+            return;
+        }
+
+        logger.info("Exporting archive...");
+
+        StateSpace stateSpace = getPhase(StateSpaceTransformer.class).getStateSpace();
+        ModelCheckingResultsTransformer transformer = getPhase(ModelCheckingResultsTransformer.class);
+
+        try (StateSpaceArchiveExporter exporter = new StateSpaceArchiveExporter(Paths.get(location),
+                outputSettings.isExportArchiveCompressed())) {
+
+            exporter.export("data", stateSpace, program);
+
+            int counter = 0;
+            for(Map.Entry<LTLFormula, ModelCheckingResult> entry : transformer.getLTLResults().entrySet()) {
+                if(entry.getValue() == ModelCheckingResult.UNSATISFIED) {
+                    StateSpace counterexample = transformer.getTraceOf(entry.getKey()).getStateSpace();
+                    exporter.export("cex_" + String.valueOf(counter), counterexample, program);
+                    ++counter;
+                }
+            }
+        }
+
+        String summary = "Archive exported to " + location;
+        logger.info(summary);
+        summaryMessages.add(summary);
+    }
+
+    private void exportBinary() throws IOException {
+
+        String location = outputSettings.getExportBinaryPath();
+        if(location == null) {
+            return;
+        }
+
+        logger.info("Exporting binary state space and grammar...");
+        FileUtils.createDirectories(location);
+
+        try (OutputStream out = new FileOutputStream(location + File.separator + "statespace.bin")) {
+            new BinaryExporter(out).export(getPhase(StateSpaceTransformer.class).getStateSpace());
+        }
+        try (OutputStream out = new FileOutputStream(location + File.separator + "grammar.bin")) {
+            new BinaryExporter(out).export(getPhase(GrammarTransformer.class).getGrammar());
+        }
+
+        String summary = "Binary state space and grammar exported to " + location;
+        logger.info(summary);
+        summaryMessages.add(summary);
+    }
+
     private void exportStateSpace(StateSpace stateSpace, String location, String directory) throws IOException {
 
         logger.info("Exporting state space...");
@@ -124,7 +182,7 @@ public class ReportGenerationPhase extends AbstractPhase {
             throws IOException {
 
         FileUtils.createDirectories(directory);
-        FileWriter writer = new FileWriter(directory + File.separator + filename);
+        Writer writer = new BufferedWriter(new FileWriter(directory + File.separator + filename));
         HeapConfigurationExporter exporter = new JsonHeapConfigurationExporter(writer);
         exporter.export(hc);
         writer.close();
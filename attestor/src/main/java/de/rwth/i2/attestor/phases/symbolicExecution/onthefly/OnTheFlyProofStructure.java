@@ -88,6 +88,7 @@ public class OnTheFlyProofStructure extends AbstractProofStructure {
 	 */
 	private void addAssertionToState(Assertion2 assertion) {
 			
+		registerAssertion(assertion);
 		int stateId = assertion.getProgramState().getStateSpaceId();
         Set<Assertion2> assertionsOfId = stateIdToAssertions.get(stateId);
         if (assertionsOfId == null) {
@@ -99,34 +100,6 @@ public class OnTheFlyProofStructure extends AbstractProofStructure {
         }
 	}
 	
-	/**
-     * This method collects all vertices, whose program state component is equal to
-     * the input program state.
-     *
-     * @param programState, the state that the vertices are checked for
-     * @return a set containing all assertions with program state component 'state',
-     * if none exist an empty set is returned.
-     */
-    private Set<Assertion2> getAssertionsForState(int stateId) {
-
-        Set<Assertion2> result = stateIdToAssertions.get(stateId);  // need to store complete state object      
-        if (result == null) return Collections.emptySet();
-        
-        return result;
-    }
-    
-    private Assertion2 getPresentAssertion(Assertion2 assertion) {
-
-		Set<Assertion2> presentAssertions = getAssertionsForState(assertion.getProgramState().getStateSpaceId());
-        if (!presentAssertions.isEmpty()) {
-            for (Assertion2 presentAssertion : presentAssertions) {            	
-                if (assertion.equals(presentAssertion)) return presentAssertion;
-            }
-        }
-        
-        return null;
-	}
-	
 	/**
 	 * Adds an assertion to the queue of the proof structure if it does not exist yet.
 	 * 
@@ -137,7 +110,7 @@ public class OnTheFlyProofStructure extends AbstractProofStructure {
 	public void addAssertion(ProgramState state, Set<Node> formulae) {
 				
 		// create assertion from state and formulae
-		Assertion2 assertion = new Assertion2(state, currentParent, true);
+		Assertion2 assertion = new Assertion2(state, currentParent, true, formulaSetIndex);
 		for (Node formula : formulae) {
 
 			assertion.addFormula(formula);
@@ -0,0 +1,339 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl;
+
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.io.FileReader;
+import de.rwth.i2.attestor.io.FileUtils;
+import de.rwth.i2.attestor.io.jsonExport.inputFormat.ContractToInputFormatExporter;
+import de.rwth.i2.attestor.io.jsonExport.inputFormat.HCtoInputFormatExporter;
+import de.rwth.i2.attestor.io.jsonImport.HeapConfigurationRenaming;
+import de.rwth.i2.attestor.io.jsonImport.JsonToContracts;
+import de.rwth.i2.attestor.main.scene.Options;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.AssignInvoke;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.InvokeStmt;
+import de.rwth.i2.attestor.stateSpaceGeneration.Program;
+import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A content-addressed on-disk store for the contracts of methods that persists across runs.
+ * <p>
+ * The contracts of a method are stored in a file whose name is a hash of everything that may influence them:
+ * the signature of the method, the bodies of the method and of all methods it (transitively) calls,
+ * the contracts supplied via --contract for these methods, the grammar and the options affecting
+ * the abstract semantics. If any of these inputs changes, the method is
+ * mapped to a different file and its contracts are thus recomputed. Outdated files are never read again.
+ * <p>
+ * The contracts are stored in the same format as contracts supplied via --contract.
+ */
+public class ContractCache extends SceneObject {
+
+    /**
+     * Is part of every key such that changes of the file format invalidate all cached contracts.
+     */
+    private static final String FORMAT_VERSION = "contract-cache-1";
+
+    private final File directory;
+    private final HeapConfigurationRenaming renaming;
+    private final String configurationFingerprint;
+
+    private final Map<String, String> suppliedContracts = new HashMap<>();
+    private final Map<Method, String> bodyFingerprints = new HashMap<>();
+
+    /**
+     * The exported contracts of every method right after its cached contracts have been loaded.
+     */
+    private final Map<Method, String> loadedContracts = new HashMap<>();
+
+    /**
+     * @param sceneObject The scene whose options are part of the key of every method.
+     * @param directory   The directory containing the cached contracts.
+     * @param grammar     The grammar used to compute contracts.
+     * @param renaming    The renaming applied when heap configurations are read.
+     */
+    public ContractCache(SceneObject sceneObject, String directory, Grammar grammar,
+                         HeapConfigurationRenaming renaming) {
+
+        super(sceneObject);
+        this.directory = new File(directory);
+        this.renaming = renaming;
+        this.configurationFingerprint = fingerprintOf(grammar) + "\n" + fingerprintOf(scene().options());
+    }
+
+    /**
+     * @param sceneObject   The scene whose options are part of the key of every method.
+     * @param directory     The directory containing the cached contracts.
+     * @param grammar       The grammar used to compute contracts.
+     * @param renaming      The renaming applied when heap configurations are read.
+     * @param contractFiles The files containing the contracts supplied via --contract.
+     * @throws IOException if a contract file could not be read.
+     */
+    public ContractCache(SceneObject sceneObject, String directory, Grammar grammar,
+                         HeapConfigurationRenaming renaming, Collection<String> contractFiles) throws IOException {
+
+        this(sceneObject, directory, grammar, renaming);
+
+        // the contents of all files supplied for the same method are sorted to be independent of their order
+        Map<String, Set<String>> contents = new HashMap<>();
+        for (String contractFile : contractFiles) {
+            String content = FileReader.read(contractFile);
+            String signature;
+            try {
+                signature = new JsonToContracts(this, renaming).parseSignature(new JSONObject(content));
+            } catch (JSONException e) {
+                throw new IOException("Malformed contracts in " + contractFile, e);
+            }
+            contents.computeIfAbsent(signature, k -> new TreeSet<>()).add(content);
+        }
+        contents.forEach((signature, files) -> suppliedContracts.put(signature, String.join("\n", files)));
+    }
+
+    /**
+     * Adds all cached contracts of the given method to the method.
+     *
+     * @param method The method whose contracts should be loaded.
+     * @return The number of loaded contracts.
+     * @throws IOException if the cached contracts exist, but could not be read.
+     */
+    public int load(Method method) throws IOException {
+
+        File file = getFile(method);
+        if (!file.isFile()) {
+            return 0;
+        }
+
+        List<Contract> contracts;
+        try {
+            JSONObject obj = new JSONObject(FileReader.read(file.getPath()));
+            JsonToContracts importer = new JsonToContracts(this, renaming);
+            if (!method.getSignature().equals(importer.parseSignature(obj))) {
+                return 0;
+            }
+            contracts = importer.parse(obj);
+        } catch (JSONException e) {
+            throw new IOException("Malformed cached contracts in " + file, e);
+        }
+
+        for (Contract contract : contracts) {
+            method.addContract(contract);
+        }
+        loadedContracts.put(method, export(method.getSignature(), method.getContractsForExport()));
+        return contracts.size();
+    }
+
+    /**
+     * Writes all contracts of the given method to the cache unless the contracts have not changed
+     * since they have been loaded. Postconditions added to loaded contracts count as a change.
+     *
+     * @param method The method whose contracts should be stored.
+     * @return True if and only if the contracts have been written.
+     * @throws IOException if the contracts could not be written.
+     */
+    public boolean store(Method method) throws IOException {
+
+        Collection<Contract> contracts = method.getContractsForExport();
+        if (contracts.isEmpty()) {
+            return false;
+        }
+        String content = export(method.getSignature(), contracts);
+        if (content.equals(loadedContracts.get(method))) {
+            return false;
+        }
+
+        FileUtils.createDirectories(directory.getPath());
+        File file = getFile(method);
+
+        // write to a temporary file first such that concurrent runs never read partially written contracts
+        Path temporary = Files.createTempFile(directory.toPath(), file.getName(), ".tmp");
+        try {
+            try (Writer writer = new FileWriter(temporary.toFile())) {
+                writer.write(content);
+            }
+            try {
+                Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return true;
+    }
+
+    private static String export(String signature, Collection<Contract> contracts) {
+
+        StringWriter writer = new StringWriter();
+        new ContractToInputFormatExporter(writer).export(signature, contracts);
+        return writer.toString();
+    }
+
+    /**
+     * @param method A method.
+     * @return The file containing the cached contracts of the method.
+     */
+    File getFile(Method method) {
+
+        return new File(directory, getKey(method) + ".json");
+    }
+
+    /**
+     * @param method A method.
+     * @return The key under which the contracts of the method are cached.
+     */
+    String getKey(Method method) {
+
+        StringBuilder content = new StringBuilder();
+        content.append(FORMAT_VERSION).append('\n')
+                .append(configurationFingerprint).append('\n')
+                .append(method.getSignature()).append('\n');
+
+        // the fingerprints of callees are sorted by signature to be independent of the order of calls
+        Map<String, String> calledBodies = new TreeMap<>();
+        for (Method reachable : getReachableMethods(method)) {
+            calledBodies.put(reachable.getSignature(), getBodyFingerprint(reachable));
+        }
+        calledBodies.forEach((signature, body) -> content.append(signature).append('\n').append(body).append('\n'));
+
+        return sha256(content.toString());
+    }
+
+    /**
+     * @return The given method and all methods that are transitively called by it.
+     */
+    private Set<Method> getReachableMethods(Method method) {
+
+        Set<Method> result = new LinkedHashSet<>();
+        Deque<Method> worklist = new ArrayDeque<>();
+        worklist.push(method);
+        while (!worklist.isEmpty()) {
+            Method current = worklist.pop();
+            if (result.add(current)) {
+                worklist.addAll(getCalledMethods(current));
+            }
+        }
+        return result;
+    }
+
+    private static List<Method> getCalledMethods(Method method) {
+
+        Program body = method.getBody();
+        if (body == null) {
+            return Collections.emptyList();
+        }
+
+        List<Method> result = new ArrayList<>();
+        for (int pc = 0; pc < body.getSize(); pc++) {
+            SemanticsCommand statement = body.getStatement(pc);
+            if (statement instanceof InvokeStmt) {
+                result.add(((InvokeStmt) statement).getMethod());
+            } else if (statement instanceof AssignInvoke) {
+                result.add(((AssignInvoke) statement).getMethod());
+            }
+        }
+        return result;
+    }
+
+    private String getBodyFingerprint(Method method) {
+
+        return bodyFingerprints.computeIfAbsent(method, m -> {
+            StringBuilder result = new StringBuilder();
+            String supplied = suppliedContracts.get(m.getSignature());
+            if (supplied != null) {
+                result.append("<supplied contracts>\n").append(supplied).append('\n');
+            }
+            Program body = m.getBody();
+            if (body == null) {
+                return result.append("<no body>").toString();
+            }
+            for (int pc = 0; pc < body.getSize(); pc++) {
+                SemanticsCommand statement = body.getStatement(pc);
+                result.append(pc).append(": ").append(statement)
+                        .append(" -> ").append(new TreeSet<>(statement.getSuccessorPCs()))
+                        .append('\n');
+            }
+            return result.toString();
+        });
+    }
+
+    private static String fingerprintOf(Grammar grammar) {
+
+        Set<String> rules = new TreeSet<>();
+        for (Nonterminal nonterminal : grammar.getAllLeftHandSides()) {
+            StringBuilder lhs = new StringBuilder(nonterminal.getLabel()).append('/').append(nonterminal.getRank());
+            for (int tentacle = 0; tentacle < nonterminal.getRank(); tentacle++) {
+                lhs.append(nonterminal.isReductionTentacle(tentacle) ? 'r' : '-');
+            }
+            for (HeapConfiguration rhs : grammar.getRightHandSidesFor(nonterminal)) {
+                rules.add(lhs + " -> " + HCtoInputFormatExporter.getInInputFormat(rhs));
+            }
+        }
+        return String.join("\n", rules);
+    }
+
+    /**
+     * Only options that influence the computed contracts are considered. Options that merely affect
+     * performance, such as the number of threads, may change without invalidating cached contracts.
+     */
+    private static String fingerprintOf(Options options) {
+
+        return "removeDeadVariables=" + options.isRemoveDeadVariables()
+                + ",grammarRefinement=" + options.isGrammarRefinementEnabled()
+                + ",garbageCollection=" + options.isGarbageCollectionEnabled()
+                + ",postProcessing=" + options.isPostprocessingEnabled()
+                + ",ruleCollapsing=" + options.isRuleCollapsingEnabled()
+                + ",admissibleAbstraction=" + options.isAdmissibleAbstractionEnabled()
+                + ",admissibleConstants=" + options.isAdmissibleConstantsEnabled()
+                + ",admissibleMarkings=" + options.isAdmissibleMarkingsEnabled()
+                + ",admissibleFull=" + options.isAdmissibleFullEnabled()
+                + ",chainAbstraction=" + options.isChainAbstractionEnabled()
+                + ",indexedMode=" + options.isIndexedMode()
+                + ",canonical=" + options.isCanonicalEnabled()
+                + ",maxHeap=" + options.getMaxHeap();
+    }
+
+    private static String sha256(String content) {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder result = new StringBuilder(2 * hash.length);
+            for (byte b : hash) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
@@ -2,9 +2,8 @@ package de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.procedures.Contract;
@@ -12,29 +11,40 @@ import de.rwth.i2.attestor.procedures.ContractCollection;
 import de.rwth.i2.attestor.procedures.ContractMatch;
 import de.rwth.i2.attestor.procedures.PreconditionMatchingStrategy;
 
+/**
+ * Stores the contracts of a single method indexed by the {@link PreconditionFingerprint} of their preconditions.
+ * Only contracts whose precondition has the same fingerprint as the requested heap configuration are checked
+ * for an isomorphism.
+ * <p>
+ * All operations are atomic such that procedure calls may be analyzed concurrently.
+ * Matches refer to a snapshot of the postconditions that is not affected by postconditions added later on.
+ */
 public class InternalContractCollection implements ContractCollection {
 
     private final PreconditionMatchingStrategy preconditionMatchingStrategy;
 
-    private final Map<Integer, Collection<Contract>> contracts;
+    private final Map<PreconditionFingerprint, Collection<Contract>> contracts;
+
+    private int lookups = 0;
+    private int hits = 0;
+    private int isomorphismChecks = 0;
 
     public InternalContractCollection(PreconditionMatchingStrategy preconditionMatchingStrategy) {
 
         this.preconditionMatchingStrategy = preconditionMatchingStrategy;
-        this.contracts = new HashMap<>();
+        this.contracts = new LinkedHashMap<>();
     }
 
     @Override
-    public void addContract(Contract contract) {
+    public synchronized void addContract(Contract contract) {
 
-        int preconditionHash = contract.getPrecondition().hashCode();
-        if(!contracts.containsKey(preconditionHash)) {
-            Collection<Contract> value = new ArrayList<>();
-            value.add(contract);
-            contracts.put(preconditionHash, value);
+        PreconditionFingerprint fingerprint = PreconditionFingerprint.of(contract.getPrecondition());
+        Collection<Contract> indexedContracts = contracts.get(fingerprint);
+        if(indexedContracts == null) {
+            indexedContracts = new ArrayList<>();
+            contracts.put(fingerprint, indexedContracts);
         } else {
-            Collection<Contract> hashedContracts = contracts.get(preconditionHash);
-            for (Contract c : hashedContracts) {
+            for (Contract c : indexedContracts) {
                 ContractMatch match = preconditionMatchingStrategy.match(c, contract.getPrecondition());
                 if (match.hasMatch()) {
                     c.addPostconditions(contract.getPostconditions());
@@ -42,20 +52,45 @@ public class InternalContractCollection implements ContractCollection {
                     return;
                 }
             }
-            hashedContracts.add(contract);
         }
+        indexedContracts.add(contract);
     }
 
+    /**
+     * Lookups performed by this method are not counted in the statistics of this collection.
+     */
     @Override
-    public ContractMatch matchContract(HeapConfiguration precondition) {
+    public synchronized boolean addContractIfAbsent(Contract contract) {
 
-        int preconditionHash = precondition.hashCode();
-        if(!contracts.containsKey(preconditionHash)) {
-            contracts.put(preconditionHash, new ArrayList<>());
+        PreconditionFingerprint fingerprint = PreconditionFingerprint.of(contract.getPrecondition());
+        Collection<Contract> indexedContracts = contracts.get(fingerprint);
+        if(indexedContracts == null) {
+            indexedContracts = new ArrayList<>();
+            contracts.put(fingerprint, indexedContracts);
+        } else {
+            for (Contract c : indexedContracts) {
+                if (preconditionMatchingStrategy.match(c, contract.getPrecondition()).hasMatch()) {
+                    return false;
+                }
+            }
         }
-        for(Contract contract : contracts.get(preconditionHash)) {
+        indexedContracts.add(contract);
+        return true;
+    }
+
+    @Override
+    public synchronized ContractMatch matchContract(HeapConfiguration precondition) {
+
+        ++lookups;
+        Collection<Contract> indexedContracts = contracts.get(PreconditionFingerprint.of(precondition));
+        if(indexedContracts == null) {
+            return ContractMatch.NO_CONTRACT_MATCH;
+        }
+        for(Contract contract : indexedContracts) {
+            ++isomorphismChecks;
             ContractMatch match = preconditionMatchingStrategy.match(contract, precondition);
             if(match.hasMatch()) {
+                ++hits;
                 return match;
             }
         }
@@ -64,11 +99,43 @@ public class InternalContractCollection implements ContractCollection {
     }
 
 	@Override
-	public Collection<Contract> getContractsForExport() {
+	public synchronized Collection<Contract> getContractsForExport() {
 		Collection<Contract> contractsForExport = new ArrayList<>();
-		for( Entry<Integer, Collection<Contract>> entry : contracts.entrySet() ){
-			contractsForExport.addAll(entry.getValue());
+		for( Collection<Contract> indexedContracts : contracts.values() ){
+			contractsForExport.addAll(indexedContracts);
 		}
 		return contractsForExport;
 	}
+
+    /**
+     * @return The number of calls of {@link #matchContract(HeapConfiguration)}.
+     */
+    public synchronized int getNumberOfLookups() {
+
+        return lookups;
+    }
+
+    /**
+     * @return The number of lookups that found a matching contract.
+     */
+    public synchronized int getNumberOfHits() {
+
+        return hits;
+    }
+
+    /**
+     * @return The number of lookups that did not find a matching contract.
+     */
+    public synchronized int getNumberOfMisses() {
+
+        return lookups - hits;
+    }
+
+    /**
+     * @return The number of preconditions that have been checked for an isomorphism during lookups.
+     */
+    public synchronized int getNumberOfIsomorphismChecks() {
+
+        return isomorphismChecks;
+    }
 }
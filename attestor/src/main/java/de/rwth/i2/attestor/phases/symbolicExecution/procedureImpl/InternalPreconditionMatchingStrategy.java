@@ -1,5 +1,7 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl;
 
+import java.util.ArrayList;
+
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.graph.heap.Matching;
 import de.rwth.i2.attestor.graph.heap.matching.PreconditionChecker;
@@ -16,8 +18,10 @@ public class InternalPreconditionMatchingStrategy implements PreconditionMatchin
         PreconditionChecker checker = new PreconditionChecker(contract.getPrecondition(), heapInScope);
         if(checker.hasMatching()) {
             int[] externalReordering = getExternalReordering(checker, contract.getPrecondition(), heapInScope);
-            return new InternalContractMatch(	externalReordering, contract.getPrecondition(), 
-            									contract.getPostconditions(), contract.getModelCheckingContracts());
+            // copies such that the match is not affected by postconditions that are added concurrently
+            return new InternalContractMatch(	externalReordering, contract.getPrecondition(),
+            									new ArrayList<>(contract.getPostconditions()),
+            									new ArrayList<>(contract.getModelCheckingContracts()));
         }
         return ContractMatch.NO_CONTRACT_MATCH;
     }
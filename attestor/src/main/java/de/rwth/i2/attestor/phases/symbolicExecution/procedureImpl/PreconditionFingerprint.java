@@ -0,0 +1,77 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl;
+
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import gnu.trove.list.array.TIntArrayList;
+
+import java.util.Arrays;
+
+/**
+ * An isomorphism invariant summary of a precondition that is used to index contracts.
+ * <p>
+ * A fingerprint consists of the hash of the precondition, which is obtained by colour refinement,
+ * the numbers of nodes and external nodes, the names of all variables and the multiset of all nonterminals.
+ * A heap configuration can only match the precondition of a contract via a {@link
+ * de.rwth.i2.attestor.graph.heap.matching.PreconditionChecker} if both have equal fingerprints.
+ * Comparing fingerprints thus rules out most preconditions without searching for an isomorphism.
+ */
+final class PreconditionFingerprint {
+
+    private final int hash;
+    private final int nodes;
+    private final int externalNodes;
+    private final String[] variables;
+    private final String[] nonterminals;
+
+    private PreconditionFingerprint(HeapConfiguration heap) {
+
+        this.hash = heap.hashCode();
+        this.nodes = heap.countNodes();
+        this.externalNodes = heap.countExternalNodes();
+
+        TIntArrayList variableEdges = heap.variableEdges();
+        this.variables = new String[variableEdges.size()];
+        for (int i = 0; i < variables.length; i++) {
+            variables[i] = heap.nameOf(variableEdges.get(i));
+        }
+        Arrays.sort(variables);
+
+        TIntArrayList nonterminalEdges = heap.nonterminalEdges();
+        this.nonterminals = new String[nonterminalEdges.size()];
+        for (int i = 0; i < nonterminals.length; i++) {
+            nonterminals[i] = heap.labelOf(nonterminalEdges.get(i)).getLabel();
+        }
+        Arrays.sort(nonterminals);
+    }
+
+    /**
+     * @param heap A heap configuration.
+     * @return The fingerprint of heap.
+     */
+    static PreconditionFingerprint of(HeapConfiguration heap) {
+
+        return new PreconditionFingerprint(heap);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+
+        if (this == other) {
+            return true;
+        }
+        if (other == null || other.getClass() != PreconditionFingerprint.class) {
+            return false;
+        }
+        PreconditionFingerprint fingerprint = (PreconditionFingerprint) other;
+        return hash == fingerprint.hash
+                && nodes == fingerprint.nodes
+                && externalNodes == fingerprint.externalNodes
+                && Arrays.equals(variables, fingerprint.variables)
+                && Arrays.equals(nonterminals, fingerprint.nonterminals);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return hash;
+    }
+}
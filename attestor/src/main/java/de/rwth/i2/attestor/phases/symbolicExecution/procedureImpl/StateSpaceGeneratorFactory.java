@@ -13,6 +13,7 @@ import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.DepthFirstSta
 import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.FinalStateSubsumptionPostProcessingStrategy;
 import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.NoPostProcessingStrategy;
 import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.TerminalStatementFinalStateStrategy;
+import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.WorkStealingStateExplorationStrategy;
 import de.rwth.i2.attestor.stateSpaceGeneration.PostProcessingStrategy;
 import de.rwth.i2.attestor.stateSpaceGeneration.Program;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
@@ -35,12 +36,24 @@ public class StateSpaceGeneratorFactory extends SceneObject{
                 .build();
     }
 
+    /**
+     * Creates a generator for the state space of the main method. If configured in the options,
+     * this state space is generated by multiple threads.
+     */
     public StateSpaceGenerator create(Program program, List<ProgramState> initialStates) {
 
-        return createBuilder()
+        int threads = scene().options().getStateSpaceGenerationThreads();
+        StateSpaceGeneratorBuilder builder = createBuilder()
                 .addInitialStates(initialStates)
-                .setProgram(program)
-                .build();
+                .setProgram(program);
+
+        if (threads > 1) {
+            builder.setParallelism(threads)
+                    .setStateExplorationStrategy(new WorkStealingStateExplorationStrategy(threads))
+                    .setStateSpaceSupplier(() -> new InternalStateSpace(scene().options().getMaxStateSpace(), true));
+        }
+
+        return builder.build();
     }
 
     public StateSpaceGenerator create(Program program, ProgramState initialState, StateSpace stateSpace) {
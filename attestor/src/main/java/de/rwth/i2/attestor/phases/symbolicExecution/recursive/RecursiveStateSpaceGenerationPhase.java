@@ -1,31 +1,47 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.grammar.canonicalization.CachingCanonicalizationStrategy;
+import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationStrategy;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.main.AbstractPhase;
 import de.rwth.i2.attestor.main.scene.ElementNotPresentException;
 import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.phases.communication.InputSettings;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.ContractCache;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContractCollection;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalPreconditionMatchingStrategy;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.StateSpaceGeneratorFactory;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.scopes.DefaultScopeExtractor;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.CallGraphContinuationWorklist;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.ConcurrentInterproceduralAnalysis;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.ContinuationWorklist;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.FifoContinuationWorklist;
 import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.InterproceduralAnalysis;
 import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.NonRecursiveMethodExecutor;
 import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.ProcedureCall;
 import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.RecursiveMethodExecutor;
+import de.rwth.i2.attestor.phases.transformers.GrammarTransformer;
 import de.rwth.i2.attestor.phases.transformers.InputSettingsTransformer;
 import de.rwth.i2.attestor.phases.transformers.InputTransformer;
+import de.rwth.i2.attestor.phases.transformers.MCSettingsTransformer;
 import de.rwth.i2.attestor.phases.transformers.StateSpaceTransformer;
-import de.rwth.i2.attestor.procedures.ContractCollection;
+import de.rwth.i2.attestor.procedures.Contract;
 import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.procedures.MethodExecutor;
 import de.rwth.i2.attestor.procedures.PreconditionMatchingStrategy;
+import de.rwth.i2.attestor.refinement.AutomatonStateLabelingStrategy;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateLabelingStrategy;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceGenerationAbortedException;
 
@@ -40,12 +56,32 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
     private StateSpace mainStateSpace = null;
     
     private List<ProcedureCall> mainProcedureCalls;
+    private final Map<Method, InternalContractCollection> contractCollections = new LinkedHashMap<>();
+
+    private final Map<Method, Collection<Contract>> retainedContracts;
+    private int reusedContracts = 0;
+
+    private ContractCache contractCache = null;
+    private int loadedContracts = 0;
+    private int storedMethods = 0;
 
     public RecursiveStateSpaceGenerationPhase(Scene scene) {
 
+        this(scene, Collections.emptyMap());
+    }
+
+    /**
+     * @param scene The scene of the analysis.
+     * @param retainedContracts Contracts computed by a previous analysis of the same scene, for example
+     *                          obtained from {@link #getComputedContracts()}. They are added to the contracts
+     *                          of the respective methods before the analysis starts.
+     */
+    public RecursiveStateSpaceGenerationPhase(Scene scene, Map<Method, Collection<Contract>> retainedContracts) {
+
         super(scene);
         stateSpaceGeneratorFactory = new StateSpaceGeneratorFactory(scene);
         mainProcedureCalls = new LinkedList<>();
+        this.retainedContracts = retainedContracts;
     }
 
     @Override
@@ -57,13 +93,27 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
     @Override
     public void executePhase() {
 
-        interproceduralAnalysis = new InterproceduralAnalysis();
+        ContinuationWorklist worklist;
+        if(scene().options().isCallGraphOrderEnabled()) {
+            worklist = new CallGraphContinuationWorklist();
+        } else {
+            worklist = new FifoContinuationWorklist();
+        }
+        int threads = scene().options().getInterproceduralAnalysisThreads();
+        if(threads > 1) {
+            interproceduralAnalysis = new ConcurrentInterproceduralAnalysis(threads, worklist);
+        } else {
+            interproceduralAnalysis = new InterproceduralAnalysis(worklist);
+        }
         loadInitialStates();
         loadMainMethod();
         initializeMethodExecutors();
+        loadRetainedContracts();
+        loadCachedContracts();
         startPartialStateSpaceGeneration();
         registerMainProcedureCalls();
         interproceduralAnalysis.run();
+        storeCachedContracts();
 
         if(mainStateSpace.getFinalStateIds().isEmpty()) {
             logger.error("Computed state space contains no final states.");
@@ -116,7 +166,8 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
 
         for(Method method : scene ().getRegisteredMethods()) {
             MethodExecutor executor;
-            ContractCollection contractCollection = new InternalContractCollection(preconditionMatchingStrategy);
+            InternalContractCollection contractCollection = new InternalContractCollection(preconditionMatchingStrategy);
+            contractCollections.put(method, contractCollection);
             if(method.isRecursive()) {
                 executor = new RecursiveMethodExecutor(
                         method,
@@ -136,6 +187,122 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
         }
     }
 
+    private void loadRetainedContracts() {
+
+        if(retainedContracts.isEmpty()) {
+            return;
+        }
+
+        // hierarchical model checking requires all procedure state spaces
+        if(getPhase(MCSettingsTransformer.class).getMcSettings().isHierarchicalModelCheckingEnabled()) {
+            logger.info("Retained contracts are not reused in combination with hierarchical model checking.");
+            return;
+        }
+
+        for(Map.Entry<Method, Collection<Contract>> entry : retainedContracts.entrySet()) {
+            InternalContractCollection contractCollection = contractCollections.get(entry.getKey());
+            if(contractCollection == null) {
+                continue;
+            }
+            for(Contract contract : entry.getValue()) {
+                // contracts are modified during the analysis, hence the retained ones are copied
+                Contract copy = scene().createContract(contract.getPrecondition(),
+                        new ArrayList<>(contract.getPostconditions()));
+                copy.addModelCheckingContracts(contract.getModelCheckingContracts());
+                contractCollection.addContract(copy);
+                reusedContracts++;
+            }
+        }
+        logger.info("Reused " + reusedContracts + " retained contracts.");
+    }
+
+    private void loadCachedContracts() {
+
+        InputSettings inputSettings = getPhase(InputSettingsTransformer.class).getInputSettings();
+        String path = inputSettings.getContractCachePath();
+        if(path == null) {
+            return;
+        }
+
+        // refined nonterminals cannot be stored and hierarchical model checking requires all procedure state spaces
+        if(scene().options().isGrammarRefinementEnabled()
+                || getPhase(MCSettingsTransformer.class).getMcSettings().isHierarchicalModelCheckingEnabled()) {
+            logger.warn("The contract cache is not supported in combination with grammar refinement " +
+                    "or hierarchical model checking. Ignoring it.");
+            return;
+        }
+
+        Grammar grammar = getPhase(GrammarTransformer.class).getGrammar();
+        try {
+            contractCache = new ContractCache(this, path, grammar, inputSettings, inputSettings.getContractFileNames());
+        } catch (IOException e) {
+            logger.warn("Could not read the supplied contracts: " + e.getMessage() + " Ignoring the contract cache.");
+            return;
+        }
+        for(Method method : scene().getRegisteredMethods()) {
+            try {
+                loadedContracts += contractCache.load(method);
+            } catch (IOException e) {
+                logger.warn("Could not load cached contracts of method " + method.getSignature() + ": "
+                        + e.getMessage());
+            }
+        }
+        logger.info("Loaded " + loadedContracts + " cached contracts.");
+    }
+
+    private void storeCachedContracts() {
+
+        if(contractCache == null || !hasCompleteContracts()) {
+            return;
+        }
+
+        for(Method method : scene().getRegisteredMethods()) {
+            try {
+                if(contractCache.store(method)) {
+                    storedMethods++;
+                }
+            } catch (IOException e) {
+                logger.warn("Could not cache contracts of method " + method.getSignature() + ": "
+                        + e.getMessage());
+            }
+        }
+        logger.info("Cached contracts of " + storedMethods + " methods.");
+    }
+
+    private boolean hasCompleteContracts() {
+
+        // contracts are incomplete if the analysis has been aborted
+        if(mainStateSpace == null || mainStateSpace.containsAbortedStates()) {
+            return false;
+        }
+        for(StateSpace stateSpace : interproceduralAnalysis.getStateSpaceToCallMap().keySet()) {
+            if(stateSpace.containsAbortedStates()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The contracts of all methods after the analysis or an empty map if these contracts are
+     *         incomplete, because the analysis has been aborted.
+     */
+    public Map<Method, Collection<Contract>> getComputedContracts() {
+
+        if(interproceduralAnalysis == null || !hasCompleteContracts()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Method, Collection<Contract>> result = new LinkedHashMap<>();
+        for(Map.Entry<Method, InternalContractCollection> entry : contractCollections.entrySet()) {
+            Collection<Contract> contracts = entry.getValue().getContractsForExport();
+            if(!contracts.isEmpty()) {
+                result.put(entry.getKey(), contracts);
+            }
+        }
+        return result;
+    }
+
     private void startPartialStateSpaceGeneration() {
 
         try {
@@ -173,6 +340,64 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
         logSum(String.format("| final states            | %16d |",
                 mainStateSpace.getFinalStateIds().size()));
         logSum("+-------------------------+------------------+");
+        logSum(String.format("| procedure executions    | %16d |",
+                interproceduralAnalysis.getNumberOfExecutedProcedureCalls()));
+        logSum(String.format("| continuations           | %16d |",
+                interproceduralAnalysis.getNumberOfContinuations()));
+        logSum(String.format("| merged notifications    | %16d |",
+                interproceduralAnalysis.getNumberOfMergedNotifications()));
+        logSum("+-------------------------+------------------+");
+
+        if (reusedContracts > 0) {
+            logSum(String.format("| retained contracts used | %16d |", reusedContracts));
+            logSum("+-------------------------+------------------+");
+        }
+
+        if (contractCache != null) {
+            logSum(String.format("| cached contracts loaded | %16d |", loadedContracts));
+            logSum(String.format("| methods cached          | %16d |", storedMethods));
+            logSum("+-------------------------+------------------+");
+        }
+
+        logContractLookups();
+
+        CanonicalizationStrategy canonicalizationStrategy = scene().strategies().getCanonicalizationStrategy();
+        if (canonicalizationStrategy instanceof CachingCanonicalizationStrategy) {
+            CachingCanonicalizationStrategy cache = (CachingCanonicalizationStrategy) canonicalizationStrategy;
+            logSum(String.format("| abstr. cache hits       | %16d |", cache.getHits()));
+            logSum(String.format("| abstr. cache misses     | %16d |", cache.getMisses()));
+            logSum("+-------------------------+------------------+");
+        }
+
+        StateLabelingStrategy stateLabelingStrategy = scene().strategies().getStateLabelingStrategy();
+        if (stateLabelingStrategy instanceof AutomatonStateLabelingStrategy
+                && ((AutomatonStateLabelingStrategy) stateLabelingStrategy).isCachingTransitions()) {
+            AutomatonStateLabelingStrategy labeling = (AutomatonStateLabelingStrategy) stateLabelingStrategy;
+            logSum(String.format("| labeling cache hits     | %16d |", labeling.getTransitionCacheHits()));
+            logSum(String.format("| labeling cache misses   | %16d |", labeling.getTransitionCacheMisses()));
+            logSum("+-------------------------+------------------+");
+        }
+    }
+
+    private void logContractLookups() {
+
+        boolean hasLookups = false;
+        for(Map.Entry<Method, InternalContractCollection> entry : contractCollections.entrySet()) {
+            InternalContractCollection collection = entry.getValue();
+            if(collection.getNumberOfLookups() == 0) {
+                continue;
+            }
+            if(!hasLookups) {
+                logHighlight("| Contract lookups        |    hits / misses |");
+                logSum("+-------------------------+------------------+");
+                hasLookups = true;
+            }
+            logSum(String.format("| %-23.23s | %7d / %6d |", entry.getKey().getName(),
+                    collection.getNumberOfHits(), collection.getNumberOfMisses()));
+        }
+        if(hasLookups) {
+            logSum("+-------------------------+------------------+");
+        }
     }
 
     @Override
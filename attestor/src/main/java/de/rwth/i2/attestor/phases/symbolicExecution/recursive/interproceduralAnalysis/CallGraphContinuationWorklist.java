@@ -0,0 +1,157 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+
+/**
+ * Continues partial state spaces in the order of the strongly connected components
+ * of the call graph, i.e. partial state spaces of callees are continued before
+ * the partial state spaces of their callers.
+ * <p>
+ * The nodes of the call graph are procedure calls. There is an edge from call c to call d
+ * if a partial state space generated by c depends on d. The strongly connected components
+ * are ranked in reverse topological order such that mutually recursive calls are processed
+ * until their contracts are stable before any caller outside of their component is continued again.
+ * Partial state spaces with the same rank are continued in the order in which they have been enqueued.
+ */
+public class CallGraphContinuationWorklist implements ContinuationWorklist {
+
+	private final Set<PartialStateSpace> remaining = new LinkedHashSet<>();
+
+	private Map<ProcedureCall, Integer> componentRanks = Collections.emptyMap();
+	private int rankedVersion = -1;
+
+	@Override
+	public boolean add(PartialStateSpace partialStateSpace) {
+
+		return remaining.add(partialStateSpace);
+	}
+
+	@Override
+	public boolean isEmpty() {
+
+		return remaining.isEmpty();
+	}
+
+	@Override
+	public PartialStateSpace poll(InterproceduralAnalysis analysis, Predicate<PartialStateSpace> isAvailable) {
+
+		if(rankedVersion != analysis.getCallGraphVersion()) {
+			componentRanks = computeComponentRanks(analysis);
+			rankedVersion = analysis.getCallGraphVersion();
+		}
+
+		PartialStateSpace next = null;
+		int nextRank = Integer.MAX_VALUE;
+		for(PartialStateSpace partialStateSpace : remaining) {
+			int rank = rankOf(analysis, partialStateSpace);
+			if((next == null || rank < nextRank) && isAvailable.test(partialStateSpace)) {
+				next = partialStateSpace;
+				nextRank = rank;
+			}
+		}
+		if(next != null) {
+			remaining.remove(next);
+		}
+		return next;
+	}
+
+	private int rankOf(InterproceduralAnalysis analysis, PartialStateSpace partialStateSpace) {
+
+		ProcedureCall caller = analysis.stateSpaceToAnalyzedCall.get(partialStateSpace.unfinishedStateSpace());
+		return componentRanks.getOrDefault(caller, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Computes the strongly connected components of the call graph with Tarjan's algorithm.
+	 * Components are completed in reverse topological order, i.e. every component is
+	 * ranked lower than all components calling it.
+	 * @return a mapping from procedure calls to the rank of their component.
+	 */
+	static Map<ProcedureCall, Integer> computeComponentRanks(InterproceduralAnalysis analysis) {
+
+		Map<ProcedureCall, List<ProcedureCall>> callees = new LinkedHashMap<>();
+		analysis.callingDependencies.forEach( (callee, dependencies) -> {
+			callees.putIfAbsent(callee, new ArrayList<>());
+			for(PartialStateSpace dependency : dependencies) {
+				StateSpace stateSpace = dependency.unfinishedStateSpace();
+				ProcedureCall caller = analysis.stateSpaceToAnalyzedCall.get(stateSpace);
+				if(caller != null) {
+					callees.computeIfAbsent(caller, c -> new ArrayList<>()).add(callee);
+				}
+			}
+		});
+
+		Map<ProcedureCall, Integer> index = new HashMap<>();
+		Map<ProcedureCall, Integer> lowLink = new HashMap<>();
+		Set<ProcedureCall> onStack = new LinkedHashSet<>();
+		Deque<ProcedureCall> stack = new ArrayDeque<>();
+		Map<ProcedureCall, Integer> ranks = new HashMap<>();
+		int rank = 0;
+
+		// iterative depth-first search to avoid stack overflows for deep call graphs
+		Deque<ProcedureCall> path = new ArrayDeque<>();
+		Deque<Iterator<ProcedureCall>> successors = new ArrayDeque<>();
+
+		for(ProcedureCall root : callees.keySet()) {
+			if(index.containsKey(root)) {
+				continue;
+			}
+			visit(root, index, lowLink, stack, onStack, callees, path, successors);
+			while(!path.isEmpty()) {
+				ProcedureCall current = path.peek();
+				Iterator<ProcedureCall> iterator = successors.peek();
+				if(iterator.hasNext()) {
+					ProcedureCall successor = iterator.next();
+					if(!index.containsKey(successor)) {
+						visit(successor, index, lowLink, stack, onStack, callees, path, successors);
+					} else if(onStack.contains(successor)) {
+						lowLink.put(current, Math.min(lowLink.get(current), index.get(successor)));
+					}
+					continue;
+				}
+				path.pop();
+				successors.pop();
+				if(!path.isEmpty()) {
+					ProcedureCall parent = path.peek();
+					lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(current)));
+				}
+				if(lowLink.get(current).equals(index.get(current))) {
+					ProcedureCall member;
+					do {
+						member = stack.pop();
+						onStack.remove(member);
+						ranks.put(member, rank);
+					} while(!member.equals(current));
+					rank++;
+				}
+			}
+		}
+		return ranks;
+	}
+
+	private static void visit(ProcedureCall call, Map<ProcedureCall, Integer> index,
+							  Map<ProcedureCall, Integer> lowLink, Deque<ProcedureCall> stack,
+							  Set<ProcedureCall> onStack, Map<ProcedureCall, List<ProcedureCall>> callees,
+							  Deque<ProcedureCall> path, Deque<Iterator<ProcedureCall>> successors) {
+
+		index.put(call, index.size());
+		lowLink.put(call, index.get(call));
+		stack.push(call);
+		onStack.add(call);
+		path.push(call);
+		successors.push(callees.getOrDefault(call, Collections.emptyList()).iterator());
+	}
+}
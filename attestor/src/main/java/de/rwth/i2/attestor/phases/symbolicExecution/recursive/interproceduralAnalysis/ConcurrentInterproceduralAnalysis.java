@@ -0,0 +1,238 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+
+/**
+ * Computes the fixpoint of the interprocedural analysis using multiple threads.
+ * <p>
+ * Executing a procedure call and continuing a partial state space are independent tasks
+ * that are run concurrently. Every state space is owned by at most one running task:
+ * a task owns the state space it continues as well as every state space in which it registers
+ * a dependency, i.e. the state spaces it generates. Partial state spaces whose state space is
+ * owned by a running task are postponed until this task has finished.
+ * <p>
+ * A task may look up a contract before another task changes it and register its dependency on the
+ * corresponding procedure call only after this change has been notified. Such dependencies are
+ * enqueued immediately, since they would otherwise miss the change.
+ * <p>
+ * Since contracts only grow and every change of a contract enqueues all dependent partial
+ * state spaces again, the order in which tasks are executed does not affect the fixpoint.
+ * Procedure calls registered by a running task are started as soon as a thread is available.
+ */
+public class ConcurrentInterproceduralAnalysis extends InterproceduralAnalysis {
+
+	private final int threads;
+
+	private final Set<StateSpace> ownedStateSpaces = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final ThreadLocal<Task> currentTask = new ThreadLocal<>();
+	private final Map<ProcedureCall, Long> lastNotificationOf = new HashMap<>();
+	private long notifications = 0;
+
+	private int runningTasks = 0;
+	private Throwable failure = null;
+
+	/**
+	 * @param threads The maximal number of tasks that are executed at the same time.
+	 */
+	public ConcurrentInterproceduralAnalysis(int threads) {
+
+		this(threads, new FifoContinuationWorklist());
+	}
+
+	/**
+	 * @param threads The maximal number of tasks that are executed at the same time.
+	 * @param worklist Determines the order in which partial state spaces are continued.
+	 */
+	public ConcurrentInterproceduralAnalysis(int threads, ContinuationWorklist worklist) {
+
+		super(worklist);
+		if(threads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive.");
+		}
+		this.threads = threads;
+	}
+
+	@Override
+	public synchronized void registerDependency(ProcedureCall procedureCall, PartialStateSpace dependentPartialStateSpace) {
+
+		super.registerDependency(procedureCall, dependentPartialStateSpace);
+
+		Task task = currentTask.get();
+		if(task == null) {
+			return;
+		}
+
+		StateSpace stateSpace = dependentPartialStateSpace.unfinishedStateSpace();
+		if(ownedStateSpaces.add(stateSpace)) {
+			task.ownedStateSpaces.add(stateSpace);
+		}
+		if(lastNotificationOf.getOrDefault(procedureCall, 0L) > task.startedAfterNotification) {
+			remainingPartialStateSpaces.add(dependentPartialStateSpace);
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Enqueues the procedure call and wakes up the scheduler such that the call may be executed
+	 * while the registering task is still running.
+	 */
+	@Override
+	public synchronized void registerProcedureCall(ProcedureCall procedureCall) {
+
+		super.registerProcedureCall(procedureCall);
+		notifyAll();
+	}
+
+	@Override
+	synchronized void notifyDependencies(ProcedureCall call) {
+
+		lastNotificationOf.put(call, ++notifications);
+		super.notifyDependencies(call);
+	}
+
+	/**
+	 * Runs the fixpoint iteration.
+	 * Blocks until no task is running and no procedure call or partial state space is left.
+	 */
+	@Override
+	public void run() {
+
+		AtomicInteger threadCounter = new AtomicInteger(0);
+		ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+			Thread thread = new Thread(task, "InterproceduralAnalysis-" + threadCounter.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try {
+			synchronized (this) {
+				while(true) {
+					if(failure == null) {
+						startTasks(executor);
+					}
+					if(runningTasks == 0) {
+						break;
+					}
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						failure = e;
+						break;
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		if(failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if(failure instanceof Error) {
+			throw (Error) failure;
+		} else if(failure != null) {
+			throw new IllegalStateException("Interprocedural analysis failed.", failure);
+		}
+	}
+
+	/**
+	 * Starts tasks until either all threads are busy or no task can be started.
+	 * Procedure calls are preferred over partial state spaces like in the sequential analysis.
+	 */
+	private void startTasks(ExecutorService executor) {
+
+		while(runningTasks < threads) {
+			Runnable task = nextTask();
+			if(task == null) {
+				return;
+			}
+			runningTasks++;
+			executor.execute(task);
+		}
+	}
+
+	private Runnable nextTask() {
+
+		if(!remainingProcedureCalls.isEmpty()) {
+			ProcedureCall call = remainingProcedureCalls.pop();
+			executedProcedureCalls++;
+			Task task = new Task(notifications);
+			return () -> runTask(call, task, () -> call.execute().getFinalStateIds().size() > 0);
+		}
+
+		PartialStateSpace partialStateSpace = remainingPartialStateSpaces.poll(this,
+				p -> !ownedStateSpaces.contains(p.unfinishedStateSpace()));
+		if(partialStateSpace == null) {
+			return null;
+		}
+
+		continuedPartialStateSpaces++;
+		StateSpace stateSpace = partialStateSpace.unfinishedStateSpace();
+		ownedStateSpaces.add(stateSpace);
+		ProcedureCall call = stateSpaceToAnalyzedCall.get(stateSpace);
+		Task task = new Task(notifications);
+		task.ownedStateSpaces.add(stateSpace);
+		return () -> runTask(call, task, () -> {
+			int currentNumberOfFinalStates = partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
+			partialStateSpace.continueExecution(call);
+			int newNumberOfFinalStates = partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
+			return newNumberOfFinalStates > currentNumberOfFinalStates;
+		});
+	}
+
+	private void runTask(ProcedureCall call, Task task, BooleanSupplier execution) {
+
+		boolean contractChanged = false;
+		Throwable error = null;
+
+		currentTask.set(task);
+		try {
+			contractChanged = execution.getAsBoolean();
+		} catch (Throwable e) {
+			error = e;
+		} finally {
+			currentTask.remove();
+		}
+
+		synchronized (this) {
+			runningTasks--;
+			ownedStateSpaces.removeAll(task.ownedStateSpaces);
+			if(error != null) {
+				if(failure == null) {
+					failure = error;
+				}
+			} else if(contractChanged) {
+				notifyDependencies(call);
+			}
+			notifyAll();
+		}
+	}
+
+	private static class Task {
+
+		/**
+		 * the state spaces that may only be changed by this task.
+		 */
+		final Set<StateSpace> ownedStateSpaces = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		/**
+		 * the number of notifications that happened before this task has been started.
+		 */
+		final long startedAfterNotification;
+
+		Task(long startedAfterNotification) {
+
+			this.startedAfterNotification = startedAfterNotification;
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
+
+import java.util.function.Predicate;
+
+/**
+ * Stores the partial state spaces that have to be continued during the fixpoint iteration
+ * of the {@link InterproceduralAnalysis} and determines the order in which they are continued.
+ * <p>
+ * A partial state space that is added again before it has been continued is only continued once,
+ * because every continuation already takes all contracts into account that are known at this point.
+ */
+public interface ContinuationWorklist {
+
+	/**
+	 * enqueues a partial state space unless it is already enqueued.
+	 * @param partialStateSpace the partial state space to continue
+	 * @return true if the partial state space has not been enqueued before,
+	 * false if it has been merged with an enqueued one.
+	 */
+	boolean add(PartialStateSpace partialStateSpace);
+
+	boolean isEmpty();
+
+	/**
+	 * removes the partial state space that should be continued next.
+	 * @param analysis the analysis whose call graph may be taken into account
+	 * @param isAvailable determines which partial state spaces may currently be continued
+	 * @return the next available partial state space or null if no enqueued partial state space is available.
+	 */
+	PartialStateSpace poll(InterproceduralAnalysis analysis, Predicate<PartialStateSpace> isAvailable);
+}
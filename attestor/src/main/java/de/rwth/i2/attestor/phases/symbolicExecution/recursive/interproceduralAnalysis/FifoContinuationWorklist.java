@@ -0,0 +1,40 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Continues partial state spaces in the order in which they have been enqueued.
+ */
+public class FifoContinuationWorklist implements ContinuationWorklist {
+
+	private final Set<PartialStateSpace> remaining = new LinkedHashSet<>();
+
+	@Override
+	public boolean add(PartialStateSpace partialStateSpace) {
+
+		return remaining.add(partialStateSpace);
+	}
+
+	@Override
+	public boolean isEmpty() {
+
+		return remaining.isEmpty();
+	}
+
+	@Override
+	public PartialStateSpace poll(InterproceduralAnalysis analysis, Predicate<PartialStateSpace> isAvailable) {
+
+		Iterator<PartialStateSpace> iterator = remaining.iterator();
+		while(iterator.hasNext()) {
+			PartialStateSpace partialStateSpace = iterator.next();
+			if(isAvailable.test(partialStateSpace)) {
+				iterator.remove();
+				return partialStateSpace;
+			}
+		}
+		return null;
+	}
+}
@@ -18,29 +18,50 @@ import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
  * It keeps track of any procedure calls to recursive methods that have not yet been analysed.
  * Furthermore it stores the dependencies between partialStateSpaces and procedureCalls so that
  * it can continue those stateSpaces whenever it has found new contracts for a procedureCall.
+ * The order in which they are continued is determined by a {@link ContinuationWorklist}.
  * 
  * see {@link ProcedureRegistry} for the interaction between the semantics and this class.
+ * The registration methods are synchronized such that they can be called by multiple threads,
+ * see {@link ConcurrentInterproceduralAnalysis}.
  * @author Hannah
  *
  */
 public class InterproceduralAnalysis {
 
 	protected Deque<ProcedureCall> remainingProcedureCalls = new ArrayDeque<>();
-	protected Deque<PartialStateSpace> remainingPartialStateSpaces = new ArrayDeque<>();
+	protected ContinuationWorklist remainingPartialStateSpaces;
 
 	protected Map<ProcedureCall, Set<PartialStateSpace>> callingDependencies = new LinkedHashMap<>();
 	protected Map<StateSpace, ProcedureCall> stateSpaceToAnalyzedCall = new LinkedHashMap<>();
 	
 	Map<ProgramState, ProcedureCall> callingStateToCall = new LinkedHashMap<>();	
 
-	
+	private int callGraphVersion = 0;
+
+	protected int executedProcedureCalls = 0;
+	protected int continuedPartialStateSpaces = 0;
+	protected int mergedNotifications = 0;
+
+	public InterproceduralAnalysis() {
+
+		this(new FifoContinuationWorklist());
+	}
+
+	/**
+	 * @param worklist determines the order in which partial state spaces are continued.
+	 */
+	public InterproceduralAnalysis(ContinuationWorklist worklist) {
 
-	public void registerStateSpace(ProcedureCall call, StateSpace stateSpace) {
+		this.remainingPartialStateSpaces = worklist;
+	}
+
+	public synchronized void registerStateSpace(ProcedureCall call, StateSpace stateSpace) {
 
 		stateSpaceToAnalyzedCall.put(stateSpace, call);
+		callGraphVersion++;
 	}
 
-	public void registerDependency(ProcedureCall procedureCall, PartialStateSpace dependentPartialStateSpace) {
+	public synchronized void registerDependency(ProcedureCall procedureCall, PartialStateSpace dependentPartialStateSpace) {
 
 		if(!callingDependencies.containsKey(procedureCall)) {
 			Set<PartialStateSpace> dependencies = new LinkedHashSet<>();
@@ -49,13 +70,14 @@ public class InterproceduralAnalysis {
 		} else {
 			callingDependencies.get(procedureCall).add(dependentPartialStateSpace);
 		}
+		callGraphVersion++;
 	}
 	
-	public void registerCallingStates(ProgramState callingState, ProcedureCall call) {
+	public synchronized void registerCallingStates(ProgramState callingState, ProcedureCall call) {
 		callingStateToCall.put(callingState, call);
 	}
 
-	public void registerProcedureCall(ProcedureCall procedureCall) {
+	public synchronized void registerProcedureCall(ProcedureCall procedureCall) {
 
 		if(!remainingProcedureCalls.contains(procedureCall)) {
 			remainingProcedureCalls.push(procedureCall);
@@ -71,6 +93,39 @@ public class InterproceduralAnalysis {
 		
 		return callingStateToCall;
 	}
+
+	/**
+	 * @return a number that changes whenever a state space or a dependency is registered,
+	 * i.e. whenever the call graph may have changed.
+	 */
+	synchronized int getCallGraphVersion() {
+
+		return callGraphVersion;
+	}
+
+	/**
+	 * @return the number of procedure calls for which a new state space has been generated.
+	 */
+	public synchronized int getNumberOfExecutedProcedureCalls() {
+
+		return executedProcedureCalls;
+	}
+
+	/**
+	 * @return the number of continuations of partial state spaces during the fixpoint iteration.
+	 */
+	public synchronized int getNumberOfContinuations() {
+
+		return continuedPartialStateSpaces;
+	}
+
+	/**
+	 * @return the number of times a partial state space has been notified while it was already enqueued.
+	 */
+	public synchronized int getNumberOfMergedNotifications() {
+
+		return mergedNotifications;
+	}
 	
 	/**
 	 * the fixpoint iteration
@@ -85,11 +140,13 @@ public class InterproceduralAnalysis {
 			if(!remainingProcedureCalls.isEmpty()) {
 				// creates new state space for recursive methods
 				call = remainingProcedureCalls.pop();
+				executedProcedureCalls++;
 				StateSpace stateSpace = call.execute(); 
 				contractChanged = stateSpace.getFinalStateIds().size() > 0;
 			} else {
 				// continue partial state space 
-				PartialStateSpace partialStateSpace = remainingPartialStateSpaces.pop();
+				PartialStateSpace partialStateSpace = remainingPartialStateSpaces.poll(this, p -> true);
+				continuedPartialStateSpaces++;
 				
 				int currentNumberOfFinalStates = partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
 				call = stateSpaceToAnalyzedCall.get( partialStateSpace.unfinishedStateSpace() );
@@ -105,12 +162,17 @@ public class InterproceduralAnalysis {
 
 	/**
 	 * enqueues the partial stateSpace depending on the given call for continued analysis.
+	 * Partial state spaces that are still enqueued are not enqueued again.
 	 * @param call the procedure call for which the contract has changed
 	 * (i.e. for which more postconditions have been discovered)
 	 */ 
 	void notifyDependencies(ProcedureCall call) {
 
 		Set<PartialStateSpace> dependencies = callingDependencies.getOrDefault(call, Collections.emptySet());
-		remainingPartialStateSpaces.addAll(dependencies);
+		for(PartialStateSpace dependency : dependencies) {
+			if(!remainingPartialStateSpaces.add(dependency)) {
+				mergedNotifications++;
+			}
+		}
 	}
 }
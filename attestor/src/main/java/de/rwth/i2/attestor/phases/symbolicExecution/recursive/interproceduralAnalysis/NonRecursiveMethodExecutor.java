@@ -1,12 +1,23 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import de.rwth.i2.attestor.procedures.ContractCollection;
 import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.procedures.ScopeExtractor;
 
 public class NonRecursiveMethodExecutor extends AbstractInterproceduralMethodExecutor {
 
+	/**
+	 * the calls that are currently executed by some thread.
+	 */
+	private final Set<ProcedureCall> executingCalls = new HashSet<>();
 
+	/**
+	 * the calls whose execution has succeeded.
+	 */
+	private final Set<ProcedureCall> executedCalls = new HashSet<>();
 
     public NonRecursiveMethodExecutor( Method method, ScopeExtractor scopeExtractor, 
     		ContractCollection contractCollection, ProcedureRegistry procedureRegistry ) {
@@ -15,10 +26,50 @@ public class NonRecursiveMethodExecutor extends AbstractInterproceduralMethodExe
     }
 
     /**
-     * generates the Contract by executing the call
+     * generates the Contract by executing the call.
+     * If another thread is already executing the same call, waits for its contract instead
+     * such that every call is executed only once.
      */
 	@Override
 	protected void generateAndAddContract(ProcedureCall call) {
-		call.execute();
+
+		if(!startExecution(call)) {
+			return;
+		}
+
+		boolean executed = false;
+		try {
+			call.execute();
+			executed = true;
+		} finally {
+			finishExecution(call, executed);
+		}
+	}
+
+	private synchronized boolean startExecution(ProcedureCall call) {
+
+		while(executingCalls.contains(call)) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a procedure call.", e);
+			}
+		}
+
+		if(executedCalls.contains(call)) {
+			return false;
+		}
+		executingCalls.add(call);
+		return true;
+	}
+
+	private synchronized void finishExecution(ProcedureCall call, boolean executed) {
+
+		executingCalls.remove(call);
+		if(executed) {
+			executedCalls.add(call);
+		}
+		notifyAll();
 	}
 }
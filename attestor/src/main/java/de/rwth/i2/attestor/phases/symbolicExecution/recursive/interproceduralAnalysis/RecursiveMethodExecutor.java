@@ -5,6 +5,7 @@ import java.util.LinkedHashSet;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContract;
+import de.rwth.i2.attestor.procedures.Contract;
 import de.rwth.i2.attestor.procedures.ContractCollection;
 import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.procedures.ScopeExtractor;
@@ -23,13 +24,16 @@ public class RecursiveMethodExecutor extends AbstractInterproceduralMethodExecut
     /**
      * Adds an empty contract and registers the call as for recursive Methods the contract is 
      * generated in a later phase in order to detect fixpoints.
+     * If several threads miss the same contract at the same time, only the one that adds the
+     * empty contract registers the call. Hence, every call is executed only once.
      */
 	@Override
 	protected void generateAndAddContract(ProcedureCall call) {
 		
 		Collection<HeapConfiguration> postconditions = new LinkedHashSet<>();
-		getContractCollection().addContract(new InternalContract(call.getInput().getHeap(), postconditions));
-		
-		procedureRegistry.registerProcedure(call);
+		Contract contract = new InternalContract(call.getInput().getHeap(), postconditions);
+		if(getContractCollection().addContractIfAbsent(contract)) {
+			procedureRegistry.registerProcedure(call);
+		}
 	}
 }
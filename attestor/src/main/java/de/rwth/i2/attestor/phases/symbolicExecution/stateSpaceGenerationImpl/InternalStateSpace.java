@@ -13,7 +13,16 @@ import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The default implementation of {@link StateSpace}.
+ * <br>
+ * If the state space is created for concurrent state space generation, states may be
+ * added by multiple threads at once. Isomorphism checks of states are then performed
+ * concurrently by a concurrent hash map whereas the bookkeeping of state ids and transitions
+ * is guarded by this state space.
+ */
 public class InternalStateSpace implements StateSpace {
 
     private final Map<ProgramState, ProgramState> potentialMergeStates;
@@ -32,9 +41,23 @@ public class InternalStateSpace implements StateSpace {
 
     public InternalStateSpace(int capacity) {
 
+        this(capacity, false);
+    }
+
+    /**
+     * @param capacity The expected number of states.
+     * @param concurrent True if and only if states may be added by multiple threads at once.
+     */
+    public InternalStateSpace(int capacity, boolean concurrent) {
+
         capacity = 2 * capacity;
-        potentialMergeStates = new LinkedHashMap<>(capacity, 0.8f);
-        otherStates = new ArrayList<>(capacity);
+        if (concurrent) {
+            potentialMergeStates = new ConcurrentHashMap<>(capacity, 0.8f);
+            otherStates = Collections.synchronizedList(new ArrayList<>(capacity));
+        } else {
+            potentialMergeStates = new LinkedHashMap<>(capacity, 0.8f);
+            otherStates = new ArrayList<>(capacity);
+        }
         initialStateIds = new TIntHashSet(100);
         finalStateIds = new TIntHashSet(100);
         materializationSuccessors = new TIntObjectHashMap<>(capacity, 0.8f);
@@ -57,7 +80,7 @@ public class InternalStateSpace implements StateSpace {
         return getStatesOf(initialStateIds);
     }
 
-    private Set<ProgramState> getStatesOf(TIntCollection collection) {
+    private synchronized Set<ProgramState> getStatesOf(TIntCollection collection) {
 
         initLookupTable();
         Set<ProgramState> result = new LinkedHashSet<>(collection.size());
@@ -166,17 +189,22 @@ public class InternalStateSpace implements StateSpace {
     @Override
     public boolean addState(ProgramState state) {
 
-        otherStates.add(state);
         updateAddedState(state);
+        otherStates.add(state);
         return true;
     }
 
     @Override
     public boolean addStateIfAbsent(ProgramState state) {
 
-        ProgramState old = potentialMergeStates.putIfAbsent(state, state);
-        if (old == null) {
-            updateAddedState(state);
+        // the id of a new state is assigned before the state becomes visible to other threads
+        boolean[] added = {false};
+        ProgramState old = potentialMergeStates.computeIfAbsent(state, s -> {
+            updateAddedState(s);
+            added[0] = true;
+            return s;
+        });
+        if (added[0]) {
             return true;
         } else {
             state.setStateSpaceId(old.getStateSpaceId());
@@ -184,7 +212,7 @@ public class InternalStateSpace implements StateSpace {
         return false;
     }
 
-    private void updateAddedState(ProgramState state) {
+    private synchronized void updateAddedState(ProgramState state) {
 
         state.setStateSpaceId(nextStateId);
         materializationSuccessors.put(nextStateId, new TIntArrayList());
@@ -204,14 +232,14 @@ public class InternalStateSpace implements StateSpace {
     }
 
     @Override
-    public void setFinal(ProgramState state) {
+    public synchronized void setFinal(ProgramState state) {
 
         finalStateIds.add(state.getStateSpaceId());
         state.addAP("{ terminated }");
     }
 
     @Override
-    public void setAborted(ProgramState state) {
+    public synchronized void setAborted(ProgramState state) {
 
         state.addAP(AtomicPropositions.ABORTED);
         this.containsAtLeastOneAbortedState = true;
@@ -224,7 +252,7 @@ public class InternalStateSpace implements StateSpace {
     }
 
     @Override
-    public void updateFinalStates(Set<ProgramState> newFinalStates, Map<Integer, Integer> idMapping) {
+    public synchronized void updateFinalStates(Set<ProgramState> newFinalStates, Map<Integer, Integer> idMapping) {
 
         initLookupTable();
 
@@ -272,13 +300,13 @@ public class InternalStateSpace implements StateSpace {
     }
 
     @Override
-    public ProgramState getState(int id) {
+    public synchronized ProgramState getState(int id) {
 
         initLookupTable();
         return stateIdLookupTable.get(id);
     }
 
-    private void addTransition(ProgramState from, ProgramState to, TIntObjectMap<TIntArrayList> successors) {
+    private synchronized void addTransition(ProgramState from, ProgramState to, TIntObjectMap<TIntArrayList> successors) {
 
         int fId = from.getStateSpaceId();
         int tId = to.getStateSpaceId();
@@ -290,7 +318,7 @@ public class InternalStateSpace implements StateSpace {
     }
 
     @Override
-    public int getMaximalStateSize() {
+    public synchronized int getMaximalStateSize() {
 
         return maximalStateSize;
     }
@@ -0,0 +1,170 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.ConcurrentStateExplorationStrategy;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+
+/**
+ * A work-stealing exploration strategy for parallel state space generation.
+ * <br>
+ * Every worker owns a deque of unexplored states. A worker adds and removes states at the tail of its
+ * own deque and thus explores its part of the state space depth-first. If the own deque is empty, a worker
+ * steals the oldest state from the head of the deque of another worker.
+ * States added by threads that are not registered as workers, e.g. the initial states, are distributed
+ * among the workers in a round-robin fashion.
+ * Workers that find no state to steal block until another worker adds a state or all states are explored.
+ */
+public class WorkStealingStateExplorationStrategy implements ConcurrentStateExplorationStrategy {
+
+    private final List<ConcurrentLinkedDeque<ProgramState>> deques;
+
+    private final ThreadLocal<Integer> workerIds = new ThreadLocal<>();
+
+    /**
+     * The number of states that have been added, but are not explored yet.
+     */
+    private final AtomicInteger pendingStates = new AtomicInteger(0);
+
+    private final AtomicInteger nextDeque = new AtomicInteger(0);
+
+    /**
+     * The monitor on which idle workers wait for new states.
+     */
+    private final Object idleLock = new Object();
+
+    /**
+     * The number of workers that are currently blocked in awaitUnexploredStates().
+     * Adding a state only acquires idleLock if this number is positive.
+     */
+    private final AtomicInteger idleWorkers = new AtomicInteger(0);
+
+    private volatile boolean wokenUp = false;
+
+    public WorkStealingStateExplorationStrategy(int numberOfWorkers) {
+
+        if (numberOfWorkers < 1) {
+            throw new IllegalArgumentException("At least one worker is required.");
+        }
+
+        deques = new ArrayList<>(numberOfWorkers);
+        for (int i = 0; i < numberOfWorkers; i++) {
+            deques.add(new ConcurrentLinkedDeque<>());
+        }
+    }
+
+    @Override
+    public int getNumberOfWorkers() {
+
+        return deques.size();
+    }
+
+    @Override
+    public void registerWorker(int workerId) {
+
+        if (workerId < 0 || workerId >= deques.size()) {
+            throw new IllegalArgumentException("Invalid worker id: " + workerId);
+        }
+        workerIds.set(workerId);
+    }
+
+    @Override
+    public boolean hasUnexploredStates() {
+
+        for (ConcurrentLinkedDeque<ProgramState> deque : deques) {
+            if (!deque.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public ProgramState getNextUnexploredState() {
+
+        int owner = ownDeque();
+        ProgramState state = deques.get(owner).pollLast();
+        if (state != null) {
+            return state;
+        }
+
+        for (int i = 1; i < deques.size(); i++) {
+            state = deques.get((owner + i) % deques.size()).pollFirst();
+            if (state != null) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void addUnexploredState(ProgramState state, boolean isMaterializedState) {
+
+        pendingStates.incrementAndGet();
+        Integer workerId = workerIds.get();
+        if (workerId == null) {
+            deques.get(Math.floorMod(nextDeque.getAndIncrement(), deques.size())).addLast(state);
+        } else {
+            deques.get(workerId).addLast(state);
+        }
+        signalIdleWorkers();
+    }
+
+    @Override
+    public void stateExplored(ProgramState state) {
+
+        if (pendingStates.decrementAndGet() == 0) {
+            signalIdleWorkers();
+        }
+    }
+
+    @Override
+    public void awaitUnexploredStates() throws InterruptedException {
+
+        synchronized (idleLock) {
+            // Registering as idle before checking for states guarantees that every state added afterwards
+            // signals this worker.
+            idleWorkers.incrementAndGet();
+            try {
+                while (!wokenUp && !isExhausted() && !hasUnexploredStates()) {
+                    idleLock.wait();
+                }
+            } finally {
+                idleWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void wakeUpWorkers() {
+
+        wokenUp = true;
+        synchronized (idleLock) {
+            idleLock.notifyAll();
+        }
+    }
+
+    private void signalIdleWorkers() {
+
+        if (idleWorkers.get() > 0) {
+            synchronized (idleLock) {
+                idleLock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public boolean isExhausted() {
+
+        return pendingStates.get() == 0;
+    }
+
+    private int ownDeque() {
+
+        Integer workerId = workerIds.get();
+        return workerId == null ? 0 : workerId;
+    }
+}
@@ -9,6 +9,22 @@ public interface ContractCollection {
     void addContract(Contract contract);
 
     ContractMatch matchContract(HeapConfiguration precondition);
+
+    /**
+     * Adds the given contract unless there already is a contract with an isomorphic precondition.
+     * Implementations that are accessed concurrently perform this check and the addition atomically.
+     *
+     * @param contract The contract that should be added.
+     * @return True if and only if the contract has been added.
+     */
+    default boolean addContractIfAbsent(Contract contract) {
+
+        if (matchContract(contract.getPrecondition()).hasMatch()) {
+            return false;
+        }
+        addContract(contract);
+        return true;
+    }
     
     Collection<Contract> getContractsForExport();
 }
@@ -2,7 +2,10 @@ package de.rwth.i2.attestor.refinement;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.phases.symbolicExecution.onthefly.ScopedHeapHierarchy;
@@ -11,6 +14,7 @@ import de.rwth.i2.attestor.procedures.ContractMatch;
 import de.rwth.i2.attestor.procedures.ScopedHeap;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateLabelingStrategy;
+import de.rwth.i2.attestor.util.LruCache;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.array.TIntArrayList;
 
@@ -20,16 +24,46 @@ public class AutomatonStateLabelingStrategy implements StateLabelingStrategy {
 
     private List<StatelessHeapAutomaton> statelessHeapAutomata;
 
+    /**
+     * Maps heap configurations, up to isomorphism, to the state reached by heapAutomaton.
+     * Since the states of nonterminal edges are part of their refined labels, they are covered by the key as well.
+     * Null if transitions are not cached.
+     */
+    private final Map<HeapConfiguration, HeapAutomatonState> transitionCache;
+
+    private final AtomicLong hits = new AtomicLong(0);
+
+    private final AtomicLong misses = new AtomicLong(0);
+
     public AutomatonStateLabelingStrategy(HeapAutomaton heapAutomaton) {
 
-        this.heapAutomaton = heapAutomaton;
+        this(heapAutomaton, Collections.emptyList());
     }
 
     public AutomatonStateLabelingStrategy(HeapAutomaton heapAutomaton,
                                           List<StatelessHeapAutomaton> statelessHeapAutomata) {
 
+        this(heapAutomaton, statelessHeapAutomata, 0);
+    }
+
+    /**
+     * @param heapAutomaton         The automaton determining the atomic propositions of each state.
+     * @param statelessHeapAutomata Further automata determining atomic propositions.
+     * @param transitionCacheSize   The maximal number of heap configurations whose transition of heapAutomaton
+     *                              is cached. If set to 0, no transitions are cached.
+     */
+    public AutomatonStateLabelingStrategy(HeapAutomaton heapAutomaton,
+                                          List<StatelessHeapAutomaton> statelessHeapAutomata,
+                                          int transitionCacheSize) {
+
         this.heapAutomaton = heapAutomaton;
         this.statelessHeapAutomata = statelessHeapAutomata;
+
+        if (heapAutomaton == null || transitionCacheSize <= 0) {
+            transitionCache = null;
+        } else {
+            transitionCache = new LruCache<>(transitionCacheSize);
+        }
     }
 
     public static AutomatonStateLabelingStrategyBuilder builder() {
@@ -39,7 +73,53 @@ public class AutomatonStateLabelingStrategy implements StateLabelingStrategy {
 
     private HeapAutomatonState transition(HeapConfiguration heapConfiguration) {
 
-        return heapAutomaton.transition(heapConfiguration, extractStatesOfNonterminals(heapConfiguration));
+        if (transitionCache == null) {
+            return heapAutomaton.transition(heapConfiguration, extractStatesOfNonterminals(heapConfiguration));
+        }
+
+        HeapAutomatonState cached;
+        synchronized (transitionCache) {
+            cached = transitionCache.get(heapConfiguration);
+        }
+
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        HeapAutomatonState result = heapAutomaton.transition(heapConfiguration,
+                extractStatesOfNonterminals(heapConfiguration));
+
+        // the heap configuration of a state may still be modified later on
+        synchronized (transitionCache) {
+            transitionCache.put(heapConfiguration.clone(), result);
+        }
+        return result;
+    }
+
+    /**
+     * @return True if and only if transitions of the heap automaton are cached.
+     */
+    public boolean isCachingTransitions() {
+
+        return transitionCache != null;
+    }
+
+    /**
+     * @return The number of transitions that have been taken from the cache.
+     */
+    public long getTransitionCacheHits() {
+
+        return hits.get();
+    }
+
+    /**
+     * @return The number of transitions that had to be computed.
+     */
+    public long getTransitionCacheMisses() {
+
+        return misses.get();
     }
 
     private List<HeapAutomatonState> extractStatesOfNonterminals(HeapConfiguration heapConfiguration) {
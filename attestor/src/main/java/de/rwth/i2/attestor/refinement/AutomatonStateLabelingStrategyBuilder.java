@@ -9,6 +9,7 @@ public class AutomatonStateLabelingStrategyBuilder {
 
     final List<HeapAutomaton> automata = new ArrayList<>();
     final List<StatelessHeapAutomaton> statelessHeapAutomata = new ArrayList<>();
+    int transitionCacheSize = 0;
 
     public AutomatonStateLabelingStrategyBuilder add(HeapAutomaton automaton) {
 
@@ -22,13 +23,24 @@ public class AutomatonStateLabelingStrategyBuilder {
         return this;
     }
 
+    /**
+     * @param transitionCacheSize The maximal number of heap configurations whose transition is cached by the
+     *                            built strategy. If set to 0, no transitions are cached.
+     * @return This builder.
+     */
+    public AutomatonStateLabelingStrategyBuilder setTransitionCacheSize(int transitionCacheSize) {
+
+        this.transitionCacheSize = transitionCacheSize;
+        return this;
+    }
+
     public AutomatonStateLabelingStrategy build() {
 
         if (automata.isEmpty() && statelessHeapAutomata.isEmpty()) {
             return null;
         }
 
-        return new AutomatonStateLabelingStrategy(getProductAutomaton(), statelessHeapAutomata);
+        return new AutomatonStateLabelingStrategy(getProductAutomaton(), statelessHeapAutomata, transitionCacheSize);
     }
 
     public HeapAutomaton getProductAutomaton() {
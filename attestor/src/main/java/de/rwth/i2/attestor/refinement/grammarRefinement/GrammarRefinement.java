@@ -11,31 +11,85 @@ import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.array.TIntArrayList;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+/**
+ * Refines a graph grammar according to the states of a heap automaton.
+ * <p>
+ * The refinement proceeds in rounds. The first round considers all rules without nonterminal edges.
+ * Every later round only considers assignments of states to the nonterminal edges of a right-hand side
+ * that contain at least one state found in the previous round. Hence, every assignment is considered exactly once.
+ * The transitions of the heap automaton within a round are independent of each other and may thus be
+ * computed by several threads. Their results are merged in a fixed order such that the refined grammar
+ * does not depend on the number of threads.
+ * The assignments of a round are enumerated lazily and only a bounded number of transitions is pending
+ * at any time.
+ */
 public class GrammarRefinement {
 
+    /**
+     * The maximal number of transitions per thread that have been submitted but whose results
+     * have not been merged yet.
+     */
+    private static final int PENDING_TRANSITIONS_PER_THREAD = 64;
+
     private final Set<Nonterminal> oldLeftHandSides;
     private final Map<Nonterminal, Set<HeapConfiguration>> oldRightHandSides = new LinkedHashMap<>();
 
     private final HeapAutomaton heapAutomaton;
 
+    /**
+     * All states found so far for each nonterminal in the order in which they have been found.
+     */
     private final Map<Nonterminal, List<HeapAutomatonState>> foundStates = new LinkedHashMap<>();
 
+    /**
+     * For each nonterminal, the number of found states that have already been considered in all assignments.
+     * The remaining found states have been found in the previous round.
+     */
+    private final Map<Nonterminal, Integer> exploredStates = new LinkedHashMap<>();
+
     private final Map<Nonterminal, Set<HeapConfiguration>> refinedRules = new LinkedHashMap<>();
 
-    private boolean newRulesFound;
+    private final ExecutorService executor;
+
+    private final int maxPendingTransitions;
 
     public GrammarRefinement(Grammar grammar, HeapAutomaton heapAutomaton) {
 
+        this(grammar, heapAutomaton, 1);
+    }
+
+    /**
+     * @param grammar       The grammar that should be refined.
+     * @param heapAutomaton The heap automaton whose states are used to refine the grammar.
+     * @param threads       The number of threads used to compute transitions of the heap automaton.
+     */
+    public GrammarRefinement(Grammar grammar, HeapAutomaton heapAutomaton, int threads) {
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+
         this.oldLeftHandSides = grammar.getAllLeftHandSides();
         this.heapAutomaton = heapAutomaton;
         determineRewrittenOriginalRightHandSides(grammar);
 
-        refineBaseRules();
-        do {
-            newRulesFound = false;
-            refineAllRules();
-        } while (newRulesFound);
+        executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        maxPendingTransitions = threads * PENDING_TRANSITIONS_PER_THREAD;
+        try {
+            refine(baseRuleAssignments().iterator());
+            while (hasNewStates()) {
+                refine(newAssignments());
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
     }
 
     private void determineRewrittenOriginalRightHandSides(Grammar grammar) {
@@ -55,69 +109,138 @@ public class GrammarRefinement {
         return Grammar.builder().addRules(refinedRules).build();
     }
 
-    private void refineBaseRules() {
+    private boolean hasNewStates() {
 
-        for (Nonterminal lhs : oldLeftHandSides) {
-            for (HeapConfiguration rhs : oldRightHandSides.get(lhs)) {
-                if (rhs.countNonterminalEdges() == 0) {
-                    refineRuleAccordingToAssignment(lhs, rhs, Collections.emptyList());
-                }
+        for (Map.Entry<Nonterminal, List<HeapAutomatonState>> entry : foundStates.entrySet()) {
+            if (entry.getValue().size() > exploredStates.getOrDefault(entry.getKey(), 0)) {
+                return true;
             }
         }
+        return false;
     }
 
-    private void refineAllRules() {
+    private List<RuleAssignment> baseRuleAssignments() {
 
+        List<RuleAssignment> result = new ArrayList<>();
         for (Nonterminal lhs : oldLeftHandSides) {
             for (HeapConfiguration rhs : oldRightHandSides.get(lhs)) {
-                if (rhs.countNonterminalEdges() > 0) {
-                    List<List<HeapAutomatonState>> possibleStates = possibleStateAssignments(rhs);
-                    AssignmentIterator<HeapAutomatonState> iterator = new AssignmentIterator<>(possibleStates);
-                    while (iterator.hasNext()) {
-                        List<HeapAutomatonState> assignment = iterator.next();
-                        refineRuleAccordingToAssignment(lhs, rhs, assignment);
-                    }
+                if (rhs.countNonterminalEdges() == 0) {
+                    result.add(new RuleAssignment(lhs, rhs, Collections.emptyList()));
                 }
             }
         }
+        return result;
     }
 
-    private List<List<HeapAutomatonState>> possibleStateAssignments(HeapConfiguration rhs) {
+    /**
+     * Determines all assignments that contain at least one state found in the previous round.
+     * An assignment is considered for the first nonterminal edge i that is assigned a new state:
+     * All edges before i are assigned previously explored states, edge i is assigned a new state, and all
+     * edges after i are assigned arbitrary states. Afterwards, all new states are marked as explored.
+     *
+     * @return An iterator over the assignments that have to be considered in the next round.
+     */
+    private Iterator<RuleAssignment> newAssignments() {
 
-        List<List<HeapAutomatonState>> result = new ArrayList<>();
+        Map<Nonterminal, List<HeapAutomatonState>> explored = new LinkedHashMap<>();
+        Map<Nonterminal, List<HeapAutomatonState>> added = new LinkedHashMap<>();
+        Map<Nonterminal, List<HeapAutomatonState>> all = new LinkedHashMap<>();
+        for (Map.Entry<Nonterminal, List<HeapAutomatonState>> entry : foundStates.entrySet()) {
+            Nonterminal nt = entry.getKey();
+            List<HeapAutomatonState> states = new ArrayList<>(entry.getValue());
+            int exploredCount = exploredStates.getOrDefault(nt, 0);
+            explored.put(nt, states.subList(0, exploredCount));
+            added.put(nt, states.subList(exploredCount, states.size()));
+            all.put(nt, states);
+            exploredStates.put(nt, states.size());
+        }
+
+        return new NewAssignmentIterator(explored, added, all);
+    }
+
+    private List<Nonterminal> nonterminalsOf(HeapConfiguration rhs) {
+
+        List<Nonterminal> result = new ArrayList<>(rhs.countNonterminalEdges());
         TIntIterator iter = rhs.nonterminalEdges().iterator();
         while (iter.hasNext()) {
             int edge = iter.next();
-            Nonterminal nt = rhs.labelOf(edge);
-            result.add(foundStates.getOrDefault(nt, Collections.emptyList()));
+            result.add(rhs.labelOf(edge));
         }
         return result;
     }
 
-    private void refineRuleAccordingToAssignment(Nonterminal lhs, HeapConfiguration rhs,
-                                                 List<HeapAutomatonState> assignment) {
+    private void refine(Iterator<RuleAssignment> assignments) {
 
-        HeapAutomatonState assignedState = heapAutomaton.transition(rhs, assignment);
-
-        if (assignedState.isError()) {
+        if (executor == null) {
+            while (assignments.hasNext()) {
+                addRefinedRule(refineRuleAccordingToAssignment(assignments.next()));
+            }
             return;
         }
 
-        foundStates.putIfAbsent(lhs, new ArrayList<>());
-        List<HeapAutomatonState> states = foundStates.get(lhs);
-        if (!states.contains(assignedState)) {
-            states.add(assignedState);
+        Deque<Future<RefinedRule>> refinements = new ArrayDeque<>(maxPendingTransitions);
+        while (assignments.hasNext() || !refinements.isEmpty()) {
+            while (assignments.hasNext() && refinements.size() < maxPendingTransitions) {
+                RuleAssignment assignment = assignments.next();
+                refinements.addLast(executor.submit(() -> refineRuleAccordingToAssignment(assignment)));
+            }
+            addRefinedRule(getRefinedRule(refinements.removeFirst()));
+        }
+    }
+
+    private RefinedRule getRefinedRule(Future<RefinedRule> refinement) {
+
+        try {
+            return refinement.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Grammar refinement has been interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Grammar refinement failed.", cause);
         }
+    }
 
-        Nonterminal refinedLhs = new RefinedDefaultNonterminal(lhs, assignedState);
-        HeapConfiguration refinedRhs = refineRightSide(rhs, assignment);
+    /**
+     * Computes the transition of the heap automaton for a single assignment.
+     * This method does not modify this object and may thus be executed concurrently.
+     *
+     * @param assignment The rule and the states assigned to its nonterminal edges.
+     * @return The refined rule or null if the heap automaton reaches an error state.
+     */
+    private RefinedRule refineRuleAccordingToAssignment(RuleAssignment assignment) {
 
-        if (!refinedRules.containsKey(refinedLhs)) {
-            newRulesFound = true;
-            refinedRules.put(refinedLhs, new LinkedHashSet<>());
+        HeapAutomatonState assignedState = heapAutomaton.transition(assignment.rhs, assignment.states);
+
+        if (assignedState.isError()) {
+            return null;
         }
-        Set<HeapConfiguration> allRefinedRhsOfLhs = refinedRules.get(refinedLhs);
-        allRefinedRhsOfLhs.add(refinedRhs);
+
+        return new RefinedRule(
+                assignment.lhs,
+                assignedState,
+                refineRightSide(assignment.rhs, assignment.states)
+        );
+    }
+
+    private void addRefinedRule(RefinedRule refinedRule) {
+
+        if (refinedRule == null) {
+            return;
+        }
+
+        List<HeapAutomatonState> states = foundStates.computeIfAbsent(refinedRule.lhs, k -> new ArrayList<>());
+        if (!states.contains(refinedRule.state)) {
+            states.add(refinedRule.state);
+        }
+
+        Nonterminal refinedLhs = new RefinedDefaultNonterminal(refinedRule.lhs, refinedRule.state);
+        refinedRules.computeIfAbsent(refinedLhs, k -> new LinkedHashSet<>()).add(refinedRule.rhs);
     }
 
     private HeapConfiguration refineRightSide(HeapConfiguration rhs, List<HeapAutomatonState> assignment) {
@@ -134,4 +257,110 @@ public class GrammarRefinement {
         }
         return builder.build();
     }
+
+    /**
+     * Enumerates the assignments determined by {@link #newAssignments()} one after another.
+     */
+    private final class NewAssignmentIterator implements Iterator<RuleAssignment> {
+
+        private final Map<Nonterminal, List<HeapAutomatonState>> explored;
+        private final Map<Nonterminal, List<HeapAutomatonState>> added;
+        private final Map<Nonterminal, List<HeapAutomatonState>> all;
+
+        private final Iterator<Nonterminal> leftHandSides = oldLeftHandSides.iterator();
+        private Nonterminal lhs;
+        private Iterator<HeapConfiguration> rightHandSides = Collections.emptyIterator();
+        private HeapConfiguration rhs;
+        private List<Nonterminal> nonterminals = Collections.emptyList();
+        private int newStateEdge;
+        private AssignmentIterator<HeapAutomatonState> states;
+
+        NewAssignmentIterator(Map<Nonterminal, List<HeapAutomatonState>> explored,
+                              Map<Nonterminal, List<HeapAutomatonState>> added,
+                              Map<Nonterminal, List<HeapAutomatonState>> all) {
+
+            this.explored = explored;
+            this.added = added;
+            this.all = all;
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            while (states == null || !states.hasNext()) {
+                if (!advance()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public RuleAssignment next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return new RuleAssignment(lhs, rhs, states.next());
+        }
+
+        /**
+         * Moves on to the next nonterminal edge that is assigned a new state.
+         *
+         * @return False if and only if all rules have been considered.
+         */
+        private boolean advance() {
+
+            ++newStateEdge;
+            while (newStateEdge >= nonterminals.size()) {
+                while (!rightHandSides.hasNext()) {
+                    if (!leftHandSides.hasNext()) {
+                        return false;
+                    }
+                    lhs = leftHandSides.next();
+                    rightHandSides = oldRightHandSides.get(lhs).iterator();
+                }
+                rhs = rightHandSides.next();
+                nonterminals = nonterminalsOf(rhs);
+                newStateEdge = 0;
+            }
+
+            List<List<HeapAutomatonState>> possibleStates = new ArrayList<>(nonterminals.size());
+            for (int j = 0; j < nonterminals.size(); j++) {
+                Map<Nonterminal, List<HeapAutomatonState>> candidates =
+                        j < newStateEdge ? explored : (j == newStateEdge ? added : all);
+                possibleStates.add(candidates.getOrDefault(nonterminals.get(j), Collections.emptyList()));
+            }
+            states = new AssignmentIterator<>(possibleStates);
+            return true;
+        }
+    }
+
+    private static final class RuleAssignment {
+
+        final Nonterminal lhs;
+        final HeapConfiguration rhs;
+        final List<HeapAutomatonState> states;
+
+        RuleAssignment(Nonterminal lhs, HeapConfiguration rhs, List<HeapAutomatonState> states) {
+
+            this.lhs = lhs;
+            this.rhs = rhs;
+            this.states = states;
+        }
+    }
+
+    private static final class RefinedRule {
+
+        final Nonterminal lhs;
+        final HeapAutomatonState state;
+        final HeapConfiguration rhs;
+
+        RefinedRule(Nonterminal lhs, HeapAutomatonState state, HeapConfiguration rhs) {
+
+            this.lhs = lhs;
+            this.state = state;
+            this.rhs = rhs;
+        }
+    }
 }
@@ -3,14 +3,13 @@ package de.rwth.i2.attestor.refinement.reachability;
 import de.rwth.i2.attestor.graph.SelectorLabel;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
+import de.rwth.i2.attestor.graph.util.HeapReachability;
 import de.rwth.i2.attestor.main.scene.SceneObject;
 import de.rwth.i2.attestor.refinement.HeapAutomaton;
 import de.rwth.i2.attestor.refinement.HeapAutomatonState;
 import de.rwth.i2.attestor.types.Type;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
 
 import java.util.*;
 
@@ -67,9 +66,20 @@ public class ReachabilityHeapAutomaton extends SceneObject implements HeapAutoma
         }
     }
 
+    private HeapReachability computeReachability(HeapConfiguration canonicalHc) {
+
+        if (trackedSelectorLabels.isEmpty()) {
+            return HeapReachability.viaSelectors(canonicalHc);
+        }
+
+        // selectors of previously computed kernels are always tracked
+        return HeapReachability.viaSelectors(canonicalHc,
+                label -> trackedSelectorLabels.contains(label) || label.getLabel().startsWith("@"));
+    }
+
     private HeapConfiguration constructExternalKernel(HeapConfiguration canonicalHc) {
 
-        ReachabilityHelper reachabilityHelper = new ReachabilityHelper(canonicalHc, trackedSelectorLabels);
+        HeapReachability reachability = computeReachability(canonicalHc);
         HeapConfigurationBuilder builder = scene().createHeapConfiguration().builder();
         Type type = scene().getType("kernelNode");
         int rank = canonicalHc.countExternalNodes();
@@ -80,7 +90,7 @@ public class ReachabilityHeapAutomaton extends SceneObject implements HeapAutoma
             int from = canonicalHc.externalNodeAt(i);
             for (int j = 0; j < rank; j++) {
                 int to = canonicalHc.externalNodeAt(j);
-                if (reachabilityHelper.isReachable(from, to)) {
+                if (reachability.isReachable(from, to)) {
                     builder.addSelector(nodes.get(i), scene().getSelectorLabel("@" + String.valueOf(j)), nodes.get(j));
                 }
             }
@@ -91,7 +101,7 @@ public class ReachabilityHeapAutomaton extends SceneObject implements HeapAutoma
 
     private HeapConfiguration constructVariableKernel(HeapConfiguration canonicalHc) {
 
-        ReachabilityHelper reachabilityHelper = new ReachabilityHelper(canonicalHc, trackedSelectorLabels);
+        HeapReachability reachability = computeReachability(canonicalHc);
         HeapConfigurationBuilder builder = scene().createHeapConfiguration().builder();
         Type type = scene().getType("kernelNode");
         int varCount = canonicalHc.countVariableEdges();
@@ -107,7 +117,7 @@ public class ReachabilityHeapAutomaton extends SceneObject implements HeapAutoma
             for (int j = 0; j < varCount; j++) {
                 int varTo = variables.get(j);
                 int to = canonicalHc.targetOf(varTo);
-                if (reachabilityHelper.isReachable(from, to)) {
+                if (reachability.isReachable(from, to)) {
                     builder.addSelector(kernelFrom, scene().getSelectorLabel("@" + String.valueOf(j)), nodes.get(j));
                 }
             }
@@ -219,122 +229,3 @@ class ReachabilityAutomatonState extends HeapAutomatonState {
         return kernel.hashCode();
     }
 }
-
-class ReachabilityHelper {
-
-    /**
-     * The heap configuration in which the reachability between
-     * nodes shall be computed.
-     */
-    private final HeapConfiguration heapConfiguration;
-    private final Set<SelectorLabel> trackedSelectorLabels;
-    /**
-     * Stores the set of reachable nodes for each node
-     * in heapConfiguration.
-     */
-    private Map<Integer, TIntSet> reachableNodes;
-    /**
-     * True if and only if the reachableNodes have changed during
-     * the last iteration of the fixpoint computation used to
-     * determine all reachable nodes.
-     */
-    private boolean hasChanged;
-
-    /**
-     * @param heapConfiguration The heap configuration whose reachable nodes
-     *                          shall be determined for each nodes.
-     */
-    ReachabilityHelper(HeapConfiguration heapConfiguration, Set<SelectorLabel> trackedSelectorLabels) {
-
-        this.heapConfiguration = heapConfiguration;
-        this.trackedSelectorLabels = trackedSelectorLabels;
-        initReachableNodes();
-        computeReachableNodes();
-    }
-
-    /**
-     * Initializes the reachable nodes with the base case: The direct successors
-     * of each node.
-     */
-    private void initReachableNodes() {
-
-        int size = heapConfiguration.countNodes();
-        reachableNodes = new LinkedHashMap<>(size);
-        TIntIterator iter = heapConfiguration.nodes().iterator();
-        while (iter.hasNext()) {
-            int node = iter.next();
-            TIntArrayList successors = getSuccessors(node);
-            TIntSet reachable = new TIntHashSet(successors);
-            reachableNodes.put(node, reachable);
-        }
-    }
-
-    private TIntArrayList getSuccessors(int node) {
-
-        if (trackedSelectorLabels.isEmpty()) {
-            return heapConfiguration.successorNodesOf(node);
-        }
-
-        List<SelectorLabel> selectorLabels = heapConfiguration.selectorLabelsOf(node);
-        TIntArrayList result = new TIntArrayList(selectorLabels.size());
-        for (SelectorLabel label : selectorLabels) {
-            if (trackedSelectorLabels.contains(label) || label.getLabel().startsWith("@")) {
-                int target = heapConfiguration.selectorTargetOf(node, label);
-                if (target != HeapConfiguration.INVALID_ELEMENT) {
-                    result.add(target);
-                }
-            }
-        }
-
-        return result;
-    }
-
-    /**
-     * Performs a fixpoint computation to determine all reachable nodes.
-     */
-    private void computeReachableNodes() {
-
-        do {
-            hasChanged = false;
-            updateReachableNodes();
-        } while (hasChanged);
-    }
-
-    /**
-     * Performs a single step of the fixpoint computation to determine all reachable nodes.
-     * That is, for each reachable node of any node, all its reachable nodes are also marked
-     * as reachable. In case at least one additional node has been marked as reachable, this
-     * method sets hasChanged to true.
-     */
-    private void updateReachableNodes() {
-
-        TIntIterator iter = heapConfiguration.nodes().iterator();
-        while (iter.hasNext()) {
-            int node = iter.next();
-            TIntSet successors = reachableNodes.get(node);
-            TIntSet update = new TIntHashSet();
-            TIntIterator succIter = successors.iterator();
-            while (succIter.hasNext()) {
-                int succ = succIter.next();
-                update.addAll(getSuccessors(succ));
-            }
-            if (!successors.containsAll(update)) {
-                hasChanged = true;
-                successors.addAll(update);
-            }
-        }
-    }
-
-    /**
-     * Checks whether the node 'to' is reachable from the node 'from'.
-     *
-     * @param from The source node.
-     * @param to   The node that should be reached.
-     * @return True if and only if node 'to' is reachable from node 'from'.
-     */
-    boolean isReachable(int from, int to) {
-
-        return reachableNodes.containsKey(from)
-                && reachableNodes.get(from).contains(to);
-    }
-}
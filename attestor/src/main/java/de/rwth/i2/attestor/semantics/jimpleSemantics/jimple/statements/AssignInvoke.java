@@ -143,6 +143,14 @@ public class AssignInvoke extends Statement implements InvokeCleanup {
 
     }
 
+    /**
+     * @return the called method
+     */
+    public Method getMethod() {
+
+        return method;
+    }
+
     public boolean needsMaterialization(ProgramState programState) {
 
         return invokePrepare.needsMaterialization(programState);
@@ -182,4 +190,10 @@ public class AssignInvoke extends Statement implements InvokeCleanup {
     public boolean needsCanonicalization() {
         return true;
     }
+
+    @Override
+    public boolean requiresExclusiveExecution() {
+        // procedure calls access the shared contracts and procedure registry
+        return true;
+    }
 }
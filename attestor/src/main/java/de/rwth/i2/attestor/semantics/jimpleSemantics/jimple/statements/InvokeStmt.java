@@ -107,6 +107,14 @@ public class InvokeStmt extends Statement implements InvokeCleanup {
         return state;
     }
 
+    /**
+     * @return the called method
+     */
+    public Method getMethod() {
+
+        return method;
+    }
+
     public boolean needsMaterialization(ProgramState programState) {
 
         return invokePrepare.needsMaterialization(programState);
@@ -143,4 +151,10 @@ public class InvokeStmt extends Statement implements InvokeCleanup {
     public boolean needsCanonicalization() {
         return true;
     }
+
+    @Override
+    public boolean requiresExclusiveExecution() {
+        // procedure calls access the shared contracts and procedure registry
+        return true;
+    }
 }
@@ -0,0 +1,54 @@
+package de.rwth.i2.attestor.stateSpaceGeneration;
+
+/**
+ * A {@link StateExplorationStrategy} that can be shared by multiple worker threads
+ * during parallel state space generation.
+ * <br>
+ * Each worker first calls {@link #registerWorker(int)}. Afterwards, {@link #getNextUnexploredState()}
+ * returns null if no state is available for the calling worker at the moment.
+ * Since further states may still be added by other workers, the exploration is only finished
+ * once {@link #isExhausted()} holds, i.e. every state that has been added is marked as explored
+ * by {@link #stateExplored(ProgramState)}. Idle workers block in {@link #awaitUnexploredStates()}
+ * until this is the case or another worker adds a state.
+ */
+public interface ConcurrentStateExplorationStrategy extends StateExplorationStrategy {
+
+    /**
+     * @return The number of workers supported by this strategy.
+     */
+    int getNumberOfWorkers();
+
+    /**
+     * Associates the calling thread with the given worker.
+     *
+     * @param workerId A number between 0 and getNumberOfWorkers() - 1.
+     */
+    void registerWorker(int workerId);
+
+    /**
+     * Marks a state obtained by getNextUnexploredState() as completely explored, i.e. all of its
+     * successors have already been added to this strategy.
+     *
+     * @param state The explored state.
+     */
+    void stateExplored(ProgramState state);
+
+    /**
+     * @return True if and only if all states that have been added are explored.
+     */
+    boolean isExhausted();
+
+    /**
+     * Blocks the calling worker until an unexplored state might be available, this strategy is exhausted,
+     * or {@link #wakeUpWorkers()} has been called.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    void awaitUnexploredStates() throws InterruptedException;
+
+    /**
+     * Wakes up all workers that are blocked in awaitUnexploredStates() and prevents further workers
+     * from blocking, e.g. because state space generation has been aborted.
+     */
+    void wakeUpWorkers();
+}
@@ -70,6 +70,18 @@ public interface SemanticsCommand {
      * @return true, if the statement always requires canonicalization
      */
     boolean needsCanonicalization();
+
+    /**
+     * Determines whether executing this statement accesses data shared by all states, e.g. contracts of
+     * procedures, such that it must not be executed concurrently to other statements requiring
+     * exclusive execution during parallel state space generation.
+     *
+     * @return true, if the statement has to be executed exclusively.
+     */
+    default boolean requiresExclusiveExecution() {
+
+        return false;
+    }
     
     /**
      * Prepares the heap of programState for the execution of the statement.
@@ -1,7 +1,11 @@
 package de.rwth.i2.attestor.stateSpaceGeneration;
 
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import de.rwth.i2.attestor.phases.symbolicExecution.onthefly.ScopedHeapHierarchy;
 import de.rwth.i2.attestor.refinement.AutomatonStateLabelingStrategy;
@@ -90,6 +94,17 @@ public class StateSpaceGenerator {
     FinalStateStrategy finalStateStrategy;
 
     boolean alwaysCanonicalize = false;
+    /**
+     * The number of threads used to generate the state space.
+     * If the parallelism exceeds one, the state exploration strategy is
+     * a {@link ConcurrentStateExplorationStrategy}.
+     */
+    int parallelism = 1;
+    /**
+     * Lock guarding the execution of statements that require exclusive execution during parallel
+     * state space generation.
+     */
+    private final Object exclusiveExecutionLock = new Object();
 
     protected StateSpaceGenerator() {
     }
@@ -125,6 +140,14 @@ public class StateSpaceGenerator {
         return alwaysCanonicalize;
     }
 
+    /**
+     * @return The number of threads used to generate the state space.
+     */
+    public int getParallelism() {
+
+        return parallelism;
+    }
+
     /**
      * @return The strategy determining when state space generation is aborted.
      */
@@ -217,6 +240,10 @@ public class StateSpaceGenerator {
      */
     public StateSpace generate() throws StateSpaceGenerationAbortedException {
 
+        if (parallelism > 1) {
+            return generateInParallel();
+        }
+
         while (stateExplorationStrategy.hasUnexploredStates()) {
 
             ProgramState state = stateExplorationStrategy.getNextUnexploredState();
@@ -228,27 +255,149 @@ public class StateSpaceGenerator {
                 return stateSpace;
             }
 
-            SemanticsCommand stateSemanticsCommand = semanticsOf(state);
+            exploreState(state, semanticsOf(state));
+        }
 
-            boolean isMaterialized = materializationPhase(stateSemanticsCommand, state) ;
-            if(isMaterialized) {
-                Collection<ProgramState> successorStates = stateSemanticsCommand.computeSuccessors(state, scopeHierarchy);
-                if(finalStateStrategy.isFinalState(state, successorStates, stateSemanticsCommand)) {
-                    stateSpace.setFinal(state);
-                    stateSpace.addArtificialInfPathsTransition(state); // Add self-loop to each final state
-                } else {
-                    for(ProgramState nextState : successorStates) {
-                        handleSuccessorState(state, nextState);
-                    }
+        postProcessingStrategy.process(stateSpace);
+        totalStatesCounter.addStates(stateSpace.size());
+        return stateSpace;
+    }
+
+    /**
+     * Generates the state space using multiple worker threads that share a
+     * {@link ConcurrentStateExplorationStrategy}. Statements that require exclusive execution,
+     * i.e. procedure calls, are executed by at most one worker at a time.
+     *
+     * @return The generated StateSpace.
+     * @throws StateSpaceGenerationAbortedException
+     */
+    private StateSpace generateInParallel() throws StateSpaceGenerationAbortedException {
+
+        ConcurrentStateExplorationStrategy explorationStrategy =
+                (ConcurrentStateExplorationStrategy) stateExplorationStrategy;
+
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        AtomicReference<Throwable> failure = new AtomicReference<>(null);
+
+        List<Thread> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            final int workerId = i;
+            Thread worker = new Thread(() -> {
+                explorationStrategy.registerWorker(workerId);
+                try {
+                    runWorker(explorationStrategy, aborted, failure);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                    explorationStrategy.wakeUpWorkers();
                 }
+            }, "StateSpaceGenerator-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+                explorationStrategy.wakeUpWorkers();
             }
         }
 
-        postProcessingStrategy.process(stateSpace);
+        Throwable error = failure.get();
+        if (error instanceof StateSpaceGenerationAbortedException) {
+            throw (StateSpaceGenerationAbortedException) error;
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else if (error != null) {
+            throw new IllegalStateException("Parallel state space generation failed.", error);
+        }
+
+        if (aborted.get()) {
+            abortRemainingStates();
+        } else {
+            postProcessingStrategy.process(stateSpace);
+        }
         totalStatesCounter.addStates(stateSpace.size());
         return stateSpace;
     }
 
+    private void runWorker(ConcurrentStateExplorationStrategy explorationStrategy,
+                           AtomicBoolean aborted,
+                           AtomicReference<Throwable> failure) throws StateSpaceGenerationAbortedException {
+
+        while (!aborted.get() && failure.get() == null) {
+
+            ProgramState state = explorationStrategy.getNextUnexploredState();
+            if (state == null) {
+                if (explorationStrategy.isExhausted()) {
+                    return;
+                }
+                try {
+                    explorationStrategy.awaitUnexploredStates();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure.compareAndSet(null, e);
+                    explorationStrategy.wakeUpWorkers();
+                    return;
+                }
+                continue;
+            }
+
+            try {
+                state.setContainingStateSpace(this.stateSpace);
+
+                try {
+                    abortStrategy.checkAbort(stateSpace);
+                } catch (StateSpaceGenerationAbortedException e) {
+                    stateSpace.setAborted(state);
+                    aborted.set(true);
+                    explorationStrategy.wakeUpWorkers();
+                    if (!state.isFromTopLevelStateSpace()) {
+                        throw e;
+                    }
+                    return;
+                }
+
+                SemanticsCommand semanticsCommand = semanticsOf(state);
+                if (semanticsCommand.requiresExclusiveExecution()) {
+                    synchronized (exclusiveExecutionLock) {
+                        exploreState(state, semanticsCommand);
+                    }
+                } else {
+                    exploreState(state, semanticsCommand);
+                }
+            } finally {
+                explorationStrategy.stateExplored(state);
+            }
+        }
+    }
+
+    /**
+     * Materializes the given state if necessary and otherwise computes and adds all of its successors.
+     *
+     * @param state The state to explore.
+     * @param stateSemanticsCommand The statement that should be executed next.
+     */
+    private void exploreState(ProgramState state, SemanticsCommand stateSemanticsCommand) {
+
+        boolean isMaterialized = materializationPhase(stateSemanticsCommand, state) ;
+        if(isMaterialized) {
+            Collection<ProgramState> successorStates = stateSemanticsCommand.computeSuccessors(state, scopeHierarchy);
+            if(finalStateStrategy.isFinalState(state, successorStates, stateSemanticsCommand)) {
+                stateSpace.setFinal(state);
+                stateSpace.addArtificialInfPathsTransition(state); // Add self-loop to each final state
+            } else {
+                for(ProgramState nextState : successorStates) {
+                    handleSuccessorState(state, nextState);
+                }
+            }
+        }
+    }
+
     protected boolean checkAbortCriteria(ProgramState state) throws StateSpaceGenerationAbortedException {
 
         try {
@@ -104,6 +104,16 @@ public class StateSpaceGeneratorBuilder {
             throw new IllegalStateException("StateSpaceGenerator: No admissibility strategy.");
         }
         
+        if(generator.parallelism < 1) {
+            throw new IllegalStateException("StateSpaceGenerator: Parallelism must be positive.");
+        }
+
+        if(generator.parallelism > 1
+                && !(generator.stateExplorationStrategy instanceof ConcurrentStateExplorationStrategy)) {
+            throw new IllegalStateException("StateSpaceGenerator: Parallel state space generation requires " +
+                    "a concurrent state exploration strategy.");
+        }
+
         if(generator.scopeHierarchy == null) {
             generator.scopeHierarchy = new ScopedHeapHierarchy();
         }
@@ -299,4 +309,17 @@ public class StateSpaceGeneratorBuilder {
         generator.alwaysCanonicalize = alwaysCanonicalize;
         return this;
     }
+
+    /**
+     * @param parallelism The number of threads used to generate the state space. If more than one
+     *                    thread is used, the state exploration strategy has to be a
+     *                    {@link ConcurrentStateExplorationStrategy} and the state space has to support
+     *                    concurrent insertion of states.
+     * @return The builder.
+     */
+    public StateSpaceGeneratorBuilder setParallelism(int parallelism) {
+
+        generator.parallelism = parallelism;
+        return this;
+    }
 }
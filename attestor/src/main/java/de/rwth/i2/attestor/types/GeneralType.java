@@ -59,6 +59,14 @@ public final class GeneralType implements Type {
 
     }
 
+    /**
+     * @return The full name of this type.
+     */
+    public String getName() {
+
+        return name;
+    }
+
     /**
      * Checks whether two types are equal.
      *
@@ -126,7 +134,7 @@ public final class GeneralType implements Type {
             knownTypes.put(TypeNames.INT_PLUS_1, Types.INT_PLUS_1);
         }
 
-        public Type get(String name) {
+        public synchronized Type get(String name) {
 
             Type result = knownTypes.computeIfAbsent(name, GeneralType::new);
             return result;
@@ -0,0 +1,38 @@
+package de.rwth.i2.attestor.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A map that holds at most a fixed number of entries.
+ * If the capacity is exceeded, the least recently accessed entry is evicted.
+ * Like {@link LinkedHashMap}, this map is not synchronized.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the cached values.
+ */
+@SuppressWarnings("serial")
+public class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+    private final int capacity;
+
+    /**
+     * @param capacity The maximal number of entries. Must be positive.
+     */
+    public LruCache(int capacity) {
+
+        super(16, 0.75f, true);
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of a cache must be positive.");
+        }
+
+        this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+
+        return size() > capacity;
+    }
+}
@@ -0,0 +1,89 @@
+package de.rwth.i2.attestor.grammar;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.graph.morphism.MorphismOptions;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EmbeddingSignatureTest {
+
+    private ExampleHcImplFactory hcFactory;
+
+    @Before
+    public void setUp() {
+
+        SceneObject sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+    }
+
+    @Test
+    public void testEmbeddablePattern() {
+
+        EmbeddingSignature pattern = EmbeddingSignature.of(hcFactory.getListRule2());
+        EmbeddingSignature target = EmbeddingSignature.of(hcFactory.getListRule2Test());
+
+        assertTrue(pattern.mightBeEmbeddedIn(target));
+    }
+
+    @Test
+    public void testLargerPatternIsRejected() {
+
+        EmbeddingSignature smaller = EmbeddingSignature.of(hcFactory.getTwoElementDLL());
+        EmbeddingSignature larger = EmbeddingSignature.of(hcFactory.getFiveElementDLL());
+
+        assertTrue(smaller.mightBeEmbeddedIn(larger));
+        assertFalse(larger.mightBeEmbeddedIn(smaller));
+    }
+
+    @Test
+    public void testMissingNonterminalIsRejected() {
+
+        EmbeddingSignature pattern = EmbeddingSignature.of(hcFactory.getAbstractList());
+        EmbeddingSignature target = EmbeddingSignature.of(hcFactory.getLongConcreteSLL());
+
+        assertFalse(pattern.mightBeEmbeddedIn(target));
+    }
+
+    @Test
+    public void testSignaturesDoNotRuleOutEmbeddings() {
+
+        HeapConfiguration[] heaps = {
+                hcFactory.getSimpleDLL(),
+                hcFactory.getTwoElementDLL(),
+                hcFactory.getThreeElementDLL(),
+                hcFactory.getThreeElementDLLWithConstants(),
+                hcFactory.getFiveElementDLL(),
+                hcFactory.getTree(),
+                hcFactory.getLargerTree(),
+                hcFactory.getListAndConstants(),
+                hcFactory.getList(),
+                hcFactory.getCyclicList(),
+                hcFactory.getAbstractList(),
+                hcFactory.getListRule1(),
+                hcFactory.getListRule2(),
+                hcFactory.getListRule3(),
+                hcFactory.getListRule2Test(),
+                hcFactory.getTestForListRule3(),
+                hcFactory.getDLLRule1(),
+                hcFactory.getDLLRule2(),
+                hcFactory.getCanonizationTest1(),
+                hcFactory.getLongConcreteSLL()
+        };
+
+        MorphismOptions options = new AbstractionOptions();
+        for (HeapConfiguration pattern : heaps) {
+            for (HeapConfiguration target : heaps) {
+                if (target.getEmbeddingsOf(pattern, options).hasMatching()) {
+                    assertTrue(EmbeddingSignature.of(pattern)
+                            .mightBeEmbeddedIn(EmbeddingSignature.of(target)));
+                }
+            }
+        }
+    }
+}
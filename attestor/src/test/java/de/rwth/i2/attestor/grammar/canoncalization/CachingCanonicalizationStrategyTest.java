@@ -0,0 +1,95 @@
+package de.rwth.i2.attestor.grammar.canoncalization;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.canonicalization.CachingCanonicalizationStrategy;
+import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationStrategy;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CachingCanonicalizationStrategyTest {
+
+    private ExampleHcImplFactory hcFactory;
+    private int invocations;
+    private CanonicalizationStrategy countingStrategy;
+
+    @Before
+    public void setUp() {
+
+        hcFactory = new ExampleHcImplFactory(new MockupSceneObject());
+        invocations = 0;
+        countingStrategy = heapConfiguration -> {
+            invocations++;
+            return hcFactory.getAbstractList();
+        };
+    }
+
+    @Test
+    public void testIsomorphicHeapsAreCanonicalizedOnce() {
+
+        CachingCanonicalizationStrategy strategy = new CachingCanonicalizationStrategy(countingStrategy, 10);
+
+        HeapConfiguration first = strategy.canonicalize(hcFactory.getList());
+        HeapConfiguration second = strategy.canonicalize(hcFactory.getList());
+
+        assertEquals(1, invocations);
+        assertEquals(1, strategy.getHits());
+        assertEquals(1, strategy.getMisses());
+        assertEquals(hcFactory.getAbstractList(), first);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testDifferentHeapsAreCanonicalizedSeparately() {
+
+        CachingCanonicalizationStrategy strategy = new CachingCanonicalizationStrategy(countingStrategy, 10);
+
+        strategy.canonicalize(hcFactory.getList());
+        strategy.canonicalize(hcFactory.getCyclicList());
+
+        assertEquals(2, invocations);
+        assertEquals(0, strategy.getHits());
+        assertEquals(2, strategy.getMisses());
+        assertEquals(2, strategy.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedHeapIsEvicted() {
+
+        CachingCanonicalizationStrategy strategy = new CachingCanonicalizationStrategy(countingStrategy, 2);
+
+        strategy.canonicalize(hcFactory.getList());
+        strategy.canonicalize(hcFactory.getCyclicList());
+        strategy.canonicalize(hcFactory.getList());
+        strategy.canonicalize(hcFactory.getTree());
+        assertEquals(2, strategy.size());
+        assertEquals(3, invocations);
+
+        strategy.canonicalize(hcFactory.getList());
+        assertEquals(3, invocations);
+
+        strategy.canonicalize(hcFactory.getCyclicList());
+        assertEquals(4, invocations);
+    }
+
+    @Test
+    public void testCachedResultIsNotModifiedByCallers() {
+
+        CachingCanonicalizationStrategy strategy = new CachingCanonicalizationStrategy(countingStrategy, 10);
+
+        HeapConfiguration result = strategy.canonicalize(hcFactory.getList());
+        result.builder().addVariableEdge("y", result.nodes().get(0)).build();
+
+        assertEquals(hcFactory.getAbstractList(), strategy.canonicalize(hcFactory.getList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityMustBePositive() {
+
+        new CachingCanonicalizationStrategy(countingStrategy, 0);
+    }
+}
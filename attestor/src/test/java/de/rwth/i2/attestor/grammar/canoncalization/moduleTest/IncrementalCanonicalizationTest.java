@@ -0,0 +1,105 @@
+package de.rwth.i2.attestor.grammar.canoncalization.moduleTest;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.AbstractionOptions;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationHelper;
+import de.rwth.i2.attestor.grammar.canonicalization.EmbeddingCheckerProvider;
+import de.rwth.i2.attestor.grammar.canonicalization.GeneralCanonicalizationStrategy;
+import de.rwth.i2.attestor.grammar.canonicalization.defaultGrammar.DefaultCanonicalizationHelper;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IncrementalCanonicalizationTest {
+
+    private SceneObject sceneObject;
+    private ExampleHcImplFactory hcFactory;
+
+    private GeneralCanonicalizationStrategy incrementalStrategy;
+    private GeneralCanonicalizationStrategy canonicalizationStrategy;
+
+    @Before
+    public void setUp() {
+
+        sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+
+        Nonterminal listLabel = sceneObject.scene().createNonterminal("List", 2, new boolean[]{false, true});
+
+        Grammar grammar = Grammar.builder()
+                .addRule(listLabel, hcFactory.getListRule1())
+                .addRule(listLabel, hcFactory.getListRule2())
+                .addRule(listLabel, hcFactory.getListRule3())
+                .updateCollapsedRules()
+                .build();
+
+        AbstractionOptions options = new AbstractionOptions()
+                .setAdmissibleConstants(
+                        sceneObject.scene().options().isAdmissibleConstantsEnabled()
+                );
+
+        EmbeddingCheckerProvider checkerProvider = new EmbeddingCheckerProvider(options);
+        CanonicalizationHelper canonicalizationHelper = new DefaultCanonicalizationHelper(checkerProvider);
+
+        incrementalStrategy = new GeneralCanonicalizationStrategy(grammar, canonicalizationHelper, true);
+        canonicalizationStrategy = new GeneralCanonicalizationStrategy(grammar, canonicalizationHelper);
+    }
+
+    @Test
+    public void testUntrackedHeapIsFullyAbstracted() {
+
+        HeapConfiguration result = incrementalStrategy.canonicalize(hcFactory.getLongConcreteSLL());
+
+        assertEquals(hcFactory.getSLLHandle(), result);
+        assertNotNull("Results of incremental canonicalization track changes.", result.changedNodes());
+        assertTrue(result.changedNodes().isEmpty());
+    }
+
+    @Test
+    public void testUnchangedHeapIsNotAbstractedAgain() {
+
+        HeapConfiguration result = incrementalStrategy.canonicalize(hcFactory.getLongConcreteSLL());
+
+        assertSame(result, incrementalStrategy.canonicalize(result));
+    }
+
+    @Test
+    public void testChangedHeapYieldsSameResult() {
+
+        HeapConfiguration abstractHeap = incrementalStrategy.canonicalize(hcFactory.getLongConcreteSLL());
+
+        HeapConfiguration changed = appendConcreteElements(abstractHeap.clone());
+        HeapConfiguration untracked = appendConcreteElements(hcFactory.getSLLHandle());
+        assertNull(untracked.changedNodes());
+        assertFalse(changed.changedNodes().isEmpty());
+
+        HeapConfiguration expected = canonicalizationStrategy.canonicalize(untracked);
+        assertEquals(expected, incrementalStrategy.canonicalize(changed));
+    }
+
+    private HeapConfiguration appendConcreteElements(HeapConfiguration heap) {
+
+        Type listType = sceneObject.scene().getType("List");
+        SelectorLabel nextSel = sceneObject.scene().getSelectorLabel("next");
+
+        int ntEdge = heap.nonterminalEdges().get(0);
+        int last = heap.attachedNodesOf(ntEdge).get(1);
+
+        TIntArrayList nodes = new TIntArrayList();
+        return heap.builder()
+                .addNodes(listType, 3, nodes)
+                .addSelector(last, nextSel, nodes.get(0))
+                .addSelector(nodes.get(0), nextSel, nodes.get(1))
+                .addSelector(nodes.get(1), nextSel, nodes.get(2))
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package de.rwth.i2.attestor.grammar.concretization;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.graph.heap.internal.InternalHeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class FullConcretizationStrategyImplTest {
+
+    private SceneObject sceneObject;
+    private Nonterminal listLabel;
+    private FullConcretizationStrategy concretizationStrategy;
+
+    @Before
+    public void setUp() {
+
+        sceneObject = new MockupSceneObject();
+        ExampleHcImplFactory hcFactory = new ExampleHcImplFactory(sceneObject);
+        listLabel = sceneObject.scene().createNonterminal("List", 2, new boolean[]{false, true});
+
+        Grammar grammar = Grammar.builder()
+                .addRule(listLabel, hcFactory.getListRule1())
+                .build();
+
+        concretizationStrategy = new FullConcretizationStrategyImpl(
+                new DefaultSingleStepConcretizationStrategy(grammar)
+        );
+    }
+
+    @Test(timeout = 10000)
+    public void testConcretizeSeveralNonterminalEdges() {
+
+        HeapConfiguration input = getListWithNonterminalEdges(3);
+        HeapConfiguration expected = getConcreteList(3);
+
+        List<HeapConfiguration> result = concretizationStrategy.concretize(input, 2);
+
+        assertEquals(2, result.size());
+        for (HeapConfiguration hc : result) {
+            assertEquals(0, hc.countNonterminalEdges());
+            assertEquals(expected, hc);
+        }
+    }
+
+    private HeapConfiguration getListWithNonterminalEdges(int edges) {
+
+        Type listType = sceneObject.scene().getType("List");
+        TIntArrayList nodes = new TIntArrayList();
+        HeapConfigurationBuilder builder = new InternalHeapConfiguration().builder()
+                .addNodes(listType, edges + 1, nodes);
+        for (int i = 0; i < edges; i++) {
+            builder.addNonterminalEdge(listLabel, new TIntArrayList(new int[]{nodes.get(i), nodes.get(i + 1)}));
+        }
+        return builder.build();
+    }
+
+    private HeapConfiguration getConcreteList(int selectors) {
+
+        Type listType = sceneObject.scene().getType("List");
+        SelectorLabel nextSel = sceneObject.scene().getSelectorLabel("next");
+        TIntArrayList nodes = new TIntArrayList();
+        HeapConfigurationBuilder builder = new InternalHeapConfiguration().builder()
+                .addNodes(listType, selectors + 1, nodes);
+        for (int i = 0; i < selectors; i++) {
+            builder.addSelector(nodes.get(i), nextSel, nodes.get(i + 1));
+        }
+        return builder.build();
+    }
+}
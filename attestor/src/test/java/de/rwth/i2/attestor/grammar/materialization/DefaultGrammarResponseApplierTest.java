@@ -79,9 +79,7 @@ public class DefaultGrammarResponseApplierTest {
         rulesInResponse.add(rule3);
         GrammarResponse grammarResponse = new DefaultGrammarResponse(rulesInResponse);
         ruleApplier.applyGrammarResponseTo(inputGraph, EDGE_ID, grammarResponse);
-        verify(graphMaterializerMock).getMaterializedCloneWith(inputGraph, EDGE_ID, rule1);
-        verify(graphMaterializerMock).getMaterializedCloneWith(inputGraph, EDGE_ID, rule2);
-        verify(graphMaterializerMock).getMaterializedCloneWith(inputGraph, EDGE_ID, rule3);
+        verify(graphMaterializerMock).getMaterializedClonesWith(inputGraph, EDGE_ID, rulesInResponse);
 
     }
 
@@ -72,8 +72,9 @@ public class IndexedGrammarResponseApplierTest {
         ruleApplier.applyGrammarResponseTo(inputGraph, EDGE_ID, grammarResponse);
         verify(indexMaterializationStrategyMock).getMaterializedCloneWith(inputGraph, symbolToMaterialize, materialization1);
         verify(indexMaterializationStrategyMock).getMaterializedCloneWith(inputGraph, symbolToMaterialize, materialization2);
-        verify(graphMaterializerMock, times(2)).getMaterializedCloneWith(anyObject(), eq(EDGE_ID), eq(mat1_rule1));
-        verify(graphMaterializerMock).getMaterializedCloneWith(anyObject(), eq(EDGE_ID), eq(mat2_rule2));
+        verify(graphMaterializerMock).getMaterializedCloneWith(anyObject(), eq(EDGE_ID), eq(mat1_rule1));
+        verify(graphMaterializerMock).getMaterializedClonesWith(anyObject(), eq(EDGE_ID),
+                eq(rules.get(materialization2)));
     }
 
     private HeapConfiguration createInputGraph() {
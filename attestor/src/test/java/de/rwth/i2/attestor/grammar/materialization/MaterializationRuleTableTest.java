@@ -0,0 +1,112 @@
+package de.rwth.i2.attestor.grammar.materialization;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.grammar.materialization.communication.DefaultGrammarResponse;
+import de.rwth.i2.attestor.grammar.materialization.util.MaterializationRuleTable;
+import de.rwth.i2.attestor.grammar.materialization.util.ViolationPointResolver;
+import de.rwth.i2.attestor.grammar.testUtil.TestGraphs;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MaterializationRuleTableTest {
+
+    private static final List<String> SELECTOR_NAMES = Arrays.asList("next", "prev", "n", "p", "unknown");
+
+    private SceneObject sceneObject;
+    private TestGraphs testGraphs;
+    private Nonterminal defaultNonterminal;
+
+    @Before
+    public void init() {
+
+        sceneObject = new MockupSceneObject();
+        testGraphs = new TestGraphs(sceneObject);
+        defaultNonterminal = sceneObject.scene().createNonterminal("MaterializationRuleTableTest", 2,
+                new boolean[]{false, false});
+    }
+
+    @Test
+    public void testRulesCreatingSelector() {
+
+        HeapConfiguration rhsCreatingNext = testGraphs.getRuleGraph_CreatingNext();
+        HeapConfiguration rhsCreatingNextPrev = testGraphs.getRuleGraph_CreatingNextAt0_PrevAt1();
+        HeapConfiguration rhsCreatingPrev = testGraphs.getRuleGraph_creatingPrevAt1();
+        Grammar grammar = Grammar.builder()
+                .addRule(defaultNonterminal, rhsCreatingNextPrev)
+                .addRule(defaultNonterminal, rhsCreatingNext)
+                .addRule(defaultNonterminal, testGraphs.getRuleGraph_creatingNoSelector())
+                .addRule(defaultNonterminal, rhsCreatingPrev)
+                .build();
+
+        MaterializationRuleTable table = grammar.getMaterializationRuleTable();
+        assertSame(table, grammar.getMaterializationRuleTable());
+
+        assertThat(table.getRulesFor(defaultNonterminal, 0, "next"),
+                contains(rhsCreatingNextPrev, rhsCreatingNext));
+        assertThat(table.getRulesFor(defaultNonterminal, 1, "prev"),
+                contains(rhsCreatingNextPrev, rhsCreatingPrev));
+        assertThat(table.getRulesFor(defaultNonterminal, 1, "next"), empty());
+        assertThat(table.getRulesFor(defaultNonterminal, 2, "next"), empty());
+
+        Nonterminal unknownNonterminal = sceneObject.scene().createNonterminal("MaterializationRuleTableTest_unknown",
+                2, new boolean[]{false, false});
+        assertThat(table.getRulesFor(unknownNonterminal, 0, "next"), empty());
+    }
+
+    @Test
+    public void testLookupsDoNotAllocateResponses() {
+
+        Grammar grammar = Grammar.builder()
+                .addRule(defaultNonterminal, testGraphs.getRuleGraph_CreatingNext())
+                .build();
+        MaterializationRuleTable table = new MaterializationRuleTable(grammar);
+
+        DefaultGrammarResponse response = table.getResponseFor(defaultNonterminal, 0, "next");
+        assertSame(response, table.getResponseFor(defaultNonterminal, 0, "next"));
+        assertSame(table.getResponseFor(defaultNonterminal, 1, "next"),
+                table.getResponseFor(defaultNonterminal, 0, "unknown"));
+    }
+
+    @Test
+    public void testAgreesWithViolationPointResolver() {
+
+        ExampleHcImplFactory hcFactory = new ExampleHcImplFactory(sceneObject);
+        Nonterminal listLabel = sceneObject.scene().createNonterminal("List", 2, new boolean[]{false, true});
+        Grammar grammar = Grammar.builder()
+                .addRule(listLabel, hcFactory.getListRule1())
+                .addRule(listLabel, hcFactory.getListRule2())
+                .addRule(listLabel, hcFactory.getListRule3())
+                .addRule(listLabel, hcFactory.getDLLRule1())
+                .addRule(listLabel, hcFactory.getDLLRule2())
+                .addRule(defaultNonterminal, testGraphs.getRuleGraph_CreatingNextAt0_PrevAt1())
+                .addRule(defaultNonterminal, testGraphs.getRuleGraph_creatingPrevAt1())
+                .build();
+
+        MaterializationRuleTable table = new MaterializationRuleTable(grammar);
+        ViolationPointResolver resolver = new ViolationPointResolver(grammar);
+
+        for (Nonterminal lhs : grammar.getAllLeftHandSides()) {
+            for (int tentacle = 0; tentacle < lhs.getRank(); tentacle++) {
+                for (String selector : SELECTOR_NAMES) {
+                    Collection<HeapConfiguration> expected = resolver
+                            .getRulesCreatingSelectorFor(lhs, tentacle, selector)
+                            .getOrDefault(lhs, Collections.emptyList());
+                    assertEquals(new ArrayList<>(expected),
+                            new ArrayList<>(table.getRulesFor(lhs, tentacle, selector)));
+                }
+            }
+        }
+    }
+}
@@ -420,6 +420,42 @@ public class LabeledDigraphTest {
         assertEquals(1, copy.predecessorsOf(2).get(1));
     }
 
+    @Test
+    public void modifiedCopyTest() {
+
+        LabeledDigraph digraph = new LabeledDigraph(5);
+        addNodeWithVariableLabel(digraph, "x", 3, 3);
+        addNodeWithVariableLabel(digraph, "y", 3, 3);
+        addNodeWithVariableLabel(digraph, "z", 3, 3);
+        digraph.addEdge(0, "e1", 1);
+        digraph.addEdge(1, "e1", 2);
+        digraph.addEdge(2, "e2", 0);
+
+        LabeledDigraph copy = new LabeledDigraph(digraph);
+        copy.addEdge(0, "e2", 2);
+        copy.replaceEdgeLabel(1, "e1", "e3");
+        copy.removeNodeAt(0);
+        copy.pack();
+
+        assertEquals(3, digraph.size());
+        assertEquals(new TIntArrayList(new int[]{1}), digraph.successorsOf(0));
+        assertEquals("e1", digraph.edgeLabelAt(1, 0));
+        assertEquals(new TIntArrayList(new int[]{2}), digraph.predecessorsOf(0));
+        assertEquals(new TIntArrayList(new int[]{0}), digraph.predecessorsOf(1));
+
+        assertEquals(2, copy.size());
+        assertEquals(new Variable("z"), copy.nodeLabelOf(0));
+        assertEquals(new TIntArrayList(new int[]{0}), copy.successorsOf(1));
+        assertEquals("e3", copy.edgeLabelAt(1, 0));
+        assertEquals(0, copy.successorSizeOf(0));
+        assertEquals(0, copy.predecessorSizeOf(1));
+
+        digraph.removeEdgeAt(2, 0);
+        assertEquals(1, digraph.predecessorSizeOf(1));
+        assertEquals(0, digraph.predecessorSizeOf(0));
+        assertEquals(new TIntArrayList(new int[]{1}), copy.predecessorsOf(0));
+    }
+
     @Test
     public void externalNodeAtTest() {
 
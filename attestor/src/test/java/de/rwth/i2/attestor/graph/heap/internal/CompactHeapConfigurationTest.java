@@ -0,0 +1,162 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.Matching;
+import de.rwth.i2.attestor.graph.heap.matching.AbstractMatchingChecker;
+import de.rwth.i2.attestor.graph.heap.matching.EmbeddingChecker;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CompactHeapConfigurationTest {
+
+    private SceneObject sceneObject;
+    private ExampleHcImplFactory hcFactory;
+
+    @Before
+    public void setUp() {
+
+        sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+    }
+
+    @Test
+    public void testCompactHeapsProvideSameElements() {
+
+        HeapConfiguration withGaps = hcFactory.getListAndConstants();
+        withGaps.builder()
+                .removeVariableEdge(withGaps.variableWith("y"))
+                .build();
+
+        HeapConfiguration[] heaps = {
+                hcFactory.getEmptyHc(),
+                hcFactory.getThreeElementDLLWithConstants(),
+                hcFactory.getListAndConstants(),
+                hcFactory.getAbstractList(),
+                hcFactory.getTestForListRule3(),
+                hcFactory.getListRule3(),
+                hcFactory.getOneElemWithVar(),
+                withGaps
+        };
+
+        for (HeapConfiguration hc : heaps) {
+            HeapConfiguration compact = CompactHeapConfiguration.of(hc);
+            assertTrue(compact instanceof CompactHeapConfiguration);
+            assertSameElements(hc, compact);
+            assertEquals(hc, compact);
+            assertEquals(compact, hc);
+            assertEquals(hc.hashCode(), compact.hashCode());
+        }
+    }
+
+    @Test
+    public void testOfIsIdempotent() {
+
+        HeapConfiguration compact = CompactHeapConfiguration.of(hcFactory.getTree());
+        assertSame(compact, CompactHeapConfiguration.of(compact));
+
+        HeapConfiguration mutable = hcFactory.getTree();
+        mutable.builder();
+        assertSame("Heaps that are currently modified are not converted.",
+                mutable, CompactHeapConfiguration.of(mutable));
+    }
+
+    @Test
+    public void testModifiedCloneDoesNotAffectOriginal() {
+
+        HeapConfiguration compact = CompactHeapConfiguration.of(hcFactory.getThreeElementDLL());
+        HeapConfiguration clone = compact.clone();
+        HeapConfiguration expected = hcFactory.getThreeElementDLL();
+
+        Type type = sceneObject.scene().getType("node");
+        SelectorLabel next = sceneObject.scene().getSelectorLabel("next");
+        for (HeapConfiguration hc : new HeapConfiguration[]{clone, expected}) {
+            TIntArrayList nodes = new TIntArrayList();
+            int first = hc.nodes().get(0);
+            hc.builder()
+                    .addNodes(type, 1, nodes)
+                    .removeSelector(first, next)
+                    .addSelector(first, next, nodes.get(0))
+                    .addVariableEdge("x", nodes.get(0))
+                    .build();
+        }
+
+        assertSameElements(expected, clone);
+        assertEquals(expected, clone);
+        assertSameElements(hcFactory.getThreeElementDLL(), compact);
+        assertEquals(hcFactory.getThreeElementDLL(), compact);
+        assertNotEquals(compact, clone);
+    }
+
+    @Test
+    public void testMatchingsRemainValidAfterModification() {
+
+        HeapConfiguration pattern = hcFactory.getListRule2();
+        HeapConfiguration compact = CompactHeapConfiguration.of(hcFactory.getListRule2Test());
+
+        AbstractMatchingChecker checker = new EmbeddingChecker(pattern, compact);
+        assertTrue(checker.hasMatching());
+        Matching matching = checker.getMatching();
+
+        HeapConfiguration expected = hcFactory.getListRule2Test();
+        AbstractMatchingChecker expectedChecker = new EmbeddingChecker(pattern, expected);
+        assertTrue(expectedChecker.hasMatching());
+
+        compact.builder()
+                .replaceMatching(matching, sceneObject.scene().getNonterminal("List"))
+                .build();
+        expected.builder()
+                .replaceMatching(expectedChecker.getMatching(), sceneObject.scene().getNonterminal("List"))
+                .build();
+
+        assertEquals(expected, compact);
+    }
+
+    private void assertSameElements(HeapConfiguration expected, HeapConfiguration actual) {
+
+        assertEquals(expected.countNodes(), actual.countNodes());
+        assertEquals(expected.nodes(), actual.nodes());
+        assertEquals(expected.externalNodes(), actual.externalNodes());
+
+        TIntArrayList nodes = expected.nodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            assertEquals(expected.nodeTypeOf(node), actual.nodeTypeOf(node));
+            assertEquals(expected.selectorLabelsOf(node), actual.selectorLabelsOf(node));
+            for (SelectorLabel sel : expected.selectorLabelsOf(node)) {
+                assertEquals(expected.selectorTargetOf(node, sel), actual.selectorTargetOf(node, sel));
+            }
+            assertEquals(expected.successorNodesOf(node), actual.successorNodesOf(node));
+            assertEquals(expected.predecessorNodesOf(node), actual.predecessorNodesOf(node));
+            assertEquals(expected.attachedVariablesOf(node), actual.attachedVariablesOf(node));
+            assertEquals(expected.attachedNonterminalEdgesOf(node), actual.attachedNonterminalEdgesOf(node));
+            assertEquals(expected.isExternalNode(node), actual.isExternalNode(node));
+            assertEquals(expected.attachedNonterminalEdgesWithNonReductionTentacle(node),
+                    actual.attachedNonterminalEdgesWithNonReductionTentacle(node));
+        }
+
+        assertEquals(expected.nonterminalEdges(), actual.nonterminalEdges());
+        TIntArrayList ntEdges = expected.nonterminalEdges();
+        for (int i = 0; i < ntEdges.size(); i++) {
+            int ntEdge = ntEdges.get(i);
+            assertEquals(expected.labelOf(ntEdge), actual.labelOf(ntEdge));
+            assertEquals(expected.attachedNodesOf(ntEdge), actual.attachedNodesOf(ntEdge));
+        }
+
+        assertEquals(expected.variableEdges(), actual.variableEdges());
+        TIntArrayList varEdges = expected.variableEdges();
+        for (int i = 0; i < varEdges.size(); i++) {
+            int varEdge = varEdges.get(i);
+            String name = expected.nameOf(varEdge);
+            assertEquals(name, actual.nameOf(varEdge));
+            assertEquals(expected.targetOf(varEdge), actual.targetOf(varEdge));
+            assertEquals(varEdge, actual.variableWith(name));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.digraph.GraphCertificate;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.matching.IsomorphismChecker;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GraphCertificateTest {
+
+    private SceneObject sceneObject;
+    private ExampleHcImplFactory hcFactory;
+
+    @Before
+    public void setUp() {
+
+        sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+    }
+
+    @Test
+    public void testIsomorphicHeapsHaveEqualCertificates() {
+
+        InternalHeapConfiguration list = (InternalHeapConfiguration) buildList(false);
+        InternalHeapConfiguration permutedList = (InternalHeapConfiguration) buildList(true);
+
+        GraphCertificate certificate = list.getCertificate();
+        GraphCertificate permutedCertificate = permutedList.getCertificate();
+
+        assertEquals(certificate.getHash(), permutedCertificate.getHash());
+        assertTrue(certificate.isCanonical());
+        assertTrue(permutedCertificate.isCanonical());
+        assertTrue(certificate.hasEqualCanonicalForm(permutedCertificate));
+        assertEquals(list, permutedList);
+        assertEquals(list.hashCode(), permutedList.hashCode());
+    }
+
+    @Test
+    public void testDifferentHeapsAreDistinguished() {
+
+        HeapConfiguration list = hcFactory.getList();
+        HeapConfiguration cyclicList = hcFactory.getCyclicList();
+
+        assertNotEquals(list, cyclicList);
+        assertNotEquals(cyclicList, list);
+    }
+
+    @Test
+    public void testCertificateAgreesWithIsomorphismChecks() {
+
+        HeapConfiguration[] heaps = {
+                hcFactory.getSimpleDLL(),
+                hcFactory.getTwoElementDLL(),
+                hcFactory.getThreeElementDLL(),
+                hcFactory.getFiveElementDLL(),
+                hcFactory.getTree(),
+                hcFactory.getLargerTree(),
+                hcFactory.getList(),
+                hcFactory.getCyclicList(),
+                hcFactory.getAbstractList()
+        };
+
+        for (HeapConfiguration left : heaps) {
+            for (HeapConfiguration right : heaps) {
+                boolean isomorphic = new IsomorphismChecker(left, right)
+                        .hasMatching();
+                assertEquals(isomorphic, left.equals(right));
+                if (isomorphic) {
+                    assertEquals(left.hashCode(), right.hashCode());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSymmetricHeapIsNotCanonical() {
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+        TIntArrayList nodes = new TIntArrayList();
+        hc.builder()
+                .addNodes(sceneObject.scene().getType("node"), 2, nodes)
+                .build();
+
+        GraphCertificate certificate = ((InternalHeapConfiguration) hc).getCertificate();
+        assertFalse(certificate.isCanonical());
+        assertEquals(hc, hc.clone());
+    }
+
+    @Test
+    public void testCertificateIsUpdatedAfterChanges() {
+
+        HeapConfiguration hc = buildList(false);
+        int hash = hc.hashCode();
+
+        HeapConfiguration copy = hc.clone();
+        assertEquals(hash, copy.hashCode());
+
+        copy.builder()
+                .addVariableEdge("y", copy.nodes().get(0))
+                .build();
+
+        assertNotEquals(hash, copy.hashCode());
+        assertNotEquals(hc, copy);
+    }
+
+    @Test
+    public void testHashIsInvariantUnderReorderingExternalNodes() {
+
+        Type type = sceneObject.scene().getType("node");
+        SelectorLabel next = sceneObject.scene().getSelectorLabel("next");
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+        TIntArrayList nodes = new TIntArrayList();
+        hc = hc.builder()
+                .addNodes(type, 2, nodes)
+                .addSelector(nodes.get(0), next, nodes.get(1))
+                .setExternal(nodes.get(0))
+                .setExternal(nodes.get(1))
+                .build();
+
+        HeapConfiguration reordered = new InternalHeapConfiguration();
+        nodes.clear();
+        reordered = reordered.builder()
+                .addNodes(type, 2, nodes)
+                .addSelector(nodes.get(0), next, nodes.get(1))
+                .setExternal(nodes.get(1))
+                .setExternal(nodes.get(0))
+                .build();
+
+        assertEquals(hc.hashCode(), reordered.hashCode());
+        assertNotEquals(hc, reordered);
+    }
+
+    private HeapConfiguration buildList(boolean permuted) {
+
+        Type type = sceneObject.scene().getType("node");
+        SelectorLabel next = sceneObject.scene().getSelectorLabel("next");
+
+        HeapConfiguration result = new InternalHeapConfiguration();
+        TIntArrayList nodes = new TIntArrayList();
+        int first = permuted ? 2 : 0;
+        int last = permuted ? 0 : 2;
+
+        return result.builder()
+                .addNodes(type, 3, nodes)
+                .addSelector(nodes.get(first), next, nodes.get(1))
+                .addSelector(nodes.get(1), next, nodes.get(last))
+                .addVariableEdge("x", nodes.get(first))
+                .setExternal(nodes.get(last))
+                .build();
+    }
+}
@@ -1148,4 +1148,45 @@ public class HeapConfigurationBuilderTest {
         assertEquals(expected, result);
     }
 
+
+    /**
+     * Tests that builders record all nodes whose neighbourhood changes once changes are tracked.
+     */
+    @Test
+    public void testChangedNodes() {
+
+        MockupType type = new MockupType();
+        SelectorLabel sel = new MockupSelector("test");
+        TIntArrayList nodes = new TIntArrayList();
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+        hc.builder()
+                .addNodes(type, 4, nodes)
+                .addSelector(nodes.get(0), sel, nodes.get(1))
+                .addSelector(nodes.get(2), sel, nodes.get(3))
+                .build();
+        assertNull("Changes are not tracked by default.", hc.changedNodes());
+
+        hc.builder().clearChangedNodes().build();
+        assertTrue(hc.changedNodes().isEmpty());
+
+        hc.builder()
+                .addVariableEdge("x", nodes.get(1))
+                .build();
+        assertEquals(new TIntArrayList(new int[]{nodes.get(1)}), hc.changedNodes());
+
+        HeapConfiguration copy = hc.clone();
+        copy.builder()
+                .removeNode(nodes.get(2))
+                .build();
+        TIntArrayList changed = copy.changedNodes();
+        changed.sort();
+        assertEquals("Neighbours of removed nodes are changed.",
+                new TIntArrayList(new int[]{nodes.get(1), nodes.get(3)}), changed);
+        assertEquals("Copies track their changes independently.",
+                new TIntArrayList(new int[]{nodes.get(1)}), hc.changedNodes());
+
+        copy.builder().clearChangedNodes().build();
+        assertTrue(copy.changedNodes().isEmpty());
+    }
 }
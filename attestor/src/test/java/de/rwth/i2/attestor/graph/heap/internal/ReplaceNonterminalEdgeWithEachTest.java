@@ -0,0 +1,93 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ReplaceNonterminalEdgeWithEachTest {
+
+    private ExampleHcImplFactory hcFactory;
+    private List<HeapConfiguration> rules;
+
+    @Before
+    public void setUp() {
+
+        SceneObject sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+        rules = Arrays.asList(hcFactory.getListRule1(), hcFactory.getListRule2(), hcFactory.getListRule3());
+    }
+
+    @Test
+    public void testAgreesWithSingleReplacements() {
+
+        HeapConfiguration input = hcFactory.getAbstractList();
+        int ntEdge = input.nonterminalEdges().get(0);
+
+        List<HeapConfiguration> results = input.replaceNonterminalEdgeWithEach(ntEdge, rules);
+
+        assertEquals(hcFactory.getAbstractList(), input);
+        assertSameReplacements(input, ntEdge, results);
+    }
+
+    @Test
+    public void testCompactHeapAgreesWithSingleReplacements() {
+
+        HeapConfiguration input = CompactHeapConfiguration.of(hcFactory.getAbstractList());
+        int ntEdge = input.nonterminalEdges().get(0);
+
+        List<HeapConfiguration> results = input.replaceNonterminalEdgeWithEach(ntEdge, rules);
+
+        assertEquals(hcFactory.getAbstractList(), input);
+        assertTrue(input instanceof CompactHeapConfiguration);
+        assertSameReplacements(input, ntEdge, results);
+    }
+
+    @Test
+    public void testResultsAreIndependent() {
+
+        HeapConfiguration input = hcFactory.getAbstractList();
+        int ntEdge = input.nonterminalEdges().get(0);
+
+        List<HeapConfiguration> results = input.replaceNonterminalEdgeWithEach(ntEdge, rules);
+        HeapConfiguration first = results.get(0);
+        first.builder().removeVariableEdge(first.variableWith("x")).build();
+
+        assertEquals(HeapConfiguration.INVALID_ELEMENT, first.variableWith("x"));
+        assertNotEquals(HeapConfiguration.INVALID_ELEMENT, results.get(1).variableWith("x"));
+        assertNotEquals(HeapConfiguration.INVALID_ELEMENT, input.variableWith("x"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsWrongRank() {
+
+        HeapConfiguration input = hcFactory.getAbstractList();
+        int ntEdge = input.nonterminalEdges().get(0);
+
+        input.replaceNonterminalEdgeWithEach(ntEdge, Arrays.asList(hcFactory.getListRule1(), hcFactory.getEmptyHc()));
+    }
+
+    private void assertSameReplacements(HeapConfiguration input, int ntEdge, List<HeapConfiguration> results) {
+
+        assertEquals(rules.size(), results.size());
+        for (int i = 0; i < rules.size(); i++) {
+            HeapConfiguration expected = input.clone().builder()
+                    .replaceNonterminalEdge(ntEdge, rules.get(i))
+                    .build();
+            HeapConfiguration actual = results.get(i);
+
+            assertEquals(expected, actual);
+            assertEquals(expected.nodes(), actual.nodes());
+            assertEquals(expected.nonterminalEdges(), actual.nonterminalEdges());
+            assertEquals(expected.variableEdges(), actual.variableEdges());
+            assertEquals(expected.externalNodes(), actual.externalNodes());
+            assertEquals(expected.variableWith("x"), actual.variableWith("x"));
+        }
+    }
+}
@@ -10,6 +10,9 @@ import de.rwth.i2.attestor.main.scene.SceneObject;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -56,6 +59,37 @@ public class EmbeddingTest {
         assertTrue("Three element DLL is embedded in five element DLL, both with 2 external nodes", checker.hasMorphism());
     }
 
+    @Test
+    public void testOrderedMatchingAgreesWithDefaultOrder() {
+
+        HeapConfiguration[][] pairs = {
+                {hcImplFactory.getTwoElementDLL(), hcImplFactory.getThreeElementDLL()},
+                {hcImplFactory.getThreeElementDLL(), hcImplFactory.getFiveElementDLL()},
+                {hcImplFactory.getBrokenFourElementDLL(), hcImplFactory.getFiveElementDLL()},
+                {hcImplFactory.getListRule2(), hcImplFactory.getListRule2Test()},
+                {hcImplFactory.getListRule2(), hcImplFactory.getListRule2TestFail()},
+                {hcImplFactory.getListRule3(), hcImplFactory.getTestForListRule3()},
+                {hcImplFactory.getListRule3(), hcImplFactory.getTestForListRule3Fail()},
+                {hcImplFactory.getTreeLeaf(), hcImplFactory.get2TreeLeaf()},
+                {hcImplFactory.getDLL2Rule(), hcImplFactory.getDLLTarget()}
+        };
+
+        for (HeapConfiguration[] pair : pairs) {
+            Graph p = (Graph) pair[0];
+            Graph t = (Graph) pair[1];
+
+            int[] order = p.getMatchingOrder();
+            assertEquals(p.size(), order.length);
+            assertEquals(p.size(), IntStream.of(order).distinct().count());
+
+            VF2EmbeddingChecker checker = new VF2EmbeddingChecker();
+            checker.run(p, t);
+            VF2EmbeddingChecker orderedChecker = new VF2EmbeddingChecker(true);
+            orderedChecker.run(p, t);
+            assertEquals(checker.hasMorphism(), orderedChecker.hasMorphism());
+        }
+    }
+
     @Test
     public void testNegative() {
 
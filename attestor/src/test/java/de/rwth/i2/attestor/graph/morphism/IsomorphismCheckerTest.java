@@ -1,15 +1,22 @@
 package de.rwth.i2.attestor.graph.morphism;
 
 import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.SelectorLabel;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
 import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
 import de.rwth.i2.attestor.graph.heap.internal.InternalHeapConfiguration;
 import de.rwth.i2.attestor.graph.morphism.checkers.VF2IsomorphismChecker;
 import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class IsomorphismCheckerTest {
 
@@ -146,4 +153,52 @@ public class IsomorphismCheckerTest {
         assertFalse(checker.hasMorphism());
     }
 
+    @Test
+    public void testRepeatedChecksWithDifferentSizes() {
+
+        HeapConfiguration large = hcFactory.getListRule3();
+        HeapConfiguration small = hcFactory.getListRule1();
+        HeapConfiguration other = hcFactory.getListRule2();
+
+        VF2IsomorphismChecker checker = new VF2IsomorphismChecker();
+        for (int i = 0; i < 3; i++) {
+            checker.run((Graph) large, (Graph) large.clone());
+            assertTrue(checker.hasMorphism());
+
+            checker.run((Graph) small, (Graph) hcFactory.getListRule1());
+            assertTrue(checker.hasMorphism());
+
+            checker.run((Graph) small, (Graph) other);
+            assertFalse(checker.hasMorphism());
+        }
+    }
+
+    @Test
+    public void testLargeGraphsDoNotUseReusedState() {
+
+        HeapConfiguration small = hcFactory.getListRule1();
+        HeapConfiguration large = getLargeHeap(VF2Algorithm.MAX_REUSED_STATE_SIZE + 1);
+
+        VF2State reused = VF2Algorithm.getState((Graph) small, (Graph) small);
+        assertSame(reused, VF2Algorithm.getState((Graph) small, (Graph) small));
+        assertNotSame(reused, VF2Algorithm.getState((Graph) large, (Graph) small));
+        assertNotSame(reused, VF2Algorithm.getState((Graph) small, (Graph) large));
+
+        VF2IsomorphismChecker checker = new VF2IsomorphismChecker();
+        checker.run((Graph) large, (Graph) large.clone());
+        assertTrue(checker.hasMorphism());
+    }
+
+    private HeapConfiguration getLargeHeap(int size) {
+
+        Type type = sceneObject.scene().getType("List");
+        SelectorLabel next = sceneObject.scene().getSelectorLabel("next");
+        TIntArrayList nodes = new TIntArrayList(size);
+        HeapConfigurationBuilder builder = new InternalHeapConfiguration().builder()
+                .addNodes(type, size, nodes);
+        for (int i = 0; i + 1 < size; i++) {
+            builder.addSelector(nodes.get(i), next, nodes.get(i + 1));
+        }
+        return builder.build();
+    }
 }
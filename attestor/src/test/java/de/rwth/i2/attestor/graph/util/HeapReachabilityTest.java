@@ -0,0 +1,165 @@
+package de.rwth.i2.attestor.graph.util;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class HeapReachabilityTest {
+
+    private MockupSceneObject sceneObject;
+    private ExampleHcImplFactory hcFactory;
+
+    @Before
+    public void setUp() {
+
+        sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+    }
+
+    @Test
+    public void testClosureAgreesWithFixpoint() {
+
+        for (HeapConfiguration hc : getExamples()) {
+            assertClosureAgrees(hc, HeapReachability.viaSelectors(hc), label -> true);
+        }
+    }
+
+    @Test
+    public void testFilteredClosureAgreesWithFixpoint() {
+
+        Predicate<SelectorLabel> filter = label -> label.getLabel().equals("next");
+        for (HeapConfiguration hc : getExamples()) {
+            assertClosureAgrees(hc, HeapReachability.viaSelectors(hc, filter), filter);
+        }
+    }
+
+    @Test
+    public void testCycles() {
+
+        Type type = sceneObject.scene().getType("node");
+        SelectorLabel next = sceneObject.scene().getSelectorLabel("next");
+        SelectorLabel back = sceneObject.scene().getSelectorLabel("back");
+
+        TIntArrayList nodes = new TIntArrayList();
+        HeapConfiguration hc = sceneObject.scene().createHeapConfiguration().builder()
+                .addNodes(type, 4, nodes)
+                .addSelector(nodes.get(0), next, nodes.get(1))
+                .addSelector(nodes.get(1), next, nodes.get(2))
+                .addSelector(nodes.get(2), back, nodes.get(1))
+                .addSelector(nodes.get(3), next, nodes.get(3))
+                .build();
+
+        HeapReachability reachability = HeapReachability.viaSelectors(hc);
+        assertFalse(reachability.isReachable(nodes.get(0), nodes.get(0)));
+        assertTrue(reachability.isReachable(nodes.get(0), nodes.get(2)));
+        assertTrue(reachability.isReachable(nodes.get(1), nodes.get(1)));
+        assertTrue(reachability.isReachable(nodes.get(2), nodes.get(1)));
+        assertFalse(reachability.isReachable(nodes.get(2), nodes.get(0)));
+        assertTrue(reachability.isReachable(nodes.get(3), nodes.get(3)));
+        assertFalse(reachability.isReachable(nodes.get(3), nodes.get(0)));
+
+        HeapReachability nextOnly = HeapReachability.viaSelectors(hc, next::equals);
+        assertFalse(nextOnly.isReachable(nodes.get(1), nodes.get(1)));
+        assertTrue(nextOnly.isReachable(nodes.get(0), nodes.get(2)));
+    }
+
+    @Test
+    public void testReachableNodesAgreeWithSearch() {
+
+        for (HeapConfiguration hc : getExamples()) {
+            TIntArrayList nodes = hc.nodes();
+            for (int i = 0; i < nodes.size(); i++) {
+                TIntArrayList sources = new TIntArrayList(new int[]{nodes.get(i)});
+                assertEquals(search(hc, sources), new ReachabilityChecker(hc, sources).getReachableNodes());
+            }
+            TIntArrayList externals = hc.externalNodes();
+            assertEquals(search(hc, externals), new ReachabilityChecker(hc, externals).getReachableNodes());
+        }
+    }
+
+    private List<HeapConfiguration> getExamples() {
+
+        return Arrays.asList(
+                hcFactory.getEmptyHc(),
+                hcFactory.getThreeElementDLL(),
+                hcFactory.getFiveElementDLL(),
+                hcFactory.getTLLRule(),
+                hcFactory.getLargerTree(),
+                hcFactory.getCyclicList(),
+                hcFactory.getAbstractCyclicList(),
+                hcFactory.getAbstractList(),
+                hcFactory.getListAndConstants(),
+                hcFactory.getMaterializationTest(),
+                hcFactory.getLongConcreteSLL(),
+                hcFactory.getCyclicListHandle()
+        );
+    }
+
+    private static void assertClosureAgrees(HeapConfiguration hc, HeapReachability reachability,
+                                            Predicate<SelectorLabel> filter) {
+
+        TIntArrayList nodes = hc.nodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            int from = nodes.get(i);
+            TIntSet expected = fixpoint(hc, from, filter);
+            for (int j = 0; j < nodes.size(); j++) {
+                int to = nodes.get(j);
+                assertEquals(expected.contains(to), reachability.isReachable(from, to));
+            }
+        }
+    }
+
+    private static TIntSet fixpoint(HeapConfiguration hc, int from, Predicate<SelectorLabel> filter) {
+
+        TIntSet result = new TIntHashSet();
+        TIntArrayList frontier = new TIntArrayList(new int[]{from});
+        while (!frontier.isEmpty()) {
+            int node = frontier.removeAt(frontier.size() - 1);
+            for (SelectorLabel label : hc.selectorLabelsOf(node)) {
+                int target = hc.selectorTargetOf(node, label);
+                if (filter.test(label) && result.add(target)) {
+                    frontier.add(target);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static TIntSet search(HeapConfiguration hc, TIntArrayList sources) {
+
+        TIntSet result = new TIntHashSet(sources);
+        TIntArrayList frontier = new TIntArrayList(sources);
+        while (!frontier.isEmpty()) {
+            int node = frontier.removeAt(frontier.size() - 1);
+            TIntArrayList successors = new TIntArrayList(hc.successorNodesOf(node));
+            TIntArrayList edges = hc.attachedNonterminalEdgesOf(node);
+            for (int i = 0; i < edges.size(); i++) {
+                Nonterminal label = hc.labelOf(edges.get(i));
+                TIntArrayList attached = hc.attachedNodesOf(edges.get(i));
+                if (!label.isReductionTentacle(attached.indexOf(node))) {
+                    successors.addAll(attached);
+                }
+            }
+            for (int i = 0; i < successors.size(); i++) {
+                if (result.add(successors.get(i))) {
+                    frontier.add(successors.get(i));
+                }
+            }
+        }
+        return result;
+    }
+}
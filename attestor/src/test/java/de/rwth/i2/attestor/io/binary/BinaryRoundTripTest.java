@@ -0,0 +1,318 @@
+package de.rwth.i2.attestor.io.binary;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.io.FileReader;
+import de.rwth.i2.attestor.io.MockupHeapConfigurationRenaming;
+import de.rwth.i2.attestor.io.jsonExport.inputFormat.ContractToInputFormatExporter;
+import de.rwth.i2.attestor.io.jsonExport.inputFormat.HCtoInputFormatExporter;
+import de.rwth.i2.attestor.io.jsonImport.JsonToContracts;
+import de.rwth.i2.attestor.io.jsonImport.JsonToGrammar;
+import de.rwth.i2.attestor.io.jsonImport.JsonToHeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class BinaryRoundTripTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SceneObject sceneObject;
+    private ExampleHcImplFactory hcFactory;
+
+    @Before
+    public void setUp() {
+
+        sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+    }
+
+    @Test
+    public void testHeapConfigurationsAgreeWithJson() throws IOException {
+
+        List<HeapConfiguration> heapConfigurations = Arrays.asList(
+                hcFactory.getEmptyHc(),
+                hcFactory.getThreeElementDLLWithConstants(),
+                hcFactory.getTLLRule(),
+                hcFactory.getLargerTree(),
+                hcFactory.getAbstractCyclicList(),
+                hcFactory.getListAndConstantsWithChange()
+        );
+
+        JsonToHeapConfiguration jsonImporter = new JsonToHeapConfiguration(sceneObject,
+                new MockupHeapConfigurationRenaming());
+
+        for (HeapConfiguration hc : heapConfigurations) {
+            JSONObject json = HCtoInputFormatExporter.getInInputFormat(hc);
+            HeapConfiguration fromJson = jsonImporter.parse(json, s -> {});
+
+            ByteBuffer buffer = write(exporter -> exporter.export(hc));
+            HeapConfiguration fromBinary = new BinaryImporter(sceneObject, buffer).parseHeapConfiguration();
+
+            assertEquals(hc, fromBinary);
+            assertEquals(fromJson, fromBinary);
+            assertTrue("binary format should be smaller than JSON",
+                    buffer.limit() < json.toString().length());
+        }
+    }
+
+    @Test
+    public void testPredefinedGrammarsAgreeWithJson() throws IOException {
+
+        for (String name : Arrays.asList("SLList", "DLList", "BT")) {
+            JSONArray json = new JSONArray(FileReader.read(getClass().getClassLoader()
+                    .getResourceAsStream("predefinedGrammars/" + name + ".json")));
+            Map<Nonterminal, Collection<HeapConfiguration>> fromJson =
+                    new JsonToGrammar(sceneObject, new MockupHeapConfigurationRenaming()).parseForwardGrammar(json);
+
+            Grammar grammar = Grammar.builder().addRules(fromJson).build();
+            ByteBuffer buffer = write(exporter -> exporter.export(grammar));
+            Map<Nonterminal, Collection<HeapConfiguration>> fromBinary =
+                    new BinaryImporter(sceneObject, buffer).parseGrammar();
+
+            assertRulesEqual(fromJson, fromBinary);
+        }
+    }
+
+    @Test
+    public void testIndexedGrammar() throws IOException {
+
+        sceneObject.scene().options().setIndexedModeEnabled(true);
+        String grammarEncoding = "[{\"nonterminal\":\"TestBinary\", \"rank\":2, \"index\":[\"s\",\"()\"], \"rules\":["
+                + "{\"nodes\":[{\"type\":\"type\", \"number\":2}], \"externals\":[0,1], \"variables\":[],"
+                + " \"selectors\":[{\"label\":\"label\", \"annotation\":\"ann\", \"origin\":0, \"target\":1}],"
+                + " \"hyperedges\":[{\"label\":\"TestBinary\", \"tentacles\":[0,1], \"index\":[\"_X\"]}]}]},"
+                + "{\"nonterminal\":\"TestBinary\", \"rank\":2, \"index\":[\"Z\"], \"rules\":["
+                + "{\"nodes\":[{\"type\":\"type\", \"number\":2}], \"externals\":[1,0], \"variables\":[],"
+                + " \"selectors\":[{\"label\":\"label\", \"origin\":0, \"target\":1}], \"hyperedges\":[]}]}]";
+
+        Map<Nonterminal, Collection<HeapConfiguration>> fromJson =
+                new JsonToGrammar(sceneObject, new MockupHeapConfigurationRenaming())
+                        .parseForwardGrammar(new JSONArray(grammarEncoding));
+
+        Grammar grammar = Grammar.builder().addRules(fromJson).build();
+        ByteBuffer buffer = write(exporter -> exporter.export(grammar));
+        Map<Nonterminal, Collection<HeapConfiguration>> fromBinary =
+                new BinaryImporter(sceneObject, buffer).parseGrammar();
+
+        assertEquals(2, fromBinary.size());
+        assertRulesEqual(fromJson, fromBinary);
+    }
+
+    @Test
+    public void testContractsAgreeWithJson() throws IOException {
+
+        List<Contract> contracts = new ArrayList<>();
+        contracts.add(sceneObject.scene().createContract(hcFactory.getTwoElementDLL(),
+                Arrays.asList(hcFactory.getThreeElementDLL(), hcFactory.getFiveElementDLL())));
+        contracts.add(sceneObject.scene().createContract(hcFactory.getList(),
+                Collections.singletonList(hcFactory.getCyclicList())));
+
+        StringWriter writer = new StringWriter();
+        new ContractToInputFormatExporter(writer).export("void test()", contracts);
+        List<Contract> fromJson = new JsonToContracts(sceneObject, new MockupHeapConfigurationRenaming())
+                .parse(new JSONObject(writer.toString()));
+
+        ByteBuffer buffer = write(exporter -> exporter.export("void test()", contracts));
+        BinaryImporter importer = new BinaryImporter(sceneObject, buffer);
+        assertEquals("void test()", importer.parseContractSignature());
+        List<Contract> fromBinary = importer.parseContracts();
+
+        assertEquals(fromJson.size(), fromBinary.size());
+        for (int i = 0; i < fromJson.size(); i++) {
+            assertEquals(fromJson.get(i).getPrecondition(), fromBinary.get(i).getPrecondition());
+            assertEquals(new HashSet<>(fromJson.get(i).getPostconditions()),
+                    new HashSet<>(fromBinary.get(i).getPostconditions()));
+        }
+    }
+
+    @Test
+    public void testStateSpaceFromMappedFile() throws IOException {
+
+        StateSpace stateSpace = new InternalStateSpace(4);
+        ProgramState initial = createState(hcFactory.getList(), 0, "{ x == null }");
+        ProgramState materialized = createState(hcFactory.getCyclicList(), 0);
+        ProgramState intermediate = createState(hcFactory.getTwoElementDLL(), 1);
+        ProgramState last = createState(hcFactory.getThreeElementDLL(), -1);
+
+        stateSpace.addInitialState(initial);
+        stateSpace.addStateIfAbsent(materialized);
+        stateSpace.addStateIfAbsent(intermediate);
+        stateSpace.addStateIfAbsent(last);
+        stateSpace.addMaterializationTransition(initial, materialized);
+        stateSpace.addControlFlowTransition(materialized, intermediate);
+        stateSpace.addControlFlowTransition(intermediate, last);
+        stateSpace.addControlFlowTransition(intermediate, materialized);
+        stateSpace.setFinal(last);
+        stateSpace.addArtificialInfPathsTransition(last);
+
+        File file = folder.newFile("statespace.bin");
+        try (OutputStream out = new FileOutputStream(file)) {
+            new BinaryExporter(out).export(stateSpace);
+        }
+        assertTrue(BinaryImporter.isBinaryFile(file.getPath()));
+
+        StateSpace result = new BinaryImporter(sceneObject, BinaryImporter.map(file.getPath())).parseStateSpace();
+
+        assertEquals(stateSpace.size(), result.size());
+        assertEquals(stateSpace.getInitialStateIds(), result.getInitialStateIds());
+        assertEquals(stateSpace.getFinalStateIds(), result.getFinalStateIds());
+        for (ProgramState state : stateSpace.getStates()) {
+            int id = state.getStateSpaceId();
+            ProgramState read = result.getState(id);
+            assertEquals(state, read);
+            assertEquals(state.getProgramCounter(), read.getProgramCounter());
+            assertEquals(state.getAPs(), read.getAPs());
+            assertEquals(stateSpace.getControlFlowSuccessorsIdsOf(id), result.getControlFlowSuccessorsIdsOf(id));
+            assertEquals(stateSpace.getMaterializationSuccessorsIdsOf(id),
+                    result.getMaterializationSuccessorsIdsOf(id));
+            assertEquals(stateSpace.getArtificialInfPathsSuccessorsIdsOf(id),
+                    result.getArtificialInfPathsSuccessorsIdsOf(id));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testWrongDocumentIsRejected() throws IOException {
+
+        ByteBuffer buffer = write(exporter -> exporter.export(hcFactory.getList()));
+        new BinaryImporter(sceneObject, buffer).parseGrammar();
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedDocumentIsRejected() throws IOException {
+
+        ByteBuffer buffer = write(exporter -> exporter.export(hcFactory.getLargerTree()));
+        buffer.limit(buffer.limit() / 2);
+        new BinaryImporter(sceneObject, buffer).parseHeapConfiguration();
+    }
+
+    @Test
+    public void testMalformedDocumentsAreRejected() throws IOException {
+
+        byte[] maxInt = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        byte[] minusOne = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+
+        // counts that exceed the remaining bytes
+        assertMalformed(BinaryFormat.HEAP_CONFIGURATION, maxInt);
+        assertMalformed(BinaryFormat.STATE_SPACE, maxInt);
+        assertMalformed(BinaryFormat.GRAMMAR, maxInt);
+        // negative counts
+        assertMalformed(BinaryFormat.HEAP_CONFIGURATION, minusOne);
+        assertMalformed(BinaryFormat.CONTRACTS, minusOne);
+        // a single node whose type refers to a negative label
+        assertMalformed(BinaryFormat.HEAP_CONFIGURATION, concat(new byte[]{1}, minusOne));
+        // a state with a negative id
+        assertMalformed(BinaryFormat.STATE_SPACE, concat(new byte[]{1}, minusOne, new byte[]{0, 0, 0, 0}));
+    }
+
+    @Test
+    public void testJsonIsNotBinary() throws IOException {
+
+        File file = folder.newFile("grammar.json");
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write("[]".getBytes());
+        }
+        assertFalse(BinaryImporter.isBinaryFile(file.getPath()));
+    }
+
+    private ProgramState createState(HeapConfiguration heap, int programCounter, String... propositions) {
+
+        ProgramState state = sceneObject.scene().createProgramState(heap);
+        state.setProgramCounter(programCounter);
+        for (String ap : propositions) {
+            state.addAP(ap);
+        }
+        return state;
+    }
+
+    private static void assertRulesEqual(Map<Nonterminal, Collection<HeapConfiguration>> expected,
+                                         Map<Nonterminal, Collection<HeapConfiguration>> actual) {
+
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<Nonterminal, Collection<HeapConfiguration>> entry : expected.entrySet()) {
+            Nonterminal nonterminal = entry.getKey();
+            Nonterminal actualNonterminal = actual.keySet().stream()
+                    .filter(nonterminal::equals).findAny().orElseThrow(AssertionError::new);
+            for (int i = 0; i < nonterminal.getRank(); i++) {
+                assertEquals(nonterminal.isReductionTentacle(i), actualNonterminal.isReductionTentacle(i));
+            }
+            assertEquals(new HashSet<>(entry.getValue()), new HashSet<>(actual.get(nonterminal)));
+        }
+    }
+
+    private void assertMalformed(int kind, byte[] body) {
+
+        byte[] header = concat(BinaryFormat.MAGIC, new byte[]{BinaryFormat.VERSION, (byte) kind});
+        ByteBuffer buffer = ByteBuffer.wrap(concat(header, body));
+        try {
+            BinaryImporter importer = new BinaryImporter(sceneObject, buffer);
+            switch (kind) {
+                case BinaryFormat.HEAP_CONFIGURATION:
+                    importer.parseHeapConfiguration();
+                    break;
+                case BinaryFormat.GRAMMAR:
+                    importer.parseGrammar();
+                    break;
+                case BinaryFormat.CONTRACTS:
+                    importer.parseContracts();
+                    break;
+                default:
+                    importer.parseStateSpace();
+            }
+            fail("Expected an IOException for a malformed " + BinaryFormat.documentName(kind) + ".");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] array : arrays) {
+            out.write(array, 0, array.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static ByteBuffer write(Export export) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.to(new BinaryExporter(out));
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    @FunctionalInterface
+    private interface Export {
+
+        void to(BinaryExporter exporter) throws IOException;
+    }
+}
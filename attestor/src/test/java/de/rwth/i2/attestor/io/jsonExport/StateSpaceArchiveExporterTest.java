@@ -0,0 +1,141 @@
+package de.rwth.i2.attestor.io.jsonExport;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.io.jsonExport.cytoscapeFormat.StateSpaceArchiveExporter;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.ProgramImpl;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.Skip;
+import de.rwth.i2.attestor.stateSpaceGeneration.Program;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.Assert.*;
+
+public class StateSpaceArchiveExporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private StateSpace stateSpace;
+    private Program program;
+
+    @Before
+    public void setUp() {
+
+        SceneObject sceneObject = new MockupSceneObject();
+
+        List<SemanticsCommand> statements = new ArrayList<>();
+        for (int pc = 0; pc < 4; pc++) {
+            statements.add(new Skip(sceneObject, pc + 1));
+        }
+        program = new ProgramImpl(statements);
+
+        List<ProgramState> states = new ArrayList<>();
+        stateSpace = new InternalStateSpace(4);
+        for (int pc = 0; pc < 4; pc++) {
+            ProgramState state = sceneObject.scene().createProgramState(sceneObject.scene().createHeapConfiguration());
+            state.setProgramCounter(pc);
+            stateSpace.addStateIfAbsent(state);
+            states.add(state);
+        }
+        stateSpace.addInitialState(states.get(0));
+        stateSpace.addControlFlowTransition(states.get(0), states.get(1));
+        stateSpace.addMaterializationTransition(states.get(0), states.get(2));
+        stateSpace.addControlFlowTransition(states.get(1), states.get(3));
+        stateSpace.addControlFlowTransition(states.get(2), states.get(3));
+        stateSpace.setFinal(states.get(3));
+    }
+
+    @Test
+    public void testExportCompressed() throws IOException {
+
+        testExport(true);
+    }
+
+    @Test
+    public void testExportUncompressed() throws IOException {
+
+        testExport(false);
+    }
+
+    @Test
+    public void testSeveralStateSpaces() throws IOException {
+
+        File archive = new File(folder.getRoot(), "archive.zip");
+        try (StateSpaceArchiveExporter exporter = new StateSpaceArchiveExporter(archive.toPath(), true)) {
+            exporter.export("data", stateSpace, program);
+            exporter.export("cex_0", stateSpace, program);
+        }
+
+        try (ZipFile zip = new ZipFile(archive)) {
+            assertEquals(2 * 5, zip.size());
+            assertNotNull(zip.getEntry("data/statespace.json"));
+            assertNotNull(zip.getEntry("cex_0/statespace.json"));
+            assertNotNull(zip.getEntry("cex_0/hc_3.json"));
+        }
+    }
+
+    private void testExport(boolean compress) throws IOException {
+
+        File archive = new File(folder.getRoot(), "report/archive.zip");
+        try (StateSpaceArchiveExporter exporter = new StateSpaceArchiveExporter(archive.toPath(), compress)) {
+            exporter.export("", stateSpace, program);
+        }
+
+        try (ZipFile zip = new ZipFile(archive)) {
+            assertEquals(5, zip.size());
+
+            JSONObject elements = new JSONObject(read(zip, "statespace.json")).getJSONObject("elements");
+            JSONArray nodes = elements.getJSONArray("nodes");
+            assertEquals(4, nodes.length());
+            assertEquals(4, elements.getJSONArray("edges").length());
+
+            Map<Integer, String> types = new HashMap<>();
+            for (int i = 0; i < nodes.length(); i++) {
+                JSONObject data = nodes.getJSONObject(i).getJSONObject("data");
+                types.put(data.getInt("id"), data.getString("type"));
+            }
+            assertEquals("initialState", types.get(0));
+            assertEquals("state", types.get(1));
+            assertEquals("state", types.get(2));
+            assertEquals("finalState", types.get(3));
+
+            for (int id = 0; id < 4; id++) {
+                ZipEntry entry = zip.getEntry("hc_" + id + ".json");
+                assertNotNull(entry);
+                assertTrue(new JSONObject(read(zip, entry.getName())).has("elements"));
+                if (!compress) {
+                    assertTrue(entry.getCompressedSize() >= entry.getSize());
+                }
+            }
+        }
+    }
+
+    private static String read(ZipFile zip, String name) throws IOException {
+
+        try (InputStream input = zip.getInputStream(zip.getEntry(name));
+             Scanner scanner = new Scanner(input, StandardCharsets.UTF_8.name())) {
+            return scanner.useDelimiter("\\A").next();
+        }
+    }
+}
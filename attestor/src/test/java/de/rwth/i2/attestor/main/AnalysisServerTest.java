@@ -0,0 +1,50 @@
+package de.rwth.i2.attestor.main;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AnalysisServerTest {
+
+    private static final String SETTINGS = "examples/SLList/configuration/settings/SLList_reverseRecursive_shape.attestor";
+
+    @Test
+    public void testSessionKeyIgnoresOptionOrder() {
+
+        assertEquals(
+                AnalysisServer.getSessionKey(new String[]{"-l", SETTINGS, "--compact-heaps", "--ordered-matching"}),
+                AnalysisServer.getSessionKey(new String[]{"--ordered-matching", "-l", SETTINGS, "--compact-heaps"})
+        );
+    }
+
+    @Test
+    public void testSessionKeyIgnoresRequestOptions() {
+
+        assertEquals(
+                AnalysisServer.getSessionKey(new String[]{"-l", SETTINGS}),
+                AnalysisServer.getSessionKey(new String[]{"-l", SETTINGS, "--method", "reverse", "--description", "test"})
+        );
+        assertNotEquals(
+                AnalysisServer.getSessionKey(new String[]{"-l", SETTINGS}),
+                AnalysisServer.getSessionKey(new String[]{"-l", SETTINGS, "--compact-heaps"})
+        );
+    }
+
+    @Test
+    public void testFailedRequests() {
+
+        AnalysisServer server = new AnalysisServer(2);
+
+        assertTrue(server.handle(new JSONObject()).getBoolean("fatal"));
+        assertTrue(server.handle(request("--no-such-option")).getBoolean("fatal"));
+
+        assertTrue(server.handle(new JSONObject().put("shutdown", true)).getBoolean("shutdown"));
+    }
+
+    private static JSONObject request(String... args) {
+
+        return new JSONObject().put("args", new JSONArray(args));
+    }
+}
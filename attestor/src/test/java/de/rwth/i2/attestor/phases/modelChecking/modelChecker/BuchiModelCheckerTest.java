@@ -0,0 +1,165 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import gnu.trove.list.array.TIntArrayList;
+
+public class BuchiModelCheckerTest {
+
+    private SceneObject sceneObject;
+    private HeapConfiguration hc;
+    private StateSpace stateSpace;
+
+    @Before
+    public void setup() {
+
+        sceneObject = new MockupSceneObject();
+        hc = sceneObject.scene().createHeapConfiguration();
+        stateSpace = new InternalStateSpace(0);
+    }
+
+    @Test
+    public void testSatisfiedFormulae() throws Exception {
+
+        buildCycleWithFinalState();
+
+        assertTrue(check("F {tree}").isSuccessful());
+        assertTrue(check("G ({dll} | ({sll} | {tree}))").isSuccessful());
+        assertTrue(check("({dll} U {sll})").isSuccessful());
+        assertTrue(check("X {sll}").isSuccessful());
+        assertTrue(check("G ({tree} -> X ({dll} | {tree}))").isSuccessful());
+        assertTrue(check("(F G {tree} | G F {dll})").isSuccessful());
+    }
+
+    @Test
+    public void testViolatedFormulae() throws Exception {
+
+        buildCycleWithFinalState();
+
+        assertFalse(check("G {dll}").isSuccessful());
+        assertFalse(check("F G {tree}").isSuccessful());
+        assertFalse(check("G F {dll}").isSuccessful());
+        assertFalse(check("({dll} U {tree})").isSuccessful());
+        assertFalse(check("X X {sll}").isSuccessful());
+    }
+
+    @Test
+    public void testFailureTraceIsPathOfStateSpace() throws Exception {
+
+        buildCycleWithFinalState();
+
+        BuchiModelChecker checker = check("G F {dll}");
+        assertFalse(checker.isSuccessful());
+
+        FailureTrace trace = checker.getFailureTrace();
+        assertNotNull(trace);
+        List<Integer> ids = trace.getStateIdTrace();
+        assertFalse(ids.isEmpty());
+        assertTrue(stateSpace.getInitialStateIds().contains(ids.get(0)));
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(isSuccessor(ids.get(i - 1), ids.get(i)));
+        }
+        // the trace ends in the final state whose self-loop never satisfies {dll}
+        assertEquals(3, (int) ids.get(ids.size() - 1));
+    }
+
+    @Test
+    public void testAgreesWithProofStructure() throws Exception {
+
+        buildCycleWithFinalState();
+
+        String[] formulae = {
+                "X({sll} U ({tree} R X {dll}))",
+                "({dll} & {tree})",
+                "({dll} | {tree})",
+                "(({sll} U {dll}) | ({dll} R {sll}))",
+                "(({sll} U {dll}) & ({dll} R {sll}))",
+                "G F {tree}",
+                "F {sll}",
+                "G ({sll} -> F {tree})",
+                "!{sll}"
+        };
+
+        for (String formula : formulae) {
+            LTLFormula ltlFormula = new LTLFormula(formula);
+            ltlFormula.toPNF();
+            SimpleProofStructure proofStructure = new SimpleProofStructure();
+            proofStructure.build(stateSpace, ltlFormula);
+            assertEquals(formula, proofStructure.isSuccessful(), check(formula).isSuccessful());
+        }
+    }
+
+    @Test
+    public void testSatisfiedFormulaHasNoFailureTrace() throws Exception {
+
+        buildCycleWithFinalState();
+
+        BuchiModelChecker checker = check("F {tree}");
+        assertTrue(checker.isSuccessful());
+        assertNull(checker.getFailureTrace());
+    }
+
+    /**
+     * Builds the state space 0 -> 1 -> 2 -> 0 and 2 -> 3, where 3 is final.
+     * State 0 satisfies dll, state 1 satisfies sll and states 2 and 3 satisfy tree.
+     */
+    private void buildCycleWithFinalState() {
+
+        ProgramState initialState = createState("{ dll }", 0);
+        ProgramState state1 = createState("{ sll }", 1);
+        ProgramState state2 = createState("{ tree }", 2);
+        ProgramState state3 = createState("{ tree }", 3);
+
+        stateSpace.addStateIfAbsent(initialState);
+        stateSpace.addInitialState(initialState);
+        stateSpace.addStateIfAbsent(state1);
+        stateSpace.addStateIfAbsent(state2);
+        stateSpace.addStateIfAbsent(state3);
+        stateSpace.addControlFlowTransition(initialState, state1);
+        stateSpace.addControlFlowTransition(state1, state2);
+        stateSpace.addControlFlowTransition(state2, initialState);
+        stateSpace.addControlFlowTransition(state2, state3);
+        stateSpace.setFinal(state3);
+        stateSpace.addArtificialInfPathsTransition(state3);
+    }
+
+    private ProgramState createState(String ap, int programCounter) {
+
+        ProgramState state = sceneObject.scene().createProgramState(hc);
+        state.addAP(ap);
+        state.setProgramCounter(programCounter);
+        return state;
+    }
+
+    private BuchiModelChecker check(String formula) throws Exception {
+
+        LTLFormula ltlFormula = new LTLFormula(formula);
+        ltlFormula.toPNF();
+        BuchiModelChecker checker = new BuchiModelChecker();
+        checker.check(stateSpace, ltlFormula);
+        return checker;
+    }
+
+    private boolean isSuccessor(int from, int to) {
+
+        TIntArrayList successors = new TIntArrayList(stateSpace.getControlFlowSuccessorsIdsOf(from));
+        successors.addAll(stateSpace.getArtificialInfPathsSuccessorsIdsOf(from));
+        return successors.contains(to);
+    }
+}
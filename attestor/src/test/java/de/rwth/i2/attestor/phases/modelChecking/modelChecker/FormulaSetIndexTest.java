@@ -0,0 +1,97 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.generated.node.AUntilLtlform;
+import de.rwth.i2.attestor.generated.node.Node;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+
+public class FormulaSetIndexTest {
+
+    private ProgramState state;
+    private AUntilLtlform until;
+
+    @Before
+    public void setup() throws Exception {
+
+        SceneObject sceneObject = new MockupSceneObject();
+        HeapConfiguration hc = sceneObject.scene().createHeapConfiguration();
+        state = sceneObject.scene().createProgramState(hc);
+        state.setStateSpaceId(0);
+
+        LTLFormula formula = new LTLFormula("({dll} U {tree})");
+        until = (AUntilLtlform) formula.getASTRoot().getPLtlform();
+    }
+
+    @Test
+    public void testFormulaIds() {
+
+        FormulaSetIndex index = new FormulaSetIndex();
+        int left = index.getFormulaId(until.getLeftform());
+        int right = index.getFormulaId(until.getRightform());
+
+        assertNotEquals(left, right);
+        assertEquals(left, index.getFormulaId(until.getLeftform()));
+        assertEquals(2, index.getNumberOfFormulae());
+    }
+
+    @Test
+    public void testEqualFormulaSetsShareId() {
+
+        FormulaSetIndex index = new FormulaSetIndex();
+        Node left = until.getLeftform();
+        Node right = until.getRightform();
+
+        Assertion2 first = new Assertion2(state, null, index);
+        first.addFormula(left);
+        first.addFormula(right);
+        first.addNextFormula(until);
+
+        // same formulae in a different order
+        Assertion2 second = new Assertion2(state, null, index);
+        second.addNextFormula(until);
+        second.addFormula(right);
+        second.addFormula(left);
+
+        // until is a next-formula of first, but a formula of third
+        Assertion2 third = new Assertion2(state, null, index);
+        third.addFormula(left);
+        third.addFormula(right);
+        third.addFormula(until);
+
+        assertEquals(first, second);
+        assertEquals(first.getFormulaSetId(), second.getFormulaSetId());
+        assertNotEquals(first, third);
+        assertNotEquals(first.getFormulaSetId(), third.getFormulaSetId());
+        assertEquals(2, index.getNumberOfFormulaSets());
+    }
+
+    @Test
+    public void testInternedAssertionCanBeCopied() {
+
+        FormulaSetIndex index = new FormulaSetIndex();
+        Assertion2 assertion = new Assertion2(state, null, index);
+        assertion.addFormula(until.getLeftform());
+        assertion.addFormula(until.getRightform());
+        int id = assertion.getFormulaSetId();
+
+        Assertion2 copy = new Assertion2(assertion);
+        copy.removeFirstFormula();
+
+        assertFalse(copy.containsFormula(until.getRightform()));
+        assertTrue(copy.containsFormula(until.getLeftform()));
+        assertTrue(assertion.containsFormula(until.getRightform()));
+        assertEquals(id, assertion.getFormulaSetId());
+        assertNotEquals(id, copy.getFormulaSetId());
+    }
+}
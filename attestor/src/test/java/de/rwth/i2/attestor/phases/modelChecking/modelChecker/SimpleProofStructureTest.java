@@ -5,7 +5,12 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -522,4 +527,67 @@ public class SimpleProofStructureTest {
         assertFalse(proofStruct.isSuccessful());
     }
 
+    @Test
+    public void buildProofStructuresConcurrently() throws Exception {
+
+        ProgramState initialState = sceneObject.scene().createProgramState(hc);
+        initialState.addAP("{ dll }");
+        initialState.setProgramCounter(0);
+        ProgramState state1 = sceneObject.scene().createProgramState(hc);
+        state1.addAP("{ sll }");
+        state1.setProgramCounter(1);
+        ProgramState state2 = sceneObject.scene().createProgramState(hc);
+        state2.addAP("{ tree }");
+        state2.setProgramCounter(2);
+
+        stateSpace.addStateIfAbsent(initialState);
+        stateSpace.addInitialState(initialState);
+        stateSpace.addStateIfAbsent(state1);
+        stateSpace.addStateIfAbsent(state2);
+        stateSpace.addControlFlowTransition(initialState, state1);
+        stateSpace.addControlFlowTransition(state1, state1);
+        stateSpace.addControlFlowTransition(state1, state2);
+        stateSpace.addControlFlowTransition(state2, initialState);
+
+        String[] formulae = {
+                "X({sll} U ({tree} R X {dll}))",
+                "G F {dll}",
+                "F {tree}",
+                "G ({dll} | ({sll} | {tree}))",
+                "({dll} U {tree})",
+                "X X {sll}"
+        };
+
+        List<SimpleProofStructure> expected = new ArrayList<>();
+        for (String formula : formulae) {
+            SimpleProofStructure proofStruct = new SimpleProofStructure();
+            proofStruct.setBuildFullStructure();
+            proofStruct.build(stateSpace, new LTLFormula(formula));
+            expected.add(proofStruct);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                List<Future<SimpleProofStructure>> actual = new ArrayList<>();
+                for (String formula : formulae) {
+                    LTLFormula ltlFormula = new LTLFormula(formula);
+                    actual.add(executor.submit(() -> {
+                        SimpleProofStructure proofStruct = new SimpleProofStructure();
+                        proofStruct.setBuildFullStructure();
+                        proofStruct.build(stateSpace, ltlFormula);
+                        return proofStruct;
+                    }));
+                }
+
+                for (int i = 0; i < formulae.length; i++) {
+                    SimpleProofStructure proofStruct = actual.get(i).get();
+                    assertEquals(formulae[i], expected.get(i).isSuccessful(), proofStruct.isSuccessful());
+                    assertEquals(formulae[i], expected.get(i).size(), proofStruct.size());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,250 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.graph.heap.internal.InternalHeapConfiguration;
+import de.rwth.i2.attestor.io.MockupHeapConfigurationRenaming;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.ProgramImpl;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.mockupImpls.MockupMethodExecutor;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.InvokeStmt;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.Skip;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.invoke.StaticInvokeHelper;
+import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ContractCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SceneObject sceneObject;
+    private Grammar grammar;
+    private Method callee;
+    private Method caller;
+
+    @Before
+    public void setUp() {
+
+        sceneObject = new MockupSceneObject();
+        grammar = Grammar.builder().build();
+
+        callee = sceneObject.scene().getOrCreateMethod("callee");
+        callee.setBody(new ProgramImpl(Collections.singletonList(new Skip(sceneObject, -1))));
+        callee.setMethodExecution(new MockupMethodExecutor(sceneObject, callee));
+
+        caller = sceneObject.scene().getOrCreateMethod("caller");
+        List<SemanticsCommand> callerBody = new ArrayList<>();
+        callerBody.add(new InvokeStmt(sceneObject, callee,
+                new StaticInvokeHelper(sceneObject, new ArrayList<>()), 1));
+        callerBody.add(new Skip(sceneObject, -1));
+        caller.setBody(new ProgramImpl(callerBody));
+        caller.setMethodExecution(new MockupMethodExecutor(sceneObject, caller));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+
+        HeapConfiguration precondition = sharedTargetGraph();
+        HeapConfiguration postcondition = sharedTargetGraph();
+        caller.addContract(new InternalContract(precondition, Collections.singletonList(postcondition)));
+
+        ContractCache cache = createCache();
+        assertTrue(cache.store(caller));
+        assertTrue(cache.getFile(caller).isFile());
+
+        // a fresh executor forgets all contracts computed so far
+        caller.setMethodExecution(new MockupMethodExecutor(sceneObject, caller));
+        ContractCache otherCache = createCache();
+        assertEquals(1, otherCache.load(caller));
+
+        Collection<Contract> contracts = caller.getContractsForExport();
+        assertEquals(1, contracts.size());
+        Contract contract = contracts.iterator().next();
+        assertEquals(precondition, contract.getPrecondition());
+        assertEquals(1, contract.getPostconditions().size());
+        assertEquals(postcondition, contract.getPostconditions().iterator().next());
+
+        assertFalse("unchanged contracts should not be written again", otherCache.store(caller));
+    }
+
+    @Test
+    public void testAddedPostconditionsAreStored() throws Exception {
+
+        HeapConfiguration precondition = sharedTargetGraph();
+        caller.addContract(new InternalContract(precondition, Collections.singletonList(sharedTargetGraph())));
+        assertTrue(createCache().store(caller));
+
+        caller.setMethodExecution(new MockupMethodExecutor(sceneObject, caller));
+        ContractCache cache = createCache();
+        assertEquals(1, cache.load(caller));
+
+        // the number of contracts does not change, but the loaded contract gains a postcondition
+        caller.addContract(new InternalContract(precondition, Collections.singletonList(otherGraph())));
+        assertTrue(cache.store(caller));
+
+        caller.setMethodExecution(new MockupMethodExecutor(sceneObject, caller));
+        assertEquals(1, createCache().load(caller));
+        assertEquals(2, caller.getContractsForExport().iterator().next().getPostconditions().size());
+    }
+
+    @Test
+    public void testMissingEntry() throws Exception {
+
+        assertEquals(0, createCache().load(caller));
+        assertTrue(caller.getContractsForExport().isEmpty());
+        assertFalse(createCache().store(caller));
+    }
+
+    @Test
+    public void testKeyIsStable() throws Exception {
+
+        assertEquals(createCache().getKey(caller), createCache().getKey(caller));
+        assertNotEquals(createCache().getKey(caller), createCache().getKey(callee));
+    }
+
+    @Test
+    public void testKeyDependsOnCalledMethods() throws Exception {
+
+        String callerKey = createCache().getKey(caller);
+        String calleeKey = createCache().getKey(callee);
+
+        List<SemanticsCommand> calleeBody = new ArrayList<>();
+        calleeBody.add(new Skip(sceneObject, 1));
+        calleeBody.add(new Skip(sceneObject, -1));
+        callee.setBody(new ProgramImpl(calleeBody));
+
+        assertNotEquals(calleeKey, createCache().getKey(callee));
+        assertNotEquals(callerKey, createCache().getKey(caller));
+    }
+
+    @Test
+    public void testKeyDependsOnSuppliedContractsOfCalleesWithoutBody() throws Exception {
+
+        Method library = sceneObject.scene().getOrCreateMethod("library");
+        List<SemanticsCommand> callerBody = new ArrayList<>();
+        callerBody.add(new InvokeStmt(sceneObject, library,
+                new StaticInvokeHelper(sceneObject, new ArrayList<>()), 1));
+        callerBody.add(new Skip(sceneObject, -1));
+        caller.setBody(new ProgramImpl(callerBody));
+
+        File contractFile = folder.newFile("library.json");
+        List<String> contractFiles = Collections.singletonList(contractFile.getPath());
+
+        writeContracts(contractFile, "library", "[]");
+        String key = createCache(contractFiles).getKey(caller);
+        assertEquals(key, createCache(contractFiles).getKey(caller));
+        assertNotEquals(createCache().getKey(caller), key);
+
+        writeContracts(contractFile, "library", "[{\"precondition\": {}, \"postconditions\": []}]");
+        assertNotEquals(key, createCache(contractFiles).getKey(caller));
+
+        // contracts of methods that are not reachable do not matter
+        writeContracts(contractFile, "other", "[]");
+        assertEquals(createCache().getKey(caller), createCache(contractFiles).getKey(caller));
+    }
+
+    @Test
+    public void testKeyDependsOnOptions() throws Exception {
+
+        String key = createCache().getKey(caller);
+        sceneObject.scene().options().setRemoveDeadVariables(!sceneObject.scene().options().isRemoveDeadVariables());
+        assertNotEquals(key, createCache().getKey(caller));
+    }
+
+    @Test
+    public void testKeyIgnoresPerformanceOptions() throws Exception {
+
+        String key = createCache().getKey(caller);
+        sceneObject.scene().options().setStateSpaceGenerationThreads(4);
+        assertEquals(key, createCache().getKey(caller));
+    }
+
+    @Test
+    public void testKeyDependsOnGrammar() throws Exception {
+
+        String key = createCache().getKey(caller);
+
+        Nonterminal nt = sceneObject.scene().createNonterminal("List", 2, new boolean[]{false, true});
+        grammar = Grammar.builder()
+                .addRule(nt, new ExampleHcImplFactory(sceneObject).getListRule1())
+                .build();
+        assertNotEquals(key, createCache().getKey(caller));
+    }
+
+    private ContractCache createCache() throws Exception {
+
+        return new ContractCache(sceneObject, folder.getRoot().getPath(), grammar,
+                new MockupHeapConfigurationRenaming());
+    }
+
+    private ContractCache createCache(Collection<String> contractFiles) throws Exception {
+
+        return new ContractCache(sceneObject, folder.getRoot().getPath(), grammar,
+                new MockupHeapConfigurationRenaming(), contractFiles);
+    }
+
+    private static void writeContracts(File file, String signature, String contracts) throws Exception {
+
+        String content = "{\"method\": \"" + signature + "\", \"contracts\": " + contracts + "}";
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A graph with a single selector between its two external nodes.
+     */
+    private HeapConfiguration otherGraph() {
+
+        Type type = sceneObject.scene().getType("node");
+        SelectorLabel left = sceneObject.scene().getSelectorLabel("left");
+
+        TIntArrayList nodes = new TIntArrayList();
+        return new InternalHeapConfiguration().builder()
+                .addNodes(type, 2, nodes)
+                .setExternal(nodes.get(0))
+                .setExternal(nodes.get(1))
+                .addSelector(nodes.get(0), left, nodes.get(1))
+                .build();
+    }
+
+    /**
+     * A graph with two selectors pointing to the same node whose external nodes are
+     * not ordered by their ids.
+     */
+    private HeapConfiguration sharedTargetGraph() {
+
+        Type type = sceneObject.scene().getType("node");
+        SelectorLabel left = sceneObject.scene().getSelectorLabel("left");
+        SelectorLabel right = sceneObject.scene().getSelectorLabel("right");
+
+        TIntArrayList nodes = new TIntArrayList();
+        return new InternalHeapConfiguration().builder()
+                .addNodes(type, 2, nodes)
+                .setExternal(nodes.get(1))
+                .setExternal(nodes.get(0))
+                .addSelector(nodes.get(0), left, nodes.get(1))
+                .addSelector(nodes.get(0), right, nodes.get(1))
+                .build();
+    }
+}
@@ -70,16 +70,115 @@ public class InternalContractCollectionTest {
 
     }
 
+    @Test
+    public void testStatistics() {
+
+        InternalContractCollection contractCollection = new InternalContractCollection(
+                new InternalPreconditionMatchingStrategy()
+        );
+        contractCollection.addContract(new InternalContract(simpleGraph(), new LinkedHashSet<>()));
+
+        assertTrue(contractCollection.matchContract(simpleGraph()).hasMatch());
+        assertFalse(contractCollection.matchContract(otherSimpleGraphWithSameHash()).hasMatch());
+
+        assertEquals(2, contractCollection.getNumberOfLookups());
+        assertEquals(1, contractCollection.getNumberOfHits());
+        assertEquals(1, contractCollection.getNumberOfMisses());
+        assertEquals(2, contractCollection.getNumberOfIsomorphismChecks());
+    }
+
+    @Test
+    public void testAddContractIfAbsent() {
+
+        InternalContractCollection contractCollection = new InternalContractCollection(
+                new InternalPreconditionMatchingStrategy()
+        );
+
+        assertTrue(contractCollection.addContractIfAbsent(new InternalContract(simpleGraph(), new LinkedHashSet<>())));
+
+        Collection<HeapConfiguration> postconditions = new ArrayList<>();
+        postconditions.add(simpleGraph());
+        assertFalse(contractCollection.addContractIfAbsent(new InternalContract(simpleGraph(), postconditions)));
+        assertTrue(contractCollection.addContractIfAbsent(
+                new InternalContract(otherSimpleGraphWithSameHash(), new LinkedHashSet<>())));
+
+        // the rejected contract does not change the present one
+        assertTrue(contractCollection.matchContract(simpleGraph()).getPostconditions().isEmpty());
+        assertEquals(2, contractCollection.getContractsForExport().size());
+        assertEquals(1, contractCollection.getNumberOfLookups());
+    }
+
+    @Test
+    public void testPreconditionsWithDifferentFingerprintsAreNotChecked() {
+
+        InternalContractCollection contractCollection = new InternalContractCollection(
+                new InternalPreconditionMatchingStrategy()
+        );
+        contractCollection.addContract(new InternalContract(simpleGraph(), new LinkedHashSet<>()));
+
+        HeapConfiguration withVariable = simpleGraph().clone();
+        withVariable.builder()
+                .addVariableEdge("x", withVariable.externalNodeAt(0))
+                .build();
+        HeapConfiguration withFewerExternals = new InternalHeapConfiguration();
+        TIntArrayList nodes = new TIntArrayList();
+        withFewerExternals.builder().addNodes(type, 1, nodes)
+                .setExternal(nodes.get(0))
+                .build();
+
+        assertFalse(contractCollection.matchContract(withVariable).hasMatch());
+        assertFalse(contractCollection.matchContract(withFewerExternals).hasMatch());
+        assertFalse(contractCollection.matchContract(withFewerExternals).hasMatch());
+
+        assertEquals(3, contractCollection.getNumberOfMisses());
+        assertEquals(0, contractCollection.getNumberOfIsomorphismChecks());
+        assertEquals(1, contractCollection.getContractsForExport().size());
+    }
+
+    @Test
+    public void testFingerprintIsIndependentOfExternalOrder() {
+
+        TIntArrayList nodes = new TIntArrayList();
+        HeapConfiguration ordered = new InternalHeapConfiguration().builder().addNodes(type, 2, nodes)
+                .setExternal(nodes.get(0))
+                .setExternal(nodes.get(1))
+                .addSelector(nodes.get(0), SEL, nodes.get(1))
+                .build();
+        nodes.clear();
+        HeapConfiguration reordered = new InternalHeapConfiguration().builder().addNodes(type, 2, nodes)
+                .setExternal(nodes.get(1))
+                .setExternal(nodes.get(0))
+                .addSelector(nodes.get(0), SEL, nodes.get(1))
+                .build();
+
+        assertEquals(PreconditionFingerprint.of(ordered), PreconditionFingerprint.of(reordered));
+
+        InternalContractCollection contractCollection = new InternalContractCollection(
+                new InternalPreconditionMatchingStrategy()
+        );
+        contractCollection.addContract(new InternalContract(ordered, new LinkedHashSet<>()));
+        ContractMatch match = contractCollection.matchContract(reordered);
+        assertTrue(match.hasMatch());
+        assertArrayEquals(new int[]{1, 0}, match.getExternalReordering());
+    }
+
     private HeapConfiguration otherSimpleGraphWithSameHash() {
 
+        // two cycles of length three cannot be distinguished from a single cycle of length six
+        // by colour refinement and thus yield the same hash
         HeapConfiguration hc = new InternalHeapConfiguration();
 
         TIntArrayList nodes = new TIntArrayList();
-        return hc.builder().addNodes(type, 2, nodes)
+        return hc.builder().addNodes(type, 8, nodes)
                 .setExternal(nodes.get(0))
                 .setExternal(nodes.get(1))
                 .addSelector(nodes.get(0), SEL, nodes.get(1))
-                .addVariableEdge("x", nodes.get(0))
+                .addSelector(nodes.get(2), SEL, nodes.get(3))
+                .addSelector(nodes.get(3), SEL, nodes.get(4))
+                .addSelector(nodes.get(4), SEL, nodes.get(2))
+                .addSelector(nodes.get(5), SEL, nodes.get(6))
+                .addSelector(nodes.get(6), SEL, nodes.get(7))
+                .addSelector(nodes.get(7), SEL, nodes.get(5))
                 .build();
     }
 
@@ -88,11 +187,16 @@ public class InternalContractCollectionTest {
         HeapConfiguration hc = new InternalHeapConfiguration();
 
         TIntArrayList nodes = new TIntArrayList();
-        return hc.builder().addNodes(type, 2, nodes)
+        return hc.builder().addNodes(type, 8, nodes)
                 .setExternal(nodes.get(0))
                 .setExternal(nodes.get(1))
-                .addSelector(nodes.get(1), SEL, nodes.get(0))
-                .addVariableEdge("x", nodes.get(0))
+                .addSelector(nodes.get(0), SEL, nodes.get(1))
+                .addSelector(nodes.get(2), SEL, nodes.get(3))
+                .addSelector(nodes.get(3), SEL, nodes.get(4))
+                .addSelector(nodes.get(4), SEL, nodes.get(5))
+                .addSelector(nodes.get(5), SEL, nodes.get(6))
+                .addSelector(nodes.get(6), SEL, nodes.get(7))
+                .addSelector(nodes.get(7), SEL, nodes.get(2))
                 .build();
     }
 
@@ -0,0 +1,111 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class CallGraphContinuationWorklistTest {
+
+	InterproceduralAnalysis analysis;
+	CallGraphContinuationWorklist testSubject;
+
+	ProcedureCall main;
+	ProcedureCall first;
+	ProcedureCall second;
+	ProcedureCall leaf;
+
+	StateSpace mainStateSpace;
+	StateSpace firstStateSpace;
+	StateSpace secondStateSpace;
+	StateSpace leafStateSpace;
+
+	/**
+	 * main calls first, first and second call each other, second calls leaf.
+	 */
+	@Before
+	public void setUp() {
+		testSubject = new CallGraphContinuationWorklist();
+		analysis = new InterproceduralAnalysis(testSubject);
+
+		main = mock(ProcedureCall.class);
+		first = mock(ProcedureCall.class);
+		second = mock(ProcedureCall.class);
+		leaf = mock(ProcedureCall.class);
+
+		mainStateSpace = mock(StateSpace.class);
+		firstStateSpace = mock(StateSpace.class);
+		secondStateSpace = mock(StateSpace.class);
+		leafStateSpace = mock(StateSpace.class);
+
+		analysis.registerStateSpace(main, mainStateSpace);
+		analysis.registerStateSpace(first, firstStateSpace);
+		analysis.registerStateSpace(second, secondStateSpace);
+		analysis.registerStateSpace(leaf, leafStateSpace);
+
+		analysis.registerDependency(first, new FakePartialStateSpace(mainStateSpace, mainStateSpace));
+		analysis.registerDependency(second, new FakePartialStateSpace(firstStateSpace, firstStateSpace));
+		analysis.registerDependency(first, new FakePartialStateSpace(secondStateSpace, secondStateSpace));
+		analysis.registerDependency(leaf, new FakePartialStateSpace(secondStateSpace, secondStateSpace));
+	}
+
+	@Test
+	public void testComputeComponentRanks_CalleesAreRankedBeforeCallers() {
+
+		Map<ProcedureCall, Integer> ranks = CallGraphContinuationWorklist.computeComponentRanks(analysis);
+
+		assertEquals( ranks.get(first), ranks.get(second) );
+		assertTrue( ranks.get(leaf) < ranks.get(second) );
+		assertTrue( ranks.get(first) < ranks.get(main) );
+	}
+
+	@Test
+	public void testPoll_CalleeComponentIsDrainedBeforeCaller() {
+		//given
+		PartialStateSpace inMain = new FakePartialStateSpace(mainStateSpace, mainStateSpace);
+		PartialStateSpace inFirst = new FakePartialStateSpace(firstStateSpace, firstStateSpace);
+		PartialStateSpace inSecond = new FakePartialStateSpace(secondStateSpace, secondStateSpace);
+		PartialStateSpace inLeaf = new FakePartialStateSpace(leafStateSpace, leafStateSpace);
+		testSubject.add(inMain);
+		testSubject.add(inFirst);
+		testSubject.add(inSecond);
+		testSubject.add(inLeaf);
+
+		//then
+		assertSame( inLeaf, testSubject.poll(analysis, p -> true) );
+		assertSame( inFirst, testSubject.poll(analysis, p -> true) );
+		assertSame( inSecond, testSubject.poll(analysis, p -> true) );
+		assertSame( inMain, testSubject.poll(analysis, p -> true) );
+		assertTrue( testSubject.isEmpty() );
+	}
+
+	@Test
+	public void testPoll_UnavailablePartialStateSpacesAreSkipped() {
+		//given
+		PartialStateSpace inMain = new FakePartialStateSpace(mainStateSpace, mainStateSpace);
+		PartialStateSpace inLeaf = new FakePartialStateSpace(leafStateSpace, leafStateSpace);
+		testSubject.add(inMain);
+		testSubject.add(inLeaf);
+
+		//then
+		assertSame( inMain, testSubject.poll(analysis, p -> p != inLeaf) );
+		assertNull( testSubject.poll(analysis, p -> p != inLeaf) );
+		assertFalse( testSubject.isEmpty() );
+	}
+
+	@Test
+	public void testAdd_DuplicatesAreMerged() {
+		//given
+		PartialStateSpace inMain = new FakePartialStateSpace(mainStateSpace, mainStateSpace);
+
+		//then
+		assertTrue( testSubject.add(inMain) );
+		assertFalse( testSubject.add(inMain) );
+		assertSame( inMain, testSubject.poll(analysis, p -> true) );
+		assertTrue( testSubject.isEmpty() );
+	}
+}
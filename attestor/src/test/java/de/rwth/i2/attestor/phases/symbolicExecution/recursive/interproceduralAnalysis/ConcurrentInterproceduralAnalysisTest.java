@@ -0,0 +1,237 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.main.scene.Scene;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ConcurrentInterproceduralAnalysisTest {
+
+	static final Scene SCENE = new MockupSceneObject().scene();
+
+	ConcurrentInterproceduralAnalysis testSubject;
+	StateSpace ssWithoutFinalStates;
+	StateSpace ssWithFinalStates;
+
+	@Before
+	public void setUp() throws Exception {
+		testSubject = new ConcurrentInterproceduralAnalysis(4);
+		ssWithoutFinalStates = new InternalStateSpace(5);
+		ssWithFinalStates = new InternalStateSpace(2);
+		ProgramState state = SCENE.createProgramState();
+		ssWithFinalStates.addState(state);
+		ssWithFinalStates.setFinal(state);
+	}
+
+	@Test
+	public void testRun_WhenCallGeneratesFinalStates_DependenciesAreContinued() {
+		//given
+		ProcedureCall call = mock(ProcedureCall.class);
+		when( call.execute() ).thenReturn( ssWithFinalStates );
+		FakePartialStateSpace dependency = new FakePartialStateSpace( ssWithoutFinalStates, ssWithoutFinalStates );
+
+		testSubject.registerDependency(call, dependency);
+		testSubject.registerProcedureCall(call);
+
+		//when
+		testSubject.run();
+
+		//then
+		verify( call ).execute();
+		assertTrue( dependency.didContinue );
+	}
+
+	@Test
+	public void testRun_WhenCallGeneratesNoFinalStates_DependenciesAreNotContinued() {
+		//given
+		ProcedureCall call = mock(ProcedureCall.class);
+		when( call.execute() ).thenReturn( ssWithoutFinalStates );
+		FakePartialStateSpace dependency = new FakePartialStateSpace( ssWithoutFinalStates, ssWithoutFinalStates );
+
+		testSubject.registerDependency(call, dependency);
+		testSubject.registerProcedureCall(call);
+
+		//when
+		testSubject.run();
+
+		//then
+		assertFalse( dependency.didContinue );
+	}
+
+	@Test
+	public void testRun_ContinuationsOfDifferentStateSpacesRunConcurrently() {
+		//given
+		ContinuationMonitor monitor = new ContinuationMonitor(2);
+		for(int i = 0; i < 2; i++) {
+			StateSpace stateSpace = new InternalStateSpace(5);
+			testSubject.stateSpaceToAnalyzedCall.put(stateSpace, mock(ProcedureCall.class));
+			testSubject.remainingPartialStateSpaces.add(new MonitoredPartialStateSpace(stateSpace, monitor));
+		}
+
+		//when
+		testSubject.run();
+
+		//then
+		assertEquals( 2, monitor.maxRunning.get() );
+	}
+
+	@Test
+	public void testRun_ContinuationsOfSameStateSpaceAreSequential() {
+		//given
+		ContinuationMonitor monitor = new ContinuationMonitor(2);
+		StateSpace stateSpace = new InternalStateSpace(5);
+		testSubject.stateSpaceToAnalyzedCall.put(stateSpace, mock(ProcedureCall.class));
+		for(int i = 0; i < 2; i++) {
+			testSubject.remainingPartialStateSpaces.add(new MonitoredPartialStateSpace(stateSpace, monitor));
+		}
+
+		//when
+		testSubject.run();
+
+		//then
+		assertEquals( 0, monitor.started.getCount() );
+		assertEquals( 1, monitor.maxRunning.get() );
+	}
+
+	@Test
+	public void testRun_DependencyRegisteredAfterConcurrentNotification_IsContinued() {
+		//given
+		CountDownLatch notified = new CountDownLatch(1);
+		testSubject = new ConcurrentInterproceduralAnalysis(2) {
+			@Override
+			void notifyDependencies(ProcedureCall call) {
+				super.notifyDependencies(call);
+				notified.countDown();
+			}
+		};
+
+		ProcedureCall call = mock(ProcedureCall.class);
+		when( call.execute() ).thenReturn( ssWithFinalStates );
+		testSubject.registerProcedureCall(call);
+
+		// simulates a task that looks up the contract of call before it changes,
+		// but registers its dependency only after the change has been notified
+		StateSpace stateSpace = new InternalStateSpace(5);
+		FakePartialStateSpace dependency = new FakePartialStateSpace( stateSpace, stateSpace );
+		PartialStateSpace lookingUpContract = new FakePartialStateSpace( stateSpace, stateSpace ) {
+			@Override
+			public void continueExecution(ProcedureCall analyzedCall) {
+				try {
+					notified.await(1, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				testSubject.registerDependency(call, dependency);
+			}
+		};
+		testSubject.stateSpaceToAnalyzedCall.put(stateSpace, mock(ProcedureCall.class));
+		testSubject.remainingPartialStateSpaces.add(lookingUpContract);
+
+		//when
+		testSubject.run();
+
+		//then
+		assertEquals( 0, notified.getCount() );
+		assertTrue( dependency.didContinue );
+	}
+
+	@Test
+	public void testRun_CallRegisteredByRunningTask_StartsBeforeTaskFinishes() {
+		//given
+		CountDownLatch registeredCallStarted = new CountDownLatch(1);
+		ProcedureCall registeredCall = mock(ProcedureCall.class);
+		when( registeredCall.execute() ).then( invocation -> {
+			registeredCallStarted.countDown();
+			return ssWithoutFinalStates;
+		});
+
+		StateSpace stateSpace = new InternalStateSpace(5);
+		boolean[] startedWhileRunning = new boolean[1];
+		PartialStateSpace registeringCall = new FakePartialStateSpace( stateSpace, stateSpace ) {
+			@Override
+			public void continueExecution(ProcedureCall analyzedCall) {
+				testSubject.registerProcedureCall(registeredCall);
+				try {
+					startedWhileRunning[0] = registeredCallStarted.await(1, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		testSubject.stateSpaceToAnalyzedCall.put(stateSpace, mock(ProcedureCall.class));
+		testSubject.remainingPartialStateSpaces.add(registeringCall);
+
+		//when
+		testSubject.run();
+
+		//then
+		verify( registeredCall ).execute();
+		assertTrue( startedWhileRunning[0] );
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testRun_FailureOfTaskIsPropagated() {
+		//given
+		ProcedureCall call = mock(ProcedureCall.class);
+		when( call.execute() ).thenThrow( new IllegalStateException("Procedure call execution failed.") );
+
+		testSubject.registerProcedureCall(call);
+
+		//when
+		testSubject.run();
+	}
+
+	/**
+	 * Records how many continuations run at the same time.
+	 * Every continuation waits a short time for the expected number of continuations to start.
+	 */
+	private static class ContinuationMonitor {
+
+		final CountDownLatch started;
+		final AtomicInteger running = new AtomicInteger(0);
+		final AtomicInteger maxRunning = new AtomicInteger(0);
+
+		ContinuationMonitor(int expectedContinuations) {
+			this.started = new CountDownLatch(expectedContinuations);
+		}
+	}
+
+	private static class MonitoredPartialStateSpace implements PartialStateSpace {
+
+		private final StateSpace stateSpace;
+		private final ContinuationMonitor monitor;
+
+		MonitoredPartialStateSpace(StateSpace stateSpace, ContinuationMonitor monitor) {
+			this.stateSpace = stateSpace;
+			this.monitor = monitor;
+		}
+
+		@Override
+		public void continueExecution(ProcedureCall call) {
+			monitor.maxRunning.accumulateAndGet(monitor.running.incrementAndGet(), Math::max);
+			monitor.started.countDown();
+			try {
+				monitor.started.await(200, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				monitor.running.decrementAndGet();
+			}
+		}
+
+		@Override
+		public StateSpace unfinishedStateSpace() {
+			return stateSpace;
+		}
+	}
+}
@@ -8,6 +8,7 @@ import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
@@ -67,7 +68,7 @@ public class InterproceduralAnalysisTest {
 		ProcedureCall call = mock(ProcedureCall.class);
 		
 		testSubject.stateSpaceToAnalyzedCall.put(ssWithoutFinalStates, call);
-		testSubject.remainingPartialStateSpaces.push(toContinue);
+		testSubject.remainingPartialStateSpaces.add(toContinue);
 		
 		//when
 		testSubject.run();
@@ -83,7 +84,7 @@ public class InterproceduralAnalysisTest {
 		ProcedureCall call = mock(ProcedureCall.class);
 		
 		testSubject.stateSpaceToAnalyzedCall.put(ssWithoutFinalStates, call);
-		testSubject.remainingPartialStateSpaces.push(toContinue);
+		testSubject.remainingPartialStateSpaces.add(toContinue);
 		
 		//when
 		testSubject.run();
@@ -92,4 +93,27 @@ public class InterproceduralAnalysisTest {
 		verify( testSubject ).notifyDependencies( any() );
 	}
 
+	@Test
+	public void testRun_DuplicateNotificationsAreMerged() {
+		//given
+		ProcedureCall call = mock(ProcedureCall.class);
+		when( call.execute() ).thenReturn( ssWithFinalStates );
+		ProcedureCall otherCall = mock(ProcedureCall.class);
+		when( otherCall.execute() ).thenReturn( ssWithFinalStates );
+		FakePartialStateSpace dependency = new FakePartialStateSpace( ssWithoutFinalStates, ssWithoutFinalStates );
+
+		testSubject.registerDependency(call, dependency);
+		testSubject.registerDependency(otherCall, dependency);
+		testSubject.registerProcedureCall(call);
+		testSubject.registerProcedureCall(otherCall);
+
+		//when
+		testSubject.run();
+
+		//then
+		assertEquals( 2, testSubject.getNumberOfExecutedProcedureCalls() );
+		assertEquals( 1, testSubject.getNumberOfContinuations() );
+		assertEquals( 1, testSubject.getNumberOfMergedNotifications() );
+	}
+
 }
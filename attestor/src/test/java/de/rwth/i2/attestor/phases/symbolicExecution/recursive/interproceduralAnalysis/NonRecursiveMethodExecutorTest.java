@@ -1,7 +1,11 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -40,4 +44,36 @@ public class NonRecursiveMethodExecutorTest {
 		verify( call ).execute();
 	}
 
+	@Test
+	public void testGenerateAndAddContract_concurrentMissesExecuteOnce() throws InterruptedException {
+		//given
+		CountDownLatch executing = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		ProcedureCall call = mock( ProcedureCall.class );
+		when( call.execute() ).then( invocation -> {
+			executing.countDown();
+			finish.await(1, TimeUnit.SECONDS);
+			return null;
+		});
+
+		Thread first = new Thread(() -> testSubject.generateAndAddContract(call));
+		first.start();
+		executing.await(1, TimeUnit.SECONDS);
+
+		//when
+		Thread second = new Thread(() -> testSubject.generateAndAddContract(call));
+		second.start();
+		// the second thread has to wait for the first execution
+		second.join(100);
+		boolean secondWaited = second.isAlive();
+		finish.countDown();
+		first.join();
+		second.join();
+
+		//then
+		verify( call, times(1) ).execute();
+		assertFalse( first.isAlive() );
+		assertTrue( secondWaited );
+	}
+
 }
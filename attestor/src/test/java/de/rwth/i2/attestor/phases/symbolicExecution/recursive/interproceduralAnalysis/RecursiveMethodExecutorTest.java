@@ -52,6 +52,7 @@ public class RecursiveMethodExecutorTest {
 		
 		ProcedureCall call = mock( ProcedureCall.class );
 		when( call.getInput() ).thenReturn( inputState );
+		when( contractCollection.addContractIfAbsent(any()) ).thenReturn( true );
 		
 		//when
 		testSubject.generateAndAddContract(call);
@@ -59,7 +60,7 @@ public class RecursiveMethodExecutorTest {
 		//then
 		//ensure empty contract with correct preconditon is added
 		ArgumentCaptor<Contract> contractCaptor = ArgumentCaptor.forClass(Contract.class);
-		verify( contractCollection ).addContract(contractCaptor.capture());
+		verify( contractCollection ).addContractIfAbsent(contractCaptor.capture());
 		Contract res = contractCaptor.getValue();
 		assertEquals( precondition, res.getPrecondition() );
 		assertThat( res.getPostconditions(), empty() );
@@ -68,5 +69,24 @@ public class RecursiveMethodExecutorTest {
 		verify( procedureRegistry ).registerProcedure(call);	
 	}
 
+	@Test
+	public void testGenerateAndAddContract_whenContractIsPresent_callIsNotRegistered() {
+		//given
+		HeapConfigurationDummy precondition = new HeapConfigurationDummy("precondition");
+
+		ProgramState inputState = scene.createProgramState( precondition );
+
+		ProcedureCall call = mock( ProcedureCall.class );
+		when( call.getInput() ).thenReturn( inputState );
+		// another thread has added the contract in the meantime
+		when( contractCollection.addContractIfAbsent(any()) ).thenReturn( false );
+
+		//when
+		testSubject.generateAndAddContract(call);
+
+		//then
+		verify( procedureRegistry, never() ).registerProcedure(call);
+	}
+
 
 }
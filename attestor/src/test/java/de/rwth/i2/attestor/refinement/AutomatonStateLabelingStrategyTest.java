@@ -0,0 +1,164 @@
+package de.rwth.i2.attestor.refinement;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class AutomatonStateLabelingStrategyTest {
+
+    private SceneObject sceneObject;
+    private ExampleHcImplFactory hcFactory;
+    private int transitions;
+    private HeapAutomaton countingAutomaton;
+
+    @Before
+    public void setUp() {
+
+        sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+        transitions = 0;
+        countingAutomaton = new HeapAutomaton() {
+
+            @Override
+            public HeapAutomatonState transition(HeapConfiguration heapConfiguration,
+                                                 List<HeapAutomatonState> statesOfNonterminals) {
+
+                transitions++;
+                return new SizeState(heapConfiguration.countNodes());
+            }
+
+            @Override
+            public boolean isInitialState(HeapAutomatonState heapAutomatonState) {
+
+                return true;
+            }
+
+            @Override
+            public List<HeapConfiguration> getPossibleHeapRewritings(HeapConfiguration heapConfiguration) {
+
+                return Collections.singletonList(heapConfiguration);
+            }
+        };
+    }
+
+    @Test
+    public void testIsomorphicHeapsAreLabeledOnce() {
+
+        AutomatonStateLabelingStrategy strategy = createStrategy(10);
+
+        ProgramState first = label(strategy, hcFactory.getThreeElementDLL());
+        ProgramState second = label(strategy, hcFactory.getThreeElementDLL());
+
+        assertTrue(strategy.isCachingTransitions());
+        assertEquals(1, transitions);
+        assertEquals(1, strategy.getTransitionCacheHits());
+        assertEquals(1, strategy.getTransitionCacheMisses());
+        assertTrue(first.getAPs().contains("{ size" + first.getHeap().countNodes() + " }"));
+        assertEquals(first.getAPs(), second.getAPs());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedHeapIsEvicted() {
+
+        AutomatonStateLabelingStrategy strategy = createStrategy(2);
+
+        label(strategy, hcFactory.getList());
+        label(strategy, hcFactory.getTwoElementDLL());
+        label(strategy, hcFactory.getList());
+        label(strategy, hcFactory.getThreeElementDLL());
+        assertEquals(3, transitions);
+
+        label(strategy, hcFactory.getList());
+        assertEquals(3, transitions);
+
+        label(strategy, hcFactory.getTwoElementDLL());
+        assertEquals(4, transitions);
+    }
+
+    @Test
+    public void testDisabledCache() {
+
+        AutomatonStateLabelingStrategy strategy = createStrategy(0);
+
+        label(strategy, hcFactory.getList());
+        label(strategy, hcFactory.getList());
+
+        assertFalse(strategy.isCachingTransitions());
+        assertEquals(2, transitions);
+    }
+
+    @Test
+    public void testCacheIsNotModifiedByLaterChanges() {
+
+        AutomatonStateLabelingStrategy strategy = createStrategy(10);
+
+        ProgramState state = label(strategy, hcFactory.getList());
+        HeapConfiguration heap = state.getHeap();
+        heap.builder().addVariableEdge("y", heap.nodes().get(0)).build();
+
+        label(strategy, hcFactory.getList());
+        assertEquals(1, transitions);
+
+        label(strategy, heap);
+        assertEquals(2, transitions);
+    }
+
+    private AutomatonStateLabelingStrategy createStrategy(int cacheSize) {
+
+        return AutomatonStateLabelingStrategy.builder()
+                .add(countingAutomaton)
+                .setTransitionCacheSize(cacheSize)
+                .build();
+    }
+
+    private ProgramState label(AutomatonStateLabelingStrategy strategy, HeapConfiguration heap) {
+
+        ProgramState state = sceneObject.scene().createProgramState(heap);
+        strategy.computeAtomicPropositions(state);
+        return state;
+    }
+
+    private static class SizeState extends HeapAutomatonState {
+
+        private final int size;
+
+        SizeState(int size) {
+
+            this.size = size;
+        }
+
+        @Override
+        public Set<String> toAtomicPropositions() {
+
+            return Collections.singleton("{ size" + size + " }");
+        }
+
+        @Override
+        public boolean isError() {
+
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object otherObject) {
+
+            return otherObject instanceof SizeState && ((SizeState) otherObject).size == size;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return size;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package de.rwth.i2.attestor.refinement.grammarRefinement;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.programState.defaultState.RefinedDefaultNonterminal;
+import de.rwth.i2.attestor.refinement.HeapAutomaton;
+import de.rwth.i2.attestor.refinement.HeapAutomatonState;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class GrammarRefinementTest {
+
+    private Nonterminal listLabel;
+    private Grammar grammar;
+
+    private AtomicInteger transitions;
+    private Set<List<Object>> transitionInputs;
+
+    @Before
+    public void setUp() {
+
+        SceneObject sceneObject = new MockupSceneObject();
+        ExampleHcImplFactory hcFactory = new ExampleHcImplFactory(sceneObject);
+        listLabel = sceneObject.scene().createNonterminal("List", 2, new boolean[]{false, true});
+
+        Map<Nonterminal, Set<HeapConfiguration>> rules = new LinkedHashMap<>();
+        rules.put(listLabel, new LinkedHashSet<>());
+        rules.get(listLabel).add(hcFactory.getListRule1());
+        rules.get(listLabel).add(hcFactory.getListRule2());
+        rules.get(listLabel).add(hcFactory.getListRule3());
+        grammar = Grammar.builder().addRules(rules).build();
+
+        transitions = new AtomicInteger();
+        transitionInputs = Collections.synchronizedSet(new HashSet<>());
+    }
+
+    @Test
+    public void testEveryAssignmentIsConsideredOnce() {
+
+        Grammar refinedGrammar = new GrammarRefinement(grammar, new LengthModuloAutomaton(3, Integer.MAX_VALUE)).getRefinedGrammar();
+
+        // one base rule, three assignments for the rule with one nonterminal edge and nine for the one with two
+        assertEquals(13, transitions.get());
+        assertEquals(13, transitionInputs.size());
+
+        assertEquals(3, refinedGrammar.getAllLeftHandSides().size());
+        assertEquals(4, refinedGrammar.getRightHandSidesFor(refined(0)).size());
+        assertEquals(5, refinedGrammar.getRightHandSidesFor(refined(1)).size());
+        assertEquals(4, refinedGrammar.getRightHandSidesFor(refined(2)).size());
+    }
+
+    @Test
+    public void testErrorStatesAreDiscarded() {
+
+        // lists of length at least two are mapped to an error state
+        Grammar refinedGrammar = new GrammarRefinement(grammar, new LengthModuloAutomaton(3, 2)).getRefinedGrammar();
+
+        assertEquals(Collections.singleton(refined(1)), refinedGrammar.getAllLeftHandSides());
+        assertEquals(1, refinedGrammar.getRightHandSidesFor(refined(1)).size());
+        assertEquals(3, transitions.get());
+    }
+
+    @Test
+    public void testConcurrentRefinementAgreesWithSequentialRefinement() {
+
+        Grammar sequential = new GrammarRefinement(grammar, new LengthModuloAutomaton(5, Integer.MAX_VALUE)).getRefinedGrammar();
+        int sequentialTransitions = transitions.getAndSet(0);
+        Grammar concurrent = new GrammarRefinement(grammar, new LengthModuloAutomaton(5, Integer.MAX_VALUE), 4).getRefinedGrammar();
+
+        assertEquals(sequentialTransitions, transitions.get());
+        assertEquals(sequential.getAllLeftHandSides(), concurrent.getAllLeftHandSides());
+        for (Nonterminal lhs : sequential.getAllLeftHandSides()) {
+            assertEquals(new ArrayList<>(sequential.getRightHandSidesFor(lhs)),
+                    new ArrayList<>(concurrent.getRightHandSidesFor(lhs)));
+        }
+    }
+
+    private Nonterminal refined(int length) {
+
+        return new RefinedDefaultNonterminal(listLabel, new LengthState(length));
+    }
+
+    /**
+     * Determines the number of selector edges of a list modulo a fixed number.
+     * Lengths that reach a given bound before the modulo operation is applied lead to an error state.
+     */
+    private class LengthModuloAutomaton implements HeapAutomaton {
+
+        private final int modulus;
+        private final int errorBound;
+
+        LengthModuloAutomaton(int modulus, int errorBound) {
+
+            this.modulus = modulus;
+            this.errorBound = errorBound;
+        }
+
+        @Override
+        public HeapAutomatonState transition(HeapConfiguration heapConfiguration,
+                                             List<HeapAutomatonState> statesOfNonterminals) {
+
+            transitions.incrementAndGet();
+            transitionInputs.add(Arrays.asList(heapConfiguration, statesOfNonterminals));
+
+            int length = 0;
+            TIntArrayList nodes = heapConfiguration.nodes();
+            for (int i = 0; i < nodes.size(); i++) {
+                length += heapConfiguration.selectorLabelsOf(nodes.get(i)).size();
+            }
+            for (HeapAutomatonState state : statesOfNonterminals) {
+                length += ((LengthState) state).length;
+            }
+            return length >= errorBound ? new LengthState(-1) : new LengthState(length % modulus);
+        }
+
+        @Override
+        public boolean isInitialState(HeapAutomatonState heapAutomatonState) {
+
+            return true;
+        }
+
+        @Override
+        public List<HeapConfiguration> getPossibleHeapRewritings(HeapConfiguration heapConfiguration) {
+
+            return Collections.singletonList(heapConfiguration);
+        }
+    }
+
+    private static class LengthState extends HeapAutomatonState {
+
+        private final int length;
+
+        LengthState(int length) {
+
+            this.length = length;
+        }
+
+        @Override
+        public Set<String> toAtomicPropositions() {
+
+            return Collections.singleton("{ length" + length + " }");
+        }
+
+        @Override
+        public boolean isError() {
+
+            return length < 0;
+        }
+
+        @Override
+        public boolean equals(Object otherObject) {
+
+            return otherObject instanceof LengthState && ((LengthState) otherObject).length == length;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return length;
+        }
+    }
+}
@@ -16,14 +16,13 @@ import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.*;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.IntConstant;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.Local;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.NewExpr;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.NullConstant;
 import de.rwth.i2.attestor.stateSpaceGeneration.*;
 import de.rwth.i2.attestor.types.Type;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
-import java.util.List;
+import java.util.*;
 
 import static org.junit.Assert.*;
 
@@ -40,7 +39,12 @@ public class StateSpaceGeneratorTest {
         sceneObject = new MockupSceneObject();
         hcFactory = new ExampleHcImplFactory(sceneObject);
 
-        stateSpaceGeneratorBuilder = StateSpaceGenerator.builder()
+        stateSpaceGeneratorBuilder = createStateSpaceGeneratorBuilder();
+    }
+
+    private StateSpaceGeneratorBuilder createStateSpaceGeneratorBuilder() {
+
+        return StateSpaceGenerator.builder()
                 .setStateLabelingStrategy(new MockupStateLabellingStrategy())
                 .setAbortStrategy(new MockupAbortStrategy())
                 .setCanonizationStrategy(new MockupStateCanonicalizationStrategy())
@@ -204,4 +208,137 @@ public class StateSpaceGeneratorTest {
             }
         }
     }
+
+    @Test
+    public void testGenerateNewInParallel() {
+
+        HeapConfiguration initialGraph
+                = hcFactory.getEmptyGraphWithConstants();
+
+        Type type = sceneObject.scene().getType("type");
+
+        List<SemanticsCommand> programInstructions = new ArrayList<>();
+        programInstructions.add(new Skip(sceneObject, 1));
+        programInstructions.add(new AssignStmt(sceneObject, new Local(type, "x"), new NewExpr(type),
+                2, new LinkedHashSet<>()));
+        programInstructions.add(new ReturnVoidStmt(sceneObject));
+        ProgramImpl mainProgram = new ProgramImpl(programInstructions);
+
+        ProgramState initialState = new DefaultProgramState(initialGraph);
+        StateSpace res = null;
+        try {
+            res = stateSpaceGeneratorBuilder
+                    .setProgram(mainProgram)
+                    .addInitialState(initialState)
+                    .setParallelism(4)
+                    .setStateExplorationStrategy(new WorkStealingStateExplorationStrategy(4))
+                    .setStateSpaceSupplier(() -> new InternalStateSpace(100, true))
+                    .build()
+                    .generate();
+        } catch (StateSpaceGenerationAbortedException e) {
+            fail("State space generation aborted");
+        }
+
+        assertEquals(4, res.getStates().size());
+        assertEquals(1, res.getFinalStates().size());
+        HeapConfiguration expectedState = hcFactory.getExpectedResultTestGenerateNew();
+        assertEquals(expectedState, res.getFinalStates().iterator().next().getHeap());
+
+        for (ProgramState state : res.getStates()) {
+            int expectedSuccessors = state.getProgramCounter() == -1 ? 0 : 1;
+            assertEquals(expectedSuccessors, res.getControlFlowSuccessorsOf(state).size());
+            assertEquals(0, res.getMaterializationSuccessorsOf(state).size());
+        }
+    }
+
+    @Test
+    public void testBranchingLoopInParallelAgreesWithSequentialGeneration()
+            throws StateSpaceGenerationAbortedException {
+
+        ProgramImpl mainProgram = createBranchingLoopProgram();
+
+        StateSpace sequential = stateSpaceGeneratorBuilder
+                .setProgram(mainProgram)
+                .addInitialState(new DefaultProgramState(hcFactory.getEmptyGraphWithConstants()))
+                .build()
+                .generate();
+
+        assertFalse(sequential.containsAbortedStates());
+        assertEquals(30, sequential.getStates().size());
+        // local variables are removed on return, the final heaps differ in the number of unreachable nodes
+        assertEquals(3, sequential.getFinalStates().size());
+
+        for (int run = 0; run < 20; run++) {
+            StateSpace parallel = createStateSpaceGeneratorBuilder()
+                    .setStateSpaceSupplier(() -> new InternalStateSpace(100, true))
+                    .setProgram(mainProgram)
+                    .addInitialState(new DefaultProgramState(hcFactory.getEmptyGraphWithConstants()))
+                    .setParallelism(4)
+                    .setStateExplorationStrategy(new WorkStealingStateExplorationStrategy(4))
+                    .build()
+                    .generate();
+
+            assertFalse(parallel.containsAbortedStates());
+            assertEquals(sequential.getStates().size(), parallel.getStates().size());
+            assertEquals(heapsOf(sequential.getStates()), heapsOf(parallel.getStates()));
+            assertEquals(heapsOf(sequential.getFinalStates()), heapsOf(parallel.getFinalStates()));
+            assertEquals(countTransitions(sequential), countTransitions(parallel));
+        }
+    }
+
+    /**
+     * Creates a program that nondeterministically assigns either null or a new object to each of the
+     * variables x and y. Afterwards, it may jump back to reassign y to null.
+     */
+    private ProgramImpl createBranchingLoopProgram() {
+
+        Type type = sceneObject.scene().getType("type");
+        List<String> variables = Arrays.asList("x", "y");
+
+        List<SemanticsCommand> programInstructions = new ArrayList<>();
+        int pc = 0;
+        for (String variable : variables) {
+            programInstructions.add(new BranchingSkip(sceneObject, pc + 1, pc + 2));
+            programInstructions.add(new AssignStmt(sceneObject, new Local(type, variable), new NewExpr(type),
+                    pc + 3, new LinkedHashSet<>(variables)));
+            programInstructions.add(new AssignStmt(sceneObject, new Local(type, variable), new NullConstant(),
+                    pc + 3, new LinkedHashSet<>(variables)));
+            pc += 3;
+        }
+        // loop back to the assignment of null to y
+        programInstructions.add(new BranchingSkip(sceneObject, pc - 1, pc + 1));
+        programInstructions.add(new ReturnVoidStmt(sceneObject));
+        return new ProgramImpl(programInstructions);
+    }
+
+    private static Map<Integer, Set<HeapConfiguration>> heapsOf(Collection<ProgramState> states) {
+
+        Map<Integer, Set<HeapConfiguration>> result = new HashMap<>();
+        for (ProgramState state : states) {
+            result.computeIfAbsent(state.getProgramCounter(), pc -> new HashSet<>()).add(state.getHeap());
+        }
+        return result;
+    }
+
+    private static int countTransitions(StateSpace stateSpace) {
+
+        int result = 0;
+        for (ProgramState state : stateSpace.getStates()) {
+            result += stateSpace.getControlFlowSuccessorsOf(state).size();
+        }
+        return result;
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParallelismRequiresConcurrentExplorationStrategy() {
+
+        List<SemanticsCommand> programInstructions = new ArrayList<>();
+        programInstructions.add(new ReturnVoidStmt(sceneObject));
+
+        stateSpaceGeneratorBuilder
+                .setProgram(new ProgramImpl(programInstructions))
+                .addInitialState(new DefaultProgramState(hcFactory.getEmptyGraphWithConstants()))
+                .setParallelism(2)
+                .build();
+    }
 }